@@ -0,0 +1,50 @@
+package com.isotope.bench;
+
+import com.isotope.model.InstrumentTokens;
+import com.isotope.model.MarketDataEvent;
+
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic NIFTY / BANKNIFTY tick streams shared by the benchmarks.
+ */
+final class BenchTicks {
+
+    private BenchTicks() {
+    }
+
+    /**
+     * Alternating NIFTY / BANKNIFTY ticks following correlated random walks, so the
+     * pairs strategy sees a mean-reverting ratio and trades now and then.
+     */
+    static MarketDataEvent[] pairsWalk(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        MarketDataEvent[] ticks = new MarketDataEvent[count];
+        double nifty = 26_000.0;
+        double spread = 0.0;
+        long time = 1_763_610_300_000L;
+        for (int i = 0; i < count; i++) {
+            MarketDataEvent event = new MarketDataEvent();
+            boolean isNifty = (i & 1) == 0;
+            if (isNifty) {
+                nifty *= 1.0 + random.nextGaussian() * 0.0005;
+                spread = spread * 0.95 + random.nextGaussian() * 0.001;
+                time += 60_000L;
+            }
+            event.setInstrumentToken(isNifty ? InstrumentTokens.NIFTY : InstrumentTokens.BANKNIFTY);
+            event.setLastTradedPrice(isNifty ? nifty : nifty * 2.27 * (1.0 + spread));
+            event.setVolume(random.nextInt(1, 5_000));
+            event.setLastTradedTime(time);
+            ticks[i] = event;
+        }
+        return ticks;
+    }
+
+    static void copy(MarketDataEvent from, MarketDataEvent to) {
+        to.setInstrumentToken(from.getInstrumentToken());
+        to.setLastTradedPrice(from.getLastTradedPrice());
+        to.setVolume(from.getVolume());
+        to.setLastTradedTime(from.getLastTradedTime());
+        to.setPublishNanos(0);
+    }
+}
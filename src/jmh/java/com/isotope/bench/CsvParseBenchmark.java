@@ -0,0 +1,97 @@
+package com.isotope.bench;
+
+import com.isotope.adapter.CsvTickParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV row parsing as done by CsvMarketDataProducer (CsvTickParser over the bundled
+ * market_data.csv), with the String-based split/parse it replaced as a baseline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvParseBenchmark {
+
+    private final ZoneId zone = ZoneId.of("Asia/Kolkata");
+    private final CsvTickParser parser = new CsvTickParser(zone);
+
+    private byte[] data;
+    private int[] lineStart;
+    private int[] lineEnd;
+    private int lineCount;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        try (InputStream in = CsvParseBenchmark.class.getResourceAsStream("/market_data.csv")) {
+            if (in == null) throw new IOException("market_data.csv not on the classpath");
+            data = in.readAllBytes();
+        }
+        lineStart = new int[1024];
+        lineEnd = new int[1024];
+        int start = 0;
+        for (int i = 0; i <= data.length; i++) {
+            if (i == data.length || data[i] == '\n') {
+                int end = i > start && data[i - 1] == '\r' ? i - 1 : i;
+                if (end > start && !parser.isHeader(data, start, end)) {
+                    if (lineCount == lineStart.length) {
+                        lineStart = Arrays.copyOf(lineStart, lineCount * 2);
+                        lineEnd = Arrays.copyOf(lineEnd, lineCount * 2);
+                    }
+                    lineStart[lineCount] = start;
+                    lineEnd[lineCount++] = end;
+                }
+                start = i + 1;
+            }
+        }
+    }
+
+    private int nextLine() {
+        int line = next;
+        next = line + 1 == lineCount ? 0 : line + 1;
+        return line;
+    }
+
+    @Benchmark
+    public void parseRow(Blackhole blackhole) {
+        int line = nextLine();
+        parser.parseLine(data, lineStart[line], lineEnd[line]);
+        blackhole.consume(parser.getInstrumentToken());
+        blackhole.consume(parser.getTimestamp());
+        blackhole.consume(parser.getClose());
+        blackhole.consume(parser.getVolume());
+    }
+
+    @Benchmark
+    public void parseRowStringBaseline(Blackhole blackhole) {
+        int line = nextLine();
+        String row = new String(data, lineStart[line], lineEnd[line] - lineStart[line], StandardCharsets.US_ASCII);
+        String[] parts = row.split(",");
+        blackhole.consume(parts[1].hashCode());
+        blackhole.consume(LocalDateTime.parse(parts[0]).atZone(zone).toInstant().toEpochMilli());
+        blackhole.consume(Double.parseDouble(parts[5]));
+        blackhole.consume(Long.parseLong(parts[6]));
+    }
+}
@@ -0,0 +1,88 @@
+package com.isotope.bench;
+
+import com.isotope.model.OrderEvent;
+import com.isotope.service.IndianDerivativesFeeCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IndianDerivativesFeeCalculator per-order cost. Inputs are non-final fields so
+ * the JIT cannot constant-fold the calculation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeeCalculatorBenchmark {
+
+    private final IndianDerivativesFeeCalculator calculator = new IndianDerivativesFeeCalculator();
+
+    private OrderEvent.Type buy = OrderEvent.Type.BUY;
+    private OrderEvent.Type sell = OrderEvent.Type.SELL;
+    private double futuresPrice = 26_100.5;
+    private double premium = 221.85;
+    private int quantity = 75;
+
+    private static final int BATCH = 4096;
+    private final OrderEvent.Type[] batchTypes = new OrderEvent.Type[BATCH];
+    private final double[] batchPrices = new double[BATCH];
+    private final int[] batchQuantities = new int[BATCH];
+    private final double[] batchFees = new double[BATCH];
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < BATCH; i++) {
+            batchTypes[i] = random.nextBoolean() ? OrderEvent.Type.BUY : OrderEvent.Type.SELL;
+            batchPrices[i] = 20_000 + random.nextDouble() * 40_000;
+            batchQuantities[i] = 15 * random.nextInt(1, 20);
+        }
+    }
+
+    @Benchmark
+    public double futuresBuy() {
+        return calculator.calculateTotalFee(buy, futuresPrice, quantity);
+    }
+
+    @Benchmark
+    public double futuresSell() {
+        return calculator.calculateTotalFee(sell, futuresPrice, quantity);
+    }
+
+    @Benchmark
+    public double optionBuy() {
+        return calculator.calculateOptionFee(buy, premium, quantity);
+    }
+
+    @Benchmark
+    public double optionSell() {
+        return calculator.calculateOptionFee(sell, premium, quantity);
+    }
+
+    @Benchmark
+    public double syntheticLegs() {
+        return calculator.calculateSyntheticFee(premium, quantity, 0L);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public double[] futuresBatch() {
+        calculator.calculateTotalFees(batchTypes, batchPrices, batchQuantities, batchFees, BATCH);
+        return batchFees;
+    }
+}
@@ -0,0 +1,83 @@
+package com.isotope.bench;
+
+import com.isotope.adapter.OrderExecutionAdapter;
+import com.isotope.core.EngineSettings;
+import com.isotope.core.IsotopeEngine;
+import com.isotope.core.LatencyProfile;
+import com.isotope.core.WaitStrategyType;
+import com.isotope.model.MarketDataEvent;
+import com.isotope.service.IndianDerivativesFeeCalculator;
+import com.lmax.disruptor.RingBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Market-data ring throughput (publish + delivery to the strategy consumer) per wait strategy.
+ * Each invocation publishes a batch and waits until the consumer has drained it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MarketDataRingBenchmark {
+
+    private static final int BATCH = 1024;
+
+    @Param({"BUSY_SPIN", "YIELDING", "SLEEPING", "BLOCKING"})
+    public WaitStrategyType waitStrategy;
+
+    private IsotopeEngine engine;
+    private RingBuffer<MarketDataEvent> ringBuffer;
+    private MarketDataEvent[] ticks;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        EngineSettings settings = EngineSettings.fromProfile(LatencyProfile.BACKTEST_THROUGHPUT).toBuilder()
+                .waitStrategy(waitStrategy)
+                .build();
+        OrderExecutionAdapter adapter = new OrderExecutionAdapter(
+                new IndianDerivativesFeeCalculator(), 1_000_000.0, "FUTURES", null);
+        engine = new IsotopeEngine(adapter, settings);
+        engine.start(); // No strategies: measures the ring and dispatch only
+        ringBuffer = engine.getMarketDataRingBuffer();
+        ticks = BenchTicks.pairsWalk(BATCH, 42);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void publishBatch() {
+        for (MarketDataEvent tick : ticks) {
+            long sequence = ringBuffer.next();
+            try {
+                BenchTicks.copy(tick, ringBuffer.get(sequence));
+            } finally {
+                ringBuffer.publish(sequence);
+            }
+        }
+        long bufferSize = ringBuffer.getBufferSize();
+        while (ringBuffer.remainingCapacity() < bufferSize) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.isotope.bench;
+
+import com.isotope.adapter.OrderExecutionAdapter;
+import com.isotope.model.OrderEvent;
+import com.isotope.model.SymbolRegistry;
+import com.isotope.service.IndianDerivativesFeeCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrderExecutionAdapter.onEvent (fees + position book) called directly, without a
+ * trade journal, in FUTURES and SYNTHETIC execution modes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderExecutionAdapterBenchmark {
+
+    @Param({"FUTURES", "SYNTHETIC"})
+    public String executionMode;
+
+    private OrderExecutionAdapter adapter;
+    private final OrderEvent[] orders = new OrderEvent[4];
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        adapter = new OrderExecutionAdapter(new IndianDerivativesFeeCalculator(), 1_000_000.0, executionMode, null);
+        // Open and close a NIFTY and a BANKNIFTY position, so both the opening and realizing paths run
+        orders[0] = order("NIFTY", OrderEvent.Type.BUY, 75, 26_100.5);
+        orders[1] = order("BANKNIFTY", OrderEvent.Type.SELL, 30, 59_240.0);
+        orders[2] = order("NIFTY", OrderEvent.Type.SELL, 75, 26_112.0);
+        orders[3] = order("BANKNIFTY", OrderEvent.Type.BUY, 30, 59_205.25);
+    }
+
+    private static OrderEvent order(String symbol, OrderEvent.Type type, int quantity, double price) {
+        OrderEvent event = new OrderEvent();
+        event.setTradingSymbol(symbol);
+        event.setSymbolId(SymbolRegistry.intern(symbol));
+        event.setType(type);
+        event.setQuantity(quantity);
+        event.setPrice(price);
+        event.setStrategyId("bench");
+        return event;
+    }
+
+    @Benchmark
+    public void onEvent() {
+        long seq = sequence++;
+        adapter.onEvent(orders[(int) (seq & 3)], seq, false);
+    }
+}
@@ -0,0 +1,53 @@
+package com.isotope.bench;
+
+import com.isotope.model.MarketDataEvent;
+import com.isotope.strategy.PairsTradingStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PairsTradingStrategy.onTick over a NIFTY / BANKNIFTY stream; orders go to a Blackhole.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PairsTradingStrategyBenchmark {
+
+    private static final int TICKS = 1 << 16;
+
+    private PairsTradingStrategy strategy;
+    private MarketDataEvent[] ticks;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp(Blackhole blackhole) {
+        ticks = BenchTicks.pairsWalk(TICKS, 7);
+        strategy = new PairsTradingStrategy(500_000.0);
+        strategy.setOrderPublisher((symbol, type, quantity, price, strategyId, timestamp) -> {
+            blackhole.consume(symbol);
+            blackhole.consume(quantity);
+            blackhole.consume(price);
+        });
+    }
+
+    @Benchmark
+    public void onTick() {
+        strategy.onTick(ticks[next]);
+        next = (next + 1) & (TICKS - 1);
+    }
+}
@@ -0,0 +1,58 @@
+package com.isotope.bench;
+
+import com.isotope.adapter.OrderExecutionAdapter;
+import com.isotope.core.EngineSettings;
+import com.isotope.core.IsotopeEngine;
+import com.isotope.core.LatencyProfile;
+import com.isotope.model.OrderEvent;
+import com.isotope.service.IndianDerivativesFeeCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IsotopeEngine.publishOrder from the strategy side, with the execution adapter
+ * (FUTURES, no journal) draining the order ring on its own thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PublishOrderBenchmark {
+
+    private IsotopeEngine engine;
+    private long timestamp;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        OrderExecutionAdapter adapter = new OrderExecutionAdapter(
+                new IndianDerivativesFeeCalculator(), 1_000_000.0, "FUTURES", null);
+        engine = new IsotopeEngine(adapter, EngineSettings.fromProfile(LatencyProfile.BALANCED));
+        engine.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.stop();
+    }
+
+    @Benchmark
+    public void publishOrder() {
+        // Alternate sides so the position book stays flat
+        OrderEvent.Type type = (++timestamp & 1) == 0 ? OrderEvent.Type.BUY : OrderEvent.Type.SELL;
+        engine.publishOrder("NIFTY", type, 50, 26_100.5, "bench", timestamp);
+    }
+}
@@ -5,25 +5,43 @@ import com.lmax.disruptor.RingBuffer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.ClassPathResource;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.time.LocalDateTime;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.ZoneId;
+import java.util.Arrays;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 public class CsvMarketDataProducer implements MarketDataProducer {
 
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
     private final String csvFilePath;
     private final String replaySpeedStr; // "1x", "10x", "MAX"
+    private final ReplayClock replayClock;
+    private final int maxBatch;
     private RingBuffer<MarketDataEvent> ringBuffer;
     private final ExecutorService executor = Executors.newSingleThreadExecutor();
     private volatile boolean running = false;
+    private volatile Exception failure;
 
     public CsvMarketDataProducer(String csvFilePath, String replaySpeedStr) {
+        this(csvFilePath, replaySpeedStr, DEFAULT_MAX_BATCH);
+    }
+
+    public CsvMarketDataProducer(String csvFilePath, String replaySpeedStr, int maxBatch) {
         this.csvFilePath = csvFilePath;
         this.replaySpeedStr = replaySpeedStr;
+        this.replayClock = ReplayClock.forConfig(replaySpeedStr);
+        this.maxBatch = maxBatch;
+    }
+
+    @Override
+    public ReplayClock getReplayClock() {
+        return replayClock;
     }
 
     @Override
@@ -43,106 +61,107 @@ public class CsvMarketDataProducer implements MarketDataProducer {
         executor.submit(this::readAndPublish);
     }
 
+    @Override
+    public boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        executor.shutdown(); // The submitted replay still runs to the end
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public Exception getFailure() {
+        return failure;
+    }
+
     private void readAndPublish() {
         log.info("Starting CSV playback with speed: {}", replaySpeedStr);
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(new ClassPathResource(csvFilePath).getInputStream()))) {
-            String line;
+        try (InputStream in = new ClassPathResource(csvFilePath).getInputStream()) {
+            CsvTickParser parser = new CsvTickParser(ZoneId.systemDefault());
+            TickBatchPublisher batch = new TickBatchPublisher(ringBuffer, maxBatch);
+            byte[] buf = new byte[READ_BUFFER_SIZE];
+            int start = 0;  // Start of the current line
+            int scan = 0;   // Next byte to scan for a line terminator
+            int limit = 0;  // End of valid data in buf
+            boolean eof = false;
+
             boolean firstLine = true;
-            long previousTimestamp = -1;
             long rowCount = 0;
 
-            double speedFactor = 1.0;
-            boolean isMax = "MAX".equalsIgnoreCase(replaySpeedStr);
-            if (!isMax) {
-                try {
-                    speedFactor = Double.parseDouble(replaySpeedStr.toLowerCase().replace("x", ""));
-                } catch (NumberFormatException e) {
-                    log.warn("Invalid replay speed format '{}', defaulting to 1x", replaySpeedStr);
-                }
-            }
-
             // Headers: timestamp,symbol,open,high,low,close,volume
-            while (running && (line = br.readLine()) != null) {
-                if (firstLine) {
-                    if (line.toLowerCase().startsWith("timestamp")) {
-                        firstLine = false;
+            while (running) {
+                int lineEnd = indexOfNewline(buf, scan, limit);
+                if (lineEnd < 0) {
+                    if (!eof) {
+                        // Compact the partial line to the front (or grow for very long lines), then refill
+                        if (start > 0) {
+                            System.arraycopy(buf, start, buf, 0, limit - start);
+                            limit -= start;
+                            start = 0;
+                        } else if (limit == buf.length) {
+                            buf = Arrays.copyOf(buf, buf.length * 2);
+                        }
+                        scan = limit;
+                        int n = in.read(buf, limit, buf.length - limit);
+                        if (n < 0) eof = true;
+                        else limit += n;
                         continue;
                     }
-                    firstLine = false;
+                    if (start >= limit) break;
+                    lineEnd = limit; // Last line without a terminator
                 }
 
-                String[] parts = line.split(",");
-                if (parts.length < 7) continue;
+                int lineStart = start;
+                int end = (lineEnd > lineStart && buf[lineEnd - 1] == '\r') ? lineEnd - 1 : lineEnd;
+                start = lineEnd + 1;
+                scan = start;
+
+                if (firstLine) {
+                    firstLine = false;
+                    if (parser.isHeader(buf, lineStart, end)) continue;
+                }
 
                 try {
-                    String timeStr = parts[0];
-                    String symbol = parts[1];
-                    double close = Double.parseDouble(parts[5]);
-                    long volume = Long.parseLong(parts[6]);
+                    if (!parser.parseLine(buf, lineStart, end)) continue;
 
                     // 1. Parse Historical Time
-                    LocalDateTime timestamp = LocalDateTime.parse(timeStr); // Expects ISO format 2023-10-27T10:00:00
-                    long currentEventTime = timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
-
-                    // 2. Replay Delay Logic
-                    if (!isMax && previousTimestamp != -1) {
-                        long timeDiff = currentEventTime - previousTimestamp;
-                        if (timeDiff > 0) {
-                            long sleepTime = (long) (timeDiff / speedFactor);
-                            if (sleepTime > 0) {
-                                Thread.sleep(sleepTime);
-                            }
-                        }
-                    }
+                    long currentEventTime = parser.getTimestamp();
 
-                    previousTimestamp = currentEventTime;
+                    // 2. Replay Delay Logic (absolute schedule, see ReplayClock)
+                    // Ticks released together are claimed and published as one batch
+                    long eventNanos = currentEventTime * 1_000_000L;
+                    if (batch.size() > 0 && !replayClock.canBatch(batch.lastTime() * 1_000_000L, eventNanos)) {
+                        batch.flush();
+                    }
+                    replayClock.await(eventNanos);
 
-                    // 3. Publish with HISTORICAL Time
-                    publishEvent(symbol, close, volume, currentEventTime);
+                    // 3. Publish with HISTORICAL Time (CSV time, NOT System.currentTimeMillis())
+                    batch.add(parser.getInstrumentToken(), currentEventTime, parser.getClose(), parser.getVolume(),
+                            0.0, 0.0, 0, 0);
 
                     rowCount++;
                     if (rowCount % 1000 == 0) {
-                        log.info("Processed {} rows. Current Hist Time: {}", rowCount, timeStr);
+                        log.info("Processed {} rows. Current Hist Time: {}", rowCount, Instant.ofEpochMilli(currentEventTime));
                     }
 
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
                 } catch (Exception e) {
-                    log.error("Error parsing CSV line: {}", line, e);
+                    log.error("Error parsing CSV line: {}", new String(buf, lineStart, end - lineStart, StandardCharsets.US_ASCII), e);
                 }
             }
+            batch.flush();
             log.info("CSV Playback finished. Total Rows: {}", rowCount);
 
         } catch (Exception e) {
+            failure = e;
             log.error("Error reading CSV file", e);
         }
     }
 
-    private void publishEvent(String symbol, double price, long volume, long historicalTime) {
-        long sequence = ringBuffer.next();
-        try {
-            MarketDataEvent event = ringBuffer.get(sequence);
-
-            // Map text symbols to IDs
-            if ("NIFTY".equalsIgnoreCase(symbol)) {
-                event.setInstrumentToken(256265);
-            } else if ("BANKNIFTY".equalsIgnoreCase(symbol)) {
-                event.setInstrumentToken(260105);
-            } else {
-                event.setInstrumentToken(symbol.hashCode());
-            }
-
-            event.setLastTradedPrice(price);
-            event.setVolume(volume);
-
-            // FIX: Use the CSV time, NOT System.currentTimeMillis()
-            event.setLastTradedTime(historicalTime);
-
-            // Clear other fields
-            event.setBidPrice(0);
-            event.setAskPrice(0);
-            event.setBidQuantity(0);
-            event.setAskQuantity(0);
-        } finally {
-            ringBuffer.publish(sequence);
+    private static int indexOfNewline(byte[] buf, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buf[i] == '\n') return i;
         }
+        return -1;
     }
 }
\ No newline at end of file
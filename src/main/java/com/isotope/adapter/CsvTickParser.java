@@ -0,0 +1,310 @@
+package com.isotope.adapter;
+
+import com.isotope.model.InstrumentTokens;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+
+/**
+ * Byte-level parser for the market data CSV layout
+ * (timestamp,symbol,open,high,low,close,volume).
+ *
+ * Parses a line in place from a byte buffer into primitive fields, so the
+ * steady-state path allocates nothing: no Strings, no String[], no java.time
+ * objects. Inputs outside the fast path (exponents, very long numbers) fall
+ * back to the JDK parsers, which keeps results identical to the String-based
+ * parsing it replaces.
+ */
+public final class CsvTickParser {
+
+    public static final int FIELDS = 7;
+
+    private static final int TIMESTAMP = 0;
+    private static final int SYMBOL = 1;
+    private static final int CLOSE = 5;
+    private static final int VOLUME = 6;
+
+    private static final byte[] HEADER = "TIMESTAMP".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NIFTY = "NIFTY".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BANKNIFTY = "BANKNIFTY".getBytes(StandardCharsets.US_ASCII);
+
+    private static final double[] POW10 = new double[23];
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    static {
+        POW10[0] = 1.0;
+        for (int i = 1; i < POW10.length; i++) POW10[i] = POW10[i - 1] * 10.0;
+    }
+
+    private final ZoneRules zoneRules;
+
+    // Cached zone offset and the UTC window (epoch seconds) in which it applies
+    private long offsetSeconds;
+    private long offsetValidFrom = Long.MAX_VALUE;
+    private long offsetValidUntil = Long.MIN_VALUE;
+
+    private final int[] fieldStart = new int[FIELDS];
+    private final int[] fieldEnd = new int[FIELDS];
+
+    // Parsed row, valid after parseLine returns true
+    private long instrumentToken;
+    private long timestamp;
+    private double close;
+    private long volume;
+
+    public CsvTickParser(ZoneId zone) {
+        this.zoneRules = zone.getRules();
+    }
+
+    public boolean isHeader(byte[] buf, int start, int end) {
+        return end - start >= HEADER.length && equalsIgnoreCase(buf, start, start + HEADER.length, HEADER);
+    }
+
+    /**
+     * Parses one line (without the line terminator).
+     *
+     * @return false if the line has fewer than {@link #FIELDS} columns
+     * @throws NumberFormatException if a required column is malformed
+     */
+    public boolean parseLine(byte[] buf, int start, int end) {
+        int field = 0;
+        fieldStart[0] = start;
+        for (int i = start; i < end && field < FIELDS; i++) {
+            if (buf[i] == ',') {
+                fieldEnd[field++] = i;
+                if (field < FIELDS) fieldStart[field] = i + 1;
+            }
+        }
+        if (field < FIELDS) {
+            if (field < FIELDS - 1) return false;
+            fieldEnd[field++] = end;
+        }
+        // Match String.split semantics: trailing empty columns do not count
+        if (onlyCommas(buf, fieldStart[VOLUME], end)) return false;
+
+        timestamp = parseTimestamp(buf, fieldStart[TIMESTAMP], fieldEnd[TIMESTAMP]);
+        instrumentToken = parseToken(buf, fieldStart[SYMBOL], fieldEnd[SYMBOL]);
+        close = parseDouble(buf, fieldStart[CLOSE], fieldEnd[CLOSE]);
+        volume = parseLong(buf, fieldStart[VOLUME], fieldEnd[VOLUME]);
+        return true;
+    }
+
+    public long getInstrumentToken() {
+        return instrumentToken;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public double getClose() {
+        return close;
+    }
+
+    public long getVolume() {
+        return volume;
+    }
+
+    // --- Field Parsers ---
+
+    /**
+     * Parses an ISO local date-time (yyyy-MM-ddTHH:mm[:ss[.fff]]) in the parser's
+     * zone and returns epoch millis.
+     */
+    long parseTimestamp(byte[] b, int from, int to) {
+        int len = to - from;
+        if (len < 16 || b[from + 4] != '-' || b[from + 7] != '-' || b[from + 10] != 'T' || b[from + 13] != ':') {
+            throw malformed(b, from, to);
+        }
+        int year = digits(b, from, 4);
+        int month = digits(b, from + 5, 2);
+        int day = digits(b, from + 8, 2);
+        int hour = digits(b, from + 11, 2);
+        int minute = digits(b, from + 14, 2);
+        int second = 0;
+        int millis = 0;
+
+        int pos = from + 16;
+        if (pos < to) {
+            if (b[pos] != ':' || to - pos < 3) throw malformed(b, from, to);
+            second = digits(b, pos + 1, 2);
+            pos += 3;
+            if (pos < to) {
+                if (b[pos] != '.' || pos + 1 == to) throw malformed(b, from, to);
+                pos++;
+                int scale = 100;
+                for (; pos < to; pos++) {
+                    int d = b[pos] - '0';
+                    if (d < 0 || d > 9) throw malformed(b, from, to);
+                    millis += d * scale;
+                    scale /= 10;
+                }
+            }
+        }
+        if (month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour > 23 || minute > 59 || second > 59) {
+            throw malformed(b, from, to);
+        }
+
+        long localSeconds = daysFromCivil(year, month, day) * 86400L + hour * 3600L + minute * 60L + second;
+        return toUtcSeconds(localSeconds) * 1000L + millis;
+    }
+
+    /**
+     * Maps a symbol to its instrument token. Unknown symbols use the same
+     * hash as String.hashCode() for ASCII input.
+     */
+    long parseToken(byte[] b, int from, int to) {
+        if (equalsIgnoreCase(b, from, to, NIFTY)) return InstrumentTokens.NIFTY;
+        if (equalsIgnoreCase(b, from, to, BANKNIFTY)) return InstrumentTokens.BANKNIFTY;
+        int h = 0;
+        for (int i = from; i < to; i++) h = 31 * h + (b[i] & 0xFF);
+        return h;
+    }
+
+    static double parseDouble(byte[] b, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (b[i] == '-' || b[i] == '+')) {
+            negative = b[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean seenDot = false;
+        for (; i < to; i++) {
+            byte c = b[i];
+            if (c >= '0' && c <= '9') {
+                if (++digits > 18) return slowParseDouble(b, from, to);
+                mantissa = mantissa * 10 + (c - '0');
+                if (seenDot) fractionDigits++;
+            } else if (c == '.' && !seenDot) {
+                seenDot = true;
+            } else {
+                return slowParseDouble(b, from, to);
+            }
+        }
+        if (digits == 0) return slowParseDouble(b, from, to);
+        if (mantissa > MAX_EXACT_MANTISSA || fractionDigits >= POW10.length) return slowParseDouble(b, from, to);
+
+        // Exact integer divided by an exact power of ten is correctly rounded
+        double value = fractionDigits == 0 ? mantissa : mantissa / POW10[fractionDigits];
+        return negative ? -value : value;
+    }
+
+    static long parseLong(byte[] b, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (b[i] == '-' || b[i] == '+')) {
+            negative = b[i] == '-';
+            i++;
+        }
+        if (i == to || to - i > 18) return slowParseLong(b, from, to);
+        long value = 0;
+        for (; i < to; i++) {
+            int d = b[i] - '0';
+            if (d < 0 || d > 9) throw malformed(b, from, to);
+            value = value * 10 + d;
+        }
+        return negative ? -value : value;
+    }
+
+    // --- Helpers ---
+
+    /**
+     * Converts local seconds to UTC epoch seconds with the same gap/overlap
+     * resolution as LocalDateTime.atZone().
+     */
+    private long toUtcSeconds(long localSeconds) {
+        long candidate = localSeconds - offsetSeconds;
+        if (candidate >= offsetValidFrom && candidate < offsetValidUntil) return candidate;
+
+        // Cache miss: only happens on the first row and across zone transitions
+        ZoneOffset chosen = zoneRules.getOffset(LocalDateTime.ofEpochSecond(localSeconds, 0, ZoneOffset.UTC));
+        long utcSeconds = localSeconds - chosen.getTotalSeconds();
+
+        // Cache the offset in force at that instant, together with the window it covers
+        if (zoneRules.isFixedOffset()) {
+            offsetSeconds = chosen.getTotalSeconds();
+            offsetValidFrom = Long.MIN_VALUE;
+            offsetValidUntil = Long.MAX_VALUE;
+        } else {
+            Instant instant = Instant.ofEpochSecond(utcSeconds);
+            offsetSeconds = zoneRules.getOffset(instant).getTotalSeconds();
+            // previousTransition is exclusive, so probe one second later to include a transition at this instant
+            ZoneOffsetTransition previous = zoneRules.previousTransition(instant.plusSeconds(1));
+            ZoneOffsetTransition next = zoneRules.nextTransition(instant);
+            if (previous == null) {
+                offsetValidFrom = Long.MIN_VALUE;
+            } else {
+                // After a backward transition, ambiguous local times resolve to the earlier offset
+                long overlap = previous.getOffsetBefore().getTotalSeconds() - previous.getOffsetAfter().getTotalSeconds();
+                offsetValidFrom = previous.toEpochSecond() + Math.max(0, overlap);
+            }
+            offsetValidUntil = next != null ? next.toEpochSecond() : Long.MAX_VALUE;
+        }
+        return utcSeconds;
+    }
+
+    private static long daysFromCivil(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = (y >= 0 ? y : y - 399) / 400;
+        long yoe = y - era * 400;
+        long doy = (153L * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097 + doe - 719468;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        if (month == 2) {
+            boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+            return leap ? 29 : 28;
+        }
+        return (month == 4 || month == 6 || month == 9 || month == 11) ? 30 : 31;
+    }
+
+    private static boolean onlyCommas(byte[] b, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (b[i] != ',') return false;
+        }
+        return true;
+    }
+
+    private static int digits(byte[] b, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            int d = b[i] - '0';
+            if (d < 0 || d > 9) throw malformed(b, from, from + count);
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    private static boolean equalsIgnoreCase(byte[] b, int from, int to, byte[] upper) {
+        if (to - from != upper.length) return false;
+        for (int i = 0; i < upper.length; i++) {
+            int c = b[from + i];
+            if (c >= 'a' && c <= 'z') c -= 32;
+            if (c != upper[i]) return false;
+        }
+        return true;
+    }
+
+    private static double slowParseDouble(byte[] b, int from, int to) {
+        return Double.parseDouble(new String(b, from, to - from, StandardCharsets.US_ASCII));
+    }
+
+    private static long slowParseLong(byte[] b, int from, int to) {
+        return Long.parseLong(new String(b, from, to - from, StandardCharsets.US_ASCII));
+    }
+
+    private static NumberFormatException malformed(byte[] b, int from, int to) {
+        return new NumberFormatException("Malformed field: " + new String(b, from, to - from, StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,132 @@
+package com.isotope.adapter;
+
+import com.isotope.model.MarketDataEvent;
+import com.lmax.disruptor.RingBuffer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays Kite WebSocket frames recorded by {@link KiteFrameWriter} through the
+ * same {@link KiteTickDecoder} path as the live feed, paced by the recorded
+ * receive times ("1x", "10x", ...) or as fast as possible ("MAX").
+ */
+@Slf4j
+public class KiteFrameReplayProducer implements MarketDataProducer {
+
+    private final String filePath;
+    private final String replaySpeedStr;
+    private final ReplayClock replayClock;
+    private final int maxBatch;
+    private RingBuffer<MarketDataEvent> ringBuffer;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private volatile boolean stopped = false;
+    private volatile Exception failure;
+
+    public KiteFrameReplayProducer(String filePath, String replaySpeedStr) {
+        this(filePath, replaySpeedStr, DEFAULT_MAX_BATCH);
+    }
+
+    public KiteFrameReplayProducer(String filePath, String replaySpeedStr, int maxBatch) {
+        this.filePath = filePath;
+        this.replaySpeedStr = replaySpeedStr;
+        this.replayClock = ReplayClock.forConfig(replaySpeedStr);
+        this.maxBatch = maxBatch;
+    }
+
+    @Override
+    public ReplayClock getReplayClock() {
+        return replayClock;
+    }
+
+    @Override
+    public void connect() {
+        log.info("Connected to Kite frame recording: {}", filePath);
+    }
+
+    @Override
+    public void subscribe(String... symbols) {
+        log.info("Subscribing to symbols (recording publishes all): {}", (Object) symbols);
+    }
+
+    @Override
+    public void startPublishing(RingBuffer<MarketDataEvent> ringBuffer) {
+        this.ringBuffer = ringBuffer;
+        executor.submit(this::readAndPublish);
+    }
+
+    @Override
+    public boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        executor.shutdown(); // The submitted replay still runs to the end
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public Exception getFailure() {
+        return failure;
+    }
+
+    public void stop() {
+        stopped = true;
+        executor.shutdown();
+    }
+
+    private void readAndPublish() {
+        log.info("Starting Kite frame playback with speed: {}", replaySpeedStr);
+        try {
+            long ticks = replay(Path.of(filePath), ringBuffer);
+            log.info("Kite frame playback finished. Total Ticks: {}", ticks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            failure = e;
+            log.error("Error replaying Kite frames from {}", filePath, e);
+        }
+    }
+
+    /**
+     * Replays a recording into the ring on the calling thread and returns the number of ticks published.
+     */
+    long replay(Path file, RingBuffer<MarketDataEvent> ringBuffer) throws IOException, InterruptedException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024))) {
+            if (in.readInt() != KiteFrameWriter.MAGIC) throw new IOException("Not a Kite frame recording: " + file);
+            int version = in.readInt();
+            if (version != KiteFrameWriter.VERSION) throw new IOException("Unsupported Kite frame recording version: " + version);
+
+            byte[] bytes = new byte[4096];
+            ByteBuffer frame = ByteBuffer.wrap(bytes);
+            long ticks = 0;
+
+            while (!stopped) {
+                long receiveMillis;
+                try {
+                    receiveMillis = in.readLong();
+                } catch (EOFException e) {
+                    break;
+                }
+                int length = in.readInt();
+                if (length < 0) throw new IOException("Corrupt Kite frame recording (negative frame length)");
+                if (length > bytes.length) {
+                    bytes = new byte[Math.max(length, bytes.length * 2)];
+                    frame = ByteBuffer.wrap(bytes);
+                }
+                in.readFully(bytes, 0, length);
+
+                replayClock.await(receiveMillis * 1_000_000L);
+
+                frame.clear().limit(length);
+                ticks += KiteTickDecoder.publish(frame, ringBuffer, receiveMillis, maxBatch);
+            }
+            return ticks;
+        }
+    }
+}
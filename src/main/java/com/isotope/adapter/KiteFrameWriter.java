@@ -0,0 +1,54 @@
+package com.isotope.adapter;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Records raw Kite WebSocket binary frames so a session can be replayed later
+ * with {@link KiteFrameReplayProducer}.
+ *
+ * File layout (big-endian): int32 magic, int32 version, then one record per frame:
+ * int64 receive time (epoch millis), int32 frame length, frame bytes.
+ */
+public class KiteFrameWriter implements Closeable {
+
+    public static final int MAGIC = 0x4B465231; // "KFR1"
+    public static final int VERSION = 1;
+
+    private final DataOutputStream out;
+    private byte[] copyBuffer = new byte[4096];
+
+    public KiteFrameWriter(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+    }
+
+    /**
+     * Appends the frame's remaining bytes without moving its position.
+     */
+    public synchronized void append(long receiveMillis, ByteBuffer frame) throws IOException {
+        int length = frame.remaining();
+        if (copyBuffer.length < length) copyBuffer = new byte[Math.max(length, copyBuffer.length * 2)];
+        frame.get(frame.position(), copyBuffer, 0, length);
+        out.writeLong(receiveMillis);
+        out.writeInt(length);
+        out.write(copyBuffer, 0, length);
+    }
+
+    public synchronized void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+}
@@ -1,36 +1,85 @@
 package com.isotope.adapter;
 
+import com.isotope.model.InstrumentTokens;
 import com.isotope.model.MarketDataEvent;
 import com.lmax.disruptor.RingBuffer;
 import com.zerodhatech.kiteconnect.KiteConnect;
-import com.zerodhatech.models.Tick;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Collectors;
 
+/**
+ * Live Kite ticker feed. Reads the WebSocket binary frames directly and decodes
+ * them into ring buffer slots with {@link KiteTickDecoder} (no SDK Tick objects).
+ * Optionally records every frame for replay with {@link KiteFrameReplayProducer}.
+ */
 @Slf4j
 public class KiteMarketDataProducer implements MarketDataProducer {
 
+    private static final String TICKER_URL = "wss://ws.kite.trade";
+    private static final int INITIAL_FRAME_SIZE = 64 * 1024;
+    private static final long RECORDER_FLUSH_MILLIS = 1_000;
+
     private final KiteConnect kiteConnect;
-    private RingBuffer<MarketDataEvent> ringBuffer;
+    private final String recordFile; // null = no recording
+    private volatile RingBuffer<MarketDataEvent> ringBuffer;
+    private WebSocket webSocket;
+    private KiteFrameWriter recorder;
+    private long recorderFlushedMillis; // WebSocket callback thread only
+
+    // Frame reassembly (WebSocket callbacks are sequential)
+    private ByteBuffer frame = ByteBuffer.allocate(INITIAL_FRAME_SIZE);
 
     public KiteMarketDataProducer(KiteConnect kiteConnect) {
+        this(kiteConnect, null);
+    }
+
+    public KiteMarketDataProducer(KiteConnect kiteConnect, String recordFile) {
         this.kiteConnect = kiteConnect;
+        this.recordFile = recordFile;
     }
 
     @Override
     public void connect() {
         log.info("Connecting to Kite Ticker...");
-        // In a real implementation:
-        // KiteTicker ticker = new KiteTicker(kiteConnect.getAccessToken(), kiteConnect.getApiKey());
-        // ticker.setOnTickerArrivalListener(this::onTicks);
-        // ticker.connect();
+        try {
+            if (recordFile != null) {
+                recorder = new KiteFrameWriter(Path.of(recordFile));
+                log.info("Recording Kite frames to {}", recordFile);
+            }
+            URI uri = URI.create(TICKER_URL
+                    + "?api_key=" + URLEncoder.encode(kiteConnect.getApiKey(), StandardCharsets.UTF_8)
+                    + "&access_token=" + URLEncoder.encode(kiteConnect.getAccessToken(), StandardCharsets.UTF_8));
+            webSocket = HttpClient.newHttpClient().newWebSocketBuilder()
+                    .buildAsync(uri, new TickerListener())
+                    .join();
+        } catch (Exception e) {
+            log.error("Failed to connect to Kite Ticker", e);
+        }
     }
 
     @Override
     public void subscribe(String... symbols) {
         log.info("Subscribing to symbols via Kite: {}", (Object) symbols);
-        // Convert symbols to tokens and subscribe
+        for (String symbol : symbols) {
+            if (InstrumentTokens.kiteToken(symbol) < 0) log.error("Not subscribing to {}: no Kite instrument token known", symbol);
+        }
+        long[] subscribedTokens = Arrays.stream(symbols).mapToLong(InstrumentTokens::kiteToken).filter(t -> t > 0).toArray();
+        if (webSocket == null || subscribedTokens.length == 0) return;
+
+        String tokens = Arrays.stream(subscribedTokens).mapToObj(Long::toString).collect(Collectors.joining(","));
+        webSocket.sendText("{\"a\":\"subscribe\",\"v\":[" + tokens + "]}", true)
+                .thenCompose(ws -> ws.sendText("{\"a\":\"mode\",\"v\":[\"full\",[" + tokens + "]]}", true));
     }
 
     @Override
@@ -40,35 +89,91 @@ public class KiteMarketDataProducer implements MarketDataProducer {
     }
 
     /**
-     * Callback for Kite Ticker
+     * Handles one complete binary frame: records it (if enabled) and publishes its ticks.
+     * The recording is flushed at most once a second and on close, not per frame.
      */
-    public void onTicks(ArrayList<Tick> ticks) {
-        if (ringBuffer == null) return;
-
-        for (Tick tick : ticks) {
-            publishTick(tick);
+    void onFrame(ByteBuffer completeFrame, long receiveMillis) {
+        if (recorder != null) {
+            try {
+                recorder.append(receiveMillis, completeFrame);
+                if (receiveMillis - recorderFlushedMillis >= RECORDER_FLUSH_MILLIS) {
+                    recorder.flush();
+                    recorderFlushedMillis = receiveMillis;
+                }
+            } catch (IOException e) {
+                log.error("Failed to record Kite frame; recording stopped", e);
+                closeRecorder();
+            }
         }
+        RingBuffer<MarketDataEvent> ring = ringBuffer;
+        if (ring != null) KiteTickDecoder.publish(completeFrame, ring, receiveMillis);
+    }
+
+    /**
+     * Drops the ticker connection and closes the recording, flushing its last frames.
+     * Spring calls it on shutdown (inferred destroy method).
+     */
+    public void close() {
+        WebSocket ws = webSocket;
+        if (ws != null) ws.abort();
+        closeRecorder();
     }
 
-    private void publishTick(Tick tick) {
-        long sequence = ringBuffer.next();
+    private void closeRecorder() {
+        KiteFrameWriter current = recorder;
+        recorder = null;
+        if (current == null) return;
         try {
-            MarketDataEvent event = ringBuffer.get(sequence);
-            event.setInstrumentToken(tick.getInstrumentToken());
-            event.setLastTradedPrice(tick.getLastTradedPrice());
-            event.setVolume(tick.getVolumeTradedToday());
-
-            if (tick.getMarketDepth() != null && tick.getMarketDepth().get("buy") != null && !tick.getMarketDepth().get("buy").isEmpty()) {
-                event.setBidPrice(tick.getMarketDepth().get("buy").getFirst().getPrice());
-                event.setBidQuantity(tick.getMarketDepth().get("buy").getFirst().getQuantity());
+            current.close();
+        } catch (IOException e) {
+            log.error("Failed to close Kite frame recording", e);
+        }
+    }
+
+    private class TickerListener implements WebSocket.Listener {
+
+        @Override
+        public void onOpen(WebSocket ws) {
+            log.info("Kite Ticker connected");
+            ws.request(1);
+        }
+
+        @Override
+        public CompletionStage<?> onBinary(WebSocket ws, ByteBuffer data, boolean last) {
+            if (frame.remaining() < data.remaining()) {
+                ByteBuffer larger = ByteBuffer.allocate(Math.max(frame.capacity() * 2, frame.position() + data.remaining()));
+                frame.flip();
+                larger.put(frame);
+                frame = larger;
             }
-            if (tick.getMarketDepth() != null && tick.getMarketDepth().get("sell") != null && !tick.getMarketDepth().get("sell").isEmpty()) {
-                event.setAskPrice(tick.getMarketDepth().get("sell").getFirst().getPrice());
-                event.setAskQuantity(tick.getMarketDepth().get("sell").getFirst().getQuantity());
+            frame.put(data);
+            if (last) {
+                frame.flip();
+                onFrame(frame, System.currentTimeMillis());
+                frame.clear();
             }
+            ws.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket ws, CharSequence data, boolean last) {
+            log.debug("Kite Ticker message: {}", data); // Order updates and errors are JSON text
+            ws.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket ws, int statusCode, String reason) {
+            log.warn("Kite Ticker closed: {} {}", statusCode, reason);
+            closeRecorder();
+            return null;
+        }
 
-        } finally {
-            ringBuffer.publish(sequence);
+        @Override
+        public void onError(WebSocket ws, Throwable error) {
+            log.error("Kite Ticker error", error);
+            closeRecorder();
         }
     }
 }
@@ -0,0 +1,191 @@
+package com.isotope.adapter;
+
+import com.isotope.model.MarketDataEvent;
+import com.lmax.disruptor.RingBuffer;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Decodes Kite Connect WebSocket binary frames straight into ring buffer slots,
+ * without building SDK Tick objects or depth maps.
+ *
+ * Frame: int16 packet count, then for each packet an int16 length and the packet.
+ * Packet fields are big-endian int32; prices are in paise (1/100), or 1/10^7 for
+ * CDS and 1/10^4 for BCD instruments (segment = token &amp; 0xFF).
+ * <pre>
+ *   8 bytes    LTP mode:    token, last price
+ *   28 / 32    index quote / full: token, last, high, low, open, close, change [, exchange time]
+ *   44         quote mode:  token, last, last qty, avg price, volume, buy qty, sell qty, open, high, low, close
+ *   184        full mode:   quote + last trade time, OI, OI high, OI low, exchange time,
+ *                           5 bid then 5 ask entries (int32 qty, int32 price, int16 orders, 2 pad)
+ * </pre>
+ * Full mode fills all five levels of the event's depth arrays. Times are epoch seconds.
+ * A 1-byte frame is a heartbeat; packets of other lengths are skipped.
+ */
+public final class KiteTickDecoder {
+
+    public static final int LTP_PACKET = 8;
+    public static final int INDEX_QUOTE_PACKET = 28;
+    public static final int INDEX_FULL_PACKET = 32;
+    public static final int QUOTE_PACKET = 44;
+    public static final int FULL_PACKET = 184;
+
+    static final int DEPTH_OFFSET = 64;
+    static final int DEPTH_ENTRY_SIZE = 12;
+    static final int DEPTH_LEVELS = MarketDataEvent.DEPTH_LEVELS;
+
+    private static final int SEGMENT_CDS = 3;
+    private static final int SEGMENT_BCD = 6;
+
+    private KiteTickDecoder() {
+    }
+
+    /**
+     * Publishes every tick in the frame (from its position to its limit) to the ring
+     * and returns how many were published. All ticks of the frame are claimed and
+     * published together (split only if the frame holds more ticks than the ring).
+     * Sets the buffer to big-endian; does not move its position.
+     *
+     * @param receiveMillis wall-clock receive time, used when a packet carries no timestamp
+     */
+    public static int publish(ByteBuffer frame, RingBuffer<MarketDataEvent> ringBuffer, long receiveMillis) {
+        return publish(frame, ringBuffer, receiveMillis, ringBuffer.getBufferSize());
+    }
+
+    /**
+     * Like {@link #publish(ByteBuffer, RingBuffer, long)}, claiming at most {@code maxBatch} slots at a time.
+     */
+    public static int publish(ByteBuffer frame, RingBuffer<MarketDataEvent> ringBuffer, long receiveMillis, int maxBatch) {
+        frame.order(ByteOrder.BIG_ENDIAN);
+        int base = frame.position();
+        int end = frame.limit();
+        if (end - base < 2) return 0; // Heartbeat
+
+        int batchLimit = Math.max(1, Math.min(maxBatch, ringBuffer.getBufferSize()));
+        int packets = frame.getShort(base) & 0xFFFF;
+        int packet = 0;
+        int offset = base + 2;
+        int published = 0;
+
+        while (packet < packets) {
+            // 1. Count the complete tick packets of this batch
+            int count = 0;
+            int scanPacket = packet;
+            int scanOffset = offset;
+            boolean truncated = false;
+            while (scanPacket < packets && count < batchLimit) {
+                if (scanOffset + 2 > end) {
+                    truncated = true;
+                    break;
+                }
+                int length = frame.getShort(scanOffset) & 0xFFFF;
+                if (scanOffset + 2 + length > end) {
+                    truncated = true;
+                    break;
+                }
+                if (isTick(length)) count++;
+                scanOffset += 2 + length;
+                scanPacket++;
+            }
+
+            // 2. Claim them in one go and decode in place
+            if (count > 0) {
+                long hi = ringBuffer.next(count);
+                long lo = hi - count + 1;
+                long sequence = lo;
+                try {
+                    for (; packet < scanPacket; packet++) {
+                        int length = frame.getShort(offset) & 0xFFFF;
+                        offset += 2;
+                        if (isTick(length)) decode(frame, offset, length, ringBuffer.get(sequence++), receiveMillis);
+                        offset += length;
+                    }
+                } finally {
+                    ringBuffer.publish(lo, hi);
+                }
+                published += count;
+            }
+            packet = scanPacket;
+            offset = scanOffset;
+            if (truncated) break; // Truncated frame: keep the complete packets only
+        }
+        return published;
+    }
+
+    static boolean isTick(int length) {
+        return length == LTP_PACKET || length == INDEX_QUOTE_PACKET || length == INDEX_FULL_PACKET
+                || length == QUOTE_PACKET || length == FULL_PACKET;
+    }
+
+    /**
+     * Decodes one packet of a supported length (see {@link #isTick(int)}) into the event,
+     * overwriting every field.
+     */
+    public static void decode(ByteBuffer buf, int offset, int length, MarketDataEvent event, long receiveMillis) {
+        long token = buf.getInt(offset) & 0xFFFFFFFFL;
+        double divisor = priceDivisor(token);
+
+        long volume = 0;
+        long lastTradedSeconds = 0;
+
+        if (length == QUOTE_PACKET || length == FULL_PACKET) {
+            volume = buf.getInt(offset + 16) & 0xFFFFFFFFL;
+        }
+        if (length == FULL_PACKET) {
+            lastTradedSeconds = buf.getInt(offset + 44) & 0xFFFFFFFFL;
+            if (lastTradedSeconds == 0) lastTradedSeconds = buf.getInt(offset + 60) & 0xFFFFFFFFL;
+            decodeDepth(buf, offset + DEPTH_OFFSET, divisor, event);
+        } else {
+            if (length == INDEX_FULL_PACKET) lastTradedSeconds = buf.getInt(offset + 28) & 0xFFFFFFFFL;
+            if (event.getDepthLevels() != 0) event.clearDepth();
+            event.setBidPrice(0.0);
+            event.setAskPrice(0.0);
+            event.setBidQuantity(0);
+            event.setAskQuantity(0);
+        }
+
+        event.setInstrumentToken(token);
+        event.setLastTradedPrice(buf.getInt(offset + 4) / divisor);
+        event.setVolume(volume);
+        event.setLastTradedTime(lastTradedSeconds != 0 ? lastTradedSeconds * 1000 : receiveMillis);
+        event.setPublishNanos(System.nanoTime());
+    }
+
+    /**
+     * Copies the 5 bid and 5 ask entries into the event's depth arrays and top-of-book fields.
+     */
+    private static void decodeDepth(ByteBuffer buf, int depth, double divisor, MarketDataEvent event) {
+        double[] bidPrices = event.getBidPrices();
+        long[] bidQuantities = event.getBidQuantities();
+        int[] bidOrders = event.getBidOrders();
+        double[] askPrices = event.getAskPrices();
+        long[] askQuantities = event.getAskQuantities();
+        int[] askOrders = event.getAskOrders();
+
+        int ask = depth + DEPTH_LEVELS * DEPTH_ENTRY_SIZE;
+        for (int level = 0; level < DEPTH_LEVELS; level++) {
+            int bidEntry = depth + level * DEPTH_ENTRY_SIZE;
+            int askEntry = ask + level * DEPTH_ENTRY_SIZE;
+            bidQuantities[level] = buf.getInt(bidEntry) & 0xFFFFFFFFL;
+            bidPrices[level] = buf.getInt(bidEntry + 4) / divisor;
+            bidOrders[level] = buf.getShort(bidEntry + 8) & 0xFFFF;
+            askQuantities[level] = buf.getInt(askEntry) & 0xFFFFFFFFL;
+            askPrices[level] = buf.getInt(askEntry + 4) / divisor;
+            askOrders[level] = buf.getShort(askEntry + 8) & 0xFFFF;
+        }
+        event.setDepthLevels(DEPTH_LEVELS);
+
+        event.setBidPrice(bidPrices[0]);
+        event.setBidQuantity(bidQuantities[0]);
+        event.setAskPrice(askPrices[0]);
+        event.setAskQuantity(askQuantities[0]);
+    }
+
+    static double priceDivisor(long token) {
+        int segment = (int) (token & 0xFF);
+        if (segment == SEGMENT_CDS) return 10_000_000.0;
+        if (segment == SEGMENT_BCD) return 10_000.0;
+        return 100.0;
+    }
+}
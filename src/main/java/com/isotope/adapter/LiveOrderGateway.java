@@ -0,0 +1,253 @@
+package com.isotope.adapter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.isotope.model.OrderEvent;
+import com.lmax.disruptor.EventHandler;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Live execution: places every order the simulated execution adapter filled with the
+ * Kite Connect REST API ({@code POST /orders/regular}). Runs as an order consumer (see
+ * {@link com.isotope.core.IsotopeEngine#addOrderConsumer}); the adapter ahead of it
+ * keeps the paper book and trade journal.
+ *
+ * The order thread only copies the order and hands it to a virtual thread, so one slow
+ * HTTP round trip never holds up the orders of other symbols. Orders of one symbol are
+ * placed one at a time in ring order, so an exit never reaches the broker ahead of its
+ * entry. When its turn comes, the virtual thread reserves a slot in the {@link TokenBucket}
+ * (broker rate limit), waits for it, sends the request and reports the outcome to the
+ * {@link AckListener}. Orders in flight are tracked by client order ID, which is also
+ * sent as the Kite order tag.
+ */
+@Slf4j
+public class LiveOrderGateway implements EventHandler<OrderEvent> {
+
+    public enum Status { PLACED, REJECTED, FAILED }
+
+    /**
+     * Outcome of one order placement.
+     *
+     * @param brokerOrderId Kite order ID, null unless PLACED
+     * @param message       broker error message or failure cause, null if PLACED
+     * @param latencyNanos  ring to acknowledgement, including any rate limit wait
+     */
+    public record OrderAck(long clientOrderId, String strategyId, String symbol, OrderEvent.Type type, int quantity,
+                           double price, Status status, String brokerOrderId, String message, long latencyNanos) {
+    }
+
+    /**
+     * Receives acknowledgements on the virtual thread that placed the order; must be thread-safe.
+     */
+    @FunctionalInterface
+    public interface AckListener {
+        void onAck(OrderAck ack);
+    }
+
+    /**
+     * Order placement parameters.
+     *
+     * @param baseUrl       Kite API root, e.g. https://api.kite.trade (or a local stub)
+     * @param exchange      e.g. NFO
+     * @param product       e.g. NRML or MIS
+     * @param orderType     MARKET or LIMIT (LIMIT sends the order price)
+     * @param symbols       engine symbol to exchange trading symbol (e.g. NIFTY -> NIFTY25NOVFUT); unmapped symbols are sent as is
+     * @param maxInFlight   orders beyond this many unacknowledged ones fail immediately
+     */
+    public record Settings(String baseUrl, String apiKey, String accessToken, String exchange, String product,
+                           String orderType, Map<String, String> symbols, double ratePerSecond, int burst,
+                           long timeoutMillis, int maxInFlight) {
+    }
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final Settings settings;
+    private final AckListener listener;
+    private final URI placeUri;
+    private final String authorization;
+    private final TokenBucket rateLimiter;
+    private final HttpClient client;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Map<Long, OrderAck> inFlight = new ConcurrentHashMap<>(); // Value: the order, status null
+    private final Map<String, CompletableFuture<Void>> lastPlacement = new HashMap<>(); // Per symbol, order thread only
+    private long nextClientOrderId = 1; // Order thread only
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong placed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public LiveOrderGateway(Settings settings, AckListener listener) {
+        this.settings = settings;
+        this.listener = listener;
+        this.placeUri = URI.create(settings.baseUrl().replaceAll("/+$", "") + "/orders/regular");
+        this.authorization = "token " + settings.apiKey() + ":" + settings.accessToken();
+        this.rateLimiter = new TokenBucket(settings.ratePerSecond(), settings.burst(), System.nanoTime());
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(settings.timeoutMillis()))
+                .build();
+    }
+
+    @Override
+    public void onEvent(OrderEvent event, long sequence, boolean endOfBatch) {
+        OrderEvent.Type type = event.getType();
+        // Executed by the paper book: skips risk rejections, failed and warm-up orders
+        if (!event.isExecuted() || (type != OrderEvent.Type.BUY && type != OrderEvent.Type.SELL)) return;
+        // Netted orders: only the group lead goes out, with the group's net quantity
+        int quantity = event.isNetted() ? event.getMarketQuantity() : event.getQuantity();
+        if (quantity == 0) return;
+
+        long start = System.nanoTime();
+        OrderAck order = new OrderAck(nextClientOrderId++, event.getStrategyId(), event.getTradingSymbol(), type,
+                quantity, event.getPrice(), null, null, null, 0);
+        submitted.incrementAndGet();
+        if (inFlight.size() >= settings.maxInFlight()) {
+            acknowledge(order, Status.FAILED, null, "Too many orders in flight (" + settings.maxInFlight() + ")", start);
+            return;
+        }
+        inFlight.put(order.clientOrderId(), order);
+        CompletableFuture<Void> previous = lastPlacement.get(order.symbol());
+        lastPlacement.put(order.symbol(), previous == null
+                ? CompletableFuture.runAsync(() -> place(order, start), executor)
+                : previous.thenRunAsync(() -> place(order, start), executor));
+    }
+
+    private void place(OrderAck order, long start) {
+        try {
+            // Reserved only now: a placement queued behind a slow one must not send in a stale slot
+            long slot = rateLimiter.reserve(System.nanoTime());
+            long wait;
+            while ((wait = slot - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait); // Unmounts the virtual thread
+            }
+            HttpRequest request = HttpRequest.newBuilder(placeUri)
+                    .timeout(Duration.ofMillis(settings.timeoutMillis()))
+                    .header("X-Kite-Version", "3")
+                    .header("Authorization", authorization)
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(formBody(order)))
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            JsonNode body = parse(response.body());
+            String orderId = body.path("data").path("order_id").asText(null);
+            if (response.statusCode() == 200 && orderId != null) {
+                acknowledge(order, Status.PLACED, orderId, null, start);
+            } else {
+                acknowledge(order, Status.REJECTED, null,
+                        body.path("message").asText("HTTP " + response.statusCode()), start);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acknowledge(order, Status.FAILED, null, "Interrupted", start);
+        } catch (Exception e) {
+            acknowledge(order, Status.FAILED, null, e.toString(), start);
+        }
+    }
+
+    /**
+     * The broker's JSON reply; a missing node if it is not JSON (e.g. a proxy error page).
+     */
+    private static JsonNode parse(String body) {
+        try {
+            JsonNode node = JSON.readTree(body);
+            return node != null ? node : MissingNode.getInstance();
+        } catch (JsonProcessingException e) {
+            return MissingNode.getInstance();
+        }
+    }
+
+    String formBody(OrderAck order) {
+        StringBuilder body = new StringBuilder();
+        appendParam(body, "tradingsymbol", settings.symbols().getOrDefault(order.symbol(), order.symbol()));
+        appendParam(body, "exchange", settings.exchange());
+        appendParam(body, "transaction_type", order.type().name());
+        appendParam(body, "order_type", settings.orderType());
+        appendParam(body, "quantity", Integer.toString(order.quantity()));
+        appendParam(body, "product", settings.product());
+        appendParam(body, "validity", "DAY");
+        if ("LIMIT".equalsIgnoreCase(settings.orderType())) {
+            appendParam(body, "price", Double.toString(order.price()));
+        }
+        appendParam(body, "tag", "iso" + order.clientOrderId()); // Kite tags: alphanumeric, up to 20 characters
+        return body.toString();
+    }
+
+    private static void appendParam(StringBuilder body, String name, String value) {
+        if (!body.isEmpty()) body.append('&');
+        body.append(name).append('=').append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+    }
+
+    private void acknowledge(OrderAck order, Status status, String brokerOrderId, String message, long start) {
+        inFlight.remove(order.clientOrderId());
+        switch (status) {
+            case PLACED -> placed.incrementAndGet();
+            case REJECTED -> rejected.incrementAndGet();
+            case FAILED -> failed.incrementAndGet();
+        }
+        OrderAck ack = new OrderAck(order.clientOrderId(), order.strategyId(), order.symbol(), order.type(),
+                order.quantity(), order.price(), status, brokerOrderId, message, System.nanoTime() - start);
+        try {
+            listener.onAck(ack);
+        } catch (Exception e) {
+            log.error("Order acknowledgement listener failed for {}", ack, e);
+        }
+    }
+
+    /**
+     * Orders submitted but not yet acknowledged, by client order ID.
+     */
+    public Map<Long, OrderAck> getInFlight() {
+        return Map.copyOf(inFlight);
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("submitted", submitted.get());
+        result.put("placed", placed.get());
+        result.put("rejected", rejected.get());
+        result.put("failed", failed.get());
+        result.put("in_flight", inFlight.size());
+        result.put("rate_per_second", settings.ratePerSecond());
+        result.put("burst", settings.burst());
+        return result;
+    }
+
+    /**
+     * Waits for the orders in flight to be acknowledged, then stops the virtual thread executor.
+     */
+    @Override
+    public void onShutdown() {
+        try {
+            // Queued placements only reach the executor once the symbol's previous one is done
+            CompletableFuture.allOf(lastPlacement.values().toArray(new CompletableFuture[0]))
+                    .get((inFlight.size() + 1) * (settings.timeoutMillis() + 1_000), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("{} orders still in flight at shutdown", inFlight.size());
+        }
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,172 @@
+package com.isotope.adapter;
+
+import com.isotope.model.MarketDataEvent;
+import com.isotope.tickstore.TickFileFormat;
+import com.lmax.disruptor.RingBuffer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a binary tick file (see {@link TickFileFormat}) by memory-mapping it
+ * and copying each record straight into the claimed ring buffer slot.
+ * No parsing and no per-tick allocation.
+ */
+@Slf4j
+public class MappedTickProducer implements MarketDataProducer {
+
+    // Largest mapping window that is a whole number of records
+    private static final long MAX_WINDOW_RECORDS = Integer.MAX_VALUE / TickFileFormat.RECORD_SIZE;
+
+    private final String filePath;
+    private final String replaySpeedStr; // "1x", "10x", "MAX"
+    private final ReplayClock replayClock;
+    private final int maxBatch;
+    private RingBuffer<MarketDataEvent> ringBuffer;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private volatile boolean running = false;
+    private volatile Exception failure;
+
+    public MappedTickProducer(String filePath, String replaySpeedStr) {
+        this(filePath, replaySpeedStr, DEFAULT_MAX_BATCH);
+    }
+
+    public MappedTickProducer(String filePath, String replaySpeedStr, int maxBatch) {
+        this.filePath = filePath;
+        this.replaySpeedStr = replaySpeedStr;
+        this.replayClock = ReplayClock.forConfig(replaySpeedStr);
+        this.maxBatch = maxBatch;
+    }
+
+    @Override
+    public ReplayClock getReplayClock() {
+        return replayClock;
+    }
+
+    @Override
+    public void connect() {
+        log.info("Connected to tick file: {}", filePath);
+    }
+
+    @Override
+    public void subscribe(String... symbols) {
+        log.info("Subscribing to symbols (tick file publishes all): {}", (Object) symbols);
+    }
+
+    @Override
+    public void startPublishing(RingBuffer<MarketDataEvent> ringBuffer) {
+        this.ringBuffer = ringBuffer;
+        this.running = true;
+        executor.submit(this::readAndPublish);
+    }
+
+    @Override
+    public boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        executor.shutdown(); // The submitted replay still runs to the end
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public Exception getFailure() {
+        return failure;
+    }
+
+    public void stop() {
+        running = false;
+        executor.shutdown();
+    }
+
+    private void readAndPublish() {
+        log.info("Starting tick file playback with speed: {}", replaySpeedStr);
+
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            long declared = TickFileFormat.readHeader(
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0, TickFileFormat.HEADER_SIZE));
+            long available = (channel.size() - TickFileFormat.HEADER_SIZE) / TickFileFormat.RECORD_SIZE;
+            long total = Math.min(declared, available);
+            if (declared > available) {
+                log.warn("Tick file truncated: header declares {} records, {} present", declared, available);
+            }
+
+            int batchLimit = TickBatchPublisher.effectiveBatch(maxBatch, ringBuffer);
+            long published = 0;
+            long nextLog = 1_000_000;
+
+            while (running && published < total) {
+                long windowRecords = Math.min(total - published, MAX_WINDOW_RECORDS);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY,
+                        TickFileFormat.HEADER_SIZE + published * TickFileFormat.RECORD_SIZE,
+                        windowRecords * TickFileFormat.RECORD_SIZE);
+                window.order(TickFileFormat.BYTE_ORDER);
+
+                int limit = (int) windowRecords * TickFileFormat.RECORD_SIZE;
+                int base = 0;
+                while (running && base < limit) {
+                    long time = window.getLong(base + TickFileFormat.TIME) * 1_000_000L;
+                    replayClock.await(time);
+
+                    // Extend the batch with the following records released together (all of them at MAX)
+                    int count = 1;
+                    int next = base + TickFileFormat.RECORD_SIZE;
+                    while (count < batchLimit && next < limit) {
+                        long nextTime = window.getLong(next + TickFileFormat.TIME) * 1_000_000L;
+                        if (!replayClock.canBatch(time, nextTime)) break;
+                        replayClock.await(nextTime);
+                        time = nextTime;
+                        count++;
+                        next += TickFileFormat.RECORD_SIZE;
+                    }
+
+                    publishRecords(window, base, count);
+                    base = next;
+
+                    published += count;
+                    if (published >= nextLog) {
+                        log.info("Processed {} ticks.", published);
+                        nextLog += 1_000_000;
+                    }
+                }
+            }
+            log.info("Tick file playback finished. Total Ticks: {}", published);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            failure = e;
+            log.error("Error reading tick file {}", filePath, e);
+        }
+    }
+
+    /**
+     * Publishes {@code count} consecutive records with a single claim.
+     */
+    private void publishRecords(MappedByteBuffer window, int base, int count) {
+        long hi = ringBuffer.next(count);
+        long lo = hi - count + 1;
+        try {
+            for (long sequence = lo; sequence <= hi; sequence++, base += TickFileFormat.RECORD_SIZE) {
+                publishRecord(window, base, ringBuffer.get(sequence));
+            }
+        } finally {
+            ringBuffer.publish(lo, hi);
+        }
+    }
+
+    private static void publishRecord(MappedByteBuffer window, int base, MarketDataEvent event) {
+        event.setInstrumentToken(window.getLong(base + TickFileFormat.TOKEN));
+        event.setLastTradedTime(window.getLong(base + TickFileFormat.TIME));
+        event.setLastTradedPrice(window.getDouble(base + TickFileFormat.PRICE));
+        event.setVolume(window.getLong(base + TickFileFormat.VOLUME));
+        event.setBidPrice(window.getDouble(base + TickFileFormat.BID_PRICE));
+        event.setAskPrice(window.getDouble(base + TickFileFormat.ASK_PRICE));
+        event.setBidQuantity(window.getLong(base + TickFileFormat.BID_QUANTITY));
+        event.setAskQuantity(window.getLong(base + TickFileFormat.ASK_QUANTITY));
+        event.setPublishNanos(System.nanoTime());
+    }
+}
@@ -3,8 +3,39 @@ package com.isotope.adapter;
 import com.isotope.model.MarketDataEvent;
 import com.lmax.disruptor.RingBuffer;
 
+import java.util.concurrent.TimeUnit;
+
 public interface MarketDataProducer {
+
+    /**
+     * Default maximum number of ticks claimed and published together by replay sources.
+     */
+    int DEFAULT_MAX_BATCH = 256;
+
     void connect();
     void subscribe(String... symbols);
     void startPublishing(RingBuffer<MarketDataEvent> ringBuffer);
+
+    /**
+     * Pacing clock of a replay source, or null for live feeds.
+     */
+    default ReplayClock getReplayClock() {
+        return null;
+    }
+
+    /**
+     * Blocks until a replay source has published its last tick (or failed); false on timeout.
+     * Live feeds never finish: they return false at once.
+     */
+    default boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        return false;
+    }
+
+    /**
+     * The error that ended a replay early (e.g. a missing or corrupt file), or null.
+     * A replay that failed still completes; check this after {@link #awaitCompletion}.
+     */
+    default Exception getFailure() {
+        return null;
+    }
 }
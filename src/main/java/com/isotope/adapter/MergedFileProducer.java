@@ -0,0 +1,343 @@
+package com.isotope.adapter;
+
+import com.isotope.model.MarketDataEvent;
+import com.lmax.disruptor.RingBuffer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Replays many CSV and/or binary tick files (per day, per symbol, ...) as one
+ * stream ordered by event time, without concatenating or sorting them first.
+ *
+ * Each file is parsed on its own virtual thread into a bounded prefetch buffer
+ * ({@link TickSourceReader}); the publishing thread only merges. A file's reader
+ * starts a chunk before the merge reaches its first tick (the next file is always
+ * started ahead) and is released once exhausted, so a year of per-day files only
+ * keeps the overlapping ones, plus the next, open. The merge is a
+ * binary min-heap over the files' next timestamps (k-way merge, O(log k) per tick);
+ * equal timestamps are published in file name order, so replays are deterministic.
+ * Each file must itself be sorted by time.
+ */
+@Slf4j
+public class MergedFileProducer implements MarketDataProducer {
+
+    public static final int DEFAULT_CHUNK_SIZE = 4096;
+    public static final int DEFAULT_PREFETCH_CHUNKS = 2;
+
+    private final String path; // Directory or glob, e.g. data/2024 or data/2024/*/NIFTY*.csv
+    private final String replaySpeedStr;
+    private final ReplayClock replayClock;
+    private final int chunkSize;
+    private final int prefetchChunks;
+    private final int maxBatch;
+    private RingBuffer<MarketDataEvent> ringBuffer;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private volatile boolean stopped = false;
+    private volatile Exception failure;
+    private int peakOpenReaders; // Replay thread only
+
+    public MergedFileProducer(String path, String replaySpeedStr) {
+        this(path, replaySpeedStr, DEFAULT_CHUNK_SIZE, DEFAULT_PREFETCH_CHUNKS, DEFAULT_MAX_BATCH);
+    }
+
+    public MergedFileProducer(String path, String replaySpeedStr, int chunkSize, int prefetchChunks, int maxBatch) {
+        if (chunkSize <= 0 || prefetchChunks <= 0) {
+            throw new IllegalArgumentException("chunkSize and prefetchChunks must be positive");
+        }
+        this.path = path;
+        this.replaySpeedStr = replaySpeedStr;
+        this.replayClock = ReplayClock.forConfig(replaySpeedStr);
+        this.chunkSize = chunkSize;
+        this.prefetchChunks = prefetchChunks;
+        this.maxBatch = maxBatch;
+    }
+
+    @Override
+    public ReplayClock getReplayClock() {
+        return replayClock;
+    }
+
+    @Override
+    public void connect() {
+        log.info("Connected to market data files: {}", path);
+    }
+
+    @Override
+    public void subscribe(String... symbols) {
+        log.info("Subscribing to symbols (files publish all): {}", (Object) symbols);
+    }
+
+    @Override
+    public void startPublishing(RingBuffer<MarketDataEvent> ringBuffer) {
+        this.ringBuffer = ringBuffer;
+        executor.submit(this::readAndPublish);
+    }
+
+    @Override
+    public boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        executor.shutdown(); // The submitted replay still runs to the end
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public Exception getFailure() {
+        return failure;
+    }
+
+    public void stop() {
+        stopped = true;
+        executor.shutdown();
+    }
+
+    private void readAndPublish() {
+        log.info("Starting merged playback of {} with speed: {}", path, replaySpeedStr);
+        try {
+            List<Path> files = resolve(path);
+            log.info("Merging {} files", files.size());
+            long ticks = replay(files, ringBuffer);
+            log.info("Merged playback finished. Total Ticks: {}", ticks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            failure = e;
+            log.error("Error replaying market data files {}", path, e);
+        }
+    }
+
+    /**
+     * Files matching a directory (its .csv and .ticks files) or a glob pattern, in name order.
+     */
+    static List<Path> resolve(String pattern) throws IOException {
+        Path asPath = Path.of(pattern);
+        if (Files.isDirectory(asPath)) {
+            try (Stream<Path> files = Files.list(asPath)) {
+                return files.filter(MergedFileProducer::isTickSource).sorted().toList();
+            }
+        }
+
+        // Walk from the deepest directory without wildcards
+        String normalized = pattern.replace('\\', '/');
+        int firstWildcard = indexOfWildcard(normalized);
+        if (firstWildcard < 0) {
+            if (Files.isRegularFile(asPath)) return List.of(asPath);
+            throw new IOException("No such file or directory: " + pattern);
+        }
+        int slash = normalized.lastIndexOf('/', firstWildcard);
+        Path base = slash < 0 ? Path.of(".") : Path.of(normalized.substring(0, slash + 1));
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + normalized);
+        Path relativeTo = slash < 0 ? base : null;
+
+        if (!Files.isDirectory(base)) throw new IOException("No such directory: " + base);
+        try (Stream<Path> files = Files.walk(base)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(f -> matcher.matches(relativeTo != null ? relativeTo.relativize(f) : f))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static boolean isTickSource(Path file) {
+        String name = file.getFileName().toString().toLowerCase();
+        return Files.isRegularFile(file) && (name.endsWith(".csv") || name.endsWith(".ticks"));
+    }
+
+    private static int indexOfWildcard(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '*' || c == '?' || c == '[' || c == '{') return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Merges the files into the ring on the calling thread and returns the number of ticks published.
+     */
+    long replay(List<Path> files, RingBuffer<MarketDataEvent> ringBuffer) throws IOException, InterruptedException {
+        int k = files.size();
+        long[] firstTime = new long[k];
+        for (int i = 0; i < k; i++) {
+            try {
+                firstTime[i] = TickSourceReader.firstTime(files.get(i));
+            } catch (IOException e) {
+                throw new IOException("Failed reading " + files.get(i), e);
+            }
+        }
+        // Files in the order they are opened: by first tick, then by name
+        int[] pending = IntStream.range(0, k).boxed()
+                .sorted(Comparator.comparingLong(i -> firstTime[i]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        int opened = 0;  // pending[0, opened) are in the merge
+        int started = 0; // pending[0, started) have a reader running, started >= opened
+        int open = 0;
+        peakOpenReaders = 0;
+
+        TickSourceReader[] readers = new TickSourceReader[k];
+        Thread[] threads = new Thread[k];
+        TickBlock[] chunks = new TickBlock[k];
+        int[] positions = new int[k];
+        int[] heap = new int[k];    // Source indices, ordered by nextTime
+        long[] nextTime = new long[k];
+        int heapSize = 0;
+        long ticks = 0;
+        TickBatchPublisher batch = new TickBatchPublisher(ringBuffer, maxBatch);
+
+        try {
+            while (!stopped) {
+                // Merge files in as the merge reaches their first tick (ties included, for name order)
+                while (opened < k && firstTime[pending[opened]] != Long.MAX_VALUE
+                        && (heapSize == 0 || firstTime[pending[opened]] <= nextTime[heap[0]])) {
+                    int source = pending[opened++];
+                    if (started < opened) {
+                        start(files, source, readers, threads);
+                        started = opened;
+                        peakOpenReaders = Math.max(peakOpenReaders, ++open);
+                    }
+                    if (advance(readers[source], chunks, positions, nextTime, source, null)) {
+                        heap[heapSize] = source;
+                        siftUp(heap, heapSize++, nextTime);
+                    } else {
+                        release(readers, threads, chunks, source);
+                        open--;
+                    }
+                }
+                if (heapSize == 0) break;
+
+                // Start readers a chunk ahead so their first chunk is parsed by the time it is due:
+                // the next file always, and every file whose first tick falls within the chunk being merged
+                TickBlock head = chunks[heap[0]];
+                long headEnd = head.times[head.size - 1];
+                while (started < k && firstTime[pending[started]] != Long.MAX_VALUE
+                        && (started == opened || firstTime[pending[started]] <= headEnd)) {
+                    start(files, pending[started++], readers, threads);
+                    peakOpenReaders = Math.max(peakOpenReaders, ++open);
+                }
+
+                int source = heap[0];
+                TickBlock chunk = chunks[source];
+                int position = positions[source];
+                long time = chunk.times[position];
+
+                // Publish what is staged before waiting for a later release time
+                if (batch.size() > 0 && !replayClock.canBatch(batch.lastTime() * 1_000_000L, time * 1_000_000L)) {
+                    batch.flush();
+                }
+                replayClock.await(time * 1_000_000L);
+                batch.add(chunk, position);
+                ticks++;
+
+                positions[source] = position + 1;
+                if (positions[source] < chunk.size) {
+                    nextTime[source] = chunk.times[position + 1];
+                } else if (!advance(readers[source], chunks, positions, nextTime, source, chunk)) {
+                    heap[0] = heap[--heapSize]; // File exhausted
+                    release(readers, threads, chunks, source);
+                    open--;
+                }
+                siftDown(heap, heapSize, nextTime);
+
+                if (ticks % 1_000_000 == 0) {
+                    log.info("Processed {} ticks.", ticks);
+                }
+            }
+            batch.flush();
+        } finally {
+            for (Thread thread : threads) {
+                if (thread != null) thread.interrupt();
+            }
+        }
+        log.debug("Merged {} files with at most {} open at once", opened, peakOpenReaders);
+        return ticks;
+    }
+
+    /**
+     * Most files open at once during the last replay.
+     */
+    int getPeakOpenReaders() {
+        return peakOpenReaders;
+    }
+
+    private void start(List<Path> files, int source, TickSourceReader[] readers, Thread[] threads) {
+        readers[source] = new TickSourceReader(files.get(source), chunkSize, prefetchChunks);
+        threads[source] = Thread.ofVirtual()
+                .name("isotope-reader-" + files.get(source).getFileName()).start(readers[source]);
+    }
+
+    /**
+     * Drops an exhausted source so its reader and chunks can be collected.
+     */
+    private static void release(TickSourceReader[] readers, Thread[] threads, TickBlock[] chunks, int source) {
+        readers[source] = null;
+        threads[source] = null;
+        chunks[source] = null;
+    }
+
+    /**
+     * Moves a source to its next non-empty chunk, returning the consumed one. False at end of file.
+     */
+    private static boolean advance(TickSourceReader reader, TickBlock[] chunks, int[] positions,
+                                   long[] nextTime, int source, TickBlock consumed)
+            throws IOException, InterruptedException {
+        if (consumed != null && consumed.last) return failOrEnd(reader);
+        if (consumed != null) reader.recycle(consumed);
+        while (true) {
+            TickBlock chunk = reader.take();
+            if (chunk.size > 0) {
+                chunks[source] = chunk;
+                positions[source] = 0;
+                nextTime[source] = chunk.times[0];
+                return true;
+            }
+            if (chunk.last) return failOrEnd(reader);
+            reader.recycle(chunk);
+        }
+    }
+
+    private static boolean failOrEnd(TickSourceReader reader) throws IOException {
+        Exception failure = reader.getFailure();
+        if (failure != null) throw new IOException("Failed reading " + reader.getFile(), failure);
+        return false;
+    }
+
+    private static boolean before(int a, int b, long[] nextTime) {
+        return nextTime[a] < nextTime[b] || (nextTime[a] == nextTime[b] && a < b);
+    }
+
+    private static void siftUp(int[] heap, int index, long[] nextTime) {
+        int item = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!before(item, heap[parent], nextTime)) break;
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = item;
+    }
+
+    private static void siftDown(int[] heap, int size, long[] nextTime) {
+        if (size == 0) return;
+        int item = heap[0];
+        int index = 0;
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && before(heap[child + 1], heap[child], nextTime)) child++;
+            if (!before(heap[child], item, nextTime)) break;
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = item;
+    }
+}
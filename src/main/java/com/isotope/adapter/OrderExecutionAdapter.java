@@ -1,86 +1,265 @@
 package com.isotope.adapter;
 
+import com.isotope.journal.ColumnarTradeLog;
+import com.isotope.journal.TradeJournal;
+import com.isotope.metrics.LatencyHistogram;
+import com.isotope.metrics.LatencyMetrics;
+import com.isotope.metrics.LatencyStage;
 import com.isotope.model.OrderEvent;
+import com.isotope.model.SymbolRegistry;
+import com.isotope.risk.PreTradeRiskCheck;
 import com.isotope.service.IndianDerivativesFeeCalculator;
 import com.lmax.disruptor.EventHandler;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
-import java.io.BufferedWriter;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 public class OrderExecutionAdapter implements EventHandler<OrderEvent> {
 
-    private BufferedWriter csvWriter;
+    private final TradeJournal journal;
+    private ColumnarTradeLog columnarLog; // Optional binary trade log (null = off)
+    private PreTradeRiskCheck riskCheck;  // Receives fill PnL for its loss limits (null = none)
+    @Getter
+    private long rejectedCount;
     private final IndianDerivativesFeeCalculator feeCalculator;
+    @Getter
     private double runningBalance;
+    @Getter
+    private long tradeCount;
     private final String executionMode;
+    private final boolean synthetic;
 
-    // Position Tracking: Symbol -> Average Entry Price
-    private final Map<String, Double> entryPrices = new HashMap<>();
-    // Position Tracking: Symbol -> Net Quantity (+Long, -Short)
-    private final Map<String, Integer> positions = new HashMap<>();
+    // Latency recording (null until setLatencyMetrics)
+    private static final String METRICS_KEY = "execution";
+    private LatencyHistogram orderQueueLatency;
+    private LatencyHistogram executionLatency;
+    private LatencyHistogram tickToTradeLatency;
+
+    // JIT warm-up: orders are fully processed but not journaled, and state is restored afterwards
+    private volatile boolean warmUp;
+    private double warmUpBalance;
+    private long warmUpOrders;
+
+    // Position Tracking: net quantity, average entry, realized PnL and fees per symbol ID
+    @Getter
+    private final PositionBook positionBook = new PositionBook(SymbolRegistry.size());
+
+    // Symbols whose live orders the broker did not take: the paper position no longer matches
+    private final Set<Integer> outOfSync = ConcurrentHashMap.newKeySet();
+    private volatile boolean anyOutOfSync;
+
+    // Order netting: fees per unit of the last market order per symbol ID, set by each group lead
+    private double[] marketFeePerUnit = new double[16];
+    private double[] marketSavingPerUnit = new double[16];
 
     public OrderExecutionAdapter(IndianDerivativesFeeCalculator feeCalculator, double initialCapital, String executionMode) {
+        this(feeCalculator, initialCapital, executionMode, openDefaultJournal());
+    }
+
+    public OrderExecutionAdapter(IndianDerivativesFeeCalculator feeCalculator, double initialCapital, String executionMode,
+                                 TradeJournal journal) {
         this.feeCalculator = feeCalculator;
         this.runningBalance = initialCapital;
         this.executionMode = executionMode;
+        this.synthetic = "SYNTHETIC".equalsIgnoreCase(executionMode);
+        this.journal = journal;
+    }
 
+    private static TradeJournal openDefaultJournal() {
         try {
-            csvWriter = new BufferedWriter(new FileWriter("trades.csv", false));
-            csvWriter.write("timestamp,strategy_id,symbol,action,quantity,price,fees,net_cash_flow,running_balance,fee_saving\n");
-            csvWriter.flush();
+            return new TradeJournal("trades.csv", TradeJournal.Durability.BATCH);
         } catch (IOException e) {
             log.error("Failed to init CSV", e);
+            return null;
         }
     }
 
+    /**
+     * Enables ORDER_QUEUE / EXECUTION / TICK_TO_TRADE latency recording. Call before the engine starts.
+     */
+    public void setLatencyMetrics(LatencyMetrics metrics) {
+        this.orderQueueLatency = metrics.histogram(LatencyStage.ORDER_QUEUE, METRICS_KEY);
+        this.executionLatency = metrics.histogram(LatencyStage.EXECUTION, METRICS_KEY);
+        this.tickToTradeLatency = metrics.histogram(LatencyStage.TICK_TO_TRADE, METRICS_KEY);
+    }
+
+    /**
+     * Also writes every order and its fill to a columnar binary log. Call before the engine starts.
+     */
+    public void setColumnarLog(ColumnarTradeLog columnarLog) {
+        this.columnarLog = columnarLog;
+    }
+
+    /**
+     * Reports the net cash flow of every fill to the risk check running ahead of this
+     * adapter. Set by {@link com.isotope.core.IsotopeEngine#setRiskCheck}.
+     */
+    public void setRiskCheck(PreTradeRiskCheck riskCheck) {
+        this.riskCheck = riskCheck;
+    }
+
+    /**
+     * Starts processing orders as a sink for the JIT warm-up. Call while the order ring is idle.
+     */
+    public void beginWarmUp() {
+        warmUpBalance = runningBalance;
+        warmUpOrders = 0;
+        warmUp = true;
+    }
+
+    /**
+     * Restores the balance from before {@link #beginWarmUp()}, clears all positions and
+     * returns the number of warm-up orders. Positions are not restored: the warm-up runs
+     * before the session's first order, when the book is empty. Call once the order ring
+     * is idle again.
+     */
+    public long endWarmUp() {
+        warmUp = false;
+        runningBalance = warmUpBalance;
+        positionBook.clear();
+        return warmUpOrders;
+    }
+
+    /**
+     * Flags a symbol whose live order was rejected or failed after this adapter filled it
+     * on paper. From then on orders that would increase its position are not filled
+     * (reject reason OUT_OF_SYNC); reducing orders still are. Lasts until restart. Thread-safe.
+     */
+    public void markOutOfSync(String symbol) {
+        if (outOfSync.add(SymbolRegistry.intern(symbol))) {
+            log.error("Position in {} is out of sync with the broker; halting new entries", symbol);
+        }
+        anyOutOfSync = true;
+    }
+
+    /**
+     * Symbols flagged by {@link #markOutOfSync(String)}, sorted.
+     */
+    public Set<String> getOutOfSyncSymbols() {
+        Set<String> symbols = new TreeSet<>();
+        for (int id : outOfSync) symbols.add(SymbolRegistry.symbol(id));
+        return symbols;
+    }
+
+    /**
+     * True between {@link #beginWarmUp()} and {@link #endWarmUp()}.
+     */
+    public boolean isWarmUp() {
+        return warmUp;
+    }
+
     @Override
     public void onEvent(OrderEvent event, long sequence, boolean endOfBatch) {
+        long start = executionLatency != null ? System.nanoTime() : 0;
+        try {
+            processOrder(event);
+        } finally {
+            if (executionLatency != null && event.getType() != null) {
+                long end = System.nanoTime();
+                if (event.getPublishNanos() != 0) orderQueueLatency.record(start - event.getPublishNanos());
+                executionLatency.record(end - start);
+                if (event.getTickNanos() != 0) tickToTradeLatency.record(end - event.getTickNanos());
+            }
+            if (endOfBatch && journal != null) {
+                try {
+                    journal.endOfBatch();
+                } catch (IOException e) {
+                    log.error("Failed to flush trade journal", e);
+                }
+            }
+            if (endOfBatch && columnarLog != null) {
+                try {
+                    columnarLog.commit();
+                } catch (IOException e) {
+                    log.error("Failed to commit columnar trade log", e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onShutdown() {
+        if (columnarLog != null) {
+            try {
+                columnarLog.close();
+            } catch (IOException e) {
+                log.error("Failed to close columnar trade log", e);
+            }
+        }
+        if (journal == null) return;
+        try {
+            journal.close();
+        } catch (IOException e) {
+            log.error("Failed to close trade journal", e);
+        }
+    }
+
+    private void processOrder(OrderEvent event) {
+        event.setExecuted(false);
         if (event.getType() == null) return;
+        if (event.isRejected()) {
+            // Marked by the pre-trade risk check: no fill; logged as a signal that was not executed
+            if (!warmUp) rejectedCount++;
+            logFailedSignal(event);
+            return;
+        }
 
         try {
             double price = event.getPrice();
             int quantity = event.getQuantity();
             String symbol = event.getTradingSymbol();
+            int symbolId = event.getSymbolId() >= 0 ? event.getSymbolId() : SymbolRegistry.intern(symbol);
+            if (anyOutOfSync && outOfSync.contains(symbolId) && increases(event, symbolId)) {
+                event.setRejectReason(OrderEvent.RejectReason.OUT_OF_SYNC);
+                if (!warmUp) rejectedCount++;
+                logFailedSignal(event);
+                return;
+            }
 
-            double fees;
+            // Netted orders pay a share of their group's one market order (priced on the group lead)
+            int feeQuantity = event.isNetted() ? event.getMarketQuantity() : quantity;
+            double fees = 0.0;
             double feeSaving = 0.0;
 
-            if ("SYNTHETIC".equalsIgnoreCase(executionMode)) {
+            if (feeQuantity == 0) {
+                // Netted but not the group lead: no market order of its own
+            } else if (synthetic) {
                 // Estimate ATM Premium: Price * 0.0085
                 double estimatedPremium = price * 0.0085;
 
-                // Calculate Fees for Leg 1 (Call) + Fees for Leg 2 (Put)
                 // Long Synthetic (Bullish): Buy Call + Sell Put
                 // Short Synthetic (Bearish): Buy Put + Sell Call
-
-                double callFee;
-                double putFee;
-
-                if (event.getType() == OrderEvent.Type.BUY) {
-                    // Long Synthetic: Buy Call + Sell Put
-                    callFee = feeCalculator.calculateOptionFee(OrderEvent.Type.BUY, estimatedPremium, quantity);
-                    putFee = feeCalculator.calculateOptionFee(OrderEvent.Type.SELL, estimatedPremium, quantity);
-                } else {
-                    // Short Synthetic: Buy Put + Sell Call
-                    // Correction based on instructions: "Short Synthetic (Bearish): Buy Put + Sell Call"
-                    // Typically Short Synthetic Futures is Long Put + Short Call
-                    putFee = feeCalculator.calculateOptionFee(OrderEvent.Type.BUY, estimatedPremium, quantity);
-                    callFee = feeCalculator.calculateOptionFee(OrderEvent.Type.SELL, estimatedPremium, quantity);
-                }
-
-                fees = callFee + putFee;
+                // Either way one option leg is bought and one sold at the estimated premium
+                fees = feeCalculator.calculateSyntheticFee(estimatedPremium, feeQuantity, event.getTimestamp());
 
                 // Calculate Futures Fee for comparison
-                double futuresFee = feeCalculator.calculateTotalFee(event.getType(), price, quantity);
+                double futuresFee = feeCalculator.calculateTotalFee(event.getType(), price, feeQuantity, event.getTimestamp());
                 feeSaving = futuresFee - fees;
 
             } else {
                 // FUTURES
-                fees = feeCalculator.calculateTotalFee(event.getType(), price, quantity);
+                fees = feeCalculator.calculateTotalFee(event.getType(), price, feeQuantity, event.getTimestamp());
+            }
+
+            if (event.isNetted()) {
+                if (symbolId >= marketFeePerUnit.length) {
+                    int capacity = Math.max(marketFeePerUnit.length * 2, symbolId + 1);
+                    marketFeePerUnit = Arrays.copyOf(marketFeePerUnit, capacity);
+                    marketSavingPerUnit = Arrays.copyOf(marketSavingPerUnit, capacity);
+                }
+                if (feeQuantity > 0) {
+                    marketFeePerUnit[symbolId] = fees / feeQuantity;
+                    marketSavingPerUnit[symbolId] = feeSaving / feeQuantity;
+                }
+                // Quantity crossed internally pays nothing
+                int marketShare = quantity - event.getCrossedQuantity();
+                fees = marketShare * marketFeePerUnit[symbolId];
+                feeSaving = marketShare * marketSavingPerUnit[symbolId];
             }
 
             double netCashFlow = -fees;
@@ -88,52 +267,56 @@ public class OrderExecutionAdapter implements EventHandler<OrderEvent> {
             // 2. PnL Logic (Realized only on Closing)
             // Determine signed quantity (+ for Buy, - for Sell)
             int tradeQty = (event.getType() == OrderEvent.Type.BUY) ? quantity : -quantity;
-            int currentPos = positions.getOrDefault(symbol, 0);
-            double currentEntry = entryPrices.getOrDefault(symbol, 0.0);
-
-            // Check if this trade reduces our position (Closing)
-            boolean isClosing = (currentPos > 0 && tradeQty < 0) || (currentPos < 0 && tradeQty > 0);
-
-            if (isClosing) {
-                // We are realizing profit/loss
-                int qtyClosing = Math.min(Math.abs(currentPos), Math.abs(tradeQty));
-                double pnl = 0.0;
-
-                if (currentPos > 0) { // Long Closing
-                    pnl = (price - currentEntry) * qtyClosing;
-                } else { // Short Covering
-                    pnl = (currentEntry - price) * qtyClosing;
-                }
-
-                netCashFlow += pnl; // Add Profit (or subtract Loss)
-
-                // Update Position State
-                int newPos = currentPos + tradeQty;
-                positions.put(symbol, newPos);
-                if (newPos == 0) entryPrices.remove(symbol);
-
-            } else {
-                // Opening new position (No Cash Flow impact except Fees)
-                // Update Weighted Average Price
-                double totalVal = (Math.abs(currentPos) * currentEntry) + (Math.abs(tradeQty) * price);
-                int newTotalQty = Math.abs(currentPos) + Math.abs(tradeQty);
-                entryPrices.put(symbol, totalVal / newTotalQty);
-                positions.put(symbol, currentPos + tradeQty);
-            }
+            double realizedPnl = positionBook.applyFill(symbolId, tradeQty, price, fees);
+            netCashFlow += realizedPnl; // Add Profit (or subtract Loss)
 
             // 3. Update Balance
             runningBalance += netCashFlow;
 
-            // 4. Log
-            if (csvWriter != null) {
-                csvWriter.write(String.format("%d,%s,%s,%s,%d,%.2f,%.2f,%.2f,%.2f,%.2f%n",
-                        event.getTimestamp(),
-                        event.getStrategyId(), symbol, event.getType(), quantity, price, fees, netCashFlow, runningBalance, feeSaving));
-                csvWriter.flush();
+            // 4. Log (written out at end of batch)
+            if (warmUp) {
+                warmUpOrders++;
+                return;
+            }
+            tradeCount++;
+            if (riskCheck != null) riskCheck.recordFill(event.getRiskSlot(), netCashFlow);
+            event.setFees(fees);
+            event.setRealizedPnl(realizedPnl);
+            event.setCashFlow(netCashFlow);
+            event.setBalance(runningBalance);
+            event.setExecuted(true);
+            if (journal != null) {
+                journal.append(event.getTimestamp(), event.getStrategyId(), symbol, event.getType().name(),
+                        quantity, price, fees, netCashFlow, runningBalance, feeSaving);
+            }
+            if (columnarLog != null) {
+                columnarLog.append(event, feeSaving, tickToTradeNanos(event));
             }
 
         } catch (Exception e) {
             log.error("Trade processing error", e);
+            logFailedSignal(event);
+        }
+    }
+
+    private boolean increases(OrderEvent event, int symbolId) {
+        if (event.getType() != OrderEvent.Type.BUY && event.getType() != OrderEvent.Type.SELL) return false;
+        int current = positionBook.getNetQuantity(symbolId);
+        int projected = current + (event.getType() == OrderEvent.Type.BUY ? event.getQuantity() : -event.getQuantity());
+        return Math.abs(projected) > Math.abs(current);
+    }
+
+    private static long tickToTradeNanos(OrderEvent event) {
+        return event.getTickNanos() != 0 ? System.nanoTime() - event.getTickNanos() : 0;
+    }
+
+    // The order still appears in the columnar log, as a signal that was not executed
+    private void logFailedSignal(OrderEvent event) {
+        if (columnarLog == null || warmUp || event.isExecuted()) return;
+        try {
+            columnarLog.append(event, 0.0, tickToTradeNanos(event));
+        } catch (Exception e) {
+            log.error("Failed to log order to columnar trade log", e);
         }
     }
 }
@@ -0,0 +1,168 @@
+package com.isotope.adapter;
+
+import com.isotope.model.OrderEvent;
+import com.isotope.model.SymbolRegistry;
+import com.lmax.disruptor.EventHandler;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cross-strategy netting stage on the order ring, ahead of the execution adapter (see
+ * {@link com.isotope.core.IsotopeEngine#setOrderNetting}). Accepted orders of one
+ * Disruptor batch are grouped by symbol; a group also closes once an order was published
+ * more than {@code windowMicros} after the group's first one (0 = the whole batch).
+ *
+ * Opposing orders of a group cross internally, first come first crossed, and only the
+ * net quantity goes to the market as one order carried by the group lead: the first order
+ * on the net side ({@link OrderEvent#getMarketQuantity()}). Every order is still filled
+ * in full for its own strategy; execution charges the one market order's fees to the
+ * quantity that was not crossed ({@code quantity - crossedQuantity}).
+ *
+ * Orders are marked when the group closes, at the end of the batch at the latest. This
+ * is safe because the next stage only sees a batch once this handler has returned from
+ * its last event. Per-symbol state is in primitive arrays owned by the netting thread.
+ */
+public class OrderNettingStage implements EventHandler<OrderEvent> {
+
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int ORDERS = 0, MARKET_ORDERS = 1, CROSSED_QUANTITY = 2, MARKET_QUANTITY = 3;
+
+    private final long windowNanos;
+
+    // Open group: ring slots are not reused until this stage has moved past them
+    private OrderEvent[] pending = new OrderEvent[64];
+    private int pendingCount;
+    private long groupStartNanos;
+
+    // Per symbol ID, only non-zero while a group is being closed
+    private int[] buyQuantity;
+    private int[] sellQuantity;
+    private int[] marketQuantity; // Net quantity, until handed to the group lead
+    private int[] touchedSymbols = new int[16];
+
+    // Counters (netting thread writes, readers use opaque reads)
+    private final long[] counts = new long[4];
+
+    public OrderNettingStage(long windowMicros) {
+        if (windowMicros < 0) throw new IllegalArgumentException("Netting window must be >= 0: " + windowMicros);
+        this.windowNanos = windowMicros * 1_000L;
+        int capacity = Math.max(SymbolRegistry.size(), 16);
+        buyQuantity = new int[capacity];
+        sellQuantity = new int[capacity];
+        marketQuantity = new int[capacity];
+    }
+
+    @Override
+    public void onEvent(OrderEvent event, long sequence, boolean endOfBatch) {
+        event.setNetted(false);
+        event.setCrossedQuantity(0);
+        event.setMarketQuantity(0);
+        OrderEvent.Type type = event.getType();
+        if ((type == OrderEvent.Type.BUY || type == OrderEvent.Type.SELL) && !event.isRejected()) {
+            if (pendingCount > 0 && windowNanos > 0 && event.getPublishNanos() - groupStartNanos > windowNanos) {
+                closeGroup();
+            }
+            if (pendingCount == 0) groupStartNanos = event.getPublishNanos();
+            if (pendingCount == pending.length) pending = Arrays.copyOf(pending, pendingCount * 2);
+            pending[pendingCount++] = event;
+        }
+        if (endOfBatch && pendingCount > 0) closeGroup();
+    }
+
+    private void closeGroup() {
+        int touched = 0;
+        for (int i = 0; i < pendingCount; i++) {
+            OrderEvent event = pending[i];
+            int symbolId = symbolIdOf(event);
+            if (buyQuantity[symbolId] == 0 && sellQuantity[symbolId] == 0) {
+                if (touched == touchedSymbols.length) touchedSymbols = Arrays.copyOf(touchedSymbols, touched * 2);
+                touchedSymbols[touched++] = symbolId;
+            }
+            if (event.getType() == OrderEvent.Type.BUY) {
+                buyQuantity[symbolId] += event.getQuantity();
+            } else {
+                sellQuantity[symbolId] += event.getQuantity();
+            }
+        }
+
+        // Crossing budgets: both sides cross min(buys, sells); what remains is the net
+        for (int i = 0; i < touched; i++) {
+            int symbolId = touchedSymbols[i];
+            int crossed = Math.min(buyQuantity[symbolId], sellQuantity[symbolId]);
+            int net = buyQuantity[symbolId] - sellQuantity[symbolId];
+            buyQuantity[symbolId] = crossed;
+            sellQuantity[symbolId] = crossed;
+            marketQuantity[symbolId] = Math.abs(net);
+            if (net != 0) increment(MARKET_ORDERS, 1);
+            increment(CROSSED_QUANTITY, crossed);
+            increment(MARKET_QUANTITY, Math.abs(net));
+        }
+
+        for (int i = 0; i < pendingCount; i++) {
+            OrderEvent event = pending[i];
+            pending[i] = null;
+            int symbolId = symbolIdOf(event);
+            int[] budget = event.getType() == OrderEvent.Type.BUY ? buyQuantity : sellQuantity;
+            int crossed = Math.min(event.getQuantity(), budget[symbolId]);
+            budget[symbolId] -= crossed;
+            event.setNetted(true);
+            event.setCrossedQuantity(crossed);
+            if (crossed < event.getQuantity() && marketQuantity[symbolId] > 0) {
+                // First order on the net side: carries the group's market order
+                event.setMarketQuantity(marketQuantity[symbolId]);
+                marketQuantity[symbolId] = 0;
+            }
+        }
+        increment(ORDERS, pendingCount);
+        pendingCount = 0;
+
+        for (int i = 0; i < touched; i++) {
+            int symbolId = touchedSymbols[i];
+            buyQuantity[symbolId] = 0;
+            sellQuantity[symbolId] = 0;
+            marketQuantity[symbolId] = 0;
+        }
+    }
+
+    private int symbolIdOf(OrderEvent event) {
+        int symbolId = event.getSymbolId() >= 0 ? event.getSymbolId() : SymbolRegistry.intern(event.getTradingSymbol());
+        ensureCapacity(symbolId);
+        return symbolId;
+    }
+
+    /**
+     * Orders netted, market orders they became, and the quantity crossed internally and sent to the market.
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("window_micros", windowNanos / 1_000L);
+        result.put("orders", (long) LONGS.getOpaque(counts, ORDERS));
+        result.put("market_orders", (long) LONGS.getOpaque(counts, MARKET_ORDERS));
+        result.put("crossed_quantity", (long) LONGS.getOpaque(counts, CROSSED_QUANTITY));
+        result.put("market_quantity", (long) LONGS.getOpaque(counts, MARKET_QUANTITY));
+        return result;
+    }
+
+    /**
+     * Zeroes the counters. Only call while the order ring is idle (e.g. after the JIT warm-up).
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length; i++) LONGS.setOpaque(counts, i, 0L);
+    }
+
+    private void increment(int index, long delta) {
+        LONGS.setOpaque(counts, index, counts[index] + delta);
+    }
+
+    private void ensureCapacity(int symbolId) {
+        if (symbolId < buyQuantity.length) return;
+        int capacity = Math.max(buyQuantity.length * 2, symbolId + 1);
+        buyQuantity = Arrays.copyOf(buyQuantity, capacity);
+        sellQuantity = Arrays.copyOf(sellQuantity, capacity);
+        marketQuantity = Arrays.copyOf(marketQuantity, capacity);
+    }
+}
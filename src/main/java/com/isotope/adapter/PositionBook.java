@@ -0,0 +1,109 @@
+package com.isotope.adapter;
+
+import java.util.Arrays;
+
+/**
+ * Per-symbol positions in parallel primitive arrays indexed by symbol ID
+ * (see {@link com.isotope.model.SymbolRegistry}).
+ * Single-threaded: owned by the execution consumer.
+ */
+public class PositionBook {
+
+    private int[] netQuantity;
+    private double[] averagePrice;
+    private double[] realizedPnl;
+    private double[] fees;
+
+    public PositionBook(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 16);
+        netQuantity = new int[capacity];
+        averagePrice = new double[capacity];
+        realizedPnl = new double[capacity];
+        fees = new double[capacity];
+    }
+
+    /**
+     * Applies a fill and returns the PnL it realizes.
+     * Opening trades update the weighted average entry price; closing trades
+     * realize PnL against it. A trade that flips the position opens the
+     * remainder at the trade price.
+     *
+     * @param tradeQty signed quantity (+ buy, - sell)
+     */
+    public double applyFill(int symbolId, int tradeQty, double price, double fee) {
+        ensureCapacity(symbolId);
+        fees[symbolId] += fee;
+
+        int currentPos = netQuantity[symbolId];
+        double currentEntry = averagePrice[symbolId];
+
+        // Check if this trade reduces our position (Closing)
+        boolean isClosing = (currentPos > 0 && tradeQty < 0) || (currentPos < 0 && tradeQty > 0);
+
+        if (!isClosing) {
+            // Opening: update weighted average price
+            int absPos = Math.abs(currentPos);
+            int absTrade = Math.abs(tradeQty);
+            int newTotalQty = absPos + absTrade;
+            if (newTotalQty > 0) {
+                averagePrice[symbolId] = (absPos * currentEntry + absTrade * price) / newTotalQty;
+            }
+            netQuantity[symbolId] = currentPos + tradeQty;
+            return 0.0;
+        }
+
+        int qtyClosing = Math.min(Math.abs(currentPos), Math.abs(tradeQty));
+        double pnl = (currentPos > 0)
+                ? (price - currentEntry) * qtyClosing   // Long closing
+                : (currentEntry - price) * qtyClosing;  // Short covering
+        realizedPnl[symbolId] += pnl;
+
+        int newPos = currentPos + tradeQty;
+        netQuantity[symbolId] = newPos;
+        if (newPos == 0) {
+            averagePrice[symbolId] = 0.0;
+        } else if (Integer.signum(newPos) != Integer.signum(currentPos)) {
+            averagePrice[symbolId] = price; // Flipped: remainder opened at this price
+        }
+        return pnl;
+    }
+
+    public int getNetQuantity(int symbolId) {
+        return symbolId < netQuantity.length ? netQuantity[symbolId] : 0;
+    }
+
+    public double getAveragePrice(int symbolId) {
+        return symbolId < averagePrice.length ? averagePrice[symbolId] : 0.0;
+    }
+
+    public double getRealizedPnl(int symbolId) {
+        return symbolId < realizedPnl.length ? realizedPnl[symbolId] : 0.0;
+    }
+
+    public double getFees(int symbolId) {
+        return symbolId < fees.length ? fees[symbolId] : 0.0;
+    }
+
+    /**
+     * Flattens every position.
+     */
+    public void clear() {
+        Arrays.fill(netQuantity, 0);
+        Arrays.fill(averagePrice, 0.0);
+        Arrays.fill(realizedPnl, 0.0);
+        Arrays.fill(fees, 0.0);
+    }
+
+    public int capacity() {
+        return netQuantity.length;
+    }
+
+    private void ensureCapacity(int symbolId) {
+        if (symbolId < netQuantity.length) return;
+        int capacity = Math.max(netQuantity.length * 2, symbolId + 1);
+        netQuantity = Arrays.copyOf(netQuantity, capacity);
+        averagePrice = Arrays.copyOf(averagePrice, capacity);
+        realizedPnl = Arrays.copyOf(realizedPnl, capacity);
+        fees = Arrays.copyOf(fees, capacity);
+    }
+}
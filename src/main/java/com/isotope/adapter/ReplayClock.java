@@ -0,0 +1,204 @@
+package com.isotope.adapter;
+
+import com.isotope.metrics.LatencyHistogram;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Paces a replay against an absolute schedule: event time {@code t} is released at
+ * {@code anchorWall + (t - anchorEvent) / speed}. Each wait parks until shortly before
+ * the deadline and spins the rest, so sleep overshoot never accumulates and
+ * sub-millisecond gaps keep their spacing at 100x-1000x.
+ *
+ * If the replay falls more than {@link #MAX_LAG_NANOS} behind (slow consumers,
+ * event time going backwards), the schedule is re-anchored instead of bursting to
+ * catch up. The speed can be changed from any thread ({@link #setSpeed(String)});
+ * the producer thread re-anchors at its current position so the change applies
+ * from that point on. Achieved vs target rate is reported by {@link #snapshot()}.
+ */
+@Slf4j
+public final class ReplayClock {
+
+    public static final String MAX = "MAX";
+
+    static final long SPIN_NANOS = 100_000;           // Spin the final 100 µs (park granularity)
+    static final long MAX_PARK_NANOS = 100_000_000;   // Re-check speed changes at least every 100 ms
+    static final long MAX_LAG_NANOS = 50_000_000;     // Re-anchor when more than 50 ms late
+
+    private volatile double speed; // Event time per wall time; +Infinity = MAX
+
+    // Schedule (producer thread only)
+    private boolean anchored;
+    private double appliedSpeed;
+    private long anchorEvent;
+    private long anchorWall;
+
+    // Progress since the last speed change (written by the producer, read by snapshot)
+    private volatile long intervalStartEvent;
+    private volatile long intervalStartWall;
+    private volatile long intervalEvents;
+    private volatile long lastEvent;
+    private volatile long lastWall;
+    private volatile long events;
+    private volatile long resyncs;
+    private final LatencyHistogram lateness = new LatencyHistogram();
+
+    public ReplayClock(String speed) {
+        this.speed = parseSpeed(speed);
+    }
+
+    /**
+     * Parses "MAX" (or null), "10x" or "10" into a speed factor; +Infinity for MAX.
+     */
+    public static double parseSpeed(String speed) {
+        if (speed == null || MAX.equalsIgnoreCase(speed.trim())) return Double.POSITIVE_INFINITY;
+        double factor;
+        try {
+            factor = Double.parseDouble(speed.trim().toLowerCase().replace("x", ""));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid replay speed '" + speed + "' (expected MAX or e.g. 10x)");
+        }
+        if (!(factor > 0)) throw new IllegalArgumentException("Replay speed must be positive: " + speed);
+        return factor;
+    }
+
+    /**
+     * Like {@link #ReplayClock(String)}, but falls back to 1x on a malformed speed (configuration values).
+     */
+    public static ReplayClock forConfig(String speed) {
+        try {
+            return new ReplayClock(speed);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid replay speed format '{}', defaulting to 1x", speed);
+            return new ReplayClock("1x");
+        }
+    }
+
+    public void setSpeed(String speed) {
+        this.speed = parseSpeed(speed);
+        log.info("Replay speed set to {}", speed);
+    }
+
+    public double getSpeed() {
+        return speed;
+    }
+
+    public boolean isMax() {
+        return speed == Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * True if an event may be published in the same batch as the previous one:
+     * at MAX speed, or when both are released at the same time.
+     */
+    public boolean canBatch(long previousEventNanos, long eventNanos) {
+        return eventNanos == previousEventNanos || isMax();
+    }
+
+    /**
+     * Blocks until the scheduled release time of an event (event time in nanoseconds).
+     * Returns immediately at MAX speed. Called by the producer thread only.
+     */
+    public void await(long eventNanos) throws InterruptedException {
+        long now = System.nanoTime();
+        double current = speed;
+        if (!anchored || current != appliedSpeed) {
+            reanchor(anchored ? positionAt(now) : eventNanos, now, current);
+        }
+
+        if (current != Double.POSITIVE_INFINITY) {
+            long deadline = deadline(eventNanos);
+            long remaining;
+            while ((remaining = deadline - now) > SPIN_NANOS) {
+                LockSupport.parkNanos(Math.min(remaining - SPIN_NANOS, MAX_PARK_NANOS));
+                if (Thread.interrupted()) throw new InterruptedException();
+                now = System.nanoTime();
+                if (speed != appliedSpeed) {
+                    reanchor(positionAt(now), now, speed);
+                    if (appliedSpeed == Double.POSITIVE_INFINITY) {
+                        deadline = now; // Release now; skip the spin to the old schedule
+                        break;
+                    }
+                    deadline = deadline(eventNanos);
+                }
+            }
+            while (now < deadline) {
+                Thread.onSpinWait();
+                now = System.nanoTime();
+            }
+
+            long late = now - deadline;
+            if (appliedSpeed != Double.POSITIVE_INFINITY) {
+                lateness.record(late);
+                if (late > MAX_LAG_NANOS) {
+                    // Behind schedule: restart it here rather than releasing a catch-up burst
+                    anchorEvent = eventNanos;
+                    anchorWall = now;
+                    resyncs = resyncs + 1;
+                }
+            }
+        }
+
+        lastEvent = eventNanos;
+        lastWall = now;
+        intervalEvents = intervalEvents + 1;
+        events = events + 1;
+    }
+
+    private long deadline(long eventNanos) {
+        return anchorWall + (long) ((eventNanos - anchorEvent) / appliedSpeed);
+    }
+
+    /**
+     * Event time the schedule has reached at wall time {@code now}.
+     */
+    private long positionAt(long now) {
+        if (appliedSpeed == Double.POSITIVE_INFINITY) return lastEvent;
+        return anchorEvent + (long) ((now - anchorWall) * appliedSpeed);
+    }
+
+    private void reanchor(long eventNanos, long now, double newSpeed) {
+        anchored = true;
+        appliedSpeed = newSpeed;
+        anchorEvent = eventNanos;
+        anchorWall = now;
+        intervalStartEvent = eventNanos;
+        intervalStartWall = now;
+        intervalEvents = 0;
+    }
+
+    /**
+     * Target vs achieved pace since the last speed change, plus schedule lateness (ns).
+     */
+    public Map<String, Object> snapshot() {
+        double target = speed;
+        long intervalEventCount = intervalEvents;
+        long eventElapsed = lastEvent - intervalStartEvent;
+        long wallElapsed = lastWall - intervalStartWall;
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("speed", target == Double.POSITIVE_INFINITY ? MAX : target);
+        result.put("events", events);
+        result.put("interval_events", intervalEventCount);
+        result.put("interval_event_time_ms", eventElapsed / 1_000_000.0);
+        result.put("interval_wall_time_ms", wallElapsed / 1_000_000.0);
+        result.put("achieved_speed", wallElapsed > 0 ? (double) eventElapsed / wallElapsed : null);
+        result.put("achieved_events_per_sec", wallElapsed > 0 ? intervalEventCount * 1e9 / wallElapsed : null);
+        result.put("target_events_per_sec", target != Double.POSITIVE_INFINITY && eventElapsed > 0
+                ? intervalEventCount * 1e9 * target / eventElapsed : null);
+        result.put("resyncs", resyncs);
+
+        long[] counts = new long[LatencyHistogram.LENGTH];
+        lateness.addInto(counts);
+        Map<String, Object> late = new LinkedHashMap<>();
+        late.put("count", LatencyHistogram.totalCount(counts));
+        late.put("p50_ns", LatencyHistogram.valueAtPercentile(counts, 50.0));
+        late.put("p99_ns", LatencyHistogram.valueAtPercentile(counts, 99.0));
+        late.put("max_ns", LatencyHistogram.maxValue(counts));
+        result.put("lateness", late);
+        return result;
+    }
+}
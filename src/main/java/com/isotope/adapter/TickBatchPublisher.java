@@ -0,0 +1,73 @@
+package com.isotope.adapter;
+
+import com.isotope.model.MarketDataEvent;
+import com.lmax.disruptor.RingBuffer;
+
+/**
+ * Stages ticks and publishes them with one sequence claim per batch
+ * ({@code next(n)} / {@code publish(lo, hi)}), so consumers wake up once per
+ * batch instead of once per tick. Used by sources that cannot look ahead
+ * (streamed CSV, merged files). Single-threaded.
+ */
+final class TickBatchPublisher {
+
+    private final RingBuffer<MarketDataEvent> ringBuffer;
+    private final TickBlock staged;
+
+    TickBatchPublisher(RingBuffer<MarketDataEvent> ringBuffer, int maxBatch) {
+        this.ringBuffer = ringBuffer;
+        this.staged = new TickBlock(effectiveBatch(maxBatch, ringBuffer));
+    }
+
+    /**
+     * Batch size actually usable with the ring (a claim cannot exceed its size).
+     */
+    static int effectiveBatch(int maxBatch, RingBuffer<MarketDataEvent> ringBuffer) {
+        return Math.max(1, Math.min(maxBatch, ringBuffer.getBufferSize()));
+    }
+
+    int size() {
+        return staged.size;
+    }
+
+    /**
+     * Event time (epoch millis) of the last staged tick; only valid when {@link #size()} > 0.
+     */
+    long lastTime() {
+        return staged.times[staged.size - 1];
+    }
+
+    /**
+     * Stages a tick, publishing the batch when it is full.
+     */
+    void add(long token, long time, double price, long volume,
+             double bidPrice, double askPrice, long bidQuantity, long askQuantity) {
+        staged.add(token, time, price, volume, bidPrice, askPrice, bidQuantity, askQuantity);
+        if (staged.isFull()) flush();
+    }
+
+    void add(TickBlock block, int index) {
+        add(block.tokens[index], block.times[index], block.prices[index], block.volumes[index],
+                block.bidPrices[index], block.askPrices[index], block.bidQuantities[index], block.askQuantities[index]);
+    }
+
+    /**
+     * Publishes the staged ticks, if any.
+     */
+    void flush() {
+        int n = staged.size;
+        if (n == 0) return;
+        long hi = ringBuffer.next(n);
+        long lo = hi - n + 1;
+        try {
+            for (int i = 0; i < n; i++) {
+                MarketDataEvent event = ringBuffer.get(lo + i);
+                staged.copyTo(i, event);
+                event.setPublishNanos(System.nanoTime());
+            }
+        } finally {
+            ringBuffer.publish(lo, hi);
+        }
+        staged.size = 0;
+    }
+}
@@ -0,0 +1,60 @@
+package com.isotope.adapter;
+
+import com.isotope.model.MarketDataEvent;
+
+/**
+ * Columnar block of ticks (top of book only), reused to stage ticks between
+ * a reader and the ring without allocating per tick. {@code last} marks the end
+ * of a file when blocks are passed between threads ({@link TickSourceReader}).
+ */
+final class TickBlock {
+    final long[] tokens;
+    final long[] times;
+    final double[] prices;
+    final long[] volumes;
+    final double[] bidPrices;
+    final double[] askPrices;
+    final long[] bidQuantities;
+    final long[] askQuantities;
+    int size;
+    boolean last;
+
+    TickBlock(int capacity) {
+        tokens = new long[capacity];
+        times = new long[capacity];
+        prices = new double[capacity];
+        volumes = new long[capacity];
+        bidPrices = new double[capacity];
+        askPrices = new double[capacity];
+        bidQuantities = new long[capacity];
+        askQuantities = new long[capacity];
+    }
+
+    boolean isFull() {
+        return size == tokens.length;
+    }
+
+    void add(long token, long time, double price, long volume,
+             double bidPrice, double askPrice, long bidQuantity, long askQuantity) {
+        tokens[size] = token;
+        times[size] = time;
+        prices[size] = price;
+        volumes[size] = volume;
+        bidPrices[size] = bidPrice;
+        askPrices[size] = askPrice;
+        bidQuantities[size] = bidQuantity;
+        askQuantities[size] = askQuantity;
+        size++;
+    }
+
+    void copyTo(int index, MarketDataEvent event) {
+        event.setInstrumentToken(tokens[index]);
+        event.setLastTradedTime(times[index]);
+        event.setLastTradedPrice(prices[index]);
+        event.setVolume(volumes[index]);
+        event.setBidPrice(bidPrices[index]);
+        event.setAskPrice(askPrices[index]);
+        event.setBidQuantity(bidQuantities[index]);
+        event.setAskQuantity(askQuantities[index]);
+    }
+}
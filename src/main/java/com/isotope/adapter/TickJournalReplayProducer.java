@@ -0,0 +1,164 @@
+package com.isotope.adapter;
+
+import com.isotope.journal.TickJournalFormat;
+import com.isotope.model.MarketDataEvent;
+import com.lmax.disruptor.RingBuffer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a tick journal written by {@link com.isotope.journal.TickJournalHandler}:
+ * every committed record of every segment, in order, restored field for field
+ * (including depth) into the ring. Paced by the recorded capture times ("1x", "10x", ...)
+ * or as fast as possible ("MAX").
+ */
+@Slf4j
+public class TickJournalReplayProducer implements MarketDataProducer {
+
+    private final String directory;
+    private final String replaySpeedStr;
+    private final ReplayClock replayClock;
+    private final int maxBatch;
+    private RingBuffer<MarketDataEvent> ringBuffer;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private volatile boolean stopped = false;
+    private volatile Exception failure;
+
+    public TickJournalReplayProducer(String directory, String replaySpeedStr) {
+        this(directory, replaySpeedStr, DEFAULT_MAX_BATCH);
+    }
+
+    public TickJournalReplayProducer(String directory, String replaySpeedStr, int maxBatch) {
+        this.directory = directory;
+        this.replaySpeedStr = replaySpeedStr;
+        this.replayClock = ReplayClock.forConfig(replaySpeedStr);
+        this.maxBatch = maxBatch;
+    }
+
+    @Override
+    public ReplayClock getReplayClock() {
+        return replayClock;
+    }
+
+    @Override
+    public void connect() {
+        log.info("Connected to tick journal: {}", directory);
+    }
+
+    @Override
+    public void subscribe(String... symbols) {
+        log.info("Subscribing to symbols (journal publishes all): {}", (Object) symbols);
+    }
+
+    @Override
+    public void startPublishing(RingBuffer<MarketDataEvent> ringBuffer) {
+        this.ringBuffer = ringBuffer;
+        executor.submit(this::readAndPublish);
+    }
+
+    @Override
+    public boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        executor.shutdown(); // The submitted replay still runs to the end
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public Exception getFailure() {
+        return failure;
+    }
+
+    public void stop() {
+        stopped = true;
+        executor.shutdown();
+    }
+
+    private void readAndPublish() {
+        log.info("Starting tick journal playback with speed: {}", replaySpeedStr);
+        try {
+            long ticks = replay(Path.of(directory), ringBuffer);
+            log.info("Tick journal playback finished. Total Ticks: {}", ticks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            failure = e;
+            log.error("Error replaying tick journal {}", directory, e);
+        }
+    }
+
+    /**
+     * Replays the journal into the ring on the calling thread and returns the number of ticks published.
+     */
+    long replay(Path journalDirectory, RingBuffer<MarketDataEvent> ringBuffer) throws IOException, InterruptedException {
+        List<Path> segments = TickJournalFormat.segments(journalDirectory);
+        if (segments.isEmpty()) throw new IOException("No tick journal segments in " + journalDirectory);
+
+        int batchLimit = TickBatchPublisher.effectiveBatch(maxBatch, ringBuffer);
+        long expectedSequence = -1;
+        long gaps = 0;
+        long ticks = 0;
+
+        for (Path file : segments) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long committed = TickJournalFormat.readHeader(
+                        channel.map(FileChannel.MapMode.READ_ONLY, 0, TickJournalFormat.HEADER_SIZE));
+                long available = (channel.size() - TickJournalFormat.HEADER_SIZE) / TickJournalFormat.RECORD_SIZE;
+                long count = Math.min(committed, available);
+                if (count == 0) continue;
+
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY,
+                        TickJournalFormat.HEADER_SIZE, count * TickJournalFormat.RECORD_SIZE);
+                segment.order(TickJournalFormat.BYTE_ORDER);
+
+                int limit = (int) count * TickJournalFormat.RECORD_SIZE;
+                int base = 0;
+                while (base < limit) {
+                    if (stopped) return ticks;
+
+                    // Batch the following records released together (all of them at MAX)
+                    long capture = segment.getLong(base + TickJournalFormat.CAPTURE_NANOS);
+                    replayClock.await(capture);
+                    int batch = 1;
+                    int end = base + TickJournalFormat.RECORD_SIZE;
+                    while (batch < batchLimit && end < limit) {
+                        long nextCapture = segment.getLong(end + TickJournalFormat.CAPTURE_NANOS);
+                        if (!replayClock.canBatch(capture, nextCapture)) break;
+                        replayClock.await(nextCapture);
+                        capture = nextCapture;
+                        batch++;
+                        end += TickJournalFormat.RECORD_SIZE;
+                    }
+
+                    long hi = ringBuffer.next(batch);
+                    long lo = hi - batch + 1;
+                    try {
+                        for (long next = lo; next <= hi; next++, base += TickJournalFormat.RECORD_SIZE) {
+                            long sequence = segment.getLong(base + TickJournalFormat.SEQUENCE);
+                            if (expectedSequence != -1 && sequence != expectedSequence) gaps++;
+                            expectedSequence = sequence + 1;
+
+                            MarketDataEvent event = ringBuffer.get(next);
+                            TickJournalFormat.readRecord(segment, base, event);
+                            event.setPublishNanos(System.nanoTime());
+                        }
+                    } finally {
+                        ringBuffer.publish(lo, hi);
+                    }
+                    ticks += batch;
+                }
+            }
+        }
+        if (gaps > 0) {
+            log.warn("Tick journal has {} sequence discontinuities (separate sessions or dropped journaling)", gaps);
+        }
+        return ticks;
+    }
+}
@@ -0,0 +1,240 @@
+package com.isotope.adapter;
+
+import com.isotope.tickstore.TickFileFormat;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Reads one CSV or binary tick file ahead of the merge on its own thread.
+ *
+ * Ticks are parsed into columnar {@link TickBlock}s that cycle between two bounded
+ * queues: the reader takes an empty chunk, fills it and hands it to the merge,
+ * which returns it once published. At most {@code prefetchChunks} chunks are
+ * buffered per file and nothing is allocated after startup.
+ */
+@Slf4j
+final class TickSourceReader implements Runnable {
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final Path file;
+    private final BlockingQueue<TickBlock> empty;
+    private final BlockingQueue<TickBlock> filled;
+    private volatile Exception failure;
+    private TickBlock current; // Being filled by the reader thread
+    private long lastTime = Long.MIN_VALUE;
+    private long ticks;
+    private long outOfOrder;
+
+    TickSourceReader(Path file, int chunkSize, int prefetchChunks) {
+        this.file = file;
+        // One extra chunk: the merge holds one while the reader fills the others
+        this.empty = new ArrayBlockingQueue<>(prefetchChunks + 1);
+        this.filled = new ArrayBlockingQueue<>(prefetchChunks + 1);
+        for (int i = 0; i <= prefetchChunks; i++) empty.add(new TickBlock(chunkSize));
+    }
+
+    /**
+     * Time of the file's first tick, or Long.MAX_VALUE if it has none. Reads only up to
+     * that tick, so the merge can defer opening the file until its ticks are due.
+     * Files too short for a header return Long.MIN_VALUE (opened at once to report it).
+     */
+    static long firstTime(Path file) throws IOException {
+        if (file.getFileName().toString().toLowerCase().endsWith(".csv")) {
+            CsvTickParser parser = new CsvTickParser(ZoneId.systemDefault());
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.ISO_8859_1)) {
+                boolean firstLine = true;
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    byte[] bytes = line.getBytes(StandardCharsets.ISO_8859_1);
+                    if (firstLine) {
+                        firstLine = false;
+                        if (parser.isHeader(bytes, 0, bytes.length)) continue;
+                    }
+                    try {
+                        if (parser.parseLine(bytes, 0, bytes.length)) return parser.getTimestamp();
+                    } catch (NumberFormatException e) {
+                        // Malformed line, skipped like the reader does
+                    }
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(TickFileFormat.HEADER_SIZE + TickFileFormat.RECORD_SIZE);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Header and first record
+            }
+            buffer.flip();
+            if (buffer.limit() < TickFileFormat.HEADER_SIZE) return Long.MIN_VALUE; // Open now: the reader reports it
+            long declared = TickFileFormat.readHeader(buffer);
+            if (declared == 0 || buffer.limit() < buffer.capacity()) return Long.MAX_VALUE;
+            return buffer.getLong(TickFileFormat.HEADER_SIZE + TickFileFormat.TIME);
+        }
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    /**
+     * Next chunk of the file, blocking until the reader has filled it.
+     */
+    TickBlock take() throws InterruptedException {
+        return filled.take();
+    }
+
+    /**
+     * Returns a consumed chunk to the reader.
+     */
+    void recycle(TickBlock chunk) {
+        empty.add(chunk);
+    }
+
+    /**
+     * The error that ended the file early, or null.
+     */
+    Exception getFailure() {
+        return failure;
+    }
+
+    @Override
+    public void run() {
+        try {
+            current = empty.take();
+            if (file.getFileName().toString().toLowerCase().endsWith(".csv")) readCsv();
+            else readTickFile();
+            if (outOfOrder > 0) {
+                log.warn("{}: {} ticks earlier than their predecessor (file not sorted by time)", file, outOfOrder);
+            }
+            log.debug("Finished reading {} ({} ticks)", file, ticks);
+        } catch (InterruptedException e) {
+            return; // Replay stopped
+        } catch (Exception e) {
+            failure = e;
+        }
+        current.last = true;
+        filled.add(current);
+    }
+
+    private void readCsv() throws IOException, InterruptedException {
+        CsvTickParser parser = new CsvTickParser(ZoneId.systemDefault());
+        long skipped = 0;
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] buf = new byte[READ_BUFFER_SIZE];
+            int start = 0;
+            int scan = 0;
+            int limit = 0;
+            boolean eof = false;
+            boolean firstLine = true;
+
+            while (true) {
+                int lineEnd = indexOfNewline(buf, scan, limit);
+                if (lineEnd < 0) {
+                    if (!eof) {
+                        if (start > 0) {
+                            System.arraycopy(buf, start, buf, 0, limit - start);
+                            limit -= start;
+                            start = 0;
+                        } else if (limit == buf.length) {
+                            buf = Arrays.copyOf(buf, buf.length * 2);
+                        }
+                        scan = limit;
+                        int n = in.read(buf, limit, buf.length - limit);
+                        if (n < 0) eof = true;
+                        else limit += n;
+                        continue;
+                    }
+                    if (start >= limit) break;
+                    lineEnd = limit;
+                }
+
+                int lineStart = start;
+                int end = (lineEnd > lineStart && buf[lineEnd - 1] == '\r') ? lineEnd - 1 : lineEnd;
+                start = lineEnd + 1;
+                scan = start;
+
+                if (firstLine) {
+                    firstLine = false;
+                    if (parser.isHeader(buf, lineStart, end)) continue;
+                }
+                try {
+                    if (!parser.parseLine(buf, lineStart, end)) {
+                        if (end > lineStart) skipped++;
+                        continue;
+                    }
+                } catch (NumberFormatException e) {
+                    skipped++;
+                    continue;
+                }
+                add(parser.getInstrumentToken(), parser.getTimestamp(), parser.getClose(),
+                        parser.getVolume(), 0.0, 0.0, 0, 0);
+            }
+        }
+        if (skipped > 0) log.warn("Skipped {} malformed lines in {}", skipped, file);
+    }
+
+    private void readTickFile() throws IOException, InterruptedException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long declared = TickFileFormat.readHeader(
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0, TickFileFormat.HEADER_SIZE));
+            long available = (channel.size() - TickFileFormat.HEADER_SIZE) / TickFileFormat.RECORD_SIZE;
+            long records = Math.min(declared, available);
+            long maxWindow = Integer.MAX_VALUE / TickFileFormat.RECORD_SIZE;
+
+            for (long read = 0; read < records; ) {
+                long windowRecords = Math.min(records - read, maxWindow);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY,
+                        TickFileFormat.HEADER_SIZE + read * TickFileFormat.RECORD_SIZE,
+                        windowRecords * TickFileFormat.RECORD_SIZE);
+                window.order(TickFileFormat.BYTE_ORDER);
+                int limit = (int) windowRecords * TickFileFormat.RECORD_SIZE;
+                for (int base = 0; base < limit; base += TickFileFormat.RECORD_SIZE) {
+                    add(window.getLong(base + TickFileFormat.TOKEN), window.getLong(base + TickFileFormat.TIME),
+                            window.getDouble(base + TickFileFormat.PRICE), window.getLong(base + TickFileFormat.VOLUME),
+                            window.getDouble(base + TickFileFormat.BID_PRICE), window.getDouble(base + TickFileFormat.ASK_PRICE),
+                            window.getLong(base + TickFileFormat.BID_QUANTITY), window.getLong(base + TickFileFormat.ASK_QUANTITY));
+                }
+                read += windowRecords;
+            }
+        }
+    }
+
+    /**
+     * Adds a tick, handing the chunk to the merge (and taking an empty one) when it is full.
+     */
+    private void add(long token, long time, double price, long volume,
+                     double bidPrice, double askPrice, long bidQuantity, long askQuantity) throws InterruptedException {
+        if (time < lastTime) outOfOrder++;
+        lastTime = time;
+        current.add(token, time, price, volume, bidPrice, askPrice, bidQuantity, askQuantity);
+        ticks++;
+        if (current.isFull()) {
+            filled.put(current);
+            current = empty.take();
+            current.size = 0;
+            current.last = false;
+        }
+    }
+
+    private static int indexOfNewline(byte[] buf, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buf[i] == '\n') return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,42 @@
+package com.isotope.adapter;
+
+/**
+ * Token bucket that hands out reservations instead of blocking: {@link #reserve(long)}
+ * returns the time at which the caller may act, and tokens may go negative so later
+ * callers queue behind earlier ones in call order. Up to {@code burst} actions are
+ * immediate; the sustained rate is {@code ratePerSecond}.
+ *
+ * Thread-safe: callers reserve just before they act (e.g. each placement thread),
+ * and waiting happens wherever the reservation is used.
+ */
+public final class TokenBucket {
+
+    private final double ratePerNano;
+    private final double burst;
+    private double tokens;
+    private long lastNanos;
+
+    public TokenBucket(double ratePerSecond, int burst, long nowNanos) {
+        if (!(ratePerSecond > 0) || burst < 1) {
+            throw new IllegalArgumentException("Rate must be > 0 and burst >= 1: " + ratePerSecond + "/s, " + burst);
+        }
+        this.ratePerNano = ratePerSecond / 1e9;
+        this.burst = burst;
+        this.tokens = burst;
+        this.lastNanos = nowNanos;
+    }
+
+    /**
+     * Takes one token and returns the System.nanoTime at which it is available
+     * ({@code nowNanos} if there was one in the bucket).
+     */
+    public synchronized long reserve(long nowNanos) {
+        if (nowNanos > lastNanos) {
+            tokens = Math.min(burst, tokens + (nowNanos - lastNanos) * ratePerNano);
+            lastNanos = nowNanos;
+        }
+        tokens -= 1;
+        if (tokens >= 0) return nowNanos;
+        return lastNanos + (long) Math.ceil(-tokens / ratePerNano);
+    }
+}
@@ -0,0 +1,66 @@
+package com.isotope.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Equity curve of bounded size over an unbounded number of fills. Every
+ * {@code stride}-th point is kept; when the arrays are full every other point is
+ * dropped and the stride doubles, so adding is amortized O(1) and the curve
+ * always spans the whole run at a resolution of at least capacity / 2 points.
+ * Not thread-safe.
+ */
+final class EquityCurve {
+
+    private final long[] times;
+    private final double[] values;
+    private int size;
+    private long stride = 1;
+    private long added;
+
+    EquityCurve(int capacity) {
+        if (capacity < 2 || (capacity & 1) != 0) {
+            throw new IllegalArgumentException("Equity curve capacity must be even and at least 2: " + capacity);
+        }
+        times = new long[capacity];
+        values = new double[capacity];
+    }
+
+    void add(long time, double value) {
+        if (added++ % stride != 0) return;
+        if (size == times.length) {
+            // Kept points are fills 0, stride, 2*stride, ...; the even ones are the multiples
+            // of the doubled stride, and so is this fill (capacity is even)
+            for (int i = 0; i < size / 2; i++) {
+                times[i] = times[2 * i];
+                values[i] = values[2 * i];
+            }
+            size /= 2;
+            stride *= 2;
+        }
+        times[size] = time;
+        values[size++] = value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long stride() {
+        return stride;
+    }
+
+    long[] times() {
+        return Arrays.copyOf(times, size);
+    }
+
+    double[] values() {
+        return Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Whether the most recently added point is on the curve (not skipped by the stride).
+     */
+    boolean hasLatest() {
+        return added > 0 && (added - 1) % stride == 0;
+    }
+}
@@ -0,0 +1,216 @@
+package com.isotope.analytics;
+
+import com.isotope.model.OrderEvent;
+import com.lmax.disruptor.EventHandler;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Running performance statistics, updated in O(1) per fill by a consumer that
+ * runs after the execution adapter on the order ring (see
+ * {@link com.isotope.core.IsotopeEngine#addOrderConsumer}): equity curve,
+ * drawdown, hit rate, per-strategy PnL, fee drag and a rolling Sharpe ratio.
+ *
+ * A closing fill is one that realizes PnL; it counts as a win when its realized
+ * PnL is positive. The rolling Sharpe is mean / standard deviation of the equity
+ * return between consecutive closing fills over the last {@code sharpeWindow}
+ * closes (per round trip, not annualized). Fee drag is total fees / gross
+ * realized PnL.
+ *
+ * Updates and {@link #snapshot(boolean)} synchronize on this object; fills are
+ * orders, far rarer than ticks, so the lock is uncontended on the hot path.
+ */
+public class PerformanceAnalytics implements EventHandler<OrderEvent> {
+
+    private final double initialCapital;
+
+    // Portfolio (guarded by this)
+    private long fills;
+    private long closes;
+    private long wins;
+    private double equity;
+    private double peakEquity;
+    private double maxDrawdown;
+    private double maxDrawdownPct;
+    private double grossRealizedPnl;
+    private double totalFees;
+    private long lastFillTime;
+    private final EquityCurve curve;
+    private final Map<String, StrategyStats> strategies = new HashMap<>();
+
+    // Round-trip returns for the rolling Sharpe ratio (ring of the last window closes)
+    private final double[] returns;
+    private int returnIndex;
+    private double returnSum;
+    private double returnSumSquares;
+    private double equityAtLastClose;
+
+    private volatile long version; // Fills applied; lets readers skip unchanged snapshots
+
+    private static final class StrategyStats {
+        long fills;
+        long closes;
+        long wins;
+        double realizedPnl;
+        double fees;
+    }
+
+    public PerformanceAnalytics(double initialCapital, int sharpeWindow, int curvePoints) {
+        if (sharpeWindow < 2) throw new IllegalArgumentException("Sharpe window must be at least 2: " + sharpeWindow);
+        this.initialCapital = initialCapital;
+        this.equity = initialCapital;
+        this.peakEquity = initialCapital;
+        this.equityAtLastClose = initialCapital;
+        this.returns = new double[sharpeWindow];
+        this.curve = new EquityCurve(curvePoints);
+    }
+
+    @Override
+    public void onEvent(OrderEvent event, long sequence, boolean endOfBatch) {
+        if (event.isExecuted()) {
+            onFill(event.getStrategyId(), event.getTimestamp(), event.getFees(), event.getRealizedPnl(), event.getBalance());
+        }
+    }
+
+    /**
+     * Applies one fill.
+     *
+     * @param balance running balance after the fill
+     */
+    public synchronized void onFill(String strategyId, long timestamp, double fees, double realizedPnl, double balance) {
+        fills++;
+        totalFees += fees;
+        equity = balance;
+        lastFillTime = timestamp;
+
+        StrategyStats stats = strategies.get(strategyId);
+        if (stats == null) {
+            stats = new StrategyStats();
+            strategies.put(strategyId, stats);
+        }
+        stats.fills++;
+        stats.fees += fees;
+
+        if (realizedPnl != 0.0) {
+            closes++;
+            grossRealizedPnl += realizedPnl;
+            stats.closes++;
+            stats.realizedPnl += realizedPnl;
+            if (realizedPnl > 0) {
+                wins++;
+                stats.wins++;
+            }
+            addReturn(equityAtLastClose != 0.0 ? (equity - equityAtLastClose) / equityAtLastClose : 0.0);
+            equityAtLastClose = equity;
+        }
+
+        if (equity > peakEquity) {
+            peakEquity = equity;
+        } else {
+            double drawdown = peakEquity - equity;
+            if (drawdown > maxDrawdown) maxDrawdown = drawdown;
+            if (peakEquity > 0 && drawdown / peakEquity > maxDrawdownPct) maxDrawdownPct = drawdown / peakEquity;
+        }
+
+        curve.add(timestamp, equity);
+        version = fills;
+    }
+
+    private void addReturn(double value) {
+        double old = returns[returnIndex];
+        returns[returnIndex] = value;
+        returnSum += value - old;
+        returnSumSquares += value * value - old * old;
+        if (++returnIndex == returns.length) {
+            returnIndex = 0;
+            // Once per window: recompute exactly so rounding from the running updates cannot build up
+            returnSum = 0.0;
+            returnSumSquares = 0.0;
+            for (double r : returns) {
+                returnSum += r;
+                returnSumSquares += r * r;
+            }
+        }
+    }
+
+    /**
+     * Fills applied so far; changes whenever the snapshot does.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Current statistics. Ratios that are undefined so far (no closes, no variance) are null.
+     *
+     * @param includeCurve include the down-sampled equity curve (timestamps and equity)
+     */
+    public synchronized Map<String, Object> snapshot(boolean includeCurve) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("fills", fills);
+        result.put("last_fill_time", lastFillTime);
+        result.put("initial_capital", initialCapital);
+        result.put("equity", equity);
+        result.put("net_pnl", equity - initialCapital);
+        result.put("peak_equity", peakEquity);
+        result.put("drawdown", peakEquity - equity);
+        result.put("max_drawdown", maxDrawdown);
+        result.put("max_drawdown_pct", maxDrawdownPct * 100.0);
+        result.put("closing_trades", closes);
+        result.put("wins", wins);
+        result.put("hit_rate", ratio(wins, closes));
+        result.put("gross_realized_pnl", grossRealizedPnl);
+        result.put("fees", totalFees);
+        result.put("fee_drag", grossRealizedPnl > 0 ? totalFees / grossRealizedPnl : null);
+        result.put("sharpe_window", (int) Math.min(closes, returns.length));
+        result.put("rolling_sharpe", rollingSharpe());
+
+        Map<String, Object> byStrategy = new LinkedHashMap<>();
+        strategies.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> {
+                    StrategyStats stats = e.getValue();
+                    Map<String, Object> summary = new LinkedHashMap<>();
+                    summary.put("fills", stats.fills);
+                    summary.put("closing_trades", stats.closes);
+                    summary.put("hit_rate", ratio(stats.wins, stats.closes));
+                    summary.put("realized_pnl", stats.realizedPnl);
+                    summary.put("fees", stats.fees);
+                    summary.put("net_pnl", stats.realizedPnl - stats.fees);
+                    byStrategy.put(e.getKey(), summary);
+                });
+        result.put("strategies", byStrategy);
+
+        if (includeCurve) {
+            long[] times = curve.times();
+            double[] values = curve.values();
+            if (fills > 0 && !curve.hasLatest()) {
+                times = Arrays.copyOf(times, times.length + 1);
+                values = Arrays.copyOf(values, values.length + 1);
+                times[times.length - 1] = lastFillTime;
+                values[values.length - 1] = equity;
+            }
+            Map<String, Object> equityCurve = new LinkedHashMap<>();
+            equityCurve.put("stride", curve.stride());
+            equityCurve.put("timestamps", times);
+            equityCurve.put("equity", values);
+            result.put("equity_curve", equityCurve);
+        }
+        return result;
+    }
+
+    private Double rollingSharpe() {
+        int n = (int) Math.min(closes, returns.length);
+        if (n < 2) return null;
+        double mean = returnSum / n;
+        double variance = (returnSumSquares - n * mean * mean) / (n - 1);
+        return variance > 0 ? mean / Math.sqrt(variance) : null;
+    }
+
+    private static Double ratio(long numerator, long denominator) {
+        return denominator > 0 ? (double) numerator / denominator : null;
+    }
+}
@@ -0,0 +1,87 @@
+package com.isotope.backtest;
+
+import com.isotope.adapter.OrderExecutionAdapter;
+import com.isotope.adapter.PositionBook;
+import com.isotope.core.OrderPublisher;
+import com.isotope.model.OrderEvent;
+import com.isotope.model.SymbolRegistry;
+import com.isotope.service.IndianDerivativesFeeCalculator;
+import lombok.Getter;
+
+/**
+ * In-memory execution ledger for a single backtest.
+ *
+ * Orders are filled immediately, on the strategy's thread, through an
+ * {@link OrderExecutionAdapter} without a journal, so fees and PnL follow exactly
+ * the same rules as the engine. Drawdown is measured on the realized balance.
+ */
+public class BacktestLedger implements OrderPublisher {
+
+    private final OrderExecutionAdapter adapter;
+    private final OrderEvent order = new OrderEvent();
+    private final double initialCapital;
+    private long sequence;
+
+    @Getter
+    private int tradeCount;
+    private double peakBalance;
+    @Getter
+    private double maxDrawdown;
+
+    public BacktestLedger(IndianDerivativesFeeCalculator feeCalculator, double initialCapital, String executionMode) {
+        this.adapter = new OrderExecutionAdapter(feeCalculator, initialCapital, executionMode, null);
+        this.initialCapital = initialCapital;
+        this.peakBalance = initialCapital;
+    }
+
+    @Override
+    public void publishOrder(String symbol, OrderEvent.Type type, int quantity, double price, String strategyId, long timestamp) {
+        order.clear();
+        order.setTradingSymbol(symbol);
+        order.setSymbolId(SymbolRegistry.intern(symbol));
+        order.setType(type);
+        order.setQuantity(quantity);
+        order.setPrice(price);
+        order.setStrategyId(strategyId);
+        order.setTimestamp(timestamp);
+        adapter.onEvent(order, sequence++, false);
+
+        tradeCount++;
+        double balance = adapter.getRunningBalance();
+        if (balance > peakBalance) {
+            peakBalance = balance;
+        } else if (peakBalance - balance > maxDrawdown) {
+            maxDrawdown = peakBalance - balance;
+        }
+    }
+
+    public double getBalance() {
+        return adapter.getRunningBalance();
+    }
+
+    /**
+     * Realized PnL net of fees.
+     */
+    public double getNetPnl() {
+        return adapter.getRunningBalance() - initialCapital;
+    }
+
+    public double getTotalFees() {
+        PositionBook book = adapter.getPositionBook();
+        double total = 0.0;
+        for (int id = 0; id < book.capacity(); id++) total += book.getFees(id);
+        return total;
+    }
+
+    /**
+     * Symbols still holding a position at the end of the run.
+     */
+    public int getOpenPositions() {
+        PositionBook book = adapter.getPositionBook();
+        int open = 0;
+        for (int id = 0; id < book.capacity(); id++) {
+            if (book.getNetQuantity(id) != 0) open++;
+        }
+        return open;
+    }
+}
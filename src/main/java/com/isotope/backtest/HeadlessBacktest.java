@@ -0,0 +1,217 @@
+package com.isotope.backtest;
+
+import com.isotope.adapter.CsvMarketDataProducer;
+import com.isotope.adapter.KiteFrameReplayProducer;
+import com.isotope.adapter.MappedTickProducer;
+import com.isotope.adapter.MarketDataProducer;
+import com.isotope.adapter.MergedFileProducer;
+import com.isotope.adapter.OrderExecutionAdapter;
+import com.isotope.adapter.PositionBook;
+import com.isotope.adapter.TickJournalReplayProducer;
+import com.isotope.core.EngineSettings;
+import com.isotope.core.IsotopeEngine;
+import com.isotope.core.LatencyProfile;
+import com.isotope.journal.ColumnarTradeLog;
+import com.isotope.journal.TradeJournal;
+import com.isotope.service.IndianDerivativesFeeCalculator;
+import com.isotope.strategy.PairsTradingStrategy;
+import com.isotope.strategy.Strategy;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs one backtest through the real engine (rings, strategy handlers, execution
+ * adapter) without starting Spring: no web server, JPA or bean scanning, so the
+ * JVM reaches the first tick in a few hundred milliseconds (less with the AppCDS
+ * archive created by tools/backtest.sh). Exits once the data is exhausted and
+ * every order is executed, and prints a summary.
+ *
+ * Usage: HeadlessBacktest [backtest.properties] [key=value ...]
+ * Keys (defaults in brackets):
+ * <pre>
+ *   data-source.type           MAPPED, CSV, MERGED, JOURNAL or KITE_REPLAY [MAPPED]
+ *   data-source.path           tick file, directory or glob [data/market_data.ticks]
+ *   data-source.replay-speed   [MAX]
+ *   data-source.max-batch-size [256]
+ *   latency.profile            [BACKTEST_THROUGHPUT]
+ *   strategies                 PairsTrading and/or Strategy class names with a no-arg constructor [PairsTrading]
+ *   strategy.allocation-per-leg, strategy.execution-mode [2000000.0, SYNTHETIC]
+ *   strategy.lookback, strategy.entry-z, strategy.stop-loss-z, strategy.min-profit [PairsTrading defaults]
+ *   backtest.initial-capital   [200000.0]
+ *   journal.file-path, journal.durability [trades.csv, BATCH]
+ *   journal.columnar-directory binary columnar trade log (tools/tradelog.py) [off]
+ * </pre>
+ */
+public final class HeadlessBacktest {
+
+    static final String LOGBACK_CONFIG = "logback-headless.xml";
+    private static final long SHUTDOWN_TIMEOUT_MS = 10_000;
+
+    /**
+     * Figures printed at the end of a run.
+     */
+    public record Summary(long ticks, long trades, double netPnl, double fees, double balance, int openPositions,
+                          long startupMillis, long runMillis) {
+
+        void print() {
+            double seconds = runMillis / 1000.0;
+            System.out.printf("Ticks:          %,d%n", ticks);
+            System.out.printf("Trades:         %,d%n", trades);
+            System.out.printf("Net PnL:        %,.2f%n", netPnl);
+            System.out.printf("Fees:           %,.2f%n", fees);
+            System.out.printf("Final balance:  %,.2f%n", balance);
+            System.out.printf("Open positions: %d%n", openPositions);
+            System.out.printf("Startup:        %d ms (JVM start to first tick)%n", startupMillis);
+            System.out.printf("Run:            %.3f s (%,.0f ticks/s)%n", seconds, seconds > 0 ? ticks / seconds : 0.0);
+        }
+    }
+
+    private HeadlessBacktest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Before any logger is created: quiet per-trade logging, unless configured otherwise
+        if (System.getProperty("logback.configurationFile") == null) {
+            System.setProperty("logback.configurationFile", LOGBACK_CONFIG);
+        }
+
+        Properties config = new Properties();
+        int first = 0;
+        if (args.length > 0 && !args[0].contains("=")) {
+            try (Reader reader = Files.newBufferedReader(Path.of(args[0]))) {
+                config.load(reader);
+            }
+            first = 1;
+        }
+        for (int i = first; i < args.length; i++) {
+            int eq = args[i].indexOf('=');
+            if (eq <= 0) {
+                System.err.println("Usage: HeadlessBacktest [backtest.properties] [key=value ...]");
+                System.exit(1);
+            }
+            config.setProperty(args[i].substring(0, eq).trim(), args[i].substring(eq + 1).trim());
+        }
+
+        run(config).print();
+    }
+
+    /**
+     * Wires the engine from the configuration, replays the data source to the end and
+     * shuts the engine down (trade journal flushed). Throws rather than report a partial
+     * run: IOException if the data source failed, IllegalStateException if the engine
+     * does not drain.
+     */
+    public static Summary run(Properties config) throws IOException, InterruptedException {
+        double initialCapital = Double.parseDouble(config.getProperty("backtest.initial-capital", "200000.0"));
+        String executionMode = config.getProperty("strategy.execution-mode", "SYNTHETIC");
+        TradeJournal journal = new TradeJournal(config.getProperty("journal.file-path", "trades.csv"),
+                TradeJournal.Durability.valueOf(config.getProperty("journal.durability", "BATCH").toUpperCase()));
+        OrderExecutionAdapter adapter = new OrderExecutionAdapter(new IndianDerivativesFeeCalculator(), initialCapital,
+                executionMode, journal);
+        String columnarDirectory = config.getProperty("journal.columnar-directory");
+        if (columnarDirectory != null) {
+            adapter.setColumnarLog(new ColumnarTradeLog(Path.of(columnarDirectory), ColumnarTradeLog.DEFAULT_CHUNK_ROWS));
+        }
+
+        LatencyProfile profile = LatencyProfile.valueOf(
+                config.getProperty("latency.profile", LatencyProfile.BACKTEST_THROUGHPUT.name()).toUpperCase());
+        IsotopeEngine engine = new IsotopeEngine(adapter, EngineSettings.fromProfile(profile));
+        for (Strategy strategy : strategies(config)) {
+            engine.registerStrategy(strategy);
+        }
+        MarketDataProducer producer = producer(config);
+
+        engine.start();
+        long now = System.currentTimeMillis();
+        long startupMillis = now - ProcessHandle.current().info().startInstant().map(Instant::toEpochMilli).orElse(now);
+        long start = System.nanoTime();
+        producer.connect();
+        producer.startPublishing(engine.getMarketDataRingBuffer());
+
+        try {
+            if (!producer.awaitCompletion(Long.MAX_VALUE, TimeUnit.NANOSECONDS)) {
+                throw new IllegalStateException(producer.getClass().getSimpleName() + " did not complete");
+            }
+            if (producer.getFailure() != null) {
+                throw new IOException("Data source " + producer.getClass().getSimpleName() + " failed",
+                        producer.getFailure());
+            }
+            // Otherwise the summary would miss the ticks and orders still queued
+            if (!engine.awaitIdle(SHUTDOWN_TIMEOUT_MS)) {
+                throw new IllegalStateException("Engine did not drain within " + SHUTDOWN_TIMEOUT_MS + " ms");
+            }
+        } finally {
+            engine.stop();
+            if (!engine.awaitTermination(SHUTDOWN_TIMEOUT_MS)) {
+                System.err.println("Engine did not shut down within " + SHUTDOWN_TIMEOUT_MS + " ms");
+            }
+        }
+        long runMillis = (System.nanoTime() - start) / 1_000_000;
+
+        PositionBook book = adapter.getPositionBook();
+        double fees = 0.0;
+        int open = 0;
+        for (int id = 0; id < book.capacity(); id++) {
+            fees += book.getFees(id);
+            if (book.getNetQuantity(id) != 0) open++;
+        }
+        return new Summary(engine.getMarketDataRingBuffer().getCursor() + 1, adapter.getTradeCount(),
+                adapter.getRunningBalance() - initialCapital, fees, adapter.getRunningBalance(), open,
+                startupMillis, runMillis);
+    }
+
+    static MarketDataProducer producer(Properties config) {
+        String type = config.getProperty("data-source.type", "MAPPED").toUpperCase();
+        String path = config.getProperty("data-source.path", "data/market_data.ticks");
+        String speed = config.getProperty("data-source.replay-speed", "MAX");
+        int maxBatch = Integer.parseInt(config.getProperty("data-source.max-batch-size",
+                String.valueOf(MarketDataProducer.DEFAULT_MAX_BATCH)));
+        return switch (type) {
+            case "MAPPED" -> new MappedTickProducer(path, speed, maxBatch);
+            case "CSV" -> new CsvMarketDataProducer(path, speed, maxBatch); // Classpath resource
+            case "MERGED" -> new MergedFileProducer(path, speed, MergedFileProducer.DEFAULT_CHUNK_SIZE,
+                    MergedFileProducer.DEFAULT_PREFETCH_CHUNKS, maxBatch);
+            case "JOURNAL" -> new TickJournalReplayProducer(path, speed, maxBatch);
+            case "KITE_REPLAY" -> new KiteFrameReplayProducer(path, speed, maxBatch);
+            default -> throw new IllegalArgumentException("Unsupported headless data source: " + type);
+        };
+    }
+
+    static List<Strategy> strategies(Properties config) {
+        List<Strategy> strategies = new ArrayList<>();
+        for (String name : config.getProperty("strategies", "PairsTrading").split(",")) {
+            name = name.trim();
+            if (name.isEmpty()) continue;
+            if (name.equalsIgnoreCase("PairsTrading")) {
+                strategies.add(pairsTrading(config));
+                continue;
+            }
+            try {
+                strategies.add((Strategy) Class.forName(name).getDeclaredConstructor().newInstance());
+            } catch (ReflectiveOperationException | ClassCastException e) {
+                throw new IllegalArgumentException("Cannot create strategy " + name, e);
+            }
+        }
+        if (strategies.isEmpty()) throw new IllegalArgumentException("No strategies configured");
+        return strategies;
+    }
+
+    private static PairsTradingStrategy pairsTrading(Properties config) {
+        PairsTradingStrategy.Parameters defaults = PairsTradingStrategy.Parameters.DEFAULTS;
+        PairsTradingStrategy.Parameters parameters = new PairsTradingStrategy.Parameters(
+                Integer.parseInt(config.getProperty("strategy.lookback", String.valueOf(defaults.lookbackPeriod()))),
+                Double.parseDouble(config.getProperty("strategy.entry-z", String.valueOf(defaults.entryZScore()))),
+                Double.parseDouble(config.getProperty("strategy.stop-loss-z", String.valueOf(defaults.stopLossZScore()))),
+                Double.parseDouble(config.getProperty("strategy.min-profit", String.valueOf(defaults.minProfitThreshold()))));
+        return new PairsTradingStrategy(
+                Double.parseDouble(config.getProperty("strategy.allocation-per-leg", "2000000.0")), parameters);
+    }
+}
@@ -0,0 +1,188 @@
+package com.isotope.backtest;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.isotope.model.MarketDataEvent;
+import com.isotope.service.IndianDerivativesFeeCalculator;
+import com.isotope.strategy.PairsTradingStrategy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Backtests a grid of {@link PairsTradingStrategy} parameters in parallel, without Spring.
+ *
+ * The tick history is loaded into memory once and shared read-only. Each combination
+ * gets its own strategy and {@link BacktestLedger} and is replayed synchronously on a
+ * fork-join worker, so runs are independent and throughput scales with cores.
+ *
+ * Usage: ParameterSweepRunner &lt;ticks.csv|ticks.ticks&gt; [results.csv]
+ * Grid and account settings come from system properties (comma-separated lists):
+ * sweep.lookback, sweep.entry-z, sweep.stop-loss-z, sweep.min-profit,
+ * sweep.allocation-per-leg, sweep.initial-capital, sweep.execution-mode,
+ * sweep.parallelism, sweep.top.
+ */
+@Slf4j
+public class ParameterSweepRunner {
+
+    private final TickHistory history;
+    private final IndianDerivativesFeeCalculator feeCalculator;
+    private final double allocationPerLeg;
+    private final double initialCapital;
+    private final String executionMode;
+
+    public ParameterSweepRunner(TickHistory history, IndianDerivativesFeeCalculator feeCalculator,
+                                double allocationPerLeg, double initialCapital, String executionMode) {
+        this.history = history;
+        this.feeCalculator = feeCalculator;
+        this.allocationPerLeg = allocationPerLeg;
+        this.initialCapital = initialCapital;
+        this.executionMode = executionMode;
+    }
+
+    /**
+     * Runs every combination on a pool of the given parallelism and returns the results ranked best first.
+     */
+    public List<SweepResult> run(List<PairsTradingStrategy.Parameters> grid, int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(() -> grid.parallelStream()
+                    .map(this::runOne)
+                    .sorted(SweepResult.RANKING)
+                    .toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Parameter sweep interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Parameter sweep failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Replays the whole history through one strategy instance.
+     */
+    public SweepResult runOne(PairsTradingStrategy.Parameters parameters) {
+        PairsTradingStrategy strategy = new PairsTradingStrategy(allocationPerLeg, parameters);
+        BacktestLedger ledger = new BacktestLedger(feeCalculator, initialCapital, executionMode);
+        strategy.setOrderPublisher(ledger);
+
+        long[] tokens = strategy.getInstrumentTokens();
+        MarketDataEvent event = new MarketDataEvent();
+        for (int i = 0; i < history.size(); i++) {
+            if (tokens != null && !contains(tokens, history.getInstrumentToken(i))) continue;
+            history.copyTo(i, event);
+            strategy.onTick(event);
+        }
+        return new SweepResult(parameters, ledger.getNetPnl(), ledger.getTotalFees(), ledger.getTradeCount(),
+                ledger.getMaxDrawdown(), ledger.getOpenPositions());
+    }
+
+    private static boolean contains(long[] tokens, long token) {
+        for (long t : tokens) {
+            if (t == token) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Cartesian product of the given values, skipping combinations where the stop loss
+     * does not exceed the entry threshold.
+     */
+    public static List<PairsTradingStrategy.Parameters> grid(int[] lookbackPeriods, double[] entryZScores,
+                                                              double[] stopLossZScores, double[] minProfitThresholds) {
+        List<PairsTradingStrategy.Parameters> grid = new ArrayList<>();
+        for (int lookback : lookbackPeriods) {
+            for (double entry : entryZScores) {
+                for (double stopLoss : stopLossZScores) {
+                    if (stopLoss <= entry) continue;
+                    for (double minProfit : minProfitThresholds) {
+                        grid.add(new PairsTradingStrategy.Parameters(lookback, entry, stopLoss, minProfit));
+                    }
+                }
+            }
+        }
+        return grid;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: ParameterSweepRunner <ticks.csv|ticks.ticks> [results.csv]");
+            System.exit(1);
+        }
+        // Hundreds of strategies logging every entry and exit would swamp the output (as in logback-headless.xml)
+        if (LoggerFactory.getLogger("com.isotope.strategy") instanceof Logger strategyLogger) {
+            strategyLogger.setLevel(Level.WARN);
+        }
+
+        List<PairsTradingStrategy.Parameters> grid = grid(
+                Arrays.stream(doubles("sweep.lookback", "20,30,50,75,100,150")).mapToInt(d -> (int) d).toArray(),
+                doubles("sweep.entry-z", "1.5,2.0,2.5,3.0"),
+                doubles("sweep.stop-loss-z", "3.0,3.5,4.0,5.0"),
+                doubles("sweep.min-profit", "0.001,0.0015,0.0022,0.003"));
+        int parallelism = Integer.getInteger("sweep.parallelism", Runtime.getRuntime().availableProcessors());
+
+        long loadStart = System.nanoTime();
+        TickHistory history = TickHistory.load(Path.of(args[0]));
+        log.info("Loaded {} ticks from {} in {} ms", history.size(), args[0], (System.nanoTime() - loadStart) / 1_000_000);
+
+        ParameterSweepRunner runner = new ParameterSweepRunner(history, new IndianDerivativesFeeCalculator(),
+                Double.parseDouble(System.getProperty("sweep.allocation-per-leg", "2000000.0")),
+                Double.parseDouble(System.getProperty("sweep.initial-capital", "200000.0")),
+                System.getProperty("sweep.execution-mode", "SYNTHETIC"));
+
+        long runStart = System.nanoTime();
+        List<SweepResult> results = runner.run(grid, parallelism);
+        double seconds = (System.nanoTime() - runStart) / 1e9;
+        log.info("Ran {} combinations on {} threads in {} s ({} ticks/s)", results.size(), parallelism,
+                String.format("%.2f", seconds), String.format("%.0f", (double) history.size() * results.size() / seconds));
+
+        printTable(results, Integer.getInteger("sweep.top", 20));
+        if (args.length == 2) {
+            writeCsv(results, Path.of(args[1]));
+            log.info("Wrote {} results to {}", results.size(), args[1]);
+        }
+    }
+
+    private static double[] doubles(String property, String defaults) {
+        return Arrays.stream(System.getProperty(property, defaults).split(","))
+                .map(String::trim)
+                .mapToDouble(Double::parseDouble)
+                .toArray();
+    }
+
+    private static void printTable(List<SweepResult> results, int top) {
+        System.out.printf("%4s %8s %8s %8s %10s %14s %12s %8s %14s %5s%n", "RANK", "LOOKBACK", "ENTRY_Z", "STOP_Z",
+                "MIN_PROFIT", "NET_PNL", "FEES", "TRADES", "MAX_DRAWDOWN", "OPEN");
+        for (int i = 0; i < Math.min(top, results.size()); i++) {
+            SweepResult r = results.get(i);
+            PairsTradingStrategy.Parameters p = r.parameters();
+            System.out.printf("%4d %8d %8.2f %8.2f %10.4f %14.2f %12.2f %8d %14.2f %5d%n", i + 1, p.lookbackPeriod(),
+                    p.entryZScore(), p.stopLossZScore(), p.minProfitThreshold(), r.netPnl(), r.totalFees(), r.trades(),
+                    r.maxDrawdown(), r.openPositions());
+        }
+    }
+
+    private static void writeCsv(List<SweepResult> results, Path file) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            out.println("Rank,LookbackPeriod,EntryZScore,StopLossZScore,MinProfitThreshold,NetPnl,TotalFees,Trades,MaxDrawdown,OpenPositions");
+            for (int i = 0; i < results.size(); i++) {
+                SweepResult r = results.get(i);
+                PairsTradingStrategy.Parameters p = r.parameters();
+                out.printf("%d,%d,%s,%s,%s,%.2f,%.2f,%d,%.2f,%d%n", i + 1, p.lookbackPeriod(), p.entryZScore(),
+                        p.stopLossZScore(), p.minProfitThreshold(), r.netPnl(), r.totalFees(), r.trades(),
+                        r.maxDrawdown(), r.openPositions());
+            }
+        }
+    }
+}
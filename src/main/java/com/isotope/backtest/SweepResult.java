@@ -0,0 +1,20 @@
+package com.isotope.backtest;
+
+import com.isotope.strategy.PairsTradingStrategy;
+
+import java.util.Comparator;
+
+/**
+ * Outcome of one parameter combination.
+ */
+public record SweepResult(PairsTradingStrategy.Parameters parameters, double netPnl, double totalFees,
+                          int trades, double maxDrawdown, int openPositions) {
+
+    /**
+     * Best first: highest net PnL, then smallest drawdown, then fewest trades.
+     */
+    public static final Comparator<SweepResult> RANKING = Comparator
+            .comparingDouble(SweepResult::netPnl).reversed()
+            .thenComparingDouble(SweepResult::maxDrawdown)
+            .thenComparingInt(SweepResult::trades);
+}
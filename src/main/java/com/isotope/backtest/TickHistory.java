@@ -0,0 +1,151 @@
+package com.isotope.backtest;
+
+import com.isotope.adapter.CsvTickParser;
+import com.isotope.model.MarketDataEvent;
+import com.isotope.tickstore.TickFileFormat;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.util.Arrays;
+
+/**
+ * A tick history held in memory as primitive columns.
+ * Loaded once and then read concurrently by any number of backtests; never modified.
+ */
+@Slf4j
+public final class TickHistory {
+
+    private final long[] tokens;
+    private final long[] times;
+    private final double[] prices;
+    private final long[] volumes;
+    private final int size;
+
+    TickHistory(long[] tokens, long[] times, double[] prices, long[] volumes, int size) {
+        this.tokens = tokens;
+        this.times = times;
+        this.prices = prices;
+        this.volumes = volumes;
+        this.size = size;
+    }
+
+    /**
+     * Loads a CSV file (timestamp,symbol,open,high,low,close,volume) when the name ends
+     * in ".csv", otherwise a binary tick file (see {@link TickFileFormat}).
+     */
+    public static TickHistory load(Path file) throws IOException {
+        return file.getFileName().toString().toLowerCase().endsWith(".csv") ? fromCsv(file) : fromTickFile(file);
+    }
+
+    public static TickHistory fromCsv(Path csvFile) throws IOException {
+        byte[] data = Files.readAllBytes(csvFile);
+        CsvTickParser parser = new CsvTickParser(ZoneId.systemDefault());
+        Builder builder = new Builder(Math.max(16, data.length / 64));
+        int skipped = 0;
+
+        int start = 0;
+        boolean firstLine = true;
+        for (int i = 0; i <= data.length; i++) {
+            if (i < data.length && data[i] != '\n') continue;
+            int end = i > start && data[i - 1] == '\r' ? i - 1 : i;
+            if (end > start && !(firstLine && parser.isHeader(data, start, end))) {
+                try {
+                    if (parser.parseLine(data, start, end)) {
+                        builder.add(parser.getInstrumentToken(), parser.getTimestamp(), parser.getClose(), parser.getVolume());
+                    } else {
+                        skipped++;
+                    }
+                } catch (NumberFormatException e) {
+                    skipped++;
+                }
+            }
+            firstLine = false;
+            start = i + 1;
+        }
+        if (skipped > 0) log.warn("Skipped {} malformed lines in {}", skipped, csvFile);
+        return builder.build();
+    }
+
+    public static TickHistory fromTickFile(Path tickFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(tickFile, StandardOpenOption.READ)) {
+            long declared = TickFileFormat.readHeader(
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0, TickFileFormat.HEADER_SIZE));
+            long available = (channel.size() - TickFileFormat.HEADER_SIZE) / TickFileFormat.RECORD_SIZE;
+            long records = Math.min(declared, available);
+            if (records > Integer.MAX_VALUE / TickFileFormat.RECORD_SIZE) {
+                throw new IOException("Tick file too large to load into memory: " + records + " records");
+            }
+
+            Builder builder = new Builder((int) records);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+                    TickFileFormat.HEADER_SIZE, records * TickFileFormat.RECORD_SIZE);
+            buffer.order(TickFileFormat.BYTE_ORDER);
+            for (int base = 0; base < buffer.limit(); base += TickFileFormat.RECORD_SIZE) {
+                builder.add(buffer.getLong(base + TickFileFormat.TOKEN), buffer.getLong(base + TickFileFormat.TIME),
+                        buffer.getDouble(base + TickFileFormat.PRICE), buffer.getLong(base + TickFileFormat.VOLUME));
+            }
+            return builder.build();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getInstrumentToken(int index) {
+        return tokens[index];
+    }
+
+    /**
+     * Copies tick {@code index} into a (reused) event.
+     */
+    public void copyTo(int index, MarketDataEvent event) {
+        event.clear();
+        event.setInstrumentToken(tokens[index]);
+        event.setLastTradedTime(times[index]);
+        event.setLastTradedPrice(prices[index]);
+        event.setVolume(volumes[index]);
+    }
+
+    static final class Builder {
+        private long[] tokens;
+        private long[] times;
+        private double[] prices;
+        private long[] volumes;
+        private int size;
+
+        Builder(int initialCapacity) {
+            tokens = new long[initialCapacity];
+            times = new long[initialCapacity];
+            prices = new double[initialCapacity];
+            volumes = new long[initialCapacity];
+        }
+
+        Builder add(long token, long time, double price, long volume) {
+            if (size == tokens.length) {
+                int capacity = Math.max(16, size * 2);
+                tokens = Arrays.copyOf(tokens, capacity);
+                times = Arrays.copyOf(times, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+                volumes = Arrays.copyOf(volumes, capacity);
+            }
+            tokens[size] = token;
+            times[size] = time;
+            prices[size] = price;
+            volumes[size] = volume;
+            size++;
+            return this;
+        }
+
+        TickHistory build() {
+            return new TickHistory(Arrays.copyOf(tokens, size), Arrays.copyOf(times, size),
+                    Arrays.copyOf(prices, size), Arrays.copyOf(volumes, size), size);
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package com.isotope.config;
 
+import com.isotope.analytics.PerformanceAnalytics;
+import com.isotope.metrics.LatencyMetrics;
 import com.zerodhatech.kiteconnect.KiteConnect;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Data
 @Configuration
 @ConfigurationProperties(prefix = "isotope")
@@ -14,6 +21,14 @@ public class AppConfig {
     private KiteConfig kite = new KiteConfig();
     private StrategyConfig strategy = new StrategyConfig();
     private BacktestConfig backtest = new BacktestConfig();
+    private LatencyConfig latency = new LatencyConfig();
+    private JournalConfig journal = new JournalConfig();
+    private TickJournalConfig tickJournal = new TickJournalConfig();
+    private WarmUpConfig warmUp = new WarmUpConfig();
+    private AnalyticsConfig analytics = new AnalyticsConfig();
+    private RiskConfig risk = new RiskConfig();
+    private NettingConfig netting = new NettingConfig();
+    private GatewayConfig gateway = new GatewayConfig();
 
     @Bean
     public KiteConnect kiteConnect() {
@@ -22,6 +37,17 @@ public class AppConfig {
         return kiteConnect;
     }
 
+    @Bean
+    public LatencyMetrics latencyMetrics() {
+        return new LatencyMetrics();
+    }
+
+    @Bean
+    public PerformanceAnalytics performanceAnalytics() {
+        return new PerformanceAnalytics(backtest.getInitialCapital(), analytics.getSharpeWindow(),
+                analytics.getCurvePoints());
+    }
+
     @Data
     public static class KiteConfig {
         private String apiKey;
@@ -32,7 +58,7 @@ public class AppConfig {
     @Data
     public static class StrategyConfig {
         private boolean enabled;
-        private double riskLimit;
+        private double riskLimit; // Per-strategy net loss limit of the pre-trade risk check (0 = off)
         private double allocationPerLeg = 1500000.0;
         private String executionMode = "FUTURES"; // FUTURES or SYNTHETIC
     }
@@ -41,4 +67,84 @@ public class AppConfig {
     public static class BacktestConfig {
         private double initialCapital = 1000000.0;
     }
+
+    @Data
+    public static class JournalConfig {
+        private String filePath = "trades.csv";
+        private String durability = "BATCH"; // BATCH, FSYNC, INTERVAL
+        private long flushIntervalMs = 100; // INTERVAL only
+        private String columnarDirectory; // Also write the binary columnar trade log here; unset = off
+        private int columnarChunkRows = 1_048_576; // Rows per chunk file
+    }
+
+    @Data
+    public static class TickJournalConfig {
+        private boolean enabled = false; // Journal every tick for replay (data source JOURNAL)
+        private String directory = "data/journal";
+        private long segmentRecords = 1_048_576; // Records per segment file (320 bytes each)
+    }
+
+    @Data
+    public static class WarmUpConfig {
+        private boolean enabled = false; // Drive ticks through the engine before the producer connects
+        private long ticks = 200_000;
+        private String tickFile; // Recorded binary tick file to cycle through; unset = synthetic ticks
+        private long timeoutMs = 60_000;
+    }
+
+    @Data
+    public static class RiskConfig {
+        private boolean enabled = false; // Pre-trade risk check ahead of execution on the order ring
+        // 0 = off for each limit; the strategy loss limit is strategy.risk-limit
+        private int maxPosition = 0;
+        private double maxOrderNotional = 0.0;
+        private double maxPositionNotional = 0.0;
+        private int maxOrdersPerSecond = 0; // Per symbol, in event time
+        private double priceBand = 0.0; // Relative to the last accepted price, e.g. 0.05
+    }
+
+    @Data
+    public static class NettingConfig {
+        private boolean enabled = false; // Net opposing orders across strategies before execution
+        private long windowMicros = 0; // Also close a group this long after its first order (0 = per batch only)
+    }
+
+    @Data
+    public static class GatewayConfig {
+        private boolean enabled = false; // Place filled orders with Kite (credentials: isotope.kite)
+        private String baseUrl = "https://api.kite.trade";
+        private String exchange = "NFO";
+        private String product = "NRML"; // NRML or MIS
+        private String orderType = "MARKET"; // MARKET or LIMIT
+        private double ratePerSecond = 10; // Broker order placement limit
+        private int burst = 10;
+        private long timeoutMs = 5_000;
+        private int maxInFlight = 200; // Orders beyond this many unacknowledged ones fail immediately
+        private Map<String, String> symbols = new LinkedHashMap<>(); // Engine symbol -> exchange trading symbol
+    }
+
+    @Data
+    public static class AnalyticsConfig {
+        private boolean enabled = true; // Performance statistics consumer on the order ring
+        private int sharpeWindow = 50; // Closing trades in the rolling Sharpe ratio
+        private int curvePoints = 1024; // Equity curve size (down-sampled as the run grows)
+        private long streamIntervalMs = 1000; // Server-sent events: at most one update per interval
+    }
+
+    @Data
+    public static class LatencyConfig {
+        private String profile = "BALANCED"; // LOW_LATENCY, BALANCED, BACKTEST_THROUGHPUT, LEGACY
+
+        // Optional overrides of the profile defaults (null = use profile)
+        private String waitStrategy; // BUSY_SPIN, YIELDING, SLEEPING, BLOCKING
+        private Integer marketDataBufferSize;
+        private Integer orderBufferSize;
+
+        // Run each strategy on its own consumer thread (forces a MULTI order producer)
+        private boolean parallelStrategies = false;
+
+        // CPU cores to pin the strategy and execution consumer threads to
+        private List<Integer> strategyCpus = new ArrayList<>();
+        private List<Integer> executionCpus = new ArrayList<>();
+    }
 }
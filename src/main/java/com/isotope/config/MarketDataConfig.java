@@ -1,8 +1,12 @@
 package com.isotope.config;
 
 import com.isotope.adapter.CsvMarketDataProducer;
+import com.isotope.adapter.KiteFrameReplayProducer;
 import com.isotope.adapter.KiteMarketDataProducer;
+import com.isotope.adapter.MappedTickProducer;
 import com.isotope.adapter.MarketDataProducer;
+import com.isotope.adapter.MergedFileProducer;
+import com.isotope.adapter.TickJournalReplayProducer;
 import com.isotope.adapter.YahooFinanceProducer;
 import com.zerodhatech.kiteconnect.KiteConnect;
 import lombok.Data;
@@ -16,8 +20,25 @@ import org.springframework.context.annotation.Configuration;
 @ConfigurationProperties(prefix = "engine.data-source")
 public class MarketDataConfig {
 
-    private String type; // KITE, CSV, YAHOO
+    private String type; // KITE, KITE_REPLAY, CSV, MAPPED, MERGED, JOURNAL, YAHOO
+    private int maxBatchSize = MarketDataProducer.DEFAULT_MAX_BATCH; // Ticks claimed per ring publish by replays
+    private KiteConfig kite = new KiteConfig();
+    private KiteReplayConfig kiteReplay = new KiteReplayConfig();
     private CsvConfig csv = new CsvConfig();
+    private MappedConfig mapped = new MappedConfig();
+    private MergedConfig merged = new MergedConfig();
+    private JournalConfig journal = new JournalConfig();
+
+    @Data
+    public static class KiteConfig {
+        private String recordFile; // Record raw ticker frames for KITE_REPLAY; unset = off
+    }
+
+    @Data
+    public static class KiteReplayConfig {
+        private String filePath; // Frames recorded by the KITE source (record-file)
+        private String replaySpeed;
+    }
 
     @Data
     public static class CsvConfig {
@@ -25,16 +46,60 @@ public class MarketDataConfig {
         private String replaySpeed;
     }
 
+    @Data
+    public static class MappedConfig {
+        private String filePath; // Binary tick file on the filesystem (see CsvTickFileConverter)
+        private String replaySpeed;
+    }
+
+    @Data
+    public static class MergedConfig {
+        private String path; // Directory of .csv / .ticks files, or a glob such as data/2024/*/*.csv
+        private String replaySpeed;
+        private int chunkSize = 4096; // Ticks per prefetch chunk
+        private int prefetchChunks = 2; // Chunks read ahead per file
+    }
+
+    @Data
+    public static class JournalConfig {
+        private String directory; // Tick journal written with isotope.tick-journal
+        private String replaySpeed;
+    }
+
     @Bean
     @ConditionalOnProperty(name = "engine.data-source.type", havingValue = "KITE")
     public MarketDataProducer kiteMarketDataProducer(KiteConnect kiteConnect) {
-        return new KiteMarketDataProducer(kiteConnect);
+        return new KiteMarketDataProducer(kiteConnect, kite.getRecordFile());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "engine.data-source.type", havingValue = "KITE_REPLAY")
+    public MarketDataProducer kiteFrameReplayProducer() {
+        return new KiteFrameReplayProducer(kiteReplay.getFilePath(), kiteReplay.getReplaySpeed(), maxBatchSize);
     }
 
     @Bean
     @ConditionalOnProperty(name = "engine.data-source.type", havingValue = "CSV")
     public MarketDataProducer csvMarketDataProducer() {
-        return new CsvMarketDataProducer(csv.getFilePath(), csv.getReplaySpeed());
+        return new CsvMarketDataProducer(csv.getFilePath(), csv.getReplaySpeed(), maxBatchSize);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "engine.data-source.type", havingValue = "MAPPED")
+    public MarketDataProducer mappedTickProducer() {
+        return new MappedTickProducer(mapped.getFilePath(), mapped.getReplaySpeed(), maxBatchSize);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "engine.data-source.type", havingValue = "MERGED")
+    public MarketDataProducer mergedFileProducer() {
+        return new MergedFileProducer(merged.getPath(), merged.getReplaySpeed(), merged.getChunkSize(), merged.getPrefetchChunks(), maxBatchSize);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "engine.data-source.type", havingValue = "JOURNAL")
+    public MarketDataProducer tickJournalReplayProducer() {
+        return new TickJournalReplayProducer(journal.getDirectory(), journal.getReplaySpeed(), maxBatchSize);
     }
 
     @Bean
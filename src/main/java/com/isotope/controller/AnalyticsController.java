@@ -0,0 +1,101 @@
+package com.isotope.controller;
+
+import com.isotope.analytics.PerformanceAnalytics;
+import com.isotope.config.AppConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final PerformanceAnalytics performanceAnalytics;
+    private final AppConfig appConfig;
+
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "isotope-analytics-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long lastVersion = -1; // Scheduler thread only
+
+    @PostConstruct
+    public void init() {
+        long interval = appConfig.getAnalytics().getStreamIntervalMs();
+        scheduler.scheduleWithFixedDelay(this::broadcast, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Equity, drawdown, hit rate, per-strategy PnL, fee drag and rolling Sharpe.
+     * Pass curve=false to omit the equity curve.
+     */
+    @GetMapping
+    public Map<String, Object> getAnalytics(@RequestParam(name = "curve", defaultValue = "true") boolean curve) {
+        return performanceAnalytics.snapshot(curve);
+    }
+
+    /**
+     * Server-sent events: the statistics (without the curve) now and after every
+     * change, at most once per stream interval.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        SseEmitter emitter = new SseEmitter(0L); // No timeout
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+        if (send(emitter, performanceAnalytics.snapshot(false))) {
+            emitters.add(emitter);
+        }
+        return emitter;
+    }
+
+    private void broadcast() {
+        try {
+            long version = performanceAnalytics.getVersion();
+            if (emitters.isEmpty() || version == lastVersion) return;
+            lastVersion = version;
+            Map<String, Object> snapshot = performanceAnalytics.snapshot(false);
+            for (SseEmitter emitter : emitters) {
+                if (!send(emitter, snapshot)) emitters.remove(emitter);
+            }
+        } catch (Exception e) {
+            log.error("Analytics stream update failed", e); // Keep the schedule running
+        }
+    }
+
+    private static boolean send(SseEmitter emitter, Map<String, Object> snapshot) {
+        try {
+            emitter.send(SseEmitter.event().name("analytics").data(snapshot, MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        emitters.forEach(SseEmitter::complete);
+    }
+}
@@ -1,17 +1,66 @@
 package com.isotope.controller;
 
+import com.isotope.metrics.LatencyMetrics;
+import com.isotope.service.TradingEngineManager;
+import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1")
+@RequiredArgsConstructor
 public class HealthController {
 
+    private final LatencyMetrics latencyMetrics;
+    private final TradingEngineManager tradingEngineManager;
+
     @GetMapping("/status")
     public Map<String, String> getStatus() {
         return Map.of("status", "UP", "message", "Isotope Engine is running");
     }
+
+    /**
+     * Per-stage latency percentiles (nanoseconds) since the last reset.
+     * Pass reset=true to start a new measurement interval after this read.
+     */
+    @GetMapping("/metrics")
+    public Map<String, Object> getMetrics(@RequestParam(name = "reset", defaultValue = "false") boolean reset) {
+        return latencyMetrics.snapshot(reset);
+    }
+
+    /**
+     * JIT warm-up result: ticks, sink orders, compile time and the tier reached by each hot method.
+     */
+    @GetMapping("/warmup")
+    public Map<String, Object> getWarmUp() {
+        return tradingEngineManager.getWarmUpReport();
+    }
+
+    /**
+     * Pre-trade risk: limits, accepted and rejected orders by reason, strategy PnL seen by the loss limit.
+     */
+    @GetMapping("/risk")
+    public Map<String, Object> getRisk() {
+        return tradingEngineManager.getRiskReport();
+    }
+
+    /**
+     * Order netting: orders netted, market orders sent, quantity crossed internally.
+     */
+    @GetMapping("/netting")
+    public Map<String, Object> getNetting() {
+        return tradingEngineManager.getNettingReport();
+    }
+
+    /**
+     * Live order gateway: placed, rejected and failed orders, and the orders awaiting acknowledgement.
+     */
+    @GetMapping("/gateway")
+    public Map<String, Object> getGateway() {
+        return tradingEngineManager.getGatewayReport();
+    }
 }
@@ -0,0 +1,50 @@
+package com.isotope.controller;
+
+import com.isotope.adapter.MarketDataProducer;
+import com.isotope.adapter.ReplayClock;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/replay")
+@RequiredArgsConstructor
+public class ReplayController {
+
+    private final MarketDataProducer marketDataProducer;
+
+    /**
+     * Target vs achieved replay pace since the last speed change.
+     */
+    @GetMapping
+    public Map<String, Object> getReplay() {
+        return replayClock().snapshot();
+    }
+
+    /**
+     * Changes the replay speed while the replay runs, e.g. speed=100x or speed=MAX.
+     */
+    @PostMapping("/speed")
+    public Map<String, Object> setSpeed(@RequestParam(name = "speed") String speed) {
+        ReplayClock clock = replayClock();
+        try {
+            clock.setSpeed(speed);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return clock.snapshot();
+    }
+
+    private ReplayClock replayClock() {
+        ReplayClock clock = marketDataProducer.getReplayClock();
+        if (clock == null) throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Market data source is not a replay");
+        return clock;
+    }
+}
@@ -0,0 +1,64 @@
+package com.isotope.core;
+
+import lombok.extern.slf4j.Slf4j;
+import net.openhft.affinity.Affinity;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates named daemon threads for Disruptor consumers, optionally pinning each
+ * new thread to the next CPU in a configured list (round-robin).
+ * Pinning failures (e.g. unsupported OS) are logged and the thread runs unpinned.
+ */
+@Slf4j
+public class AffinityThreadFactory implements ThreadFactory {
+
+    private final String namePrefix;
+    private final List<Integer> cpus;
+    private final AtomicInteger counter = new AtomicInteger();
+    private final List<Thread> threads = new CopyOnWriteArrayList<>();
+
+    public AffinityThreadFactory(String namePrefix, List<Integer> cpus) {
+        this.namePrefix = namePrefix;
+        this.cpus = cpus == null ? List.of() : List.copyOf(cpus);
+    }
+
+    @Override
+    public Thread newThread(Runnable r) {
+        int index = counter.getAndIncrement();
+        int cpu = cpus.isEmpty() ? -1 : cpus.get(index % cpus.size());
+
+        Thread thread = new Thread(() -> {
+            if (cpu >= 0) pin(cpu);
+            r.run();
+        }, namePrefix + "-" + index);
+        thread.setDaemon(true);
+        threads.add(thread);
+        return thread;
+    }
+
+    /**
+     * Waits for every thread created so far to finish. Returns false on timeout.
+     */
+    public boolean join(long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000L;
+        for (Thread thread : threads) {
+            long remaining = (deadline - System.nanoTime()) / 1_000_000L;
+            if (remaining > 0) thread.join(remaining);
+            if (thread.isAlive()) return false;
+        }
+        return true;
+    }
+
+    private void pin(int cpu) {
+        try {
+            Affinity.setAffinity(cpu);
+            log.info("Pinned thread {} to CPU {}", Thread.currentThread().getName(), cpu);
+        } catch (Throwable t) {
+            log.warn("Could not pin thread {} to CPU {}: {}", Thread.currentThread().getName(), cpu, t.toString());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.isotope.core;
+
+import com.lmax.disruptor.dsl.ProducerType;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Resolved Disruptor settings for an {@link IsotopeEngine}.
+ * Start from a {@link LatencyProfile} and override individual values as needed.
+ */
+@Getter
+@ToString
+@Builder(toBuilder = true)
+public class EngineSettings {
+
+    private final WaitStrategyType waitStrategy;
+    private final ProducerType marketDataProducerType;
+    private final ProducerType orderProducerType;
+    private final int marketDataBufferSize; // Must be power of 2
+    private final int orderBufferSize;      // Must be power of 2
+
+    // Run each registered strategy on its own consumer thread (requires MULTI order producer)
+    private final boolean parallelStrategies;
+
+    // CPUs to pin consumer threads to; empty means unpinned
+    @Builder.Default
+    private final List<Integer> strategyCpus = List.of();
+    @Builder.Default
+    private final List<Integer> executionCpus = List.of();
+
+    public static EngineSettings fromProfile(LatencyProfile profile) {
+        return EngineSettings.builder()
+                .waitStrategy(profile.getWaitStrategy())
+                .marketDataProducerType(profile.getMarketDataProducerType())
+                .orderProducerType(profile.getOrderProducerType())
+                .marketDataBufferSize(profile.getMarketDataBufferSize())
+                .orderBufferSize(profile.getOrderBufferSize())
+                .build();
+    }
+}
@@ -0,0 +1,247 @@
+package com.isotope.core;
+
+import com.isotope.adapter.OrderExecutionAdapter;
+import com.isotope.model.InstrumentTokens;
+import com.isotope.model.MarketDataEvent;
+import com.isotope.tickstore.TickFileFormat;
+import com.lmax.disruptor.RingBuffer;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Pre-market JIT warm-up: drives ticks through the started engine (strategy
+ * handlers, order ring, execution adapter) before the live producer connects,
+ * so the first real ticks run C2-compiled code instead of the interpreter.
+ *
+ * Orders reach the execution adapter in warm-up mode (fees and positions are
+ * computed, nothing is journaled; afterwards the balance is restored and positions cleared).
+ * Strategy and pre-trade risk state is reset once both rings are idle. The report lists the
+ * compiler tier each hot method reached (4 = C2, absent = not compiled on its
+ * own, possibly inlined into its caller).
+ */
+@Slf4j
+public final class EngineWarmUp {
+
+    /**
+     * Fills the warm-up tick with the given index into a ring slot.
+     */
+    @FunctionalInterface
+    public interface Ticks {
+        void fill(long index, MarketDataEvent event);
+    }
+
+    public record Report(long ticks, long orders, long elapsedMillis, long compileMillis,
+                         int compiledMethodsBefore, int compiledMethodsAfter, Map<String, Integer> hotMethodTiers) {
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("ticks", ticks);
+            result.put("orders", orders);
+            result.put("elapsed_ms", elapsedMillis);
+            result.put("compile_ms", compileMillis);
+            result.put("compiled_methods_before", compiledMethodsBefore);
+            result.put("compiled_methods_after", compiledMethodsAfter);
+            result.put("hot_method_tiers", hotMethodTiers);
+            return result;
+        }
+    }
+
+    static final List<String> HOT_METHODS = List.of(
+            "com.isotope.core.IsotopeEngine$StrategyEventHandler.onEvent",
+            "com.isotope.strategy.PairsTradingStrategy.onTick",
+            "com.isotope.core.IsotopeEngine.publishOrder",
+            "com.isotope.adapter.OrderExecutionAdapter.onEvent");
+
+    private static final int BATCH = 256;
+
+    private final IsotopeEngine engine;
+    private final OrderExecutionAdapter executionAdapter;
+
+    public EngineWarmUp(IsotopeEngine engine, OrderExecutionAdapter executionAdapter) {
+        this.engine = engine;
+        this.executionAdapter = executionAdapter;
+    }
+
+    /**
+     * Publishes {@code count} ticks, waits for the engine to process them and resets
+     * strategy and execution state. The engine must be started and no producer running.
+     * If the rings do not drain in time nothing is reset and the execution adapter stays
+     * in warm-up mode: the caller must stop the engine rather than start a session.
+     */
+    public Report run(Ticks ticks, long count, long timeoutMillis) throws InterruptedException {
+        CompilationMXBean compiler = ManagementFactory.getCompilationMXBean();
+        boolean timed = compiler != null && compiler.isCompilationTimeMonitoringSupported();
+        long compileStart = timed ? compiler.getTotalCompilationTime() : 0;
+        int compiledBefore = countCompiled(codeList());
+        long start = System.nanoTime();
+
+        log.info("JIT warm-up: publishing {} ticks", count);
+        executionAdapter.beginWarmUp();
+        RuntimeException failure = null;
+        try {
+            publish(engine.getMarketDataRingBuffer(), ticks, count);
+        } catch (RuntimeException e) {
+            failure = e; // Still drain what was published
+        }
+        // Warm-up mode only ends once its orders are processed; otherwise they would reach the live book
+        if (!engine.awaitIdle(timeoutMillis)) {
+            IllegalStateException timeout = new IllegalStateException("JIT warm-up did not drain within "
+                    + timeoutMillis + " ms; the execution adapter stays in warm-up mode");
+            if (failure != null) timeout.addSuppressed(failure);
+            throw timeout;
+        }
+        engine.resetStrategies();
+        engine.resetRiskCheck();
+        engine.resetOrderNetting();
+        long orders = executionAdapter.endWarmUp();
+        if (failure != null) throw failure;
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        String codeList = codeList();
+        Report report = new Report(count, orders, elapsedMillis,
+                timed ? compiler.getTotalCompilationTime() - compileStart : -1,
+                compiledBefore, countCompiled(codeList), tiers(codeList));
+        log.info("JIT warm-up complete: {}", report.toMap());
+        return report;
+    }
+
+    private static void publish(RingBuffer<MarketDataEvent> ringBuffer, Ticks ticks, long count) {
+        int batch = Math.min(BATCH, ringBuffer.getBufferSize());
+        for (long index = 0; index < count; ) {
+            int n = (int) Math.min(batch, count - index);
+            long hi = ringBuffer.next(n);
+            long lo = hi - n + 1;
+            try {
+                for (long sequence = lo; sequence <= hi; sequence++) {
+                    MarketDataEvent event = ringBuffer.get(sequence);
+                    ticks.fill(index++, event);
+                    event.setPublishNanos(System.nanoTime());
+                }
+            } finally {
+                ringBuffer.publish(lo, hi);
+            }
+        }
+    }
+
+    /**
+     * Random-walk NIFTY / BANKNIFTY ticks with periodic ratio shocks, so the
+     * strategy also takes its entry and exit (order) paths. Deterministic per seed.
+     */
+    public static Ticks syntheticTicks(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long startMillis = System.currentTimeMillis();
+        double[] state = {26_000.0, 59_000.0, 0.0}; // NIFTY, BANKNIFTY, BANKNIFTY shock
+        return (index, event) -> {
+            boolean nifty = (index & 1) == 0;
+            int leg = nifty ? 0 : 1;
+            state[leg] *= 1 + random.nextGaussian() * 0.0002;
+            double price = state[leg];
+            if (!nifty) {
+                if (index % 400 == 1) state[2] = random.nextBoolean() ? 0.006 : -0.006;
+                price *= 1 + state[2];
+                state[2] *= 0.9;
+            }
+            event.setInstrumentToken(nifty ? InstrumentTokens.NIFTY : InstrumentTokens.BANKNIFTY);
+            event.setLastTradedTime(startMillis + index * 100);
+            event.setLastTradedPrice(price);
+            event.setVolume(1 + index);
+            event.setBidPrice(price - 0.05);
+            event.setAskPrice(price + 0.05);
+            event.setBidQuantity(50);
+            event.setAskQuantity(50);
+            event.clearDepth();
+        };
+    }
+
+    /**
+     * Ticks from a binary tick file (see {@link TickFileFormat}), repeated as often as needed.
+     */
+    public static Ticks recordedTicks(Path tickFile) throws IOException {
+        MappedByteBuffer records;
+        long count;
+        try (FileChannel channel = FileChannel.open(tickFile, StandardOpenOption.READ)) {
+            long declared = TickFileFormat.readHeader(
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0, TickFileFormat.HEADER_SIZE));
+            long available = (channel.size() - TickFileFormat.HEADER_SIZE) / TickFileFormat.RECORD_SIZE;
+            count = Math.min(Math.min(declared, available), Integer.MAX_VALUE / TickFileFormat.RECORD_SIZE);
+            if (count == 0) throw new IOException("No ticks in " + tickFile);
+            records = channel.map(FileChannel.MapMode.READ_ONLY, TickFileFormat.HEADER_SIZE,
+                    count * TickFileFormat.RECORD_SIZE);
+            records.order(TickFileFormat.BYTE_ORDER);
+        }
+        long recordCount = count;
+        return (index, event) -> {
+            int base = (int) (index % recordCount) * TickFileFormat.RECORD_SIZE;
+            event.setInstrumentToken(records.getLong(base + TickFileFormat.TOKEN));
+            event.setLastTradedTime(records.getLong(base + TickFileFormat.TIME));
+            event.setLastTradedPrice(records.getDouble(base + TickFileFormat.PRICE));
+            event.setVolume(records.getLong(base + TickFileFormat.VOLUME));
+            event.setBidPrice(records.getDouble(base + TickFileFormat.BID_PRICE));
+            event.setAskPrice(records.getDouble(base + TickFileFormat.ASK_PRICE));
+            event.setBidQuantity(records.getLong(base + TickFileFormat.BID_QUANTITY));
+            event.setAskQuantity(records.getLong(base + TickFileFormat.ASK_QUANTITY));
+            event.clearDepth();
+        };
+    }
+
+    /**
+     * The JIT's code cache listing (jcmd Compiler.codelist), or null if unavailable.
+     */
+    private static String codeList() {
+        try {
+            return (String) ManagementFactory.getPlatformMBeanServer().invoke(
+                    new ObjectName("com.sun.management:type=DiagnosticCommand"), "compilerCodelist",
+                    new Object[]{new String[0]}, new String[]{String[].class.getName()});
+        } catch (Exception e) {
+            log.debug("Compiler code list unavailable", e);
+            return null;
+        }
+    }
+
+    /**
+     * Methods with in-use compiled code; -1 if unknown.
+     */
+    static int countCompiled(String codeList) {
+        if (codeList == null) return -1;
+        return (int) codeList.lines().filter(line -> inUseLevel(line) >= 0).count();
+    }
+
+    /**
+     * Highest in-use compiler tier of each hot method that has compiled code of its own.
+     */
+    static Map<String, Integer> tiers(String codeList) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        if (codeList == null) return result;
+        codeList.lines().forEach(line -> {
+            int level = inUseLevel(line);
+            if (level < 0) return;
+            for (String method : HOT_METHODS) {
+                if (line.contains(" " + method + "(")) result.merge(method, level, Math::max);
+            }
+        });
+        return result;
+    }
+
+    // Lines read "<compile id> <tier> <state> <method(signature)> [...]"; state 0 = in use
+    private static int inUseLevel(String line) {
+        String[] fields = line.trim().split(" ", 4);
+        if (fields.length < 4 || !"0".equals(fields[2])) return -1;
+        try {
+            return Integer.parseInt(fields[1]);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.isotope.core;
+
+import com.isotope.metrics.LatencyHistogram;
+import com.isotope.metrics.LatencyMetrics;
+import com.isotope.metrics.LatencyStage;
+import com.isotope.model.MarketDataEvent;
+import com.isotope.model.OrderEvent;
+import com.isotope.strategy.Strategy;
+
+/**
+ * Wraps a strategy to record its onTick duration and tick-to-order latency,
+ * and to carry the originating tick's publish time onto the orders it sends.
+ * Runs on the strategy's consumer thread only.
+ */
+class InstrumentedStrategy implements Strategy {
+
+    private final Strategy delegate;
+    private final LatencyHistogram onTickLatency;
+    private final LatencyHistogram tickToOrderLatency;
+
+    private OrderPublisher publisher;
+    private long currentTickNanos;
+
+    InstrumentedStrategy(Strategy delegate, LatencyMetrics metrics) {
+        this.delegate = delegate;
+        this.onTickLatency = metrics.histogram(LatencyStage.STRATEGY, delegate.getStrategyId());
+        this.tickToOrderLatency = metrics.histogram(LatencyStage.TICK_TO_ORDER, delegate.getStrategyId());
+    }
+
+    @Override
+    public void onTick(MarketDataEvent event) {
+        currentTickNanos = event.getPublishNanos();
+        long start = System.nanoTime();
+        try {
+            delegate.onTick(event);
+        } finally {
+            onTickLatency.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void setOrderPublisher(OrderPublisher orderPublisher) {
+        this.publisher = orderPublisher;
+        delegate.setOrderPublisher(this::publishOrder);
+    }
+
+    private void publishOrder(String symbol, OrderEvent.Type type, int quantity, double price, String strategyId, long timestamp) {
+        if (currentTickNanos != 0) tickToOrderLatency.record(System.nanoTime() - currentTickNanos);
+        if (publisher instanceof IsotopeEngine engine) {
+            engine.publishOrder(symbol, type, quantity, price, strategyId, timestamp, currentTickNanos);
+        } else {
+            publisher.publishOrder(symbol, type, quantity, price, strategyId, timestamp);
+        }
+    }
+
+    @Override
+    public String getStrategyId() {
+        return delegate.getStrategyId();
+    }
+
+    @Override
+    public long[] getInstrumentTokens() {
+        return delegate.getInstrumentTokens();
+    }
+
+    @Override
+    public void reset() {
+        currentTickNanos = 0;
+        delegate.reset();
+    }
+}
@@ -1,110 +1,309 @@
 package com.isotope.core;
 
 import com.isotope.adapter.OrderExecutionAdapter;
-import com.isotope.config.AppConfig;
+import com.isotope.adapter.OrderNettingStage;
+import com.isotope.metrics.LatencyHistogram;
+import com.isotope.metrics.LatencyMetrics;
+import com.isotope.metrics.LatencyStage;
 import com.isotope.model.MarketDataEvent;
 import com.isotope.model.MarketDataEventFactory;
 import com.isotope.model.OrderEvent;
 import com.isotope.model.OrderEventFactory;
+import com.isotope.model.SymbolRegistry;
+import com.isotope.risk.PreTradeRiskCheck;
 import com.isotope.strategy.Strategy;
-import com.lmax.disruptor.BlockingWaitStrategy;
 import com.lmax.disruptor.EventHandler;
 import com.lmax.disruptor.RingBuffer;
 import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.EventHandlerGroup;
 import com.lmax.disruptor.dsl.ProducerType;
-import com.lmax.disruptor.util.DaemonThreadFactory;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 public class IsotopeEngine implements OrderPublisher {
 
     private final Disruptor<MarketDataEvent> marketDataDisruptor;
     private final Disruptor<OrderEvent> orderDisruptor;
+    private final AffinityThreadFactory executionThreads;
+    private final AffinityThreadFactory strategyThreads;
 
     @Getter
     private final RingBuffer<MarketDataEvent> marketDataRingBuffer;
     @Getter
     private final RingBuffer<OrderEvent> orderRingBuffer;
 
+    private static final String DEFAULT_GROUP = "default";
+
     private final List<Strategy> strategies = new ArrayList<>();
+    private final Map<String, List<Strategy>> strategyGroups = new LinkedHashMap<>();
+    private final List<EventHandler<MarketDataEvent>> marketDataConsumers = new ArrayList<>();
+    private final List<EventHandler<OrderEvent>> orderConsumers = new ArrayList<>();
+    private final OrderExecutionAdapter executionAdapter;
+    private PreTradeRiskCheck riskCheck; // null = orders go straight to execution
+    private OrderNettingStage orderNetting; // null = every order goes to the market on its own
+    private volatile boolean started = false;
 
-    private static final int BUFFER_SIZE = 1024; // Must be power of 2
+    @Getter
+    private final EngineSettings settings;
+    private final LatencyMetrics latencyMetrics; // null = not measured
 
     public IsotopeEngine(OrderExecutionAdapter executionAdapter) {
+        this(executionAdapter, EngineSettings.fromProfile(LatencyProfile.LEGACY));
+    }
+
+    public IsotopeEngine(OrderExecutionAdapter executionAdapter, EngineSettings settings) {
+        this(executionAdapter, settings, null);
+    }
+
+    public IsotopeEngine(OrderExecutionAdapter executionAdapter, EngineSettings settings, LatencyMetrics latencyMetrics) {
+        this.settings = settings;
+        this.latencyMetrics = latencyMetrics;
+        this.executionAdapter = executionAdapter;
+        if (latencyMetrics != null) executionAdapter.setLatencyMetrics(latencyMetrics);
+        log.info("Engine settings: {}", settings);
+
         // 1. Setup Output Disruptor (Orders) first, so strategies can use it
+        // Orders are published from the strategy thread(s); SINGLE is only safe while
+        // exactly one strategy group is registered (see start()).
         OrderEventFactory orderFactory = new OrderEventFactory();
+        executionThreads = new AffinityThreadFactory("isotope-execution", settings.getExecutionCpus());
         orderDisruptor = new Disruptor<>(
                 orderFactory,
-                BUFFER_SIZE,
-                DaemonThreadFactory.INSTANCE,
-                ProducerType.MULTI, // Multiple strategies might push orders
-                new BlockingWaitStrategy()
+                settings.getOrderBufferSize(),
+                executionThreads,
+                settings.getOrderProducerType(),
+                settings.getWaitStrategy().create()
         );
 
-        // Connect Consumer: OrderExecutionAdapter
-        orderDisruptor.handleEventsWith(executionAdapter);
-
+        // Consumers (risk check, OrderExecutionAdapter, order consumers) are connected in start()
         orderRingBuffer = orderDisruptor.getRingBuffer();
 
 
         // 2. Setup Input Disruptor (Market Data)
+        // We only inject ONE MarketDataProducer and it publishes from a single thread
+        // (CSV executor / Kite ticker thread), so SINGLE is safe here.
         MarketDataEventFactory marketDataFactory = new MarketDataEventFactory();
+        strategyThreads = new AffinityThreadFactory("isotope-strategy", settings.getStrategyCpus());
         marketDataDisruptor = new Disruptor<>(
                 marketDataFactory,
-                BUFFER_SIZE,
-                DaemonThreadFactory.INSTANCE,
-                ProducerType.MULTI, // ProducerType.MULTI because we might have different threads publishing or just safe default
-                // Actually, if we use Single Writer Principle we want SINGLE, but Adapter might run on its own thread.
-                // CsvProducer runs on executor. KiteTicker runs on its own thread.
-                // If we guarantee only one producer thread active at a time, we can use SINGLE.
-                // But the producer interface doesn't guarantee single threaded access to ringbuffer if we had multiple producers (which we don't for now).
-                // Let's stick to MULTI to be safe or SINGLE if we are sure.
-                // The previous code had SINGLE with MarketDataAdapter.
-                // MarketDataAdapter was just a wrapper.
-                // Here the producer is external.
-                // Let's use SINGLE for performance if we assume 1 active producer.
-                // But wait, CsvProducer uses a thread. Kite uses a thread.
-                // As long as there is only ONE thread calling publish(), SINGLE is fine.
-                // We only inject ONE producer. So SINGLE is fine.
-                new BlockingWaitStrategy()
+                settings.getMarketDataBufferSize(),
+                strategyThreads,
+                settings.getMarketDataProducerType(),
+                settings.getWaitStrategy().create()
         );
 
-        // Connect Consumer: Strategy Processor
-        marketDataDisruptor.handleEventsWith(new StrategyEventHandler());
-
+        // Strategy consumers are connected in start(), once all groups are known
         marketDataRingBuffer = marketDataDisruptor.getRingBuffer();
     }
 
     public void start() {
         log.info("Starting Isotope Engine...");
+        if (strategyGroups.size() > 1 && settings.getOrderProducerType() == ProducerType.SINGLE) {
+            throw new IllegalStateException("Parallel strategy groups " + strategyGroups.keySet()
+                    + " publish orders from several threads; the order ring must use ProducerType.MULTI");
+        }
+
+        // Connect Consumers: one Strategy Processor per group, all reading the same ring in parallel
+        StrategyEventHandler[] handlers;
+        if (strategyGroups.isEmpty()) {
+            handlers = new StrategyEventHandler[]{new StrategyEventHandler(DEFAULT_GROUP, new Strategy[0])};
+        } else {
+            handlers = strategyGroups.entrySet().stream()
+                    .map(e -> new StrategyEventHandler(e.getKey(), e.getValue().toArray(new Strategy[0])))
+                    .toArray(StrategyEventHandler[]::new);
+        }
+        // Additional consumers (e.g. the tick journal) read the same ring alongside the strategies
+        List<EventHandler<MarketDataEvent>> consumers = new ArrayList<>(List.of(handlers));
+        consumers.addAll(marketDataConsumers);
+        @SuppressWarnings("unchecked")
+        EventHandler<MarketDataEvent>[] consumerArray = consumers.toArray(new EventHandler[0]);
+        marketDataDisruptor.handleEventsWith(consumerArray);
+
+        // Order path: [risk check ->] [netting ->] execution adapter [-> order consumers]
+        List<EventHandler<OrderEvent>> orderPath = new ArrayList<>();
+        if (riskCheck != null) orderPath.add(riskCheck);
+        if (orderNetting != null) orderPath.add(orderNetting);
+        orderPath.add(executionAdapter);
+        EventHandlerGroup<OrderEvent> stage = orderDisruptor.handleEventsWith(orderPath.get(0));
+        for (int i = 1; i < orderPath.size(); i++) {
+            stage = stage.then(orderPath.get(i));
+        }
+
+        // Order consumers (e.g. analytics) read each order after the adapter has filled it
+        if (!orderConsumers.isEmpty()) {
+            @SuppressWarnings("unchecked")
+            EventHandler<OrderEvent>[] orderConsumerArray = orderConsumers.toArray(new EventHandler[0]);
+            orderDisruptor.after(executionAdapter).handleEventsWith(orderConsumerArray);
+        }
+        started = true;
+
         orderDisruptor.start();
         marketDataDisruptor.start();
         log.info("Engine Started.");
     }
 
+    /**
+     * Waits until every published tick and order has been consumed. Returns false on timeout.
+     */
+    public boolean awaitIdle(long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000L;
+        // Orders are published before the tick that caused them is marked consumed
+        while (!isIdle(marketDataRingBuffer) || !isIdle(orderRingBuffer)) {
+            if (System.nanoTime() - deadline > 0) return false;
+            Thread.sleep(1);
+        }
+        return true;
+    }
+
+    private static boolean isIdle(RingBuffer<?> ringBuffer) {
+        return ringBuffer.remainingCapacity() == ringBuffer.getBufferSize();
+    }
+
+    /**
+     * Resets the state of every registered strategy. Only call while the engine is idle
+     * (see {@link #awaitIdle(long)}) and no producer is publishing.
+     */
+    public void resetStrategies() {
+        for (Strategy strategy : strategies) {
+            strategy.reset();
+        }
+    }
+
+    /**
+     * Resets the pre-trade risk check's positions, windows and counters, if any. Only
+     * call while the engine is idle (see {@link #awaitIdle(long)}).
+     */
+    public void resetRiskCheck() {
+        if (riskCheck != null) riskCheck.reset();
+    }
+
+    /**
+     * Zeroes the order netting counters, if netting is on. Only call while the engine is idle.
+     */
+    public void resetOrderNetting() {
+        if (orderNetting != null) orderNetting.reset();
+    }
+
     public void stop() {
         marketDataDisruptor.shutdown();
         orderDisruptor.shutdown();
     }
 
+    /**
+     * Waits, after {@link #stop()}, until the consumers have run their shutdown hooks
+     * (journals flushed and closed). Returns false on timeout.
+     */
+    public boolean awaitTermination(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        return strategyThreads.join(timeoutMillis)
+                && executionThreads.join(Math.max(0, deadline - System.currentTimeMillis()));
+    }
+
+    /**
+     * Registers a strategy in the shared default group, or in its own group
+     * (own consumer thread) when {@link EngineSettings#isParallelStrategies()} is set.
+     */
     public void registerStrategy(Strategy strategy) {
-        strategy.setOrderPublisher(this);
+        registerStrategy(strategy, settings.isParallelStrategies() ? strategy.getStrategyId() : DEFAULT_GROUP);
+    }
+
+    /**
+     * Registers a strategy in a named group. Each group runs on its own consumer
+     * thread; strategies within a group run sequentially on that thread.
+     * Must be called before {@link #start()}.
+     */
+    public void registerStrategy(Strategy strategy, String group) {
+        if (started) {
+            throw new IllegalStateException("Cannot register strategy " + strategy.getStrategyId() + " after start");
+        }
+        Strategy registered = latencyMetrics != null ? new InstrumentedStrategy(strategy, latencyMetrics) : strategy;
+        registered.setOrderPublisher(this);
         strategies.add(strategy);
-        log.info("Registered strategy: {}", strategy.getStrategyId());
+        strategyGroups.computeIfAbsent(group, g -> new ArrayList<>()).add(registered);
+        log.info("Registered strategy: {} (group: {})", strategy.getStrategyId(), group);
+    }
+
+    /**
+     * Adds a market data consumer that runs on its own thread in parallel with the
+     * strategy groups, after them in CPU pinning order. Must be called before {@link #start()}.
+     */
+    public void addMarketDataConsumer(EventHandler<MarketDataEvent> consumer) {
+        if (started) {
+            throw new IllegalStateException("Cannot add a market data consumer after start");
+        }
+        marketDataConsumers.add(consumer);
+    }
+
+    /**
+     * Runs every order through a pre-trade risk check on its own thread ahead of the
+     * execution adapter, which skips rejected orders and reports fills back to it.
+     * Must be called before {@link #start()}.
+     */
+    public void setRiskCheck(PreTradeRiskCheck riskCheck) {
+        if (started) {
+            throw new IllegalStateException("Cannot set the risk check after start");
+        }
+        this.riskCheck = riskCheck;
+        executionAdapter.setRiskCheck(riskCheck);
+    }
+
+    /**
+     * Nets opposing orders of the same symbol across strategies on its own thread
+     * between the risk check (if any) and the execution adapter.
+     * Must be called before {@link #start()}.
+     */
+    public void setOrderNetting(OrderNettingStage orderNetting) {
+        if (started) {
+            throw new IllegalStateException("Cannot set order netting after start");
+        }
+        this.orderNetting = orderNetting;
+    }
+
+    /**
+     * Adds an order consumer that runs on its own thread after the execution adapter,
+     * so it sees the fill result of every order ({@link OrderEvent#isExecuted()}).
+     * Must be called before {@link #start()}.
+     */
+    public void addOrderConsumer(EventHandler<OrderEvent> consumer) {
+        if (started) {
+            throw new IllegalStateException("Cannot add an order consumer after start");
+        }
+        orderConsumers.add(consumer);
     }
 
     /**
-     * Internal EventHandler that dispatches ticks to all registered strategies.
-     * This runs on the MarketData Processor Thread (Single Writer Principle).
+     * Internal EventHandler that dispatches ticks to the strategies of one group
+     * that subscribed to the tick's instrument.
+     * Each group runs on its own MarketData Processor Thread (Single Writer Principle per group).
      */
     private class StrategyEventHandler implements EventHandler<MarketDataEvent> {
+        private final String group;
+        private final TokenStrategyIndex index;
+        private final LatencyHistogram tickQueueLatency;
+
+        StrategyEventHandler(String group, Strategy[] groupStrategies) {
+            this.group = group;
+            this.index = new TokenStrategyIndex(groupStrategies);
+            this.tickQueueLatency = latencyMetrics != null ? latencyMetrics.histogram(LatencyStage.TICK_QUEUE, group) : null;
+        }
+
+        @Override
+        public void onStart() {
+            log.info("Strategy group '{}' running on {}", group, Thread.currentThread().getName());
+        }
+
         @Override
         public void onEvent(MarketDataEvent event, long sequence, boolean endOfBatch) {
-            for (Strategy strategy : strategies) {
+            if (tickQueueLatency != null && event.getPublishNanos() != 0) {
+                tickQueueLatency.record(System.nanoTime() - event.getPublishNanos());
+            }
+            for (Strategy strategy : index.get(event.getInstrumentToken())) {
                 try {
                     strategy.onTick(event);
                 } catch (Exception e) {
@@ -118,10 +317,19 @@ public class IsotopeEngine implements OrderPublisher {
 
     @Override
     public void publishOrder(String symbol, OrderEvent.Type type, int quantity, double price, String strategyId, long timestamp) {
+        publishOrder(symbol, type, quantity, price, strategyId, timestamp, 0);
+    }
+
+    /**
+     * Publishes an order carrying the publish time (System.nanoTime) of the tick that triggered it, 0 if unknown.
+     */
+    public void publishOrder(String symbol, OrderEvent.Type type, int quantity, double price, String strategyId,
+                             long timestamp, long tickNanos) {
         long sequence = orderRingBuffer.next();
         try {
             OrderEvent event = orderRingBuffer.get(sequence);
             event.setTradingSymbol(symbol);
+            event.setSymbolId(SymbolRegistry.intern(symbol));
             event.setType(type);
             event.setQuantity(quantity);
             event.setPrice(price);
@@ -129,6 +337,10 @@ public class IsotopeEngine implements OrderPublisher {
 
             // FIX: Use the historical time passed from the strategy, NOT system time
             event.setTimestamp(timestamp);
+
+            event.setTickNanos(tickNanos);
+            event.setPublishNanos(System.nanoTime());
+            event.setRejectReason(null); // Verdict on the slot's previous order
         } finally {
             orderRingBuffer.publish(sequence);
         }
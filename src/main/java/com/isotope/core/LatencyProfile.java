@@ -0,0 +1,35 @@
+package com.isotope.core;
+
+import com.lmax.disruptor.dsl.ProducerType;
+import lombok.Getter;
+
+/**
+ * Named Disruptor tunings for the engine's two ring buffers.
+ * Individual settings can still be overridden through {@link EngineSettings}.
+ */
+@Getter
+public enum LatencyProfile {
+    // Live trading on a dedicated box: spinning consumers, pinned threads
+    LOW_LATENCY(WaitStrategyType.BUSY_SPIN, ProducerType.SINGLE, ProducerType.SINGLE, 4096, 1024),
+    // Low latency without monopolising cores
+    BALANCED(WaitStrategyType.YIELDING, ProducerType.SINGLE, ProducerType.SINGLE, 1024, 1024),
+    // MAX-speed replays: deep rings so the producer rarely waits, cheap idle consumers
+    BACKTEST_THROUGHPUT(WaitStrategyType.SLEEPING, ProducerType.SINGLE, ProducerType.SINGLE, 65536, 8192),
+    // Original engine settings
+    LEGACY(WaitStrategyType.BLOCKING, ProducerType.MULTI, ProducerType.MULTI, 1024, 1024);
+
+    private final WaitStrategyType waitStrategy;
+    private final ProducerType marketDataProducerType;
+    private final ProducerType orderProducerType;
+    private final int marketDataBufferSize;
+    private final int orderBufferSize;
+
+    LatencyProfile(WaitStrategyType waitStrategy, ProducerType marketDataProducerType, ProducerType orderProducerType,
+                   int marketDataBufferSize, int orderBufferSize) {
+        this.waitStrategy = waitStrategy;
+        this.marketDataProducerType = marketDataProducerType;
+        this.orderProducerType = orderProducerType;
+        this.marketDataBufferSize = marketDataBufferSize;
+        this.orderBufferSize = orderBufferSize;
+    }
+}
@@ -0,0 +1,86 @@
+package com.isotope.core;
+
+/**
+ * Map from primitive long keys (instrument tokens) to non-null values.
+ *
+ * Open addressing with linear probing over a power-of-two table kept at <= 50%
+ * load, so a lookup is a multiply, a shift and usually one probe, with no boxing.
+ * Only {@link #put} of a new key allocates (when the table grows). Not thread-safe.
+ */
+public final class LongKeyMap<V> {
+
+    private long[] keys;
+    private Object[] values; // null = empty slot
+    private int mask;
+    private int shift;
+    private int size;
+
+    public LongKeyMap() {
+        this(16);
+    }
+
+    public LongKeyMap(int expectedKeys) {
+        allocate(Integer.highestOneBit(Math.max(2, expectedKeys * 2 - 1)) << 1);
+    }
+
+    /**
+     * Value for the key, or null if absent.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int slot = slot(key);
+        Object found;
+        while ((found = values[slot]) != null) {
+            if (keys[slot] == key) return (V) found;
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Associates the value with the key, replacing any previous one.
+     */
+    public void put(long key, V value) {
+        if (value == null) throw new IllegalArgumentException("Null value for key " + key);
+        int slot = slot(key);
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size * 2 > keys.length) grow();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] == null) continue;
+            int slot = slot(oldKeys[i]);
+            while (values[slot] != null) slot = (slot + 1) & mask;
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    private int slot(long key) {
+        // Fibonacci hashing: top bits of the product spread sequential tokens well
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift) & mask;
+    }
+}
@@ -0,0 +1,64 @@
+package com.isotope.core;
+
+import com.isotope.strategy.Strategy;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable instrument token -> Strategy[] index used for tick dispatch.
+ *
+ * Primitive long keys in a {@link LongKeyMap}, so a lookup is a multiply, a
+ * shift and usually one probe, with no boxing.
+ * Strategies that subscribe to every instrument (see
+ * {@link Strategy#getInstrumentTokens()}) are included in every entry and are
+ * the only targets for tokens nobody subscribed to. Registration order is kept.
+ */
+public final class TokenStrategyIndex {
+
+    private static final Strategy[] NONE = new Strategy[0];
+
+    private final LongKeyMap<Strategy[]> targetsByToken;
+    private final Strategy[] wildcard;
+
+    public TokenStrategyIndex(Strategy[] strategies) {
+        List<Strategy> wildcardList = new ArrayList<>();
+        Set<Long> tokens = new LinkedHashSet<>();
+        for (Strategy strategy : strategies) {
+            long[] subscribed = strategy.getInstrumentTokens();
+            if (subscribed == null) {
+                wildcardList.add(strategy);
+            } else {
+                for (long token : subscribed) tokens.add(token);
+            }
+        }
+        this.wildcard = wildcardList.isEmpty() ? NONE : wildcardList.toArray(new Strategy[0]);
+
+        this.targetsByToken = new LongKeyMap<>(tokens.size());
+        for (long token : tokens) {
+            List<Strategy> targets = new ArrayList<>();
+            for (Strategy strategy : strategies) {
+                long[] subscribed = strategy.getInstrumentTokens();
+                if (subscribed == null || contains(subscribed, token)) targets.add(strategy);
+            }
+            targetsByToken.put(token, targets.toArray(new Strategy[0]));
+        }
+    }
+
+    /**
+     * Returns the strategies interested in the token. Never null; do not modify.
+     */
+    public Strategy[] get(long token) {
+        Strategy[] found = targetsByToken.get(token);
+        return found != null ? found : wildcard;
+    }
+
+    private static boolean contains(long[] tokens, long token) {
+        for (long t : tokens) {
+            if (t == token) return true;
+        }
+        return false;
+    }
+}
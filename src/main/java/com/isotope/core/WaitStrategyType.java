@@ -0,0 +1,27 @@
+package com.isotope.core;
+
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.BusySpinWaitStrategy;
+import com.lmax.disruptor.SleepingWaitStrategy;
+import com.lmax.disruptor.WaitStrategy;
+import com.lmax.disruptor.YieldingWaitStrategy;
+
+/**
+ * Consumer wait strategies, ordered from lowest latency / highest CPU cost
+ * to highest latency / lowest CPU cost.
+ */
+public enum WaitStrategyType {
+    BUSY_SPIN,  // Burns a core; needs a dedicated (ideally pinned) CPU per consumer
+    YIELDING,   // Spins then Thread.yield(); low latency, frees the core to other runnable threads
+    SLEEPING,   // Spins, yields, then parks briefly; good for backtests and shared boxes
+    BLOCKING;   // Lock + condition; lowest CPU, highest wake-up latency
+
+    public WaitStrategy create() {
+        return switch (this) {
+            case BUSY_SPIN -> new BusySpinWaitStrategy();
+            case YIELDING -> new YieldingWaitStrategy();
+            case SLEEPING -> new SleepingWaitStrategy();
+            case BLOCKING -> new BlockingWaitStrategy();
+        };
+    }
+}
@@ -0,0 +1,191 @@
+package com.isotope.journal;
+
+import com.isotope.model.OrderEvent;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Binary, columnar alternative to trades.csv (see {@link TradeLogFormat}): one row
+ * per order reaching the execution adapter, every field at full precision.
+ *
+ * Each chunk is mapped at its full size and values are stored straight into their
+ * columns; {@link #commit()} writes new dictionary entries and then publishes the
+ * row count in the chunk header, so a reader never sees a code without its string.
+ * A full chunk is compacted into a new file that replaces it, and the next one started. Opening a log replaces the
+ * chunks of an earlier run in the same directory, as trades.csv is truncated.
+ * Single-threaded: owned by the execution consumer.
+ */
+@Slf4j
+public class ColumnarTradeLog implements Closeable {
+
+    public static final int DEFAULT_CHUNK_ROWS = 1 << 20;
+
+    private final Path directory;
+    private final int chunkRows;
+    private final long[] offsets = new long[TradeLogFormat.COLUMNS.size()];
+
+    // Dictionary codes per string column; new entries are written at the next commit
+    private final Map<String, Integer> strategyCodes = new HashMap<>();
+    private final Map<String, Integer> symbolCodes = new HashMap<>();
+    private final StringBuilder pendingEntries = new StringBuilder();
+    private final FileChannel dictionary;
+
+    private FileChannel channel;
+    private MappedByteBuffer chunk;
+    private int chunkIndex;
+    private int rows;
+    @Getter
+    private long rowCount;
+
+    public ColumnarTradeLog(Path directory, int chunkRows) throws IOException {
+        if (chunkRows <= 0 || TradeLogFormat.chunkSize(chunkRows) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Chunk size out of range: " + chunkRows + " rows");
+        }
+        this.directory = directory;
+        this.chunkRows = chunkRows;
+        Files.createDirectories(directory);
+        for (Path previous : TradeLogFormat.chunks(directory)) {
+            Files.delete(previous);
+        }
+
+        dictionary = FileChannel.open(directory.resolve(TradeLogFormat.DICTIONARY_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        for (OrderEvent.Type type : OrderEvent.Type.values()) {
+            addEntry(TradeLogFormat.ACTION, type.ordinal(), type.name());
+        }
+    }
+
+    /**
+     * Appends the order after the execution adapter has processed it; the fill columns
+     * are zero unless {@link OrderEvent#isExecuted()}. Not visible to readers until {@link #commit()}.
+     */
+    public void append(OrderEvent event, double feeSaving, long tickToTradeNanos) throws IOException {
+        if (chunk == null) {
+            openChunk();
+        } else if (rows == chunkRows) {
+            commit();
+            closeChunk();
+            chunkIndex++;
+            openChunk();
+        }
+        boolean executed = event.isExecuted();
+        putLong(TradeLogFormat.TIMESTAMP, event.getTimestamp());
+        putInt(TradeLogFormat.STRATEGY_ID, code(strategyCodes, TradeLogFormat.STRATEGY_ID, event.getStrategyId()));
+        putInt(TradeLogFormat.SYMBOL, code(symbolCodes, TradeLogFormat.SYMBOL, event.getTradingSymbol()));
+        chunk.put((int) offsets[TradeLogFormat.ACTION] + rows, (byte) event.getType().ordinal());
+        putInt(TradeLogFormat.QUANTITY, event.getQuantity());
+        putDouble(TradeLogFormat.PRICE, event.getPrice());
+        putDouble(TradeLogFormat.FEES, executed ? event.getFees() : 0.0);
+        putDouble(TradeLogFormat.REALIZED_PNL, executed ? event.getRealizedPnl() : 0.0);
+        putDouble(TradeLogFormat.NET_CASH_FLOW, executed ? event.getCashFlow() : 0.0);
+        putDouble(TradeLogFormat.RUNNING_BALANCE, executed ? event.getBalance() : 0.0);
+        putDouble(TradeLogFormat.FEE_SAVING, executed ? feeSaving : 0.0);
+        chunk.put((int) offsets[TradeLogFormat.EXECUTED] + rows, (byte) (executed ? 1 : 0));
+        putLong(TradeLogFormat.TICK_TO_TRADE_NANOS, tickToTradeNanos);
+        rows++;
+        rowCount++;
+    }
+
+    /**
+     * Makes the appended rows part of the log.
+     */
+    public void commit() throws IOException {
+        if (!pendingEntries.isEmpty()) {
+            ByteBuffer bytes = ByteBuffer.wrap(pendingEntries.toString().getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) dictionary.write(bytes);
+            pendingEntries.setLength(0);
+        }
+        if (chunk != null) chunk.putLong(TradeLogFormat.HEADER_ROW_COUNT, rows);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            commit();
+            closeChunk();
+        } finally {
+            dictionary.close();
+        }
+    }
+
+    private int code(Map<String, Integer> codes, int column, String value) {
+        String key = String.valueOf(value);
+        Integer code = codes.get(key);
+        if (code == null) {
+            code = codes.size();
+            codes.put(key, code);
+            addEntry(column, code, key);
+        }
+        return code;
+    }
+
+    private void addEntry(int column, int code, String value) {
+        pendingEntries.append(TradeLogFormat.COLUMNS.get(column).name()).append('\t')
+                .append(code).append('\t').append(value).append('\n');
+    }
+
+    private void putLong(int column, long value) {
+        chunk.putLong((int) offsets[column] + 8 * rows, value);
+    }
+
+    private void putInt(int column, int value) {
+        chunk.putInt((int) offsets[column] + 4 * rows, value);
+    }
+
+    private void putDouble(int column, double value) {
+        chunk.putDouble((int) offsets[column] + 8 * rows, value);
+    }
+
+    private void openChunk() throws IOException {
+        Path path = TradeLogFormat.chunkPath(directory, chunkIndex);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        chunk = channel.map(FileChannel.MapMode.READ_WRITE, 0, TradeLogFormat.chunkSize(chunkRows));
+        chunk.order(TradeLogFormat.BYTE_ORDER);
+        System.arraycopy(TradeLogFormat.columnOffsets(chunkRows), 0, offsets, 0, offsets.length);
+        TradeLogFormat.writeHeader(chunk, chunkIndex, chunkRows, offsets);
+        rows = 0;
+        log.info("Logging trades to {}", path);
+    }
+
+    private void closeChunk() throws IOException {
+        if (chunk == null) return;
+        Path path = TradeLogFormat.chunkPath(directory, chunkIndex);
+        Path compactedPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            // Copy each column to its offset for the actual row count in a new file, then swap it in:
+            // readers of the full chunk never see columns move under its header
+            long[] compacted = TradeLogFormat.columnOffsets(rows);
+            try (FileChannel target = FileChannel.open(compactedPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer copy = target.map(FileChannel.MapMode.READ_WRITE, 0, TradeLogFormat.chunkSize(rows));
+                copy.order(TradeLogFormat.BYTE_ORDER);
+                TradeLogFormat.writeHeader(copy, chunkIndex, rows, compacted);
+                for (int column = 0; column < offsets.length; column++) {
+                    copy.put((int) compacted[column], chunk, (int) offsets[column],
+                            rows * TradeLogFormat.COLUMNS.get(column).width());
+                }
+                copy.putLong(TradeLogFormat.HEADER_ROW_COUNT, rows);
+                copy.force();
+            }
+            Files.move(compactedPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            channel.close();
+            channel = null;
+            chunk = null;
+            Files.deleteIfExists(compactedPath);
+        }
+    }
+}
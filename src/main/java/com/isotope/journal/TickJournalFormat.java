@@ -0,0 +1,202 @@
+package com.isotope.journal;
+
+import com.isotope.model.MarketDataEvent;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Layout of the tick journal: a directory of fixed-size segment files
+ * ({@code ticks-000000.journal}, {@code ticks-000001.journal}, ...), each a header
+ * followed by fixed-width records holding a complete {@link MarketDataEvent}.
+ *
+ * <pre>
+ * Segment header (64 bytes):
+ *   0  int   magic ("ISTJ")
+ *   4  int   version
+ *   8  int   record size
+ *   12 int   segment index
+ *   16 long  capacity (records)
+ *   24 long  committed record count (updated at every end of batch)
+ *   32 long  ring sequence of the first record
+ *   40..63   reserved
+ *
+ * Record (320 bytes, five cache lines):
+ *   0   long   ring sequence
+ *   8   long   capture time (epoch nanos)
+ *   16  long   instrument token
+ *   24  long   last traded time (epoch millis)
+ *   32  double last traded price
+ *   40  long   volume
+ *   48  double bid price
+ *   56  double ask price
+ *   64  long   bid quantity
+ *   72  long   ask quantity
+ *   80  int    depth levels
+ *   88  double[5] bid prices, long[5] bid quantities, double[5] ask prices, long[5] ask quantities
+ *   248 int[5] bid orders, int[5] ask orders
+ *   288..319   reserved
+ * </pre>
+ *
+ * All values are little-endian. Records past the committed count are ignored on replay.
+ */
+public final class TickJournalFormat {
+
+    public static final int MAGIC = 0x4A545349; // "ISTJ" read little-endian
+    public static final int VERSION = 1;
+    public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    public static final int HEADER_SIZE = 64;
+    public static final int RECORD_SIZE = 320;
+
+    // Header offsets
+    public static final int HEADER_MAGIC = 0;
+    public static final int HEADER_VERSION = 4;
+    public static final int HEADER_RECORD_SIZE = 8;
+    public static final int HEADER_SEGMENT_INDEX = 12;
+    public static final int HEADER_CAPACITY = 16;
+    public static final int HEADER_RECORD_COUNT = 24;
+    public static final int HEADER_FIRST_SEQUENCE = 32;
+
+    // Record offsets
+    public static final int SEQUENCE = 0;
+    public static final int CAPTURE_NANOS = 8;
+    public static final int TOKEN = 16;
+    public static final int TIME = 24;
+    public static final int PRICE = 32;
+    public static final int VOLUME = 40;
+    public static final int BID_PRICE = 48;
+    public static final int ASK_PRICE = 56;
+    public static final int BID_QUANTITY = 64;
+    public static final int ASK_QUANTITY = 72;
+    public static final int DEPTH_LEVELS = 80;
+    public static final int DEPTH_BID_PRICES = 88;
+    public static final int DEPTH_BID_QUANTITIES = DEPTH_BID_PRICES + 8 * MarketDataEvent.DEPTH_LEVELS;
+    public static final int DEPTH_ASK_PRICES = DEPTH_BID_QUANTITIES + 8 * MarketDataEvent.DEPTH_LEVELS;
+    public static final int DEPTH_ASK_QUANTITIES = DEPTH_ASK_PRICES + 8 * MarketDataEvent.DEPTH_LEVELS;
+    public static final int DEPTH_BID_ORDERS = DEPTH_ASK_QUANTITIES + 8 * MarketDataEvent.DEPTH_LEVELS;
+    public static final int DEPTH_ASK_ORDERS = DEPTH_BID_ORDERS + 4 * MarketDataEvent.DEPTH_LEVELS;
+
+    private static final String SEGMENT_PREFIX = "ticks-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    private TickJournalFormat() {
+    }
+
+    public static Path segmentPath(Path directory, int index) {
+        return directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Segment files in the directory, in index order (empty if the directory does not exist).
+     */
+    public static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) return List.of();
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(f -> {
+                        String name = f.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    public static void writeHeader(ByteBuffer buffer, int segmentIndex, long capacity, long firstSequence) {
+        buffer.order(BYTE_ORDER);
+        buffer.putInt(HEADER_MAGIC, MAGIC);
+        buffer.putInt(HEADER_VERSION, VERSION);
+        buffer.putInt(HEADER_RECORD_SIZE, RECORD_SIZE);
+        buffer.putInt(HEADER_SEGMENT_INDEX, segmentIndex);
+        buffer.putLong(HEADER_CAPACITY, capacity);
+        buffer.putLong(HEADER_RECORD_COUNT, 0L);
+        buffer.putLong(HEADER_FIRST_SEQUENCE, firstSequence);
+    }
+
+    /**
+     * Validates the header and returns the committed record count.
+     */
+    public static long readHeader(ByteBuffer buffer) throws IOException {
+        buffer.order(BYTE_ORDER);
+        if (buffer.getInt(HEADER_MAGIC) != MAGIC) {
+            throw new IOException("Not an Isotope tick journal segment (bad magic)");
+        }
+        int version = buffer.getInt(HEADER_VERSION);
+        if (version != VERSION) {
+            throw new IOException("Unsupported tick journal version: " + version);
+        }
+        int recordSize = buffer.getInt(HEADER_RECORD_SIZE);
+        if (recordSize != RECORD_SIZE) {
+            throw new IOException("Unexpected tick journal record size: " + recordSize);
+        }
+        return buffer.getLong(HEADER_RECORD_COUNT);
+    }
+
+    /**
+     * Writes the event at {@code base}. Every field except publishNanos (a local clock) is stored.
+     */
+    public static void writeRecord(ByteBuffer buffer, int base, long sequence, long captureNanos, MarketDataEvent event) {
+        buffer.putLong(base + SEQUENCE, sequence);
+        buffer.putLong(base + CAPTURE_NANOS, captureNanos);
+        buffer.putLong(base + TOKEN, event.getInstrumentToken());
+        buffer.putLong(base + TIME, event.getLastTradedTime());
+        buffer.putDouble(base + PRICE, event.getLastTradedPrice());
+        buffer.putLong(base + VOLUME, event.getVolume());
+        buffer.putDouble(base + BID_PRICE, event.getBidPrice());
+        buffer.putDouble(base + ASK_PRICE, event.getAskPrice());
+        buffer.putLong(base + BID_QUANTITY, event.getBidQuantity());
+        buffer.putLong(base + ASK_QUANTITY, event.getAskQuantity());
+        buffer.putInt(base + DEPTH_LEVELS, event.getDepthLevels());
+        buffer.putInt(base + DEPTH_LEVELS + 4, 0);
+
+        double[] bidPrices = event.getBidPrices();
+        long[] bidQuantities = event.getBidQuantities();
+        int[] bidOrders = event.getBidOrders();
+        double[] askPrices = event.getAskPrices();
+        long[] askQuantities = event.getAskQuantities();
+        int[] askOrders = event.getAskOrders();
+        for (int i = 0; i < MarketDataEvent.DEPTH_LEVELS; i++) {
+            buffer.putDouble(base + DEPTH_BID_PRICES + 8 * i, bidPrices[i]);
+            buffer.putLong(base + DEPTH_BID_QUANTITIES + 8 * i, bidQuantities[i]);
+            buffer.putDouble(base + DEPTH_ASK_PRICES + 8 * i, askPrices[i]);
+            buffer.putLong(base + DEPTH_ASK_QUANTITIES + 8 * i, askQuantities[i]);
+            buffer.putInt(base + DEPTH_BID_ORDERS + 4 * i, bidOrders[i]);
+            buffer.putInt(base + DEPTH_ASK_ORDERS + 4 * i, askOrders[i]);
+        }
+    }
+
+    /**
+     * Restores the event written at {@code base} (publishNanos is left to the caller).
+     */
+    public static void readRecord(ByteBuffer buffer, int base, MarketDataEvent event) {
+        event.setInstrumentToken(buffer.getLong(base + TOKEN));
+        event.setLastTradedTime(buffer.getLong(base + TIME));
+        event.setLastTradedPrice(buffer.getDouble(base + PRICE));
+        event.setVolume(buffer.getLong(base + VOLUME));
+        event.setBidPrice(buffer.getDouble(base + BID_PRICE));
+        event.setAskPrice(buffer.getDouble(base + ASK_PRICE));
+        event.setBidQuantity(buffer.getLong(base + BID_QUANTITY));
+        event.setAskQuantity(buffer.getLong(base + ASK_QUANTITY));
+        event.setDepthLevels(buffer.getInt(base + DEPTH_LEVELS));
+
+        double[] bidPrices = event.getBidPrices();
+        long[] bidQuantities = event.getBidQuantities();
+        int[] bidOrders = event.getBidOrders();
+        double[] askPrices = event.getAskPrices();
+        long[] askQuantities = event.getAskQuantities();
+        int[] askOrders = event.getAskOrders();
+        for (int i = 0; i < MarketDataEvent.DEPTH_LEVELS; i++) {
+            bidPrices[i] = buffer.getDouble(base + DEPTH_BID_PRICES + 8 * i);
+            bidQuantities[i] = buffer.getLong(base + DEPTH_BID_QUANTITIES + 8 * i);
+            askPrices[i] = buffer.getDouble(base + DEPTH_ASK_PRICES + 8 * i);
+            askQuantities[i] = buffer.getLong(base + DEPTH_ASK_QUANTITIES + 8 * i);
+            bidOrders[i] = buffer.getInt(base + DEPTH_BID_ORDERS + 4 * i);
+            askOrders[i] = buffer.getInt(base + DEPTH_ASK_ORDERS + 4 * i);
+        }
+    }
+}
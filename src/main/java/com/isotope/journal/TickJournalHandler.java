@@ -0,0 +1,68 @@
+package com.isotope.journal;
+
+import com.isotope.model.MarketDataEvent;
+import com.lmax.disruptor.EventHandler;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+
+/**
+ * Market data consumer that journals every tick with its ring sequence.
+ * Runs on its own thread in parallel with the strategy handlers, so strategies
+ * never wait on it (the ring only wraps onto it if it falls a full buffer behind).
+ * Records are committed at each end of batch. On an I/O error journaling stops
+ * and trading continues. Sequences before {@code firstSequence} (JIT warm-up
+ * ticks) are not journaled; when the warm-up length is not known up front, start
+ * at Long.MAX_VALUE and call {@link #startAt(long)} once the warm-up has drained.
+ */
+@Slf4j
+public class TickJournalHandler implements EventHandler<MarketDataEvent> {
+
+    private TickJournalWriter writer;
+    private volatile long firstSequence;
+
+    public TickJournalHandler(TickJournalWriter writer) {
+        this(writer, 0);
+    }
+
+    public TickJournalHandler(TickJournalWriter writer, long firstSequence) {
+        this.writer = writer;
+        this.firstSequence = firstSequence;
+    }
+
+    /**
+     * Journals ticks from {@code sequence} on, e.g. the ring cursor + 1 after the warm-up.
+     */
+    public void startAt(long sequence) {
+        this.firstSequence = sequence;
+    }
+
+    @Override
+    public void onEvent(MarketDataEvent event, long sequence, boolean endOfBatch) {
+        if (writer == null || sequence < firstSequence) return;
+        try {
+            writer.append(sequence, event);
+            if (endOfBatch) writer.commit();
+        } catch (IOException e) {
+            log.error("Failed to journal tick {}; tick journaling stopped", sequence, e);
+            close();
+        }
+    }
+
+    @Override
+    public void onShutdown() {
+        close();
+    }
+
+    private void close() {
+        TickJournalWriter current = writer;
+        writer = null;
+        if (current == null) return;
+        try {
+            current.close();
+            log.info("Tick journal closed after {} ticks", current.getRecordCount());
+        } catch (IOException e) {
+            log.error("Failed to close tick journal", e);
+        }
+    }
+}
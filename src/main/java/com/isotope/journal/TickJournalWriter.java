@@ -0,0 +1,127 @@
+package com.isotope.journal;
+
+import com.isotope.model.MarketDataEvent;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Append-only, memory-mapped tick journal (see {@link TickJournalFormat}).
+ *
+ * Each segment is mapped at its full size and records are written straight into
+ * the mapping; {@link #commit()} publishes the record count in the segment header.
+ * Committed records survive a process crash (the OS owns the dirty pages).
+ * A full segment is trimmed and the next one started; a new writer continues after
+ * the existing segments of the directory. Single-threaded.
+ */
+@Slf4j
+public class TickJournalWriter implements Closeable {
+
+    private final Path directory;
+    private final long segmentRecords;
+
+    // Capture clock: epoch nanos derived from nanoTime, so deltas keep nanosecond resolution
+    private final long epochNanosBase;
+    private final long nanoTimeBase;
+
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int segmentIndex;
+    private long segmentCount;
+    private int position;
+    @Getter
+    private long recordCount;
+
+    public TickJournalWriter(Path directory, long segmentRecords) throws IOException {
+        if (segmentRecords <= 0 || TickJournalFormat.HEADER_SIZE + segmentRecords * TickJournalFormat.RECORD_SIZE > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segment size out of range: " + segmentRecords + " records");
+        }
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+        Files.createDirectories(directory);
+
+        List<Path> existing = TickJournalFormat.segments(directory);
+        this.segmentIndex = existing.isEmpty() ? 0 : indexOf(existing.get(existing.size() - 1)) + 1;
+
+        this.epochNanosBase = System.currentTimeMillis() * 1_000_000L;
+        this.nanoTimeBase = System.nanoTime();
+    }
+
+    /**
+     * Appends the event published at {@code sequence}. Not visible to replay until {@link #commit()}.
+     */
+    public void append(long sequence, MarketDataEvent event) throws IOException {
+        if (segment == null) {
+            openSegment(sequence);
+        } else if (segmentCount == segmentRecords) {
+            commit();
+            closeSegment();
+            segmentIndex++;
+            openSegment(sequence);
+        }
+        long captureNanos = epochNanosBase + (System.nanoTime() - nanoTimeBase);
+        TickJournalFormat.writeRecord(segment, position, sequence, captureNanos, event);
+        position += TickJournalFormat.RECORD_SIZE;
+        segmentCount++;
+        recordCount++;
+    }
+
+    /**
+     * Makes the appended records part of the journal.
+     */
+    public void commit() {
+        if (segment != null) segment.putLong(TickJournalFormat.HEADER_RECORD_COUNT, segmentCount);
+    }
+
+    /**
+     * Commits and forces the current segment to disk.
+     */
+    public void sync() {
+        commit();
+        if (segment != null) segment.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        commit();
+        closeSegment();
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        Path path = TickJournalFormat.segmentPath(directory, segmentIndex);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                TickJournalFormat.HEADER_SIZE + segmentRecords * TickJournalFormat.RECORD_SIZE);
+        segment.order(TickJournalFormat.BYTE_ORDER);
+        TickJournalFormat.writeHeader(segment, segmentIndex, segmentRecords, firstSequence);
+        position = TickJournalFormat.HEADER_SIZE;
+        segmentCount = 0;
+        log.info("Journaling ticks to {}", path);
+    }
+
+    private void closeSegment() throws IOException {
+        if (segment == null) return;
+        try {
+            segment.force();
+            // Drop the unused tail; the mapping stays valid up to the committed records
+            channel.truncate(TickJournalFormat.HEADER_SIZE + segmentCount * TickJournalFormat.RECORD_SIZE);
+        } finally {
+            channel.close();
+            channel = null;
+            segment = null;
+        }
+    }
+
+    private static int indexOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Integer.parseInt(name.substring(name.indexOf('-') + 1, name.indexOf('.')));
+    }
+}
@@ -0,0 +1,253 @@
+package com.isotope.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the trades.csv journal without String.format or per-order flushes.
+ *
+ * Fills are encoded as ASCII straight into a preallocated byte buffer and written
+ * out according to the {@link Durability} mode:
+ * <ul>
+ *   <li>BATCH    - write on every Disruptor end-of-batch (OS page cache)</li>
+ *   <li>FSYNC    - write and fsync on every end-of-batch</li>
+ *   <li>INTERVAL - a dedicated I/O thread swaps and writes the buffer every N ms</li>
+ * </ul>
+ * The line layout is the one the dashboard reads:
+ * timestamp,strategy_id,symbol,action,quantity,price,fees,net_cash_flow,running_balance,fee_saving
+ */
+@Slf4j
+public class TradeJournal implements Closeable {
+
+    public enum Durability { BATCH, FSYNC, INTERVAL }
+
+    public static final String HEADER = "timestamp,strategy_id,symbol,action,quantity,price,fees,net_cash_flow,running_balance,fee_saving\n";
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final int MAX_NUMERIC_RECORD = 256; // Upper bound for everything except the two strings
+    // Fast path for |value| < 1e9: the scaled value's error (< 2e-5) stays well inside the tolerance
+    private static final double MAX_FAST_CENTS = 1e11;
+    private static final double HALF_TOLERANCE = 1e-4;
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+
+    private final FileChannel channel;
+    private final Durability durability;
+    private final ScheduledExecutorService ioThread;
+
+    // Active buffer is filled by the execution thread; spare is written by the I/O thread (INTERVAL mode)
+    private byte[] active = new byte[BUFFER_SIZE];
+    private byte[] spare = new byte[BUFFER_SIZE];
+    private int position = 0;
+    private final byte[] digits = new byte[20];
+
+    public TradeJournal(String filePath, Durability durability, long flushIntervalMs) throws IOException {
+        this.durability = durability;
+        this.channel = FileChannel.open(Path.of(filePath),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        writeFully(HEADER.getBytes(StandardCharsets.US_ASCII), HEADER.length());
+        if (durability == Durability.FSYNC) channel.force(false);
+
+        if (durability == Durability.INTERVAL) {
+            ioThread = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "isotope-journal-io");
+                t.setDaemon(true);
+                return t;
+            });
+            ioThread.scheduleAtFixedRate(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        } else {
+            ioThread = null;
+        }
+    }
+
+    public TradeJournal(String filePath, Durability durability) throws IOException {
+        this(filePath, durability, 100);
+    }
+
+    /**
+     * Appends one fill. Called on the execution thread.
+     */
+    public synchronized void append(long timestamp, String strategyId, String symbol, String action, int quantity,
+                                    double price, double fees, double netCashFlow, double runningBalance,
+                                    double feeSaving) throws IOException {
+        ensureCapacity(MAX_NUMERIC_RECORD + length(strategyId) + length(symbol) + length(action));
+
+        putLong(timestamp);
+        putByte(',');
+        putAscii(strategyId);
+        putByte(',');
+        putAscii(symbol);
+        putByte(',');
+        putAscii(action);
+        putByte(',');
+        putLong(quantity);
+        putByte(',');
+        putFixed2(price);
+        putByte(',');
+        putFixed2(fees);
+        putByte(',');
+        putFixed2(netCashFlow);
+        putByte(',');
+        putFixed2(runningBalance);
+        putByte(',');
+        putFixed2(feeSaving);
+        for (byte b : LINE_SEPARATOR) putByte(b);
+    }
+
+    /**
+     * Signals the end of a Disruptor batch. Writes (and optionally fsyncs) unless an I/O thread owns flushing.
+     */
+    public void endOfBatch() throws IOException {
+        if (durability == Durability.INTERVAL) return;
+        synchronized (this) {
+            writeActive();
+            if (durability == Durability.FSYNC) channel.force(false);
+        }
+    }
+
+    /**
+     * Writes everything appended so far.
+     */
+    public void flush() throws IOException {
+        byte[] toWrite;
+        int length;
+        synchronized (this) {
+            if (position == 0) return;
+            // Swap so the execution thread keeps appending while we write
+            toWrite = active;
+            length = position;
+            active = spare;
+            spare = toWrite;
+            position = 0;
+        }
+        synchronized (channel) {
+            writeFully(toWrite, length);
+            if (durability == Durability.FSYNC) channel.force(false);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (ioThread != null) {
+            ioThread.shutdown();
+            try {
+                ioThread.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            synchronized (this) {
+                writeActive();
+            }
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException e) {
+            log.error("Failed to flush trade journal", e);
+        }
+    }
+
+    // Caller holds the monitor
+    private void writeActive() throws IOException {
+        if (position == 0) return;
+        synchronized (channel) {
+            writeFully(active, position);
+        }
+        position = 0;
+    }
+
+    private void writeFully(byte[] bytes, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, length);
+        while (buffer.hasRemaining()) channel.write(buffer);
+    }
+
+    private void ensureCapacity(int needed) throws IOException {
+        if (active.length - position >= needed) return;
+        if (durability == Durability.INTERVAL) {
+            // I/O thread is behind; grow rather than write on the execution thread
+            active = Arrays.copyOf(active, Math.max(active.length * 2, position + needed));
+            return;
+        }
+        writeActive();
+        if (active.length < needed) {
+            active = new byte[needed];
+        }
+    }
+
+    // --- Encoding ---
+
+    private void putByte(int b) {
+        active[position++] = (byte) b;
+    }
+
+    private void putAscii(String s) {
+        if (s == null) {
+            for (byte b : NULL) putByte(b);
+            return;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            putByte(c < 128 ? c : '?');
+        }
+    }
+
+    private void putLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            putAscii("-9223372036854775808");
+            return;
+        }
+        if (value < 0) {
+            putByte('-');
+            value = -value;
+        }
+        int n = 0;
+        do {
+            digits[n++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        while (n > 0) putByte(digits[--n]);
+    }
+
+    /**
+     * Equivalent of %.2f (half-up) for the magnitudes we journal.
+     */
+    private void putFixed2(double value) {
+        double scaled = Math.abs(value) * 100.0;
+        // %.2f rounds the shortest decimal form half up (1.005 -> "1.01"), while the scaled
+        // double can land just below the half (100.49999...). Near-halves take the exact path.
+        if (!(scaled < MAX_FAST_CENTS) || Math.abs(scaled - Math.floor(scaled) - 0.5) < HALF_TOLERANCE) {
+            putAscii(String.format("%.2f", value)); // Rare: NaN, huge, or within rounding error of a half cent
+            return;
+        }
+        // Sign bit, so -0.004 and -0.0 print as "-0.00" like %.2f
+        if (Double.doubleToRawLongBits(value) < 0) putByte('-');
+        long cents = Math.round(scaled);
+        putLong(cents / 100);
+        putByte('.');
+        long fraction = cents % 100;
+        putByte('0' + (int) (fraction / 10));
+        putByte('0' + (int) (fraction % 10));
+    }
+
+    private static int length(String s) {
+        return s == null ? NULL.length : s.length();
+    }
+}
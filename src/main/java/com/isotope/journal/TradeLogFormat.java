@@ -0,0 +1,187 @@
+package com.isotope.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Layout of the columnar trade log: a directory of chunk files
+ * ({@code trades-000000.cols}, ...) plus {@code dictionary.tsv}. Each chunk is a
+ * header followed by one contiguous, fixed-width column per field, so a reader
+ * maps a column straight into an array (numpy.frombuffer, see tools/tradelog.py).
+ *
+ * <pre>
+ * Chunk header (64 bytes + 32 per column, rounded up to 64):
+ *   0  int   magic ("ISTC")
+ *   4  int   version
+ *   8  int   chunk index
+ *   12 int   column count
+ *   16 long  capacity (rows each column has room for)
+ *   24 long  committed row count (updated at every end of batch)
+ *   32..63   reserved
+ *   64 column table, 32 bytes per column:
+ *        0  byte[20] name (ASCII, NUL padded)
+ *        20 byte     kind ('i' signed integer, 'f' IEEE float)
+ *        21 byte     width in bytes
+ *        24 long     offset of the column data in the file (8-byte aligned)
+ * </pre>
+ *
+ * Strings are stored as int codes; {@code dictionary.tsv} holds one
+ * {@code column<TAB>code<TAB>value} line per code, codes counting up from 0 per column.
+ * All values are little-endian. Rows past the committed count are ignored; a chunk
+ * closed normally is compacted to its row count.
+ */
+public final class TradeLogFormat {
+
+    public record Column(String name, char kind, int width) {
+    }
+
+    public static final int MAGIC = 0x43545349; // "ISTC" read little-endian
+    public static final int VERSION = 1;
+    public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    public static final List<Column> COLUMNS = List.of(
+            new Column("timestamp", 'i', 8),        // Event time of the order (epoch millis)
+            new Column("strategy_id", 'i', 4),      // Dictionary code
+            new Column("symbol", 'i', 4),           // Dictionary code
+            new Column("action", 'i', 1),           // Dictionary code (OrderEvent.Type ordinal)
+            new Column("quantity", 'i', 4),
+            new Column("price", 'f', 8),
+            new Column("fees", 'f', 8),
+            new Column("realized_pnl", 'f', 8),
+            new Column("net_cash_flow", 'f', 8),
+            new Column("running_balance", 'f', 8),
+            new Column("fee_saving", 'f', 8),
+            new Column("executed", 'i', 1),         // 1 = filled, 0 = signal that failed execution
+            new Column("tick_to_trade_ns", 'i', 8)); // Tick publish to execution, 0 if unknown
+
+    // Column indexes
+    public static final int TIMESTAMP = 0;
+    public static final int STRATEGY_ID = 1;
+    public static final int SYMBOL = 2;
+    public static final int ACTION = 3;
+    public static final int QUANTITY = 4;
+    public static final int PRICE = 5;
+    public static final int FEES = 6;
+    public static final int REALIZED_PNL = 7;
+    public static final int NET_CASH_FLOW = 8;
+    public static final int RUNNING_BALANCE = 9;
+    public static final int FEE_SAVING = 10;
+    public static final int EXECUTED = 11;
+    public static final int TICK_TO_TRADE_NANOS = 12;
+
+    // Header offsets
+    public static final int HEADER_MAGIC = 0;
+    public static final int HEADER_VERSION = 4;
+    public static final int HEADER_CHUNK_INDEX = 8;
+    public static final int HEADER_COLUMN_COUNT = 12;
+    public static final int HEADER_CAPACITY = 16;
+    public static final int HEADER_ROW_COUNT = 24;
+    public static final int HEADER_COLUMNS = 64;
+    public static final int COLUMN_ENTRY_SIZE = 32;
+    public static final int COLUMN_NAME_SIZE = 20;
+    public static final int COLUMN_KIND = 20;
+    public static final int COLUMN_WIDTH = 21;
+    public static final int COLUMN_OFFSET = 24;
+
+    public static final int HEADER_SIZE = (int) align(HEADER_COLUMNS + COLUMN_ENTRY_SIZE * COLUMNS.size(), 64);
+
+    public static final String DICTIONARY_FILE = "dictionary.tsv";
+    private static final String CHUNK_PREFIX = "trades-";
+    private static final String CHUNK_SUFFIX = ".cols";
+
+    private TradeLogFormat() {
+    }
+
+    public static Path chunkPath(Path directory, int index) {
+        return directory.resolve(String.format("%s%06d%s", CHUNK_PREFIX, index, CHUNK_SUFFIX));
+    }
+
+    /**
+     * Chunk files in the directory, in index order (empty if the directory does not exist).
+     */
+    public static List<Path> chunks(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) return List.of();
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(f -> {
+                        String name = f.getFileName().toString();
+                        return name.startsWith(CHUNK_PREFIX) && name.endsWith(CHUNK_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * File offset of each column's data when every column has room for {@code capacity} rows.
+     */
+    public static long[] columnOffsets(long capacity) {
+        long[] offsets = new long[COLUMNS.size()];
+        long offset = HEADER_SIZE;
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = offset;
+            offset += align(capacity * COLUMNS.get(i).width(), 8);
+        }
+        return offsets;
+    }
+
+    /**
+     * File size of a chunk with room for {@code capacity} rows.
+     */
+    public static long chunkSize(long capacity) {
+        int last = COLUMNS.size() - 1;
+        return columnOffsets(capacity)[last] + align(capacity * COLUMNS.get(last).width(), 8);
+    }
+
+    public static void writeHeader(ByteBuffer buffer, int chunkIndex, long capacity, long[] offsets) {
+        buffer.order(BYTE_ORDER);
+        buffer.putInt(HEADER_MAGIC, MAGIC);
+        buffer.putInt(HEADER_VERSION, VERSION);
+        buffer.putInt(HEADER_CHUNK_INDEX, chunkIndex);
+        buffer.putInt(HEADER_COLUMN_COUNT, COLUMNS.size());
+        buffer.putLong(HEADER_CAPACITY, capacity);
+        buffer.putLong(HEADER_ROW_COUNT, 0L);
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            Column column = COLUMNS.get(i);
+            int entry = HEADER_COLUMNS + COLUMN_ENTRY_SIZE * i;
+            byte[] name = column.name().getBytes(StandardCharsets.US_ASCII);
+            for (int b = 0; b < COLUMN_NAME_SIZE; b++) {
+                buffer.put(entry + b, b < name.length ? name[b] : 0);
+            }
+            buffer.put(entry + COLUMN_KIND, (byte) column.kind());
+            buffer.put(entry + COLUMN_WIDTH, (byte) column.width());
+            buffer.putLong(entry + COLUMN_OFFSET, offsets[i]);
+        }
+    }
+
+    /**
+     * Validates the header and returns the committed row count.
+     */
+    public static long readHeader(ByteBuffer buffer) throws IOException {
+        buffer.order(BYTE_ORDER);
+        if (buffer.getInt(HEADER_MAGIC) != MAGIC) {
+            throw new IOException("Not an Isotope trade log chunk (bad magic)");
+        }
+        int version = buffer.getInt(HEADER_VERSION);
+        if (version != VERSION) {
+            throw new IOException("Unsupported trade log version: " + version);
+        }
+        return buffer.getLong(HEADER_ROW_COUNT);
+    }
+
+    /**
+     * Data offset of a column, as recorded in the header.
+     */
+    public static long columnOffset(ByteBuffer buffer, int column) {
+        return buffer.getLong(HEADER_COLUMNS + COLUMN_ENTRY_SIZE * column + COLUMN_OFFSET);
+    }
+
+    static long align(long value, int alignment) {
+        return (value + alignment - 1) / alignment * alignment;
+    }
+}
@@ -0,0 +1,88 @@
+package com.isotope.metrics;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Allocation-free log-linear latency histogram (HdrHistogram-style bucketing).
+ *
+ * Values below 32 ns are counted exactly; above that every power of two is split
+ * into 32 linear sub-buckets, so any recorded value is reported within ~3%.
+ * The whole non-negative long range fits in 1888 counters.
+ *
+ * Single writer: each recording thread owns its histogram. Readers copy the
+ * counters with opaque reads and never reset them; interval views are built
+ * by subtracting a previous copy (see {@link LatencyMetrics}). Copies of the
+ * counters from several histograms can simply be added to merge them.
+ */
+public class LatencyHistogram {
+
+    static final int SUB_BUCKET_BITS = 5;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    public static final int LENGTH = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private static final VarHandle COUNTS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] counts = new long[LENGTH];
+
+    public void record(long nanos) {
+        int index = indexOf(nanos < 0 ? 0 : nanos);
+        COUNTS.setOpaque(counts, index, (long) COUNTS.getOpaque(counts, index) + 1);
+    }
+
+    /**
+     * Adds this histogram's counters to dest (length {@link #LENGTH}).
+     */
+    public void addInto(long[] dest) {
+        for (int i = 0; i < LENGTH; i++) {
+            dest[i] += (long) COUNTS.getOpaque(counts, i);
+        }
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    /**
+     * Largest value that maps to the bucket (conservative for percentiles).
+     */
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long subBucket = SUB_BUCKETS + (index & (SUB_BUCKETS - 1));
+        return (subBucket << shift) + (1L << shift) - 1;
+    }
+
+    // --- Summaries over copied counters ---
+
+    public static long totalCount(long[] counts) {
+        long total = 0;
+        for (long c : counts) total += c;
+        return total;
+    }
+
+    /**
+     * Value at the given percentile (0-100], or 0 if empty.
+     */
+    public static long valueAtPercentile(long[] counts, double percentile) {
+        long total = totalCount(counts);
+        if (total == 0) return 0;
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= target) return highestEquivalentValue(i);
+        }
+        return maxValue(counts);
+    }
+
+    public static long maxValue(long[] counts) {
+        for (int i = counts.length - 1; i >= 0; i--) {
+            if (counts[i] > 0) return highestEquivalentValue(i);
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,79 @@
+package com.isotope.metrics;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of per-stage, per-key latency histograms (key = strategy group,
+ * strategy id or "execution").
+ *
+ * Writers obtain their histogram once at setup and record on the hot path.
+ * {@link #snapshot(boolean)} reports p50/p99/p99.9/max since the last reset;
+ * resetting only moves the baseline, it never touches writer-owned counters.
+ */
+public class LatencyMetrics {
+
+    private final Map<LatencyStage, Map<String, LatencyHistogram>> histograms = new EnumMap<>(LatencyStage.class);
+    private final Map<String, long[]> baselines = new HashMap<>();
+
+    public LatencyMetrics() {
+        for (LatencyStage stage : LatencyStage.values()) {
+            histograms.put(stage, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Returns the histogram for a stage and key, creating it on first use.
+     * Each histogram must only be recorded into by one thread.
+     */
+    public LatencyHistogram histogram(LatencyStage stage, String key) {
+        return histograms.get(stage).computeIfAbsent(key, k -> new LatencyHistogram());
+    }
+
+    /**
+     * Summaries per stage (merged across keys) and per key, in nanoseconds.
+     *
+     * @param reset start a new interval after taking this snapshot
+     */
+    public synchronized Map<String, Object> snapshot(boolean reset) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (LatencyStage stage : LatencyStage.values()) {
+            long[] merged = new long[LatencyHistogram.LENGTH];
+            Map<String, Object> byKey = new LinkedHashMap<>();
+
+            for (Map.Entry<String, LatencyHistogram> entry : histograms.get(stage).entrySet()) {
+                long[] current = new long[LatencyHistogram.LENGTH];
+                entry.getValue().addInto(current);
+
+                String baselineKey = stage + "/" + entry.getKey();
+                long[] baseline = baselines.get(baselineKey);
+                long[] interval = new long[LatencyHistogram.LENGTH];
+                for (int i = 0; i < interval.length; i++) {
+                    interval[i] = current[i] - (baseline == null ? 0 : baseline[i]);
+                    merged[i] += interval[i];
+                }
+                byKey.put(entry.getKey(), summarize(interval));
+
+                if (reset) baselines.put(baselineKey, current);
+            }
+
+            Map<String, Object> stageSummary = summarize(merged);
+            if (!byKey.isEmpty()) stageSummary.put("by_key", byKey);
+            result.put(stage.name(), stageSummary);
+        }
+        return result;
+    }
+
+    private static Map<String, Object> summarize(long[] counts) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", LatencyHistogram.totalCount(counts));
+        summary.put("p50_ns", LatencyHistogram.valueAtPercentile(counts, 50.0));
+        summary.put("p99_ns", LatencyHistogram.valueAtPercentile(counts, 99.0));
+        summary.put("p999_ns", LatencyHistogram.valueAtPercentile(counts, 99.9));
+        summary.put("max_ns", LatencyHistogram.maxValue(counts));
+        return summary;
+    }
+}
@@ -0,0 +1,13 @@
+package com.isotope.metrics;
+
+/**
+ * Pipeline stages measured between a tick being published and its order being executed.
+ */
+public enum LatencyStage {
+    TICK_QUEUE,     // Producer publish -> strategy dispatch (market data ring), per strategy group
+    STRATEGY,       // Strategy.onTick duration, per strategy
+    TICK_TO_ORDER,  // Producer publish -> order publish, per strategy
+    ORDER_QUEUE,    // Order publish -> execution handling (order ring)
+    EXECUTION,      // OrderExecutionAdapter handling duration
+    TICK_TO_TRADE   // Producer publish -> order handled, end to end
+}
@@ -0,0 +1,37 @@
+package com.isotope.model;
+
+/**
+ * Instrument token mapping for symbols that arrive as text (CSV, converters).
+ * Tokens match the Kite instrument tokens for the indices we trade.
+ */
+public final class InstrumentTokens {
+
+    public static final long NIFTY = 256265;
+    public static final long BANKNIFTY = 260105;
+
+    private InstrumentTokens() {
+    }
+
+    /**
+     * Kite token of a known symbol (or a numeric token passed as is), -1 if unknown.
+     */
+    public static long kiteToken(String symbol) {
+        if ("NIFTY".equalsIgnoreCase(symbol)) return NIFTY;
+        if ("BANKNIFTY".equalsIgnoreCase(symbol)) return BANKNIFTY;
+        try {
+            long token = Long.parseLong(symbol);
+            return token > 0 ? token : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Token for a text symbol; unknown symbols get a stable hash, not a real Kite token.
+     */
+    public static long forSymbol(String symbol) {
+        if ("NIFTY".equalsIgnoreCase(symbol)) return NIFTY;
+        if ("BANKNIFTY".equalsIgnoreCase(symbol)) return BANKNIFTY;
+        return symbol.hashCode();
+    }
+}
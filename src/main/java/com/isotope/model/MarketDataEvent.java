@@ -4,6 +4,8 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 
+import java.util.Arrays;
+
 /**
  * Represents a market tick event.
  * Designed for Object Pooling: Mutable fields are updated in place.
@@ -12,6 +14,8 @@ import lombok.ToString;
 @Setter
 @ToString
 public class MarketDataEvent {
+    public static final int DEPTH_LEVELS = 5;
+
     private long instrumentToken;
     private double lastTradedPrice;
     private long volume;
@@ -20,6 +24,17 @@ public class MarketDataEvent {
     private double askPrice;
     private long bidQuantity;
     private long askQuantity;
+    private long publishNanos; // System.nanoTime() when the producer published, for latency metrics
+
+    // Market depth, best level first. Only the first depthLevels entries are valid (0 = no depth).
+    // Preallocated with the event and overwritten in place: read them during onTick, do not keep references.
+    private final double[] bidPrices = new double[DEPTH_LEVELS];
+    private final long[] bidQuantities = new long[DEPTH_LEVELS];
+    private final int[] bidOrders = new int[DEPTH_LEVELS];
+    private final double[] askPrices = new double[DEPTH_LEVELS];
+    private final long[] askQuantities = new long[DEPTH_LEVELS];
+    private final int[] askOrders = new int[DEPTH_LEVELS];
+    private int depthLevels;
 
     // Reset method for object pooling cleanliness (optional but good practice)
     public void clear() {
@@ -31,5 +46,17 @@ public class MarketDataEvent {
         this.askPrice = 0.0;
         this.bidQuantity = 0;
         this.askQuantity = 0;
+        this.publishNanos = 0;
+        clearDepth();
+    }
+
+    public void clearDepth() {
+        Arrays.fill(bidPrices, 0.0);
+        Arrays.fill(bidQuantities, 0);
+        Arrays.fill(bidOrders, 0);
+        Arrays.fill(askPrices, 0.0);
+        Arrays.fill(askQuantities, 0);
+        Arrays.fill(askOrders, 0);
+        this.depthLevels = 0;
     }
 }
@@ -16,21 +16,65 @@ public class OrderEvent {
         BUY, SELL, CANCEL, MODIFY
     }
 
+    /**
+     * Why the pre-trade risk check rejected an order.
+     */
+    public enum RejectReason {
+        PRICE_BAND, ORDER_NOTIONAL, ORDER_RATE, MAX_POSITION, POSITION_NOTIONAL, STRATEGY_LOSS,
+        OUT_OF_SYNC // Set by the execution adapter: the broker did not take an earlier order for the symbol
+    }
+
     private long instrumentToken;
     private String tradingSymbol;
+    private int symbolId = -1; // SymbolRegistry ID of tradingSymbol, -1 if not interned
     private Type type;
     private int quantity;
     private double price;
     private String strategyId;
     private long timestamp;
+    private long tickNanos;    // Publish time of the originating tick (System.nanoTime), 0 if unknown
+    private long publishNanos; // System.nanoTime() when the order was published
+
+    // Pre-trade risk result, written by the risk check ahead of execution
+    private RejectReason rejectReason; // null = accepted (or not checked)
+    private int riskSlot = -1;         // Strategy slot in the risk check, -1 if not checked
+
+    // Netting result, written by the netting stage ahead of execution
+    private boolean netted;      // Grouped with the other orders of its batch and symbol
+    private int crossedQuantity; // Filled internally against opposing orders of the group
+    private int marketQuantity;  // Group lead only: the group's net quantity sent to the market, 0 otherwise
+
+    // Fill result, written by the execution adapter for consumers that run after it
+    private boolean executed;  // false for rejected and warm-up orders
+    private double fees;
+    private double realizedPnl; // Gross PnL realized by this fill (closing trades only)
+    private double cashFlow;    // realizedPnl - fees
+    private double balance;     // Running balance after this fill
+
+    public boolean isRejected() {
+        return rejectReason != null;
+    }
 
     public void clear() {
         this.instrumentToken = 0;
         this.tradingSymbol = null;
+        this.symbolId = -1;
         this.type = null;
         this.quantity = 0;
         this.price = 0.0;
         this.strategyId = null;
         this.timestamp = 0;
+        this.tickNanos = 0;
+        this.publishNanos = 0;
+        this.rejectReason = null;
+        this.riskSlot = -1;
+        this.netted = false;
+        this.crossedQuantity = 0;
+        this.marketQuantity = 0;
+        this.executed = false;
+        this.fees = 0.0;
+        this.realizedPnl = 0.0;
+        this.cashFlow = 0.0;
+        this.balance = 0.0;
     }
 }
@@ -0,0 +1,50 @@
+package com.isotope.model;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns trading symbols to dense int IDs (0, 1, 2, ...) so per-symbol state
+ * can live in primitive arrays indexed by ID instead of String-keyed maps.
+ *
+ * Lookups of known symbols are lock-free and allocation-free (String caches
+ * its hash); new symbols are registered under a lock. IDs are process-wide
+ * and never reused.
+ */
+public final class SymbolRegistry {
+
+    private static final ConcurrentHashMap<String, Integer> IDS = new ConcurrentHashMap<>();
+    private static volatile String[] symbols = new String[64];
+    private static int count = 0;
+
+    private SymbolRegistry() {
+    }
+
+    public static int intern(String symbol) {
+        Integer id = IDS.get(symbol);
+        return id != null ? id : register(symbol);
+    }
+
+    public static String symbol(int id) {
+        return symbols[id];
+    }
+
+    public static int size() {
+        return IDS.size();
+    }
+
+    private static synchronized int register(String symbol) {
+        Integer existing = IDS.get(symbol);
+        if (existing != null) return existing;
+
+        int id = count++;
+        String[] current = symbols;
+        if (id == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        current[id] = symbol;
+        symbols = current; // Publish the array before the ID becomes visible
+        IDS.put(symbol, id);
+        return id;
+    }
+}
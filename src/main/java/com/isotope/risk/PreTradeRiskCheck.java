@@ -0,0 +1,220 @@
+package com.isotope.risk;
+
+import com.isotope.model.OrderEvent;
+import com.isotope.model.SymbolRegistry;
+import com.lmax.disruptor.EventHandler;
+import lombok.Getter;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Pre-trade risk stage: the first consumer of the order ring, ahead of the execution
+ * adapter (see {@link com.isotope.core.IsotopeEngine#setRiskCheck}). Rejected orders
+ * are marked in place ({@link OrderEvent#setRejectReason}) and skipped by execution.
+ *
+ * Checks, in order: price band against the symbol's last accepted order price,
+ * order notional, order rate per symbol (one-second windows of event time, so
+ * replays at any speed behave alike), then - only for orders that increase the
+ * absolute position - max position, position notional and the strategy loss limit.
+ * Orders that reduce a position always pass those three, so a strategy can exit.
+ *
+ * The band applies to exits too, so a mispriced exit is never filled. After a real
+ * gap every order is out of band: once {@link #BAND_REANCHOR_ORDERS} consecutive
+ * out-of-band orders agree with each other (within the band), the last of them
+ * passes the band and its price becomes the new reference. A lone bad price never
+ * moves the reference.
+ *
+ * State is per symbol ID in primitive arrays owned by the risk thread; nothing is
+ * locked or allocated per order (arrays grow once per new symbol). The position is
+ * projected from accepted orders. Strategy PnL comes back from the execution thread
+ * through {@link #recordFill(int, double)} with opaque writes, so the loss limit
+ * sees fills up to the few orders still in flight.
+ */
+public class PreTradeRiskCheck implements EventHandler<OrderEvent> {
+
+    public static final int MAX_STRATEGIES = 64;
+    public static final int BAND_REANCHOR_ORDERS = 3;
+    private static final long WINDOW_MILLIS = 1_000;
+
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle DOUBLES = MethodHandles.arrayElementVarHandle(double[].class);
+
+    @Getter
+    private final RiskLimits limits;
+
+    // Per symbol ID (risk thread)
+    private int[] position;
+    private double[] referencePrice; // Last accepted order price, 0 = none yet
+    private double[] gapPrice;       // Last of the consecutive out-of-band prices
+    private int[] gapOrders;         // Consecutive out-of-band orders agreeing with gapPrice
+    private long[] windowStart;
+    private int[] windowOrders;
+
+    // Strategy slots: IDs assigned by the risk thread, PnL written by the execution thread
+    private final String[] strategyIds = new String[MAX_STRATEGIES];
+    private int strategyCount;
+    private final double[] strategyPnl = new double[MAX_STRATEGIES];
+
+    // Counters (risk thread writes, readers use opaque reads): accepted, then one per RejectReason
+    private final long[] counts = new long[1 + OrderEvent.RejectReason.values().length];
+
+    public PreTradeRiskCheck(RiskLimits limits) {
+        this.limits = limits;
+        int capacity = Math.max(SymbolRegistry.size(), 16);
+        position = new int[capacity];
+        referencePrice = new double[capacity];
+        gapPrice = new double[capacity];
+        gapOrders = new int[capacity];
+        windowStart = new long[capacity];
+        windowOrders = new int[capacity];
+    }
+
+    @Override
+    public void onEvent(OrderEvent event, long sequence, boolean endOfBatch) {
+        event.setRejectReason(null);
+        event.setRiskSlot(-1);
+        OrderEvent.Type type = event.getType();
+        if (type != OrderEvent.Type.BUY && type != OrderEvent.Type.SELL) return;
+
+        int slot = slotOf(event.getStrategyId());
+        event.setRiskSlot(slot);
+        int symbolId = event.getSymbolId() >= 0 ? event.getSymbolId() : SymbolRegistry.intern(event.getTradingSymbol());
+        ensureCapacity(symbolId);
+
+        OrderEvent.RejectReason reason = check(event, type, symbolId, slot);
+        if (reason != null) {
+            event.setRejectReason(reason);
+            increment(1 + reason.ordinal());
+            return;
+        }
+
+        position[symbolId] += type == OrderEvent.Type.BUY ? event.getQuantity() : -event.getQuantity();
+        referencePrice[symbolId] = event.getPrice();
+        gapOrders[symbolId] = 0;
+        windowOrders[symbolId]++;
+        increment(0);
+    }
+
+    private OrderEvent.RejectReason check(OrderEvent event, OrderEvent.Type type, int symbolId, int slot) {
+        double price = event.getPrice();
+        int quantity = event.getQuantity();
+
+        if (outsideBand(price, referencePrice[symbolId])) {
+            if (gapOrders[symbolId] > 0 && !outsideBand(price, gapPrice[symbolId])) {
+                gapOrders[symbolId]++;
+            } else {
+                gapOrders[symbolId] = 1;
+            }
+            gapPrice[symbolId] = price;
+            if (gapOrders[symbolId] < BAND_REANCHOR_ORDERS) return OrderEvent.RejectReason.PRICE_BAND;
+        } else {
+            gapOrders[symbolId] = 0;
+        }
+        if (limits.maxOrderNotional() > 0 && price * quantity > limits.maxOrderNotional()) {
+            return OrderEvent.RejectReason.ORDER_NOTIONAL;
+        }
+        if (limits.maxOrdersPerSecond() > 0) {
+            long time = event.getTimestamp();
+            if (time - windowStart[symbolId] >= WINDOW_MILLIS || time < windowStart[symbolId]) {
+                windowStart[symbolId] = time;
+                windowOrders[symbolId] = 0;
+            }
+            if (windowOrders[symbolId] >= limits.maxOrdersPerSecond()) return OrderEvent.RejectReason.ORDER_RATE;
+        }
+
+        int current = position[symbolId];
+        int projected = current + (type == OrderEvent.Type.BUY ? quantity : -quantity);
+        if (Math.abs(projected) <= Math.abs(current)) return null; // Reducing
+
+        if (limits.maxPosition() > 0 && Math.abs(projected) > limits.maxPosition()) {
+            return OrderEvent.RejectReason.MAX_POSITION;
+        }
+        if (limits.maxPositionNotional() > 0 && Math.abs(projected) * price > limits.maxPositionNotional()) {
+            return OrderEvent.RejectReason.POSITION_NOTIONAL;
+        }
+        if (limits.maxStrategyLoss() > 0 && slot >= 0
+                && (double) DOUBLES.getOpaque(strategyPnl, slot) < -limits.maxStrategyLoss()) {
+            return OrderEvent.RejectReason.STRATEGY_LOSS;
+        }
+        return null;
+    }
+
+    private boolean outsideBand(double price, double reference) {
+        return limits.priceBand() > 0 && reference > 0 && Math.abs(price - reference) > limits.priceBand() * reference;
+    }
+
+    /**
+     * Adds a fill's net cash flow (realized PnL - fees) to the strategy in {@code slot}
+     * ({@link OrderEvent#getRiskSlot()}). Called by the execution thread only.
+     */
+    public void recordFill(int slot, double netCashFlow) {
+        if (slot < 0) return;
+        DOUBLES.setOpaque(strategyPnl, slot, strategyPnl[slot] + netCashFlow);
+    }
+
+    /**
+     * Forgets positions, reference prices, rate windows, strategy PnL and counters.
+     * Only call while the order ring is idle (e.g. after the JIT warm-up).
+     */
+    public void reset() {
+        Arrays.fill(position, 0);
+        Arrays.fill(referencePrice, 0.0);
+        Arrays.fill(gapOrders, 0);
+        Arrays.fill(windowStart, 0L);
+        Arrays.fill(windowOrders, 0);
+        for (int i = 0; i < strategyPnl.length; i++) DOUBLES.setOpaque(strategyPnl, i, 0.0);
+        for (int i = 0; i < counts.length; i++) LONGS.setOpaque(counts, i, 0L);
+    }
+
+    /**
+     * Accepted and rejected order counts (by reason), and the net PnL the loss limit sees per strategy.
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("limits", limits);
+        result.put("accepted", (long) LONGS.getOpaque(counts, 0));
+        Map<String, Long> rejected = new LinkedHashMap<>();
+        for (OrderEvent.RejectReason reason : OrderEvent.RejectReason.values()) {
+            rejected.put(reason.name(), (long) LONGS.getOpaque(counts, 1 + reason.ordinal()));
+        }
+        result.put("rejected", rejected);
+        Map<String, Double> pnl = new LinkedHashMap<>();
+        for (int slot = 0; slot < MAX_STRATEGIES; slot++) {
+            String id = strategyIds[slot]; // Racy read: a slot being assigned may be missed
+            if (id != null) pnl.put(id, (double) DOUBLES.getOpaque(strategyPnl, slot));
+        }
+        result.put("strategy_net_pnl", pnl);
+        return result;
+    }
+
+    private int slotOf(String strategyId) {
+        for (int i = 0; i < strategyCount; i++) {
+            if (strategyIds[i] == strategyId) return i; // Strategies publish the same String instance
+        }
+        for (int i = 0; i < strategyCount; i++) {
+            if (strategyIds[i].equals(strategyId)) return i;
+        }
+        if (strategyId == null || strategyCount == MAX_STRATEGIES) return -1; // No loss limit
+        strategyIds[strategyCount] = strategyId;
+        return strategyCount++;
+    }
+
+    private void increment(int index) {
+        LONGS.setOpaque(counts, index, counts[index] + 1);
+    }
+
+    private void ensureCapacity(int symbolId) {
+        if (symbolId < position.length) return;
+        int capacity = Math.max(position.length * 2, symbolId + 1);
+        position = Arrays.copyOf(position, capacity);
+        referencePrice = Arrays.copyOf(referencePrice, capacity);
+        gapPrice = Arrays.copyOf(gapPrice, capacity);
+        gapOrders = Arrays.copyOf(gapOrders, capacity);
+        windowStart = Arrays.copyOf(windowStart, capacity);
+        windowOrders = Arrays.copyOf(windowOrders, capacity);
+    }
+}
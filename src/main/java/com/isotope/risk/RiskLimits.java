@@ -0,0 +1,25 @@
+package com.isotope.risk;
+
+/**
+ * Limits enforced by {@link PreTradeRiskCheck}. A limit of 0 disables that check.
+ *
+ * @param maxPosition         largest absolute net quantity per symbol
+ * @param maxOrderNotional    largest price * quantity of a single order
+ * @param maxPositionNotional largest absolute net quantity * price per symbol
+ * @param maxOrdersPerSecond  orders per symbol per second of event time
+ * @param priceBand           largest relative deviation from the symbol's last accepted order price (0.05 = 5%);
+ *                            re-anchored after consecutive out-of-band orders agree (see {@link PreTradeRiskCheck})
+ * @param maxStrategyLoss     net loss (realized PnL after fees) at which a strategy may only reduce positions
+ */
+public record RiskLimits(int maxPosition, double maxOrderNotional, double maxPositionNotional,
+                         int maxOrdersPerSecond, double priceBand, double maxStrategyLoss) {
+
+    public static final RiskLimits NONE = new RiskLimits(0, 0.0, 0.0, 0, 0.0, 0.0);
+
+    public RiskLimits {
+        if (maxPosition < 0 || maxOrderNotional < 0 || maxPositionNotional < 0 || maxOrdersPerSecond < 0
+                || priceBand < 0 || maxStrategyLoss < 0) {
+            throw new IllegalArgumentException("Risk limits must be >= 0 (0 = off)");
+        }
+    }
+}
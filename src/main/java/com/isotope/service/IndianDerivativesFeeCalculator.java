@@ -1,88 +1,78 @@
 package com.isotope.service;
 
 import com.isotope.model.OrderEvent;
+import com.isotope.service.fees.FeeSchedule;
+import com.isotope.service.fees.FeeScheduleTable;
+import lombok.Getter;
 import org.springframework.stereotype.Service;
 
+/**
+ * NSE F&O charges (brokerage, STT, exchange, SEBI, IPFT, stamp duty, GST).
+ *
+ * Rates come from versioned tables (see {@link FeeScheduleTable}, default
+ * {@code fee-schedules.csv}). Methods taking a timestamp use the schedule in force at
+ * that time; the others use the latest schedule.
+ */
 @Service
 public class IndianDerivativesFeeCalculator {
 
-    // Futures Rates (Oct 2024)
-    private static final double FUT_BROKERAGE_MAX = 20.0;
-    private static final double FUT_STT_RATE = 0.0002; // 0.02% Sell
-    private static final double FUT_NSE_TXN_RATE = 0.0000173; // 0.00173%
-    private static final double FUT_SEBI_RATE = 0.000001; // ₹10/crore
-    private static final double FUT_IPFT_RATE = 0.000001; // ₹10/crore
-    private static final double FUT_STAMP_DUTY_RATE = 0.00002; // 0.002% Buy
-    private static final double FUT_GST_RATE = 0.18;
+    @Getter
+    private final FeeScheduleTable scheduleTable;
+    private final FeeSchedule latest;
 
-    // Options Rates
-    private static final double OPT_BROKERAGE_FLAT = 20.0;
-    private static final double OPT_STT_RATE = 0.001; // 0.1% on Sell Premium
-    private static final double OPT_NSE_TXN_RATE = 0.0003503; // 0.03503% on Premium
-    private static final double OPT_SEBI_RATE = 0.000001; // ₹10/crore on Premium
-    private static final double OPT_IPFT_RATE = 0.000001; // ₹10/crore on Premium
-    private static final double OPT_STAMP_DUTY_RATE = 0.00003; // 0.003% Buy Premium
-    private static final double OPT_GST_RATE = 0.18;
+    public IndianDerivativesFeeCalculator() {
+        this(FeeScheduleTable.loadDefault());
+    }
+
+    public IndianDerivativesFeeCalculator(FeeScheduleTable scheduleTable) {
+        this.scheduleTable = scheduleTable;
+        this.latest = scheduleTable.latest();
+    }
 
     /**
      * Calculates fees for FUTURES contracts.
      */
     public double calculateTotalFee(OrderEvent.Type type, double price, int quantity) {
-        if (price <= 0 || quantity <= 0) return 0.0;
-
-        double turnover = price * quantity;
-
-        // 1. Brokerage (0.03% or ₹20, whichever is lower)
-        double brokerage = Math.min(turnover * 0.0003, FUT_BROKERAGE_MAX);
-
-        // 2. Regulatory Charges
-        double txnCharges = turnover * FUT_NSE_TXN_RATE;
-        double sebiCharges = turnover * FUT_SEBI_RATE;
-        double ipftCharges = turnover * FUT_IPFT_RATE;
-
-        double stt = (type == OrderEvent.Type.SELL) ? (turnover * FUT_STT_RATE) : 0.0;
-        double stampDuty = (type == OrderEvent.Type.BUY) ? (turnover * FUT_STAMP_DUTY_RATE) : 0.0;
-
-        // 3. GST (on Service Fees only)
-        double gst = (brokerage + txnCharges + sebiCharges) * FUT_GST_RATE;
+        return latest.getFutures().fee(type, price, quantity);
+    }
 
-        return brokerage + stt + txnCharges + sebiCharges + ipftCharges + stampDuty + gst;
+    public double calculateTotalFee(OrderEvent.Type type, double price, int quantity, long epochMillis) {
+        return scheduleTable.at(epochMillis).getFutures().fee(type, price, quantity);
     }
 
     /**
-     * Calculates fees for OPTION contracts.
-     * Note: Brokerage is flat ₹20, no 0.03% rule.
+     * Calculates fees for OPTION contracts (on premium turnover).
+     * Note: Brokerage is flat ₹20, no 0.03% rule; GST excludes SEBI fees.
      */
     public double calculateOptionFee(OrderEvent.Type type, double premium, int quantity) {
-        if (premium <= 0 || quantity <= 0) return 0.0;
-
-        double turnover = premium * quantity;
-
-        // 1. Brokerage (Flat ₹20 per order)
-        double brokerage = OPT_BROKERAGE_FLAT;
-
-        // 2. Regulatory Charges (On Premium Turnover)
-        double txnCharges = turnover * OPT_NSE_TXN_RATE;
-        double sebiCharges = turnover * OPT_SEBI_RATE;
-        double ipftCharges = turnover * OPT_IPFT_RATE;
+        return latest.getOptions().fee(type, premium, quantity);
+    }
 
-        // STT is on Sell Premium only
-        double stt = (type == OrderEvent.Type.SELL) ? (turnover * OPT_STT_RATE) : 0.0;
+    public double calculateOptionFee(OrderEvent.Type type, double premium, int quantity, long epochMillis) {
+        return scheduleTable.at(epochMillis).getOptions().fee(type, premium, quantity);
+    }
 
-        // Stamp Duty is on Buy Premium only
-        double stampDuty = (type == OrderEvent.Type.BUY) ? (turnover * OPT_STAMP_DUTY_RATE) : 0.0;
+    /**
+     * Fees for a synthetic future: one option bought and one sold at the same premium.
+     * Long (Buy Call + Sell Put) and short (Buy Put + Sell Call) cost the same.
+     */
+    public double calculateSyntheticFee(double premium, int quantity, long epochMillis) {
+        return scheduleTable.at(epochMillis).getOptions().roundTripFee(premium, quantity);
+    }
 
-        // 3. GST (on Brokerage + Exchange Txn only per instructions "GST: 18% on (Brokerage + Txn)")
-        // Typically SEBI/IPFT are also included but adhering to specific instructions if given.
-        // Instructions say: "GST: 18% on (Brokerage + Txn)."
-        // However, standard market practice usually includes SEBI charges in GST base.
-        // Let's re-read carefully: "GST: 18% on (Brokerage + Txn)."
-        // I will follow the explicit instruction, but usually it's on taxable value.
-        // Re-reading "SEBI/IPFT: Standard rates on Premium."
-        // I will follow the instruction: GST on (Brokerage + Txn).
+    // --- Batch API (allocation-free, latest schedule) ---
 
-        double gst = (brokerage + txnCharges) * OPT_GST_RATE;
+    /**
+     * FUTURES fees for fills {@code [0, count)}, written to {@code fees}.
+     */
+    public void calculateTotalFees(OrderEvent.Type[] types, double[] prices, int[] quantities, double[] fees, int count) {
+        latest.getFutures().fees(types, prices, quantities, fees, count);
+    }
 
-        return brokerage + stt + txnCharges + sebiCharges + ipftCharges + stampDuty + gst;
+    /**
+     * OPTION fees for fills {@code [0, count)}, written to {@code fees}.
+     */
+    public void calculateOptionFees(OrderEvent.Type[] types, double[] premiums, int[] quantities, double[] fees, int count) {
+        latest.getOptions().fees(types, premiums, quantities, fees, count);
     }
 }
@@ -1,16 +1,35 @@
 package com.isotope.service;
 
+import com.isotope.adapter.LiveOrderGateway;
 import com.isotope.adapter.MarketDataProducer;
+import com.isotope.adapter.OrderNettingStage;
 import com.isotope.adapter.OrderExecutionAdapter;
+import com.isotope.analytics.PerformanceAnalytics;
 import com.isotope.config.AppConfig;
+import com.isotope.core.EngineSettings;
+import com.isotope.core.EngineWarmUp;
 import com.isotope.core.IsotopeEngine;
+import com.isotope.core.LatencyProfile;
+import com.isotope.core.WaitStrategyType;
+import com.isotope.journal.ColumnarTradeLog;
+import com.isotope.journal.TickJournalHandler;
+import com.isotope.journal.TickJournalWriter;
+import com.isotope.journal.TradeJournal;
+import com.isotope.metrics.LatencyMetrics;
+import com.isotope.risk.PreTradeRiskCheck;
+import com.isotope.risk.RiskLimits;
 import com.isotope.strategy.PairsTradingStrategy;
+import com.lmax.disruptor.dsl.ProducerType;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -22,7 +41,15 @@ public class TradingEngineManager {
     private final AppConfig appConfig;
     private final MarketDataProducer marketDataProducer; // Injected by Spring (Kite, CSV, or Yahoo)
     private final IndianDerivativesFeeCalculator feeCalculator;
+    private final LatencyMetrics latencyMetrics;
+    private final PerformanceAnalytics performanceAnalytics;
     private IsotopeEngine isotopeEngine;
+    private OrderExecutionAdapter executionAdapter;
+    private PreTradeRiskCheck riskCheck;
+    private OrderNettingStage orderNetting;
+    private LiveOrderGateway orderGateway;
+    private volatile EngineWarmUp.Report warmUpReport;
+    private volatile boolean warmUpFailed;
     private final ExecutorService engineExecutor = Executors.newSingleThreadExecutor();
 
     @PostConstruct
@@ -31,20 +58,74 @@ public class TradingEngineManager {
 
         double capital = appConfig.getBacktest().getInitialCapital();
         String executionMode = appConfig.getStrategy().getExecutionMode();
-        OrderExecutionAdapter adapter = new OrderExecutionAdapter(feeCalculator, capital, executionMode);
+        AppConfig.WarmUpConfig warmUp = appConfig.getWarmUp();
+        OrderExecutionAdapter adapter = new OrderExecutionAdapter(feeCalculator, capital, executionMode, openJournal());
+        if (appConfig.getJournal().getColumnarDirectory() != null) {
+            adapter.setColumnarLog(openColumnarLog(appConfig.getJournal()));
+        }
+        executionAdapter = adapter;
 
         // 1. Instantiate Core Engine (Pure Java)
-        isotopeEngine = new IsotopeEngine(adapter);
+        isotopeEngine = new IsotopeEngine(adapter, buildEngineSettings(appConfig.getLatency()), latencyMetrics);
 
         // 2. Wire up Strategies
         PairsTradingStrategy strategy = new PairsTradingStrategy(appConfig.getStrategy().getAllocationPerLeg());
         isotopeEngine.registerStrategy(strategy);
 
+        AppConfig.RiskConfig risk = appConfig.getRisk();
+        if (risk.isEnabled()) {
+            riskCheck = new PreTradeRiskCheck(new RiskLimits(risk.getMaxPosition(), risk.getMaxOrderNotional(),
+                    risk.getMaxPositionNotional(), risk.getMaxOrdersPerSecond(), risk.getPriceBand(),
+                    appConfig.getStrategy().getRiskLimit()));
+            isotopeEngine.setRiskCheck(riskCheck);
+            log.info("Pre-trade risk check enabled: {}", riskCheck.getLimits());
+        }
+
+        AppConfig.NettingConfig netting = appConfig.getNetting();
+        if (netting.isEnabled()) {
+            orderNetting = new OrderNettingStage(netting.getWindowMicros());
+            isotopeEngine.setOrderNetting(orderNetting);
+            log.info("Order netting enabled (window {} us)", netting.getWindowMicros());
+        }
+
+        if (appConfig.getAnalytics().isEnabled()) {
+            isotopeEngine.addOrderConsumer(performanceAnalytics);
+        }
+
+        AppConfig.GatewayConfig gateway = appConfig.getGateway();
+        if (gateway.isEnabled()) {
+            orderGateway = new LiveOrderGateway(buildGatewaySettings(gateway), ack -> {
+                logOrderAck(ack);
+                // Filled on paper but not at the broker: stop adding to a position that no longer matches
+                if (ack.status() != LiveOrderGateway.Status.PLACED) adapter.markOutOfSync(ack.symbol());
+            });
+            isotopeEngine.addOrderConsumer(orderGateway);
+            log.info("Live order gateway enabled: {} at {}/s", gateway.getBaseUrl(), gateway.getRatePerSecond());
+        }
+
+        AppConfig.TickJournalConfig tickJournal = appConfig.getTickJournal();
+        TickJournalHandler tickJournalHandler = null;
+        if (tickJournal.isEnabled()) {
+            // Warm-up ticks are not journaled: start once the warm-up has drained
+            tickJournalHandler = new TickJournalHandler(openTickJournal(tickJournal), warmUp.isEnabled() ? Long.MAX_VALUE : 0);
+            isotopeEngine.addMarketDataConsumer(tickJournalHandler);
+        }
+        TickJournalHandler journalHandler = tickJournalHandler;
+
         // 3. Start the Engine on a dedicated thread
         engineExecutor.submit(() -> {
             log.info("Starting Isotope Engine Loop...");
             isotopeEngine.start();
 
+            if (warmUp.isEnabled() && !runWarmUp(warmUp, adapter)) {
+                log.error("Stopping the engine: the session does not start after a failed JIT warm-up");
+                isotopeEngine.stop();
+                return;
+            }
+            if (warmUp.isEnabled() && journalHandler != null) {
+                journalHandler.startAt(isotopeEngine.getMarketDataRingBuffer().getCursor() + 1);
+            }
+
             // 4. Connect and Start Market Data Producer
             log.info("Connecting Market Data Producer...");
             marketDataProducer.connect();
@@ -57,6 +138,132 @@ public class TradingEngineManager {
         });
     }
 
+    /**
+     * Drives the configured warm-up ticks through the engine before market data connects.
+     * Returns false if it failed: warm-up orders may still be in flight and state not reset.
+     */
+    private boolean runWarmUp(AppConfig.WarmUpConfig config, OrderExecutionAdapter adapter) {
+        try {
+            EngineWarmUp.Ticks ticks = config.getTickFile() != null
+                    ? EngineWarmUp.recordedTicks(Path.of(config.getTickFile()))
+                    : EngineWarmUp.syntheticTicks(42L);
+            warmUpReport = new EngineWarmUp(isotopeEngine, adapter).run(ticks, config.getTicks(), config.getTimeoutMs());
+            latencyMetrics.snapshot(true); // Report latencies of the session only
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("JIT warm-up failed", e);
+        }
+        warmUpFailed = true;
+        return false;
+    }
+
+    /**
+     * Result of the JIT warm-up, or a status if it has not completed.
+     */
+    public Map<String, Object> getWarmUpReport() {
+        EngineWarmUp.Report report = warmUpReport;
+        if (report != null) return report.toMap();
+        if (warmUpFailed) return Map.of("status", "FAILED");
+        return Map.of("status", appConfig.getWarmUp().isEnabled() ? "PENDING" : "DISABLED");
+    }
+
+    /**
+     * Pre-trade risk counters, or a status if the risk check is disabled.
+     */
+    public Map<String, Object> getRiskReport() {
+        PreTradeRiskCheck check = riskCheck;
+        return check != null ? check.snapshot() : Map.of("status", "DISABLED");
+    }
+
+    /**
+     * Order netting counters, or a status if netting is disabled.
+     */
+    public Map<String, Object> getNettingReport() {
+        OrderNettingStage netting = orderNetting;
+        return netting != null ? netting.snapshot() : Map.of("status", "DISABLED");
+    }
+
+    /**
+     * Live order gateway counters, or a status if the gateway is disabled.
+     */
+    public Map<String, Object> getGatewayReport() {
+        LiveOrderGateway gateway = orderGateway;
+        if (gateway == null) return Map.of("status", "DISABLED");
+        Map<String, Object> report = gateway.snapshot();
+        report.put("out_of_sync_symbols", executionAdapter.getOutOfSyncSymbols());
+        report.put("in_flight_orders", gateway.getInFlight().values());
+        return report;
+    }
+
+    private LiveOrderGateway.Settings buildGatewaySettings(AppConfig.GatewayConfig gateway) {
+        AppConfig.KiteConfig kite = appConfig.getKite();
+        return new LiveOrderGateway.Settings(gateway.getBaseUrl(), kite.getApiKey(), kite.getAccessToken(),
+                gateway.getExchange(), gateway.getProduct(), gateway.getOrderType(), Map.copyOf(gateway.getSymbols()),
+                gateway.getRatePerSecond(), gateway.getBurst(), gateway.getTimeoutMs(), gateway.getMaxInFlight());
+    }
+
+    private static void logOrderAck(LiveOrderGateway.OrderAck ack) {
+        if (ack.status() == LiveOrderGateway.Status.PLACED) {
+            log.info("Order {} placed as {} ({} {} {} in {} ms)", ack.clientOrderId(), ack.brokerOrderId(),
+                    ack.type(), ack.quantity(), ack.symbol(), ack.latencyNanos() / 1_000_000);
+        } else {
+            log.error("Order {} {}: {} ({} {} {} for {})", ack.clientOrderId(), ack.status(), ack.message(),
+                    ack.type(), ack.quantity(), ack.symbol(), ack.strategyId());
+        }
+    }
+
+    private TradeJournal openJournal() {
+        AppConfig.JournalConfig config = appConfig.getJournal();
+        try {
+            return new TradeJournal(config.getFilePath(),
+                    TradeJournal.Durability.valueOf(config.getDurability().toUpperCase()), config.getFlushIntervalMs());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open trade journal " + config.getFilePath(), e);
+        }
+    }
+
+    private ColumnarTradeLog openColumnarLog(AppConfig.JournalConfig config) {
+        try {
+            return new ColumnarTradeLog(Path.of(config.getColumnarDirectory()), config.getColumnarChunkRows());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open columnar trade log " + config.getColumnarDirectory(), e);
+        }
+    }
+
+    private TickJournalWriter openTickJournal(AppConfig.TickJournalConfig config) {
+        try {
+            return new TickJournalWriter(Path.of(config.getDirectory()), config.getSegmentRecords());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open tick journal " + config.getDirectory(), e);
+        }
+    }
+
+    private EngineSettings buildEngineSettings(AppConfig.LatencyConfig latency) {
+        LatencyProfile profile = LatencyProfile.valueOf(latency.getProfile().toUpperCase());
+        EngineSettings.EngineSettingsBuilder builder = EngineSettings.fromProfile(profile).toBuilder()
+                .strategyCpus(latency.getStrategyCpus())
+                .executionCpus(latency.getExecutionCpus());
+
+        if (latency.isParallelStrategies()) {
+            // Strategies publish orders from several threads
+            builder.parallelStrategies(true).orderProducerType(ProducerType.MULTI);
+        }
+        if (latency.getWaitStrategy() != null) {
+            builder.waitStrategy(WaitStrategyType.valueOf(latency.getWaitStrategy().toUpperCase()));
+        }
+        if (latency.getMarketDataBufferSize() != null) {
+            builder.marketDataBufferSize(latency.getMarketDataBufferSize());
+        }
+        if (latency.getOrderBufferSize() != null) {
+            builder.orderBufferSize(latency.getOrderBufferSize());
+        }
+
+        log.info("Using latency profile {}", profile);
+        return builder.build();
+    }
+
     @PreDestroy
     public void shutdown() {
         log.info("Shutting down Trading Engine...");
@@ -0,0 +1,21 @@
+package com.isotope.service.fees;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+/**
+ * One version of the broker / exchange / regulatory charges, in force from
+ * {@link #getEffectiveFrom()} until the next version takes over.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public final class FeeSchedule {
+    private final String version;
+    private final LocalDate effectiveFrom;
+    private final SegmentRates futures;
+    private final SegmentRates options;
+}
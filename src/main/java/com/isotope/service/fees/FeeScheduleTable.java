@@ -0,0 +1,155 @@
+package com.isotope.service.fees;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Versioned fee schedules, ordered by effective date.
+ *
+ * Loaded from a CSV rate table with one row per (version, segment):
+ * <pre>
+ * version,effective_from,segment,brokerage_rate,brokerage_cap,stt_buy,stt_sell,exchange_txn,sebi,ipft,stamp_buy,stamp_sell,gst,gst_on_sebi
+ * </pre>
+ * where segment is FUTURES or OPTIONS. Blank lines and lines starting with '#' are
+ * ignored. Effective dates are exchange (IST) calendar days, so a rate change is
+ * added as a new version row ahead of time and applies from that day on.
+ */
+public final class FeeScheduleTable {
+
+    public static final String DEFAULT_RESOURCE = "/fee-schedules.csv";
+    public static final ZoneId EXCHANGE_ZONE = ZoneId.of("Asia/Kolkata");
+
+    private static final String[] COLUMNS = {"version", "effective_from", "segment", "brokerage_rate", "brokerage_cap",
+            "stt_buy", "stt_sell", "exchange_txn", "sebi", "ipft", "stamp_buy", "stamp_sell", "gst", "gst_on_sebi"};
+
+    private final FeeSchedule[] schedules;
+    private final long[] effectiveFromMillis;
+
+    public FeeScheduleTable(List<FeeSchedule> schedules) {
+        if (schedules.isEmpty()) throw new IllegalArgumentException("At least one fee schedule is required");
+        this.schedules = schedules.stream()
+                .sorted(Comparator.comparing(FeeSchedule::getEffectiveFrom))
+                .toArray(FeeSchedule[]::new);
+        this.effectiveFromMillis = new long[this.schedules.length];
+        for (int i = 0; i < this.schedules.length; i++) {
+            if (i > 0 && this.schedules[i].getEffectiveFrom().equals(this.schedules[i - 1].getEffectiveFrom())) {
+                throw new IllegalArgumentException("Fee schedules " + this.schedules[i - 1].getVersion() + " and "
+                        + this.schedules[i].getVersion() + " share effective date " + this.schedules[i].getEffectiveFrom());
+            }
+            effectiveFromMillis[i] = this.schedules[i].getEffectiveFrom().atStartOfDay(EXCHANGE_ZONE).toInstant().toEpochMilli();
+        }
+    }
+
+    /**
+     * The rate table bundled on the classpath ({@value #DEFAULT_RESOURCE}).
+     */
+    public static FeeScheduleTable loadDefault() {
+        try (InputStream in = FeeScheduleTable.class.getResourceAsStream(DEFAULT_RESOURCE)) {
+            if (in == null) throw new IllegalStateException("Fee schedule resource not found: " + DEFAULT_RESOURCE);
+            return load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + DEFAULT_RESOURCE, e);
+        }
+    }
+
+    public static FeeScheduleTable load(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        Map<String, Integer> columns = null;
+        Map<String, LocalDate> effectiveDates = new LinkedHashMap<>();
+        Map<String, SegmentRates> futures = new HashMap<>();
+        Map<String, SegmentRates> options = new HashMap<>();
+
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            String[] parts = line.split(",", -1);
+            if (columns == null) {
+                columns = header(parts);
+                continue;
+            }
+            try {
+                String version = parts[columns.get("version")].trim();
+                LocalDate effectiveFrom = LocalDate.parse(parts[columns.get("effective_from")].trim());
+                LocalDate previous = effectiveDates.putIfAbsent(version, effectiveFrom);
+                if (previous != null && !previous.equals(effectiveFrom)) {
+                    throw new IllegalArgumentException("Conflicting effective dates for version " + version);
+                }
+                SegmentRates rates = new SegmentRates(
+                        number(parts, columns, "brokerage_rate"), number(parts, columns, "brokerage_cap"),
+                        number(parts, columns, "stt_buy"), number(parts, columns, "stt_sell"),
+                        number(parts, columns, "exchange_txn"), number(parts, columns, "sebi"),
+                        number(parts, columns, "ipft"), number(parts, columns, "stamp_buy"),
+                        number(parts, columns, "stamp_sell"), number(parts, columns, "gst"),
+                        Boolean.parseBoolean(parts[columns.get("gst_on_sebi")].trim()));
+                String segment = parts[columns.get("segment")].trim().toUpperCase();
+                Map<String, SegmentRates> target = switch (segment) {
+                    case "FUTURES" -> futures;
+                    case "OPTIONS" -> options;
+                    default -> throw new IllegalArgumentException("Unknown segment " + segment);
+                };
+                if (target.putIfAbsent(version, rates) != null) {
+                    throw new IllegalArgumentException("Duplicate " + segment + " row for version " + version);
+                }
+            } catch (RuntimeException e) {
+                throw new IOException("Invalid fee schedule line " + lineNumber + ": " + line, e);
+            }
+        }
+
+        List<FeeSchedule> schedules = new ArrayList<>();
+        for (Map.Entry<String, LocalDate> entry : effectiveDates.entrySet()) {
+            String version = entry.getKey();
+            if (!futures.containsKey(version) || !options.containsKey(version)) {
+                throw new IOException("Fee schedule " + version + " needs both FUTURES and OPTIONS rows");
+            }
+            schedules.add(new FeeSchedule(version, entry.getValue(), futures.get(version), options.get(version)));
+        }
+        if (schedules.isEmpty()) throw new IOException("No fee schedules found");
+        return new FeeScheduleTable(schedules);
+    }
+
+    private static Map<String, Integer> header(String[] parts) throws IOException {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < parts.length; i++) columns.put(parts[i].trim().toLowerCase(), i);
+        for (String column : COLUMNS) {
+            if (!columns.containsKey(column)) throw new IOException("Fee schedule table is missing column " + column);
+        }
+        return columns;
+    }
+
+    private static double number(String[] parts, Map<String, Integer> columns, String column) {
+        return Double.parseDouble(parts[columns.get(column)].trim());
+    }
+
+    /**
+     * Schedule in force at the given epoch millis; the earliest schedule for earlier times.
+     */
+    public FeeSchedule at(long epochMillis) {
+        int index = Arrays.binarySearch(effectiveFromMillis, epochMillis);
+        if (index < 0) index = -index - 2; // Last schedule starting before epochMillis
+        return schedules[Math.max(index, 0)];
+    }
+
+    public FeeSchedule latest() {
+        return schedules[schedules.length - 1];
+    }
+
+    public List<FeeSchedule> getSchedules() {
+        return List.of(schedules);
+    }
+}
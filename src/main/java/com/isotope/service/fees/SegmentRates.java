@@ -0,0 +1,114 @@
+package com.isotope.service.fees;
+
+import com.isotope.model.OrderEvent;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Charges for one segment (futures or options) of a {@link FeeSchedule}.
+ *
+ * All turnover-proportional charges, including the GST on them, are folded into
+ * one coefficient per side at construction, so a fee is one brokerage term plus
+ * one multiplication: {@code brokerage * (1 + gst) + turnover * coefficient(side)}.
+ * Rates are fractions of turnover (premium turnover for options).
+ */
+@Getter
+@ToString
+public final class SegmentRates {
+
+    private final double brokerageRate; // 0 = flat brokerageCap per order
+    private final double brokerageCap;
+    private final double sttBuy;
+    private final double sttSell;
+    private final double exchangeTxn;
+    private final double sebi;
+    private final double ipft;
+    private final double stampBuy;
+    private final double stampSell;
+    private final double gst;
+    private final boolean gstOnSebi;
+
+    // Precomputed
+    @ToString.Exclude
+    private final double brokerageMultiplier;
+    @ToString.Exclude
+    private final double buyCoefficient;
+    @ToString.Exclude
+    private final double sellCoefficient;
+
+    public SegmentRates(double brokerageRate, double brokerageCap, double sttBuy, double sttSell, double exchangeTxn,
+                        double sebi, double ipft, double stampBuy, double stampSell, double gst, boolean gstOnSebi) {
+        this.brokerageRate = brokerageRate;
+        this.brokerageCap = brokerageCap;
+        this.sttBuy = sttBuy;
+        this.sttSell = sttSell;
+        this.exchangeTxn = exchangeTxn;
+        this.sebi = sebi;
+        this.ipft = ipft;
+        this.stampBuy = stampBuy;
+        this.stampSell = stampSell;
+        this.gst = gst;
+        this.gstOnSebi = gstOnSebi;
+
+        // GST applies to brokerage + exchange charges (+ SEBI fees where configured)
+        this.brokerageMultiplier = 1.0 + gst;
+        double common = exchangeTxn * (1.0 + gst) + sebi * (gstOnSebi ? 1.0 + gst : 1.0) + ipft;
+        this.buyCoefficient = common + sttBuy + stampBuy;
+        this.sellCoefficient = common + sttSell + stampSell;
+    }
+
+    /**
+     * Fee for one fill; 0 for non-positive price or quantity.
+     */
+    public double fee(boolean sell, double price, int quantity) {
+        if (price <= 0 || quantity <= 0) return 0.0;
+        double turnover = price * quantity;
+        return brokerage(turnover) * brokerageMultiplier + turnover * (sell ? sellCoefficient : buyCoefficient);
+    }
+
+    /**
+     * Fee for one fill of the given side; 0 for CANCEL and MODIFY, which trade nothing.
+     */
+    public double fee(OrderEvent.Type type, double price, int quantity) {
+        return switch (type) {
+            case BUY -> fee(false, price, quantity);
+            case SELL -> fee(true, price, quantity);
+            case CANCEL, MODIFY -> 0.0;
+        };
+    }
+
+    /**
+     * Fee for a buy and a sell of the same price and quantity (e.g. the two option
+     * legs of a synthetic future).
+     */
+    public double roundTripFee(double price, int quantity) {
+        if (price <= 0 || quantity <= 0) return 0.0;
+        double turnover = price * quantity;
+        return 2.0 * brokerage(turnover) * brokerageMultiplier + turnover * (buyCoefficient + sellCoefficient);
+    }
+
+    /**
+     * Fees for fills {@code [0, count)} of the given arrays, written to {@code fees}. Allocation-free.
+     * Non-trade types cost nothing, as in {@link #fee(OrderEvent.Type, double, int)}.
+     */
+    public void fees(OrderEvent.Type[] types, double[] prices, int[] quantities, double[] fees, int count) {
+        for (int i = 0; i < count; i++) {
+            fees[i] = fee(types[i], prices[i], quantities[i]);
+        }
+    }
+
+    /**
+     * Sum of the fees for fills {@code [0, count)}. Allocation-free.
+     */
+    public double totalFees(OrderEvent.Type[] types, double[] prices, int[] quantities, int count) {
+        double total = 0.0;
+        for (int i = 0; i < count; i++) {
+            total += fee(types[i], prices[i], quantities[i]);
+        }
+        return total;
+    }
+
+    private double brokerage(double turnover) {
+        return brokerageRate > 0 ? Math.min(turnover * brokerageRate, brokerageCap) : brokerageCap;
+    }
+}
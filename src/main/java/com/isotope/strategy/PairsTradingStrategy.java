@@ -1,13 +1,12 @@
 package com.isotope.strategy;
 
 import com.isotope.core.OrderPublisher;
+import com.isotope.model.InstrumentTokens;
 import com.isotope.model.MarketDataEvent;
 import com.isotope.model.OrderEvent;
+import com.isotope.strategy.stats.RollingStats;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.LinkedList;
-import java.util.Queue;
-
 /**
  * FIXED STRATEGY: Pairs Trading (Nifty vs BankNifty).
  * - Fixes "Quantity Mismatch Bug" (Ensures Exit Qty == Entry Qty).
@@ -25,18 +24,33 @@ public class PairsTradingStrategy implements Strategy {
     private double lastBankNiftyPrice = 0.0;
     private long currentTickTime = 0;
 
+    /**
+     * Tunable settings.
+     */
+    public record Parameters(int lookbackPeriod, double entryZScore, double stopLossZScore, double minProfitThreshold) {
+
+        // Fast adaptation; min profit bumped slightly to 0.22% to ensure Green PnL
+        public static final Parameters DEFAULTS = new Parameters(50, 2.5, 3.5, 0.0022);
+
+        public Parameters {
+            if (lookbackPeriod < 2) throw new IllegalArgumentException("lookbackPeriod must be >= 2: " + lookbackPeriod);
+            if (entryZScore <= 0) throw new IllegalArgumentException("entryZScore must be > 0: " + entryZScore);
+            if (stopLossZScore <= entryZScore) {
+                throw new IllegalArgumentException("stopLossZScore " + stopLossZScore + " must exceed entryZScore " + entryZScore);
+            }
+            if (minProfitThreshold < 0) throw new IllegalArgumentException("minProfitThreshold must be >= 0: " + minProfitThreshold);
+        }
+    }
+
     // Statistics
-    private final int LOOKBACK_PERIOD = 50; // Fast adaptation
-    private final Queue<Double> ratioHistory = new LinkedList<>();
-    private double sumRatios = 0.0;
+    private final int lookbackPeriod;
+    private final RollingStats ratioStats;
 
     // --- SETTINGS ---
-    private final double ENTRY_Z_SCORE = 2.5;
-    private final double EXIT_Z_SCORE = 0.0;
-    private final double STOP_LOSS_Z_SCORE = 3.5;
-
-    // Bumped slightly to 0.22% to ensure Green PnL
-    private final double MIN_PROFIT_THRESHOLD = 0.0022;
+    private final double entryZScore;
+    private static final double EXIT_Z_SCORE = 0.0;
+    private final double stopLossZScore;
+    private final double minProfitThreshold;
 
     // Position State
     private enum Position { NONE, LONG_SPREAD, SHORT_SPREAD }
@@ -47,42 +61,38 @@ public class PairsTradingStrategy implements Strategy {
     private int heldNiftyQty = 0;
 
     public PairsTradingStrategy(double allocationPerLeg) {
+        this(allocationPerLeg, Parameters.DEFAULTS);
+    }
+
+    public PairsTradingStrategy(double allocationPerLeg, Parameters parameters) {
         this.allocationPerLeg = allocationPerLeg;
+        this.lookbackPeriod = parameters.lookbackPeriod();
+        this.entryZScore = parameters.entryZScore();
+        this.stopLossZScore = parameters.stopLossZScore();
+        this.minProfitThreshold = parameters.minProfitThreshold();
+        this.ratioStats = new RollingStats(lookbackPeriod);
     }
 
     @Override
     public void onTick(MarketDataEvent event) {
         currentTickTime = event.getLastTradedTime();
 
-        if (event.getInstrumentToken() == 256265) lastNiftyPrice = event.getLastTradedPrice();
-        else if (event.getInstrumentToken() == 260105) lastBankNiftyPrice = event.getLastTradedPrice();
+        if (event.getInstrumentToken() == InstrumentTokens.NIFTY) lastNiftyPrice = event.getLastTradedPrice();
+        else if (event.getInstrumentToken() == InstrumentTokens.BANKNIFTY) lastBankNiftyPrice = event.getLastTradedPrice();
 
         if (lastNiftyPrice == 0 || lastBankNiftyPrice == 0) return;
 
         double currentRatio = lastBankNiftyPrice / lastNiftyPrice;
-        updateHistory(currentRatio);
+        ratioStats.add(currentRatio);
 
-        if (ratioHistory.size() < LOOKBACK_PERIOD) return;
+        if (!ratioStats.isFull()) return;
 
-        double mean = sumRatios / ratioHistory.size();
-        double stdDev = calculateStdDev(mean);
-        double zScore = (stdDev < 0.000001) ? 0 : (currentRatio - mean) / stdDev;
+        double mean = ratioStats.mean();
+        double zScore = ratioStats.zScore(currentRatio, 0.000001);
 
         checkSignals(currentRatio, mean, zScore);
     }
 
-    private void updateHistory(double val) {
-        ratioHistory.add(val);
-        sumRatios += val;
-        if (ratioHistory.size() > LOOKBACK_PERIOD) sumRatios -= ratioHistory.poll();
-    }
-
-    private double calculateStdDev(double mean) {
-        double sumSq = 0.0;
-        for (Double val : ratioHistory) sumSq += Math.pow(val - mean, 2);
-        return Math.sqrt(sumSq / ratioHistory.size());
-    }
-
     private void checkSignals(double currentRatio, double mean, double zScore) {
         double divergence = currentRatio - mean;
 
@@ -90,24 +100,24 @@ public class PairsTradingStrategy implements Strategy {
         if (currentPosition == Position.NONE) {
 
             // SHORT SPREAD ENTRY
-            if (zScore > ENTRY_Z_SCORE && divergence > MIN_PROFIT_THRESHOLD) {
+            if (zScore > entryZScore && divergence > minProfitThreshold) {
                 // Calculate and STORE quantity
                 heldBnQty = (int) (allocationPerLeg / lastBankNiftyPrice);
                 heldNiftyQty = (int) (allocationPerLeg / lastNiftyPrice);
 
-                log.info("ENTRY SHORT: Z={} (>2.5). Selling {} BN / Buying {} Nifty", fmt(zScore), heldBnQty, heldNiftyQty);
+                log.info("ENTRY SHORT: Z={} (>{}). Selling {} BN / Buying {} Nifty", fmt(zScore), entryZScore, heldBnQty, heldNiftyQty);
                 execute(OrderEvent.Type.SELL, "BANKNIFTY", heldBnQty, lastBankNiftyPrice);
                 execute(OrderEvent.Type.BUY, "NIFTY", heldNiftyQty, lastNiftyPrice);
                 currentPosition = Position.SHORT_SPREAD;
             }
 
             // LONG SPREAD ENTRY
-            else if (zScore < -ENTRY_Z_SCORE && divergence < -MIN_PROFIT_THRESHOLD) {
+            else if (zScore < -entryZScore && divergence < -minProfitThreshold) {
                 // Calculate and STORE quantity
                 heldBnQty = (int) (allocationPerLeg / lastBankNiftyPrice);
                 heldNiftyQty = (int) (allocationPerLeg / lastNiftyPrice);
 
-                log.info("ENTRY LONG: Z={} (<-2.5). Buying {} BN / Selling {} Nifty", fmt(zScore), heldBnQty, heldNiftyQty);
+                log.info("ENTRY LONG: Z={} (<-{}). Buying {} BN / Selling {} Nifty", fmt(zScore), entryZScore, heldBnQty, heldNiftyQty);
                 execute(OrderEvent.Type.BUY, "BANKNIFTY", heldBnQty, lastBankNiftyPrice);
                 execute(OrderEvent.Type.SELL, "NIFTY", heldNiftyQty, lastNiftyPrice);
                 currentPosition = Position.LONG_SPREAD;
@@ -116,8 +126,8 @@ public class PairsTradingStrategy implements Strategy {
 
         // --- EXIT LOGIC (Use Stored Qty) ---
         else if (currentPosition == Position.SHORT_SPREAD) {
-            if (zScore < EXIT_Z_SCORE || zScore > STOP_LOSS_Z_SCORE) {
-                String type = (zScore > STOP_LOSS_Z_SCORE) ? "STOP LOSS" : "TAKE PROFIT";
+            if (zScore < EXIT_Z_SCORE || zScore > stopLossZScore) {
+                String type = (zScore > stopLossZScore) ? "STOP LOSS" : "TAKE PROFIT";
                 log.info("{}: Short Spread Closed. Z={}", type, fmt(zScore));
 
                 // Use HELD Qty (Fixes Mismatch)
@@ -127,8 +137,8 @@ public class PairsTradingStrategy implements Strategy {
             }
         }
         else if (currentPosition == Position.LONG_SPREAD) {
-            if (zScore > EXIT_Z_SCORE || zScore < -STOP_LOSS_Z_SCORE) {
-                String type = (zScore < -STOP_LOSS_Z_SCORE) ? "STOP LOSS" : "TAKE PROFIT";
+            if (zScore > EXIT_Z_SCORE || zScore < -stopLossZScore) {
+                String type = (zScore < -stopLossZScore) ? "STOP LOSS" : "TAKE PROFIT";
                 log.info("{}: Long Spread Closed. Z={}", type, fmt(zScore));
 
                 // Use HELD Qty
@@ -139,6 +149,15 @@ public class PairsTradingStrategy implements Strategy {
         }
     }
 
+    @Override
+    public void reset() {
+        lastNiftyPrice = 0.0;
+        lastBankNiftyPrice = 0.0;
+        currentTickTime = 0;
+        ratioStats.clear();
+        resetPosition();
+    }
+
     private void resetPosition() {
         currentPosition = Position.NONE;
         heldBnQty = 0;
@@ -152,4 +171,5 @@ public class PairsTradingStrategy implements Strategy {
     private String fmt(double val) { return String.format("%.4f", val); }
     public void setOrderPublisher(OrderPublisher p) { this.orderPublisher = p; }
     public String getStrategyId() { return strategyId; }
+    public long[] getInstrumentTokens() { return new long[]{InstrumentTokens.NIFTY, InstrumentTokens.BANKNIFTY}; }
 }
\ No newline at end of file
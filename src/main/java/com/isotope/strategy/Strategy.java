@@ -20,4 +20,20 @@ public interface Strategy {
      * Unique identifier for the strategy.
      */
     String getStrategyId();
+
+    /**
+     * Instrument tokens this strategy wants ticks for. The engine only dispatches
+     * matching ticks to it. Returning null (the default) subscribes to every instrument.
+     * Read once when the engine starts.
+     */
+    default long[] getInstrumentTokens() {
+        return null;
+    }
+
+    /**
+     * Drops all market state and positions, as if no tick had been seen
+     * (used after the JIT warm-up). Called while no ticks are being dispatched.
+     */
+    default void reset() {
+    }
 }
@@ -0,0 +1,183 @@
+package com.isotope.strategy.book;
+
+import com.isotope.model.MarketDataEvent;
+
+/**
+ * Five-level order book for one instrument, updated in place from ticks.
+ *
+ * Owned by a single strategy thread. Ticks without depth (LTP / quote packets)
+ * leave the levels untouched; ticks carrying only top of book (tick files) set
+ * level 0. Derived values are computed on demand from primitive arrays, so reading
+ * the book never allocates.
+ */
+public final class L2Book {
+
+    public static final int LEVELS = MarketDataEvent.DEPTH_LEVELS;
+
+    private final long instrumentToken;
+    private final double[] bidPrices = new double[LEVELS];
+    private final long[] bidQuantities = new long[LEVELS];
+    private final int[] bidOrders = new int[LEVELS];
+    private final double[] askPrices = new double[LEVELS];
+    private final long[] askQuantities = new long[LEVELS];
+    private final int[] askOrders = new int[LEVELS];
+    private int levels;
+    private long lastUpdateTime;
+
+    public L2Book(long instrumentToken) {
+        this.instrumentToken = instrumentToken;
+    }
+
+    /**
+     * Applies the depth carried by the tick. Returns false if the tick had none.
+     * Only levels that differ from the book are written; a quote change usually
+     * touches the top one or two.
+     */
+    public boolean update(MarketDataEvent event) {
+        int depth = event.getDepthLevels();
+        if (depth > 0) {
+            double[] bp = event.getBidPrices();
+            long[] bq = event.getBidQuantities();
+            int[] bo = event.getBidOrders();
+            double[] ap = event.getAskPrices();
+            long[] aq = event.getAskQuantities();
+            int[] ao = event.getAskOrders();
+            for (int i = 0; i < depth; i++) {
+                if (bp[i] == bidPrices[i] && bq[i] == bidQuantities[i] && bo[i] == bidOrders[i]
+                        && ap[i] == askPrices[i] && aq[i] == askQuantities[i] && ao[i] == askOrders[i]) {
+                    continue;
+                }
+                bidPrices[i] = bp[i];
+                bidQuantities[i] = bq[i];
+                bidOrders[i] = bo[i];
+                askPrices[i] = ap[i];
+                askQuantities[i] = aq[i];
+                askOrders[i] = ao[i];
+            }
+            levels = depth;
+        } else if (event.getBidQuantity() > 0 || event.getAskQuantity() > 0) {
+            bidPrices[0] = event.getBidPrice();
+            bidQuantities[0] = event.getBidQuantity();
+            bidOrders[0] = 0;
+            askPrices[0] = event.getAskPrice();
+            askQuantities[0] = event.getAskQuantity();
+            askOrders[0] = 0;
+            levels = 1;
+        } else {
+            return false;
+        }
+        lastUpdateTime = event.getLastTradedTime();
+        return true;
+    }
+
+    public long getInstrumentToken() {
+        return instrumentToken;
+    }
+
+    public int getLevels() {
+        return levels;
+    }
+
+    public long getLastUpdateTime() {
+        return lastUpdateTime;
+    }
+
+    public double bidPrice(int level) {
+        return bidPrices[level];
+    }
+
+    public long bidQuantity(int level) {
+        return bidQuantities[level];
+    }
+
+    public int bidOrders(int level) {
+        return bidOrders[level];
+    }
+
+    public double askPrice(int level) {
+        return askPrices[level];
+    }
+
+    public long askQuantity(int level) {
+        return askQuantities[level];
+    }
+
+    public int askOrders(int level) {
+        return askOrders[level];
+    }
+
+    /**
+     * True when both sides have a quote at the top level.
+     */
+    public boolean isTwoSided() {
+        return levels > 0 && bidQuantities[0] > 0 && askQuantities[0] > 0;
+    }
+
+    public double mid() {
+        return isTwoSided() ? (bidPrices[0] + askPrices[0]) * 0.5 : Double.NaN;
+    }
+
+    public double spread() {
+        return isTwoSided() ? askPrices[0] - bidPrices[0] : Double.NaN;
+    }
+
+    /**
+     * Top-of-book mid weighted towards the thinner side:
+     * (bid * askQty + ask * bidQty) / (bidQty + askQty). NaN unless two-sided.
+     */
+    public double microprice() {
+        if (!isTwoSided()) return Double.NaN;
+        double bidQty = bidQuantities[0];
+        double askQty = askQuantities[0];
+        return (bidPrices[0] * askQty + askPrices[0] * bidQty) / (bidQty + askQty);
+    }
+
+    /**
+     * Order-flow imbalance over the best {@code depth} levels, in [-1, 1]:
+     * (bidQty - askQty) / (bidQty + askQty). Positive means more resting bids. 0 if empty.
+     */
+    public double imbalance(int depth) {
+        int n = Math.min(depth, levels);
+        long bidQty = 0;
+        long askQty = 0;
+        for (int i = 0; i < n; i++) {
+            bidQty += bidQuantities[i];
+            askQty += askQuantities[i];
+        }
+        long total = bidQty + askQty;
+        return total == 0 ? 0.0 : (double) (bidQty - askQty) / total;
+    }
+
+    /**
+     * Mean of the bid-side and ask-side volume-weighted prices over the best
+     * {@code depth} levels. NaN if either side is empty.
+     */
+    public double depthWeightedMid(int depth) {
+        int n = Math.min(depth, levels);
+        double bidNotional = 0.0;
+        double askNotional = 0.0;
+        long bidQty = 0;
+        long askQty = 0;
+        for (int i = 0; i < n; i++) {
+            bidNotional += bidPrices[i] * bidQuantities[i];
+            bidQty += bidQuantities[i];
+            askNotional += askPrices[i] * askQuantities[i];
+            askQty += askQuantities[i];
+        }
+        if (bidQty == 0 || askQty == 0) return Double.NaN;
+        return (bidNotional / bidQty + askNotional / askQty) * 0.5;
+    }
+
+    public void clear() {
+        levels = 0;
+        lastUpdateTime = 0;
+        for (int i = 0; i < LEVELS; i++) {
+            bidPrices[i] = 0.0;
+            bidQuantities[i] = 0;
+            bidOrders[i] = 0;
+            askPrices[i] = 0.0;
+            askQuantities[i] = 0;
+            askOrders[i] = 0;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.isotope.strategy.book;
+
+import com.isotope.core.LongKeyMap;
+import com.isotope.model.MarketDataEvent;
+
+/**
+ * Per-instrument {@link L2Book}s keyed by instrument token (a {@link LongKeyMap}),
+ * for a strategy to keep depth across ticks:
+ * <pre>
+ *   L2Book book = books.update(event);
+ *   double imbalance = book.imbalance(5);
+ * </pre>
+ * A book is allocated the first time an instrument is seen; after that updates
+ * and lookups do not allocate. Single-threaded (the strategy's thread).
+ */
+public final class L2Books {
+
+    private final LongKeyMap<L2Book> books;
+
+    public L2Books() {
+        this(16);
+    }
+
+    public L2Books(int expectedInstruments) {
+        this.books = new LongKeyMap<>(expectedInstruments);
+    }
+
+    /**
+     * Applies the tick to its instrument's book (creating it on first sight) and returns the book.
+     */
+    public L2Book update(MarketDataEvent event) {
+        long token = event.getInstrumentToken();
+        L2Book book = books.get(token);
+        if (book == null) {
+            book = new L2Book(token);
+            books.put(token, book);
+        }
+        book.update(event);
+        return book;
+    }
+
+    /**
+     * Book for the instrument, or null if no tick for it has been seen.
+     */
+    public L2Book get(long instrumentToken) {
+        return books.get(instrumentToken);
+    }
+
+    public int size() {
+        return books.size();
+    }
+}
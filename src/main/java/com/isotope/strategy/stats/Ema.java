@@ -0,0 +1,39 @@
+package com.isotope.strategy.stats;
+
+/**
+ * Exponential moving average. Seeded with the first value.
+ */
+public class Ema {
+
+    private final double alpha;
+    private double value = Double.NaN;
+
+    public Ema(double alpha) {
+        if (alpha <= 0 || alpha > 1) throw new IllegalArgumentException("alpha must be in (0, 1]: " + alpha);
+        this.alpha = alpha;
+    }
+
+    /**
+     * EMA with the conventional smoothing for an N-period average: alpha = 2 / (N + 1).
+     */
+    public static Ema ofPeriod(int period) {
+        return new Ema(2.0 / (period + 1));
+    }
+
+    public double add(double x) {
+        value = Double.isNaN(value) ? x : value + alpha * (x - value);
+        return value;
+    }
+
+    public double value() {
+        return value;
+    }
+
+    public boolean isInitialized() {
+        return !Double.isNaN(value);
+    }
+
+    public void clear() {
+        value = Double.NaN;
+    }
+}
@@ -0,0 +1,105 @@
+package com.isotope.strategy.stats;
+
+/**
+ * Rolling minimum and maximum over the last N values, amortised O(1) per update.
+ *
+ * Keeps two monotonic deques of (sequence, value) in primitive ring arrays:
+ * values that can never become the min (max) again are dropped on insert.
+ */
+public class RollingMinMax {
+
+    private final int lookback;
+    private long sequence = 0; // Number of values added
+
+    private final MonotonicDeque minDeque;
+    private final MonotonicDeque maxDeque;
+
+    public RollingMinMax(int lookback) {
+        if (lookback <= 0) throw new IllegalArgumentException("lookback must be positive: " + lookback);
+        this.lookback = lookback;
+        this.minDeque = new MonotonicDeque(lookback, true);
+        this.maxDeque = new MonotonicDeque(lookback, false);
+    }
+
+    public void add(double value) {
+        long expired = sequence - lookback; // Sequences <= expired have left the window
+        minDeque.add(sequence, value, expired);
+        maxDeque.add(sequence, value, expired);
+        sequence++;
+    }
+
+    /**
+     * Minimum of the window, or NaN if empty.
+     */
+    public double min() {
+        return minDeque.front();
+    }
+
+    /**
+     * Maximum of the window, or NaN if empty.
+     */
+    public double max() {
+        return maxDeque.front();
+    }
+
+    public int size() {
+        return (int) Math.min(sequence, lookback);
+    }
+
+    public void clear() {
+        sequence = 0;
+        minDeque.clear();
+        maxDeque.clear();
+    }
+
+    private static final class MonotonicDeque {
+        private final long[] sequences;
+        private final double[] values;
+        private final boolean keepMin;
+        private int head = 0;
+        private int size = 0;
+
+        MonotonicDeque(int capacity, boolean keepMin) {
+            this.sequences = new long[capacity];
+            this.values = new double[capacity];
+            this.keepMin = keepMin;
+        }
+
+        void add(long seq, double value, long expired) {
+            // Drop expired entries from the front
+            while (size > 0 && sequences[head] <= expired) {
+                head = next(head);
+                size--;
+            }
+            // Drop entries from the back that the new value dominates
+            while (size > 0) {
+                int tail = index(size - 1);
+                boolean dominated = keepMin ? values[tail] >= value : values[tail] <= value;
+                if (!dominated) break;
+                size--;
+            }
+            int tail = index(size);
+            sequences[tail] = seq;
+            values[tail] = value;
+            size++;
+        }
+
+        double front() {
+            return size == 0 ? Double.NaN : values[head];
+        }
+
+        void clear() {
+            head = 0;
+            size = 0;
+        }
+
+        private int index(int offset) {
+            int i = head + offset;
+            return i >= values.length ? i - values.length : i;
+        }
+
+        private int next(int i) {
+            return i + 1 == values.length ? 0 : i + 1;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.isotope.strategy.stats;
+
+/**
+ * Rolling mean / variance / z-score over the last N values in O(1) per update.
+ *
+ * Uses Welford's update while filling and the matching add-and-remove update once
+ * full. Floating point error accumulates slowly in the sliding update, so the
+ * moments are recomputed exactly from the window every {@code resyncInterval}
+ * updates (amortised O(1)).
+ */
+public class RollingStats {
+
+    private static final int DEFAULT_RESYNC_WRAPS = 64;
+
+    private final RollingWindow window;
+    private final long resyncInterval;
+    private long updatesSinceResync = 0;
+
+    private double mean = 0.0;
+    private double m2 = 0.0; // Sum of squared deviations from the mean
+
+    public RollingStats(int lookback) {
+        this(lookback, (long) lookback * DEFAULT_RESYNC_WRAPS);
+    }
+
+    public RollingStats(int lookback, long resyncInterval) {
+        this.window = new RollingWindow(lookback);
+        this.resyncInterval = Math.max(1, resyncInterval);
+    }
+
+    public void add(double value) {
+        int sizeBefore = window.size();
+        double evicted = window.add(value);
+
+        if (sizeBefore < window.capacity()) {
+            int n = sizeBefore + 1;
+            double delta = value - mean;
+            mean += delta / n;
+            m2 += delta * (value - mean);
+        } else {
+            double oldMean = mean;
+            mean += (value - evicted) / sizeBefore;
+            m2 += (value - evicted) * (value - mean + evicted - oldMean);
+            if (m2 < 0) m2 = 0; // Cancellation can push a ~0 variance slightly negative
+
+            if (++updatesSinceResync >= resyncInterval) resync();
+        }
+    }
+
+    /**
+     * Recomputes mean and variance exactly (two-pass) from the window contents.
+     */
+    public void resync() {
+        int n = window.size();
+        updatesSinceResync = 0;
+        if (n == 0) {
+            mean = 0.0;
+            m2 = 0.0;
+            return;
+        }
+        double sum = 0.0;
+        for (int i = 0; i < n; i++) sum += window.get(i);
+        double exactMean = sum / n;
+        double sumSq = 0.0;
+        for (int i = 0; i < n; i++) {
+            double d = window.get(i) - exactMean;
+            sumSq += d * d;
+        }
+        mean = exactMean;
+        m2 = sumSq;
+    }
+
+    public double mean() {
+        return mean;
+    }
+
+    /**
+     * Population variance (divides by N).
+     */
+    public double variance() {
+        int n = window.size();
+        return n == 0 ? 0.0 : m2 / n;
+    }
+
+    /**
+     * Sample variance (divides by N - 1).
+     */
+    public double sampleVariance() {
+        int n = window.size();
+        return n < 2 ? 0.0 : m2 / (n - 1);
+    }
+
+    public double stdDev() {
+        return Math.sqrt(variance());
+    }
+
+    /**
+     * Z-score of a value against the window, or 0 if the deviation is below minStdDev.
+     */
+    public double zScore(double value, double minStdDev) {
+        double sd = stdDev();
+        return sd < minStdDev ? 0.0 : (value - mean) / sd;
+    }
+
+    public int size() {
+        return window.size();
+    }
+
+    public boolean isFull() {
+        return window.isFull();
+    }
+
+    public RollingWindow window() {
+        return window;
+    }
+
+    public void clear() {
+        window.clear();
+        mean = 0.0;
+        m2 = 0.0;
+        updatesSinceResync = 0;
+    }
+}
@@ -0,0 +1,66 @@
+package com.isotope.strategy.stats;
+
+/**
+ * Fixed-capacity ring buffer of primitive doubles.
+ * Once full, each add overwrites the oldest value.
+ */
+public class RollingWindow {
+
+    private final double[] values;
+    private int head = 0; // Next write position
+    private int size = 0;
+
+    public RollingWindow(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        this.values = new double[capacity];
+    }
+
+    /**
+     * Adds a value and returns the one it evicted, or NaN if the window was not yet full.
+     */
+    public double add(double value) {
+        double evicted = Double.NaN;
+        if (size == values.length) {
+            evicted = values[head];
+        } else {
+            size++;
+        }
+        values[head] = value;
+        head = (head + 1 == values.length) ? 0 : head + 1;
+        return evicted;
+    }
+
+    /**
+     * Returns the i-th value, 0 being the oldest.
+     */
+    public double get(int i) {
+        if (i < 0 || i >= size) throw new IndexOutOfBoundsException(i);
+        int index = head - size + i;
+        return values[index < 0 ? index + values.length : index];
+    }
+
+    public double oldest() {
+        return get(0);
+    }
+
+    public double newest() {
+        return get(size - 1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return values.length;
+    }
+
+    public boolean isFull() {
+        return size == values.length;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+}
@@ -0,0 +1,66 @@
+package com.isotope.tickstore;
+
+import com.isotope.model.InstrumentTokens;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Converts the CSV layout consumed by CsvMarketDataProducer
+ * (timestamp,symbol,open,high,low,close,volume) into a binary tick file.
+ *
+ * Usage: CsvTickFileConverter &lt;input.csv&gt; &lt;output.ticks&gt;
+ */
+@Slf4j
+public class CsvTickFileConverter {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: CsvTickFileConverter <input.csv> <output.ticks>");
+            System.exit(1);
+        }
+        long rows = convert(Path.of(args[0]), Path.of(args[1]));
+        log.info("Converted {} rows from {} to {}", rows, args[0], args[1]);
+    }
+
+    /**
+     * Converts a CSV file and returns the number of records written.
+     * Malformed lines are skipped, matching the CSV producer.
+     */
+    public static long convert(Path csvFile, Path tickFile) throws IOException {
+        ZoneId zone = ZoneId.systemDefault();
+        try (BufferedReader br = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8);
+             TickFileWriter writer = new TickFileWriter(tickFile)) {
+            String line;
+            boolean firstLine = true;
+
+            while ((line = br.readLine()) != null) {
+                if (firstLine) {
+                    firstLine = false;
+                    if (line.toLowerCase().startsWith("timestamp")) continue;
+                }
+
+                String[] parts = line.split(",");
+                if (parts.length < 7) continue;
+
+                try {
+                    long time = LocalDateTime.parse(parts[0]).atZone(zone).toInstant().toEpochMilli();
+                    long token = InstrumentTokens.forSymbol(parts[1]);
+                    double close = Double.parseDouble(parts[5]);
+                    long volume = Long.parseLong(parts[6]);
+
+                    writer.append(token, time, close, volume, 0.0, 0.0, 0, 0);
+                } catch (RuntimeException e) {
+                    log.warn("Skipping malformed CSV line: {}", line);
+                }
+            }
+            return writer.getRecordCount();
+        }
+    }
+}
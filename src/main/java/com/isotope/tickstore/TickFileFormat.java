@@ -0,0 +1,88 @@
+package com.isotope.tickstore;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Fixed-width binary tick file layout.
+ *
+ * <pre>
+ * Header (32 bytes):
+ *   0  int   magic ("ISOT")
+ *   4  int   version
+ *   8  int   record size
+ *   12 int   reserved
+ *   16 long  record count
+ *   24 long  reserved
+ *
+ * Record (64 bytes, one cache line):
+ *   0  long   instrument token
+ *   8  long   last traded time (epoch millis)
+ *   16 double last traded price
+ *   24 long   volume
+ *   32 double bid price
+ *   40 double ask price
+ *   48 long   bid quantity
+ *   56 long   ask quantity
+ * </pre>
+ *
+ * All values are little-endian.
+ */
+public final class TickFileFormat {
+
+    public static final int MAGIC = 0x544F5349; // "ISOT" read little-endian
+    public static final int VERSION = 1;
+    public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    public static final int HEADER_SIZE = 32;
+    public static final int RECORD_SIZE = 64;
+
+    // Header offsets
+    public static final int HEADER_MAGIC = 0;
+    public static final int HEADER_VERSION = 4;
+    public static final int HEADER_RECORD_SIZE = 8;
+    public static final int HEADER_RECORD_COUNT = 16;
+
+    // Record offsets
+    public static final int TOKEN = 0;
+    public static final int TIME = 8;
+    public static final int PRICE = 16;
+    public static final int VOLUME = 24;
+    public static final int BID_PRICE = 32;
+    public static final int ASK_PRICE = 40;
+    public static final int BID_QUANTITY = 48;
+    public static final int ASK_QUANTITY = 56;
+
+    private TickFileFormat() {
+    }
+
+    public static void writeHeader(ByteBuffer buffer, long recordCount) {
+        buffer.order(BYTE_ORDER);
+        buffer.putInt(HEADER_MAGIC, MAGIC);
+        buffer.putInt(HEADER_VERSION, VERSION);
+        buffer.putInt(HEADER_RECORD_SIZE, RECORD_SIZE);
+        buffer.putInt(12, 0);
+        buffer.putLong(HEADER_RECORD_COUNT, recordCount);
+        buffer.putLong(24, 0L);
+    }
+
+    /**
+     * Validates the header and returns the number of records it declares.
+     */
+    public static long readHeader(ByteBuffer buffer) throws IOException {
+        buffer.order(BYTE_ORDER);
+        if (buffer.getInt(HEADER_MAGIC) != MAGIC) {
+            throw new IOException("Not an Isotope tick file (bad magic)");
+        }
+        int version = buffer.getInt(HEADER_VERSION);
+        if (version != VERSION) {
+            throw new IOException("Unsupported tick file version: " + version);
+        }
+        int recordSize = buffer.getInt(HEADER_RECORD_SIZE);
+        if (recordSize != RECORD_SIZE) {
+            throw new IOException("Unexpected record size: " + recordSize);
+        }
+        return buffer.getLong(HEADER_RECORD_COUNT);
+    }
+}
@@ -0,0 +1,97 @@
+package com.isotope.tickstore;
+
+import com.isotope.model.MarketDataEvent;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends fixed-width tick records to a binary tick file.
+ * Records are staged in a direct buffer and flushed in large blocks;
+ * the header record count is written on {@link #close()}.
+ */
+public class TickFileWriter implements Closeable {
+
+    private static final int BLOCK_RECORDS = 4096;
+
+    private final FileChannel channel;
+    private final ByteBuffer block;
+    private long recordCount = 0;
+
+    public TickFileWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.block = ByteBuffer.allocateDirect(BLOCK_RECORDS * TickFileFormat.RECORD_SIZE)
+                .order(TickFileFormat.BYTE_ORDER);
+
+        // Placeholder header, rewritten with the final count on close
+        ByteBuffer header = ByteBuffer.allocate(TickFileFormat.HEADER_SIZE);
+        TickFileFormat.writeHeader(header, 0);
+        writeFully(header, 0);
+    }
+
+    public void append(long token, long time, double price, long volume,
+                       double bidPrice, double askPrice, long bidQuantity, long askQuantity) throws IOException {
+        if (!block.hasRemaining()) {
+            flushBlock();
+        }
+        int base = block.position();
+        block.putLong(base + TickFileFormat.TOKEN, token);
+        block.putLong(base + TickFileFormat.TIME, time);
+        block.putDouble(base + TickFileFormat.PRICE, price);
+        block.putLong(base + TickFileFormat.VOLUME, volume);
+        block.putDouble(base + TickFileFormat.BID_PRICE, bidPrice);
+        block.putDouble(base + TickFileFormat.ASK_PRICE, askPrice);
+        block.putLong(base + TickFileFormat.BID_QUANTITY, bidQuantity);
+        block.putLong(base + TickFileFormat.ASK_QUANTITY, askQuantity);
+        block.position(base + TickFileFormat.RECORD_SIZE);
+        recordCount++;
+    }
+
+    public void append(MarketDataEvent event) throws IOException {
+        append(event.getInstrumentToken(), event.getLastTradedTime(), event.getLastTradedPrice(), event.getVolume(),
+                event.getBidPrice(), event.getAskPrice(), event.getBidQuantity(), event.getAskQuantity());
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Writes staged records and the current record count to disk.
+     */
+    public void flush() throws IOException {
+        flushBlock();
+        ByteBuffer header = ByteBuffer.allocate(TickFileFormat.HEADER_SIZE);
+        TickFileFormat.writeHeader(header, recordCount);
+        writeFully(header, 0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        if (block.position() == 0) return;
+        block.flip();
+        long offset = TickFileFormat.HEADER_SIZE + (recordCount - block.remaining() / TickFileFormat.RECORD_SIZE)
+                * (long) TickFileFormat.RECORD_SIZE;
+        writeFully(block, offset);
+        block.clear();
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.lmax.disruptor.RingBuffer;
 import org.junit.jupiter.api.Test;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
@@ -14,8 +15,10 @@ public class CsvMarketDataProducerTest {
     public void testCsvProducerPublishesEvents() throws Exception {
         // Mock RingBuffer
         RingBuffer<MarketDataEvent> ringBuffer = mock(RingBuffer.class);
-        when(ringBuffer.next()).thenReturn(0L);
-        when(ringBuffer.get(0L)).thenReturn(new MarketDataEvent());
+        AtomicLong cursor = new AtomicLong(-1);
+        when(ringBuffer.getBufferSize()).thenReturn(16);
+        when(ringBuffer.next(anyInt())).thenAnswer(invocation -> cursor.addAndGet(invocation.<Integer>getArgument(0)));
+        when(ringBuffer.get(anyLong())).thenReturn(new MarketDataEvent());
 
         // Create Producer
         CsvMarketDataProducer producer = new CsvMarketDataProducer("market_data.csv", "MAX");
@@ -27,11 +30,11 @@ public class CsvMarketDataProducerTest {
 
         CountDownLatch latch = new CountDownLatch(1);
 
-        // Mock publish to count down
+        // Mock the batch publish to count down
         doAnswer(invocation -> {
             latch.countDown();
             return null;
-        }).when(ringBuffer).publish(anyLong());
+        }).when(ringBuffer).publish(anyLong(), anyLong());
 
         producer.startPublishing(ringBuffer);
 
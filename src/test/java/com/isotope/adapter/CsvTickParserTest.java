@@ -0,0 +1,88 @@
+package com.isotope.adapter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvTickParserTest {
+
+    private final CsvTickParser parser = new CsvTickParser(ZoneId.systemDefault());
+
+    @Test
+    void testMatchesStringParsingForSampleData() throws Exception {
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(
+                new ClassPathResource("market_data.csv").getInputStream(), StandardCharsets.US_ASCII))) {
+            String line = br.readLine();
+            byte[] header = line.getBytes(StandardCharsets.US_ASCII);
+            assertTrue(parser.isHeader(header, 0, header.length));
+
+            while ((line = br.readLine()) != null) {
+                byte[] bytes = line.getBytes(StandardCharsets.US_ASCII);
+                assertTrue(parser.parseLine(bytes, 0, bytes.length), line);
+
+                String[] parts = line.split(",");
+                long expectedTime = LocalDateTime.parse(parts[0])
+                        .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                assertEquals(expectedTime, parser.getTimestamp(), line);
+                assertEquals(Double.parseDouble(parts[5]), parser.getClose(), 0.0, line);
+                assertEquals(Long.parseLong(parts[6]), parser.getVolume(), line);
+            }
+        }
+    }
+
+    @Test
+    void testZoneTransitionsMatchJavaTime() {
+        CsvTickParser nyParser = new CsvTickParser(ZoneId.of("America/New_York"));
+        String[] times = {"2024-03-09T12:00:00", "2024-03-10T12:00:00", "2024-11-02T12:00:00.250", "2024-11-04T08:30"};
+        for (String time : times) {
+            byte[] bytes = time.getBytes(StandardCharsets.US_ASCII);
+            long expected = LocalDateTime.parse(time).atZone(ZoneId.of("America/New_York")).toInstant().toEpochMilli();
+            assertEquals(expected, nyParser.parseTimestamp(bytes, 0, bytes.length), time);
+        }
+    }
+
+    @Test
+    void testSymbolTokens() {
+        assertEquals(256265, token("nifty"));
+        assertEquals(260105, token("BANKNIFTY"));
+        assertEquals("RELIANCE".hashCode(), token("RELIANCE"));
+    }
+
+    @Test
+    void testNumberParsing() {
+        String[] doubles = {"0", "-1.5", "26128.69921875", "0.0085", "1e3", "123456789012345678901.5", ".5"};
+        for (String d : doubles) {
+            byte[] bytes = d.getBytes(StandardCharsets.US_ASCII);
+            assertEquals(Double.parseDouble(d), CsvTickParser.parseDouble(bytes, 0, bytes.length), 0.0, d);
+        }
+        byte[] volume = "1234567".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(1234567L, CsvTickParser.parseLong(volume, 0, volume.length));
+    }
+
+    @Test
+    void testShortAndMalformedLines() {
+        byte[] shortLine = "2025-11-20T03:45:00,NIFTY,1,2,3".getBytes(StandardCharsets.US_ASCII);
+        assertFalse(parser.parseLine(shortLine, 0, shortLine.length));
+
+        byte[] trailingEmpty = "2025-11-20T03:45:00,NIFTY,1,2,3,4,".getBytes(StandardCharsets.US_ASCII);
+        assertFalse(parser.parseLine(trailingEmpty, 0, trailingEmpty.length));
+
+        byte[] badVolume = "2025-11-20T03:45:00,NIFTY,1,2,3,4,5.5".getBytes(StandardCharsets.US_ASCII);
+        assertThrows(NumberFormatException.class, () -> parser.parseLine(badVolume, 0, badVolume.length));
+
+        byte[] badTime = "2025-02-30T03:45:00,NIFTY,1,2,3,4,5".getBytes(StandardCharsets.US_ASCII);
+        assertThrows(NumberFormatException.class, () -> parser.parseLine(badTime, 0, badTime.length));
+    }
+
+    private long token(String symbol) {
+        byte[] bytes = symbol.getBytes(StandardCharsets.US_ASCII);
+        return parser.parseToken(bytes, 0, bytes.length);
+    }
+}
@@ -0,0 +1,184 @@
+package com.isotope.adapter;
+
+import com.isotope.model.InstrumentTokens;
+import com.isotope.model.MarketDataEvent;
+import com.isotope.model.MarketDataEventFactory;
+import com.lmax.disruptor.RingBuffer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KiteTickDecoderTest {
+
+    private final RingBuffer<MarketDataEvent> ringBuffer = RingBuffer.createSingleProducer(new MarketDataEventFactory(), 16);
+
+    private static ByteBuffer ltpPacket(long token, int lastPaise) {
+        return ByteBuffer.allocate(KiteTickDecoder.LTP_PACKET).putInt((int) token).putInt(lastPaise).flip();
+    }
+
+    private static ByteBuffer quotePacket(long token, int lastPaise, int volume) {
+        ByteBuffer packet = ByteBuffer.allocate(KiteTickDecoder.QUOTE_PACKET);
+        packet.putInt(0, (int) token).putInt(4, lastPaise).putInt(8, 75).putInt(16, volume);
+        return packet;
+    }
+
+    private static ByteBuffer fullPacket(long token, int lastPaise, int volume, int lastTradeSeconds,
+                                         int bidQty, int bidPaise, int askQty, int askPaise) {
+        ByteBuffer packet = ByteBuffer.allocate(KiteTickDecoder.FULL_PACKET);
+        packet.putInt(0, (int) token).putInt(4, lastPaise).putInt(16, volume)
+                .putInt(44, lastTradeSeconds).putInt(60, lastTradeSeconds + 1);
+        int bid = KiteTickDecoder.DEPTH_OFFSET;
+        int ask = bid + KiteTickDecoder.DEPTH_LEVELS * KiteTickDecoder.DEPTH_ENTRY_SIZE;
+        packet.putInt(bid, bidQty).putInt(bid + 4, bidPaise).putShort(bid + 8, (short) 3);
+        packet.putInt(ask, askQty).putInt(ask + 4, askPaise).putShort(ask + 8, (short) 2);
+        return packet;
+    }
+
+    private static ByteBuffer frame(ByteBuffer... packets) {
+        int size = 2;
+        for (ByteBuffer p : packets) size += 2 + p.capacity();
+        ByteBuffer frame = ByteBuffer.allocate(size).putShort((short) packets.length);
+        for (ByteBuffer p : packets) {
+            frame.putShort((short) p.capacity());
+            frame.put(p.clear());
+        }
+        return frame.flip();
+    }
+
+    @Test
+    void testDecodesLtpQuoteAndFullPackets() {
+        ByteBuffer frame = frame(
+                ltpPacket(InstrumentTokens.NIFTY, 2_610_950),
+                quotePacket(InstrumentTokens.BANKNIFTY, 5_924_260, 1_000),
+                fullPacket(408065, 150_025, 123_456, 1_700_000_000, 250, 150_000, 100, 150_050),
+                ByteBuffer.allocate(20)); // Unknown packet length: skipped
+
+        int published = KiteTickDecoder.publish(frame, ringBuffer, 42L);
+
+        assertEquals(3, published);
+        assertEquals(0, frame.position()); // Frame left untouched
+
+        MarketDataEvent ltp = ringBuffer.get(0);
+        assertEquals(InstrumentTokens.NIFTY, ltp.getInstrumentToken());
+        assertEquals(26109.50, ltp.getLastTradedPrice(), 1e-9);
+        assertEquals(42L, ltp.getLastTradedTime()); // No timestamp in LTP mode: receive time
+
+        MarketDataEvent quote = ringBuffer.get(1);
+        assertEquals(InstrumentTokens.BANKNIFTY, quote.getInstrumentToken());
+        assertEquals(59242.60, quote.getLastTradedPrice(), 1e-9);
+        assertEquals(1_000, quote.getVolume());
+
+        MarketDataEvent full = ringBuffer.get(2);
+        assertEquals(408065, full.getInstrumentToken());
+        assertEquals(1500.25, full.getLastTradedPrice(), 1e-9);
+        assertEquals(123_456, full.getVolume());
+        assertEquals(1_700_000_000_000L, full.getLastTradedTime());
+        assertEquals(1500.00, full.getBidPrice(), 1e-9);
+        assertEquals(250, full.getBidQuantity());
+        assertEquals(1500.50, full.getAskPrice(), 1e-9);
+        assertEquals(100, full.getAskQuantity());
+        assertTrue(full.getPublishNanos() != 0);
+    }
+
+    @Test
+    void testDecodesFiveLevelDepthAndClearsItOnQuotes() {
+        ByteBuffer full = fullPacket(408065, 150_025, 1, 1_700_000_000, 250, 150_000, 100, 150_050);
+        int bid = KiteTickDecoder.DEPTH_OFFSET;
+        int ask = bid + KiteTickDecoder.DEPTH_LEVELS * KiteTickDecoder.DEPTH_ENTRY_SIZE;
+        for (int level = 1; level < KiteTickDecoder.DEPTH_LEVELS; level++) {
+            int offset = level * KiteTickDecoder.DEPTH_ENTRY_SIZE;
+            full.putInt(bid + offset, 250 + level).putInt(bid + offset + 4, 150_000 - 5 * level)
+                    .putShort(bid + offset + 8, (short) (3 + level));
+            full.putInt(ask + offset, 100 + level).putInt(ask + offset + 4, 150_050 + 5 * level)
+                    .putShort(ask + offset + 8, (short) 40_000); // Order counts are unsigned
+        }
+
+        KiteTickDecoder.publish(frame(full, quotePacket(408065, 150_030, 2)), ringBuffer, 0L);
+
+        MarketDataEvent event = ringBuffer.get(0);
+        assertEquals(MarketDataEvent.DEPTH_LEVELS, event.getDepthLevels());
+        assertEquals(1500.00, event.getBidPrices()[0], 1e-9);
+        assertEquals(3, event.getBidOrders()[0]);
+        assertEquals(1499.80, event.getBidPrices()[4], 1e-9);
+        assertEquals(254, event.getBidQuantities()[4]);
+        assertEquals(7, event.getBidOrders()[4]);
+        assertEquals(1500.70, event.getAskPrices()[4], 1e-9);
+        assertEquals(104, event.getAskQuantities()[4]);
+        assertEquals(40_000, event.getAskOrders()[4]);
+
+        // Quote packets carry no depth: the reused slot must not keep stale levels
+        ringBuffer.get(1).setDepthLevels(3);
+        ringBuffer.get(1).getBidPrices()[0] = 1.0;
+        KiteTickDecoder.decode(quotePacket(408065, 150_030, 2), 0, KiteTickDecoder.QUOTE_PACKET, ringBuffer.get(1), 0L);
+        assertEquals(0, ringBuffer.get(1).getDepthLevels());
+        assertEquals(0.0, ringBuffer.get(1).getBidPrices()[0]);
+        assertEquals(0, ringBuffer.get(1).getBidQuantity());
+    }
+
+    @Test
+    void testFrameIsClaimedInBatchesOfAtMostMaxBatch() {
+        ByteBuffer frame = frame(
+                ltpPacket(InstrumentTokens.NIFTY, 100),
+                ByteBuffer.allocate(20), // Skipped: must not take a slot
+                ltpPacket(InstrumentTokens.BANKNIFTY, 200),
+                ltpPacket(408065, 300));
+
+        assertEquals(3, KiteTickDecoder.publish(frame, ringBuffer, 0L, 2));
+
+        assertEquals(2, ringBuffer.getCursor()); // Exactly one slot per tick
+        assertEquals(InstrumentTokens.NIFTY, ringBuffer.get(0).getInstrumentToken());
+        assertEquals(InstrumentTokens.BANKNIFTY, ringBuffer.get(1).getInstrumentToken());
+        assertEquals(408065, ringBuffer.get(2).getInstrumentToken());
+        assertEquals(3.00, ringBuffer.get(2).getLastTradedPrice(), 1e-9);
+    }
+
+    @Test
+    void testCurrencyPricesAndHeartbeat() {
+        long cdsToken = (1234L << 8) | 3;
+        assertEquals(1, KiteTickDecoder.publish(frame(ltpPacket(cdsToken, 832_512_500)), ringBuffer, 0L));
+        assertEquals(83.25125, ringBuffer.get(0).getLastTradedPrice(), 1e-9);
+
+        assertEquals(0, KiteTickDecoder.publish(ByteBuffer.wrap(new byte[]{0}), ringBuffer, 0L));
+    }
+
+    @Test
+    void testTruncatedFrameStopsAtLastCompletePacket() {
+        ByteBuffer frame = frame(ltpPacket(InstrumentTokens.NIFTY, 100), quotePacket(InstrumentTokens.BANKNIFTY, 200, 1));
+        frame.limit(frame.limit() - 5);
+
+        assertEquals(1, KiteTickDecoder.publish(frame, ringBuffer, 0L));
+    }
+
+    @Test
+    void testReplaysRecordedFrames(@TempDir Path dir) throws Exception {
+        Path recording = dir.resolve("session.frames");
+        try (KiteFrameWriter writer = new KiteFrameWriter(recording)) {
+            writer.append(1_000L, frame(ltpPacket(InstrumentTokens.NIFTY, 2_610_950)));
+            writer.append(1_001L, ByteBuffer.wrap(new byte[]{0})); // Heartbeat
+            writer.append(1_002L, frame(ltpPacket(InstrumentTokens.BANKNIFTY, 5_924_260),
+                    ltpPacket(InstrumentTokens.NIFTY, 2_611_000)));
+        }
+
+        long ticks = new KiteFrameReplayProducer(recording.toString(), "MAX").replay(recording, ringBuffer);
+
+        assertEquals(3, ticks);
+        assertEquals(2, ringBuffer.getCursor());
+        assertEquals(1_000L, ringBuffer.get(0).getLastTradedTime());
+        assertEquals(59242.60, ringBuffer.get(1).getLastTradedPrice(), 1e-9);
+        assertEquals(26110.00, ringBuffer.get(2).getLastTradedPrice(), 1e-9);
+    }
+
+    @Test
+    void testRejectsForeignFile(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("not-frames.bin");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+        assertThrows(IOException.class, () -> new KiteFrameReplayProducer(file.toString(), "MAX").replay(file, ringBuffer));
+    }
+}
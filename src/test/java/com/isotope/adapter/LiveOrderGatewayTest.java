@@ -0,0 +1,262 @@
+package com.isotope.adapter;
+
+import com.isotope.model.OrderEvent;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiveOrderGatewayTest {
+
+    // Stub of the Kite order placement endpoint: answers after a delay, rejects the symbol BAD
+    private HttpServer server;
+    private final ExecutorService serverExecutor = Executors.newCachedThreadPool();
+    private final List<String> bodies = new CopyOnWriteArrayList<>();
+    private final List<Long> arrivals = new CopyOnWriteArrayList<>();
+    private final AtomicInteger orderIds = new AtomicInteger();
+    private volatile String authorization;
+    private volatile String kiteVersion;
+    private volatile long delayMillis;
+
+    private final List<LiveOrderGateway.OrderAck> acks = new CopyOnWriteArrayList<>();
+    private CountDownLatch acked;
+    private long sequence;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/orders/regular", this::handle);
+        server.setExecutor(serverExecutor);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        arrivals.add(System.nanoTime());
+        authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        kiteVersion = exchange.getRequestHeaders().getFirst("X-Kite-Version");
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        bodies.add(body);
+        try {
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int status = 200;
+        String response = "{\"status\":\"success\",\"data\":{\"order_id\":\"2511" + orderIds.incrementAndGet() + "\"}}";
+        if (body.contains("tradingsymbol=BAD")) {
+            status = 400;
+            response = "{\"status\":\"error\",\"message\":\"Invalid \\\"tradingsymbol\\\"\",\"error_type\":\"InputException\"}";
+        }
+        byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private LiveOrderGateway gateway(double ratePerSecond, int burst, int maxInFlight, int expectedAcks) {
+        acked = new CountDownLatch(expectedAcks);
+        LiveOrderGateway.Settings settings = new LiveOrderGateway.Settings(
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/", "key", "secret", "NFO", "NRML", "MARKET",
+                Map.of("NIFTY", "NIFTY25NOVFUT"), ratePerSecond, burst, 5_000, maxInFlight);
+        return new LiveOrderGateway(settings, ack -> {
+            acks.add(ack);
+            acked.countDown();
+        });
+    }
+
+    private void submit(LiveOrderGateway gateway, String symbol, OrderEvent.Type type, boolean executed) {
+        OrderEvent event = new OrderEvent();
+        event.setTradingSymbol(symbol);
+        event.setStrategyId("pairs");
+        event.setType(type);
+        event.setQuantity(75);
+        event.setPrice(24_000.5);
+        event.setExecuted(executed);
+        gateway.onEvent(event, sequence++, true);
+    }
+
+    @Test
+    void testSlowRoundTripsOverlap() throws Exception {
+        delayMillis = 300;
+        LiveOrderGateway gateway = gateway(1_000, 8, 100, 8);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 8; i++) {
+            submit(gateway, i == 0 ? "NIFTY" : "SYMBOL" + i, i % 2 == 0 ? OrderEvent.Type.BUY : OrderEvent.Type.SELL, true);
+        }
+        long submitNanos = System.nanoTime() - start;
+        assertEquals(8, gateway.getInFlight().size());
+        assertTrue(submitNanos < TimeUnit.MILLISECONDS.toNanos(300), "Submission waited for a round trip");
+
+        assertTrue(acked.await(5, TimeUnit.SECONDS));
+        long elapsed = System.nanoTime() - start;
+        assertTrue(elapsed < TimeUnit.MILLISECONDS.toNanos(1_500), "Orders were placed one after another: " + elapsed);
+        assertTrue(gateway.getInFlight().isEmpty());
+
+        assertEquals(8, acks.size());
+        assertTrue(acks.stream().allMatch(ack -> ack.status() == LiveOrderGateway.Status.PLACED));
+        assertEquals(8, acks.stream().map(LiveOrderGateway.OrderAck::brokerOrderId).distinct().count());
+        assertEquals("token key:secret", authorization);
+        assertEquals("3", kiteVersion);
+        assertTrue(bodies.contains("tradingsymbol=NIFTY25NOVFUT&exchange=NFO&transaction_type=BUY&order_type=MARKET"
+                + "&quantity=75&product=NRML&validity=DAY&tag=iso1"), bodies.toString());
+        assertEquals(8L, gateway.snapshot().get("placed"));
+        gateway.onShutdown();
+    }
+
+    @Test
+    void testOrdersOfOneSymbolArriveInRingOrder() throws Exception {
+        delayMillis = 100;
+        LiveOrderGateway gateway = gateway(1_000, 8, 100, 4);
+
+        submit(gateway, "NIFTY", OrderEvent.Type.BUY, true);
+        submit(gateway, "NIFTY", OrderEvent.Type.SELL, true); // Exit: must not overtake the entry
+        submit(gateway, "NIFTY", OrderEvent.Type.BUY, true);
+        submit(gateway, "BANKNIFTY", OrderEvent.Type.BUY, true);
+        assertTrue(acked.await(5, TimeUnit.SECONDS));
+
+        List<String> nifty = bodies.stream().filter(body -> body.contains("NIFTY25NOVFUT")).toList();
+        assertEquals(3, nifty.size());
+        for (int i = 0; i < 3; i++) assertTrue(nifty.get(i).endsWith("&tag=iso" + (i + 1)), nifty.toString());
+        // The other symbol went out alongside the first NIFTY order, not after the three
+        assertTrue(bodies.indexOf(bodies.stream().filter(body -> body.contains("BANKNIFTY")).findFirst().orElseThrow()) < 2,
+                bodies.toString());
+        gateway.onShutdown();
+    }
+
+    @Test
+    void testRateLimitSpacesRequests() throws Exception {
+        delayMillis = 0;
+        LiveOrderGateway gateway = gateway(20, 2, 100, 6); // Two at once, then one every 50 ms
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 6; i++) submit(gateway, "NIFTY", OrderEvent.Type.BUY, true);
+        assertTrue(acked.await(5, TimeUnit.SECONDS));
+
+        List<Long> sorted = arrivals.stream().sorted().toList();
+        assertEquals(6, sorted.size());
+        assertTrue(sorted.get(5) - start >= TimeUnit.MILLISECONDS.toNanos(190), "Rate limit not applied");
+        assertTrue(sorted.get(1) - start < TimeUnit.MILLISECONDS.toNanos(150), "Burst was not immediate");
+        gateway.onShutdown();
+    }
+
+    @Test
+    void testQueuedPlacementsTakeTheirSlotWhenTheyStart() throws Exception {
+        delayMillis = 300;
+        LiveOrderGateway gateway = gateway(10, 1, 100, 5); // One request every 100 ms
+        // Start the HTTP client first, so its startup does not delay the first measured request
+        submit(gateway, "WARM", OrderEvent.Type.BUY, true);
+        while (acks.isEmpty()) Thread.sleep(10);
+        Thread.sleep(100); // Refill the bucket
+        arrivals.clear();
+
+        submit(gateway, "NIFTY", OrderEvent.Type.BUY, true);
+        submit(gateway, "NIFTY", OrderEvent.Type.SELL, true); // Waits for the first NIFTY round trip
+        submit(gateway, "BANKNIFTY", OrderEvent.Type.BUY, true);
+        submit(gateway, "FINNIFTY", OrderEvent.Type.BUY, true);
+        assertTrue(acked.await(5, TimeUnit.SECONDS));
+
+        List<Long> sorted = arrivals.stream().sorted().toList();
+        assertEquals(4, sorted.size());
+        for (int i = 1; i < sorted.size(); i++) {
+            assertTrue(sorted.get(i) - sorted.get(i - 1) >= TimeUnit.MILLISECONDS.toNanos(90),
+                    "Rate limit exceeded between requests " + (i - 1) + " and " + i);
+        }
+        gateway.onShutdown();
+    }
+
+    @Test
+    void testRejectionsAndSkippedOrders() throws Exception {
+        delayMillis = 0;
+        LiveOrderGateway gateway = gateway(1_000, 10, 100, 1);
+
+        submit(gateway, "NIFTY", OrderEvent.Type.BUY, false); // Not filled by the paper book
+        submit(gateway, "NIFTY", OrderEvent.Type.CANCEL, true);
+        submit(gateway, "BAD", OrderEvent.Type.SELL, true);
+        assertTrue(acked.await(5, TimeUnit.SECONDS));
+
+        LiveOrderGateway.OrderAck ack = acks.get(0);
+        assertEquals(LiveOrderGateway.Status.REJECTED, ack.status());
+        assertEquals(1, ack.clientOrderId());
+        assertEquals("BAD", ack.symbol());
+        assertNull(ack.brokerOrderId());
+        assertEquals("Invalid \"tradingsymbol\"", ack.message());
+        assertEquals(1, bodies.size());
+        assertEquals(1L, gateway.snapshot().get("submitted"));
+        assertEquals(1L, gateway.snapshot().get("rejected"));
+        gateway.onShutdown();
+    }
+
+    @Test
+    void testNettedOrdersSendOnlyTheGroupLead() throws Exception {
+        delayMillis = 0;
+        LiveOrderGateway gateway = gateway(1_000, 10, 100, 1);
+
+        OrderEvent crossed = new OrderEvent();
+        crossed.setTradingSymbol("NIFTY");
+        crossed.setType(OrderEvent.Type.BUY);
+        crossed.setQuantity(75);
+        crossed.setExecuted(true);
+        crossed.setNetted(true);
+        crossed.setCrossedQuantity(75);
+        gateway.onEvent(crossed, sequence++, false);
+        OrderEvent lead = new OrderEvent();
+        lead.setTradingSymbol("NIFTY");
+        lead.setType(OrderEvent.Type.SELL);
+        lead.setQuantity(100);
+        lead.setExecuted(true);
+        lead.setNetted(true);
+        lead.setCrossedQuantity(75);
+        lead.setMarketQuantity(25);
+        gateway.onEvent(lead, sequence++, true);
+        assertTrue(acked.await(5, TimeUnit.SECONDS));
+
+        assertEquals(1, bodies.size());
+        assertTrue(bodies.get(0).contains("transaction_type=SELL&order_type=MARKET&quantity=25&"), bodies.get(0));
+        assertEquals(25, acks.get(0).quantity());
+        gateway.onShutdown();
+    }
+
+    @Test
+    void testOrdersBeyondMaxInFlightFailImmediately() throws Exception {
+        delayMillis = 300;
+        LiveOrderGateway gateway = gateway(1_000, 10, 1, 2);
+
+        submit(gateway, "NIFTY", OrderEvent.Type.BUY, true);
+        submit(gateway, "NIFTY", OrderEvent.Type.SELL, true);
+        assertEquals(1, acks.size()); // Acknowledged on the calling thread
+        assertEquals(LiveOrderGateway.Status.FAILED, acks.get(0).status());
+        assertEquals(2, acks.get(0).clientOrderId());
+        assertEquals(Set.of(1L), gateway.getInFlight().keySet());
+
+        gateway.onShutdown(); // Waits for the order in flight
+        assertEquals(2, acks.size());
+        assertEquals(LiveOrderGateway.Status.PLACED, acks.get(1).status());
+        assertTrue(gateway.getInFlight().isEmpty());
+    }
+}
@@ -0,0 +1,80 @@
+package com.isotope.adapter;
+
+import com.isotope.model.MarketDataEvent;
+import com.isotope.tickstore.CsvTickFileConverter;
+import com.lmax.disruptor.RingBuffer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MappedTickProducerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testConvertedCsvReplaysThroughRingBuffer() throws Exception {
+        Path csv = tempDir.resolve("ticks.csv");
+        Files.writeString(csv, """
+                timestamp,symbol,open,high,low,close,volume
+                2025-11-20T03:45:00,NIFTY,26128.7,26128.7,26096.6,26109.5,10
+                2025-11-20T03:45:00,BANKNIFTY,59308.2,59320.25,59203.9,59242.6,20
+                bad,line
+                """);
+        Path ticks = tempDir.resolve("ticks.bin");
+
+        long rows = CsvTickFileConverter.convert(csv, ticks);
+        assertEquals(2, rows);
+
+        // Mock RingBuffer with a fresh slot per sequence
+        List<MarketDataEvent> slots = new ArrayList<>();
+        slots.add(new MarketDataEvent());
+        slots.add(new MarketDataEvent());
+        RingBuffer<MarketDataEvent> ringBuffer = mock(RingBuffer.class);
+        when(ringBuffer.getBufferSize()).thenReturn(16);
+        when(ringBuffer.next(anyInt())).thenAnswer(invocation -> invocation.<Integer>getArgument(0) - 1L);
+        when(ringBuffer.get(0L)).thenReturn(slots.get(0));
+        when(ringBuffer.get(1L)).thenReturn(slots.get(1));
+
+        // Both records share a timestamp, so they are claimed and published together
+        CountDownLatch latch = new CountDownLatch(2);
+        doAnswer(invocation -> {
+            long lo = invocation.getArgument(0);
+            long hi = invocation.getArgument(1);
+            for (long sequence = lo; sequence <= hi; sequence++) latch.countDown();
+            return null;
+        }).when(ringBuffer).publish(anyLong(), anyLong());
+
+        MappedTickProducer producer = new MappedTickProducer(ticks.toString(), "MAX");
+        producer.startPublishing(ringBuffer);
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS), "Should have published both records");
+        producer.stop();
+        verify(ringBuffer).next(2);
+
+        long expectedTime = LocalDateTime.parse("2025-11-20T03:45:00")
+                .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        MarketDataEvent nifty = slots.get(0);
+        assertEquals(256265, nifty.getInstrumentToken());
+        assertEquals(26109.5, nifty.getLastTradedPrice(), 1e-9);
+        assertEquals(10, nifty.getVolume());
+        assertEquals(expectedTime, nifty.getLastTradedTime());
+
+        MarketDataEvent bankNifty = slots.get(1);
+        assertEquals(260105, bankNifty.getInstrumentToken());
+        assertEquals(59242.6, bankNifty.getLastTradedPrice(), 1e-9);
+        assertEquals(20, bankNifty.getVolume());
+    }
+}
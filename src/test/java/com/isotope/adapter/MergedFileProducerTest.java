@@ -0,0 +1,121 @@
+package com.isotope.adapter;
+
+import com.isotope.model.InstrumentTokens;
+import com.isotope.model.MarketDataEvent;
+import com.isotope.model.MarketDataEventFactory;
+import com.isotope.tickstore.TickFileWriter;
+import com.lmax.disruptor.RingBuffer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MergedFileProducerTest {
+
+    @TempDir
+    Path dir;
+
+    private final RingBuffer<MarketDataEvent> ringBuffer = RingBuffer.createSingleProducer(new MarketDataEventFactory(), 64);
+
+    private static long millis(String time) {
+        return LocalDateTime.parse(time).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @Test
+    void testMergesFilesByTimestamp() throws Exception {
+        Files.writeString(dir.resolve("a_nifty.csv"), """
+                timestamp,symbol,open,high,low,close,volume
+                2025-11-20T09:15:00,NIFTY,1,1,1,100,1
+                2025-11-20T09:17:00,NIFTY,1,1,1,102,1
+                2025-11-20T09:19:00,NIFTY,1,1,1,104,1
+                2025-11-20T09:21:00,NIFTY,1,1,1,106,1
+                """);
+        Files.writeString(dir.resolve("b_banknifty.csv"), """
+                timestamp,symbol,open,high,low,close,volume
+                2025-11-20T09:15:00,BANKNIFTY,1,1,1,200,1
+                2025-11-20T09:16:00,BANKNIFTY,1,1,1,201,1
+                bad,line
+                2025-11-20T09:20:00,BANKNIFTY,1,1,1,205,1
+                """);
+        try (TickFileWriter writer = new TickFileWriter(dir.resolve("c_other.ticks"))) {
+            writer.append(999, millis("2025-11-20T09:18:00"), 300.0, 1, 299.5, 300.5, 10, 20);
+            writer.append(999, millis("2025-11-20T09:22:00"), 301.0, 1, 0, 0, 0, 0);
+        }
+        Files.writeString(dir.resolve("notes.txt"), "ignored");
+
+        List<Path> files = MergedFileProducer.resolve(dir.toString());
+        assertEquals(3, files.size());
+
+        // Chunks of 2 ticks and batches of 4: every file crosses chunk boundaries mid-batch
+        long ticks = new MergedFileProducer(dir.toString(), "MAX", 2, 1, 4).replay(files, ringBuffer);
+
+        assertEquals(9, ticks);
+        assertEquals(8, ringBuffer.getCursor());
+        double[] expected = {100, 200, 201, 102, 300, 104, 205, 106, 301};
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], ringBuffer.get(i).getLastTradedPrice(), 1e-9, "tick " + i);
+        }
+        // Same timestamp: file name order
+        assertEquals(InstrumentTokens.NIFTY, ringBuffer.get(0).getInstrumentToken());
+        assertEquals(InstrumentTokens.BANKNIFTY, ringBuffer.get(1).getInstrumentToken());
+        assertEquals(299.5, ringBuffer.get(4).getBidPrice(), 1e-9);
+        assertEquals(20, ringBuffer.get(4).getAskQuantity());
+    }
+
+    @Test
+    void testOpensFilesWhenTheMergeReachesThem() throws Exception {
+        // Two days, two symbols: the symbols overlap within a day, the days do not
+        for (String day : List.of("2025-11-20", "2025-11-21")) {
+            Files.createDirectories(dir.resolve(day));
+            Files.writeString(dir.resolve(day + "/NIFTY.csv"), String.format("""
+                    %1$sT09:15:00,NIFTY,1,1,1,100,1
+                    %1$sT09:17:00,NIFTY,1,1,1,101,1
+                    """, day));
+            Files.writeString(dir.resolve(day + "/BANKNIFTY.csv"), String.format("""
+                    timestamp,symbol,open,high,low,close,volume
+                    %1$sT09:16:00,BANKNIFTY,1,1,1,200,1
+                    """, day));
+        }
+        Files.writeString(dir.resolve("empty.csv"), "timestamp,symbol,open,high,low,close,volume\n");
+
+        MergedFileProducer producer = new MergedFileProducer(dir.toString(), "MAX", 1, 1, 4);
+        long ticks = producer.replay(MergedFileProducer.resolve(dir + "/**.csv"), ringBuffer);
+
+        assertEquals(6, ticks);
+        double[] expected = {100, 200, 101, 100, 200, 101};
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], ringBuffer.get(i).getLastTradedPrice(), 1e-9, "tick " + i);
+        }
+        // A day's two files plus the next day's first, started ahead
+        assertEquals(3, producer.getPeakOpenReaders());
+    }
+
+    @Test
+    void testResolvesGlobs() throws IOException {
+        Files.createDirectories(dir.resolve("2025-11-20"));
+        Files.createDirectories(dir.resolve("2025-11-21"));
+        Files.writeString(dir.resolve("2025-11-20/NIFTY.csv"), "");
+        Files.writeString(dir.resolve("2025-11-21/NIFTY.csv"), "");
+        Files.writeString(dir.resolve("2025-11-21/BANKNIFTY.csv"), "");
+
+        List<Path> nifty = MergedFileProducer.resolve(dir + "/*/NIFTY.csv");
+        assertEquals(List.of(dir.resolve("2025-11-20/NIFTY.csv"), dir.resolve("2025-11-21/NIFTY.csv")), nifty);
+        assertEquals(3, MergedFileProducer.resolve(dir + "/**.csv").size());
+        assertThrows(IOException.class, () -> MergedFileProducer.resolve(dir.resolve("missing").toString()));
+    }
+
+    @Test
+    void testUnreadableFileFailsTheReplay() throws IOException {
+        Files.writeString(dir.resolve("bad.ticks"), "not a tick file");
+        MergedFileProducer producer = new MergedFileProducer(dir.toString(), "MAX");
+
+        assertThrows(IOException.class, () -> producer.replay(MergedFileProducer.resolve(dir.toString()), ringBuffer));
+    }
+}
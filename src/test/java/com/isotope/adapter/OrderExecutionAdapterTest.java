@@ -1,6 +1,7 @@
 package com.isotope.adapter;
 
 import com.isotope.model.OrderEvent;
+import com.isotope.model.SymbolRegistry;
 import com.isotope.service.IndianDerivativesFeeCalculator;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +11,7 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -154,4 +156,35 @@ class OrderExecutionAdapterTest {
             assertTrue(feeSaving > 0, "Synthetic SELL execution should save fees for large turnover");
         }
     }
+
+    @Test
+    void testOutOfSyncSymbolOnlyTakesExits() {
+        adapter = new OrderExecutionAdapter(feeCalculator, 1000000.0, "FUTURES");
+        int symbolId = SymbolRegistry.intern("SYNC_FUT");
+
+        assertTrue(order(OrderEvent.Type.BUY, 100).isExecuted());
+        adapter.markOutOfSync("SYNC_FUT");
+        assertEquals(Set.of("SYNC_FUT"), adapter.getOutOfSyncSymbols());
+
+        OrderEvent entry = order(OrderEvent.Type.BUY, 50);
+        assertFalse(entry.isExecuted());
+        assertEquals(OrderEvent.RejectReason.OUT_OF_SYNC, entry.getRejectReason());
+        assertEquals(1, adapter.getRejectedCount());
+
+        assertTrue(order(OrderEvent.Type.SELL, 100).isExecuted());
+        assertEquals(0, adapter.getPositionBook().getNetQuantity(symbolId));
+        assertFalse(order(OrderEvent.Type.SELL, 10).isExecuted(), "a new short is an entry too");
+    }
+
+    private OrderEvent order(OrderEvent.Type type, int quantity) {
+        OrderEvent event = new OrderEvent();
+        event.setType(type);
+        event.setPrice(100.0);
+        event.setQuantity(quantity);
+        event.setTradingSymbol("SYNC_FUT");
+        event.setTimestamp(System.currentTimeMillis());
+        event.setStrategyId("TEST");
+        adapter.onEvent(event, 1, true);
+        return event;
+    }
 }
@@ -0,0 +1,144 @@
+package com.isotope.adapter;
+
+import com.isotope.model.OrderEvent;
+import com.isotope.model.SymbolRegistry;
+import com.isotope.service.IndianDerivativesFeeCalculator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderNettingStageTest {
+
+    private long sequence;
+
+    private static OrderEvent order(String strategy, String symbol, OrderEvent.Type type, int quantity,
+                                    double price, long publishNanos) {
+        OrderEvent event = new OrderEvent();
+        event.setTradingSymbol(symbol);
+        event.setSymbolId(SymbolRegistry.intern(symbol));
+        event.setStrategyId(strategy);
+        event.setType(type);
+        event.setQuantity(quantity);
+        event.setPrice(price);
+        event.setPublishNanos(publishNanos);
+        event.setMarketQuantity(99); // Stale values from an earlier lap
+        event.setCrossedQuantity(99);
+        return event;
+    }
+
+    private void batch(OrderNettingStage stage, OrderEvent... events) {
+        for (int i = 0; i < events.length; i++) {
+            stage.onEvent(events[i], sequence++, i == events.length - 1);
+        }
+    }
+
+    @Test
+    void testOpposingOrdersCrossAndOnlyTheNetGoesToMarket() {
+        OrderNettingStage stage = new OrderNettingStage(0);
+        OrderEvent buyA = order("a", "NIFTY", OrderEvent.Type.BUY, 100, 24_000.0, 0);
+        OrderEvent sellB = order("b", "NIFTY", OrderEvent.Type.SELL, 150, 24_000.0, 0);
+        OrderEvent buyC = order("c", "NIFTY", OrderEvent.Type.BUY, 25, 24_000.0, 0);
+        OrderEvent bank = order("a", "BANKNIFTY", OrderEvent.Type.SELL, 30, 52_000.0, 0);
+        batch(stage, buyA, sellB, buyC, bank);
+
+        // Buys (125) cross in full; the sell crosses 125 and sends the net 25 to market
+        assertTrue(buyA.isNetted());
+        assertEquals(100, buyA.getCrossedQuantity());
+        assertEquals(0, buyA.getMarketQuantity());
+        assertEquals(125, sellB.getCrossedQuantity());
+        assertEquals(25, sellB.getMarketQuantity());
+        assertEquals(25, buyC.getCrossedQuantity());
+        assertEquals(0, buyC.getMarketQuantity());
+        // Alone for its symbol: goes to market as is
+        assertEquals(0, bank.getCrossedQuantity());
+        assertEquals(30, bank.getMarketQuantity());
+
+        Map<String, Object> snapshot = stage.snapshot();
+        assertEquals(4L, snapshot.get("orders"));
+        assertEquals(2L, snapshot.get("market_orders"));
+        assertEquals(125L, snapshot.get("crossed_quantity"));
+        assertEquals(55L, snapshot.get("market_quantity"));
+    }
+
+    @Test
+    void testSameSideOrdersCoalesceIntoOneMarketOrder() {
+        OrderNettingStage stage = new OrderNettingStage(0);
+        OrderEvent first = order("a", "NIFTY", OrderEvent.Type.BUY, 75, 24_000.0, 0);
+        OrderEvent second = order("b", "NIFTY", OrderEvent.Type.BUY, 50, 24_000.0, 0);
+        OrderEvent exact = order("a", "BANKNIFTY", OrderEvent.Type.BUY, 30, 52_000.0, 0);
+        OrderEvent offset = order("b", "BANKNIFTY", OrderEvent.Type.SELL, 30, 52_000.0, 0);
+        batch(stage, first, second, exact, offset);
+
+        assertEquals(125, first.getMarketQuantity());
+        assertEquals(0, second.getMarketQuantity());
+        assertEquals(0, second.getCrossedQuantity());
+        // Fully offset: nothing goes to market
+        assertEquals(30, exact.getCrossedQuantity());
+        assertEquals(30, offset.getCrossedQuantity());
+        assertEquals(0, exact.getMarketQuantity() + offset.getMarketQuantity());
+        assertEquals(1L, stage.snapshot().get("market_orders"));
+    }
+
+    @Test
+    void testGroupsCloseAtBatchEndAndWindow() {
+        OrderNettingStage perBatch = new OrderNettingStage(0);
+        OrderEvent buy = order("a", "NIFTY", OrderEvent.Type.BUY, 75, 24_000.0, 0);
+        OrderEvent sell = order("b", "NIFTY", OrderEvent.Type.SELL, 75, 24_000.0, 0);
+        batch(perBatch, buy);
+        batch(perBatch, sell);
+        assertEquals(75, buy.getMarketQuantity());
+        assertEquals(75, sell.getMarketQuantity());
+
+        OrderNettingStage windowed = new OrderNettingStage(100); // 100 us
+        OrderEvent early = order("a", "NIFTY", OrderEvent.Type.BUY, 75, 24_000.0, 1_000_000);
+        OrderEvent near = order("b", "NIFTY", OrderEvent.Type.SELL, 75, 24_000.0, 1_050_000);
+        OrderEvent late = order("c", "NIFTY", OrderEvent.Type.SELL, 75, 24_000.0, 1_200_000);
+        batch(windowed, early, near, late);
+        assertEquals(75, early.getCrossedQuantity());
+        assertEquals(75, near.getCrossedQuantity());
+        assertEquals(0, late.getCrossedQuantity());
+        assertEquals(75, late.getMarketQuantity());
+    }
+
+    @Test
+    void testRejectedAndNonTradingOrdersAreNotNetted() {
+        OrderNettingStage stage = new OrderNettingStage(0);
+        OrderEvent buy = order("a", "NIFTY", OrderEvent.Type.BUY, 75, 24_000.0, 0);
+        OrderEvent rejected = order("b", "NIFTY", OrderEvent.Type.SELL, 75, 24_000.0, 0);
+        rejected.setRejectReason(OrderEvent.RejectReason.MAX_POSITION);
+        OrderEvent cancel = order("c", "NIFTY", OrderEvent.Type.CANCEL, 75, 24_000.0, 0);
+        batch(stage, buy, rejected, cancel);
+
+        assertEquals(75, buy.getMarketQuantity());
+        assertFalse(rejected.isNetted());
+        assertEquals(0, rejected.getCrossedQuantity());
+        assertFalse(cancel.isNetted());
+        assertEquals(0, cancel.getMarketQuantity());
+    }
+
+    @Test
+    void testExecutionChargesOnlyTheNetMarketOrder() {
+        IndianDerivativesFeeCalculator feeCalculator = new IndianDerivativesFeeCalculator();
+        OrderExecutionAdapter adapter = new OrderExecutionAdapter(feeCalculator, 1_000_000.0, "FUTURES", null);
+        OrderNettingStage stage = new OrderNettingStage(0);
+        List<OrderEvent> orders = new ArrayList<>(List.of(
+                order("a", "NIFTY", OrderEvent.Type.BUY, 100, 24_000.0, 0),
+                order("b", "NIFTY", OrderEvent.Type.SELL, 150, 24_000.0, 0),
+                order("c", "NIFTY", OrderEvent.Type.SELL, 50, 24_000.0, 0)));
+        batch(stage, orders.toArray(new OrderEvent[0]));
+        for (OrderEvent event : orders) adapter.onEvent(event, sequence++, false);
+
+        // 100 cross; 100 sold to the market, shared 50/50 by the two sellers
+        double marketFee = feeCalculator.calculateTotalFee(OrderEvent.Type.SELL, 24_000.0, 100, 0);
+        assertEquals(0.0, orders.get(0).getFees(), 1e-9);
+        assertEquals(marketFee / 2, orders.get(1).getFees(), 1e-9);
+        assertEquals(marketFee / 2, orders.get(2).getFees(), 1e-9);
+        assertEquals(1_000_000.0 - marketFee, adapter.getRunningBalance(), 1e-6);
+        assertEquals(3, adapter.getTradeCount());
+        assertEquals(-100, adapter.getPositionBook().getNetQuantity(SymbolRegistry.intern("NIFTY")));
+    }
+}
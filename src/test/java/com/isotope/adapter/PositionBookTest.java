@@ -0,0 +1,49 @@
+package com.isotope.adapter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionBookTest {
+
+    @Test
+    void testOpenAverageAndClose() {
+        PositionBook book = new PositionBook(1);
+
+        assertEquals(0.0, book.applyFill(0, 50, 100.0, 1.0));
+        assertEquals(0.0, book.applyFill(0, 50, 110.0, 1.0));
+        assertEquals(100, book.getNetQuantity(0));
+        assertEquals(105.0, book.getAveragePrice(0), 1e-9);
+
+        // Partial close realizes against the average
+        assertEquals(300.0, book.applyFill(0, -60, 110.0, 1.0), 1e-9);
+        assertEquals(40, book.getNetQuantity(0));
+        assertEquals(105.0, book.getAveragePrice(0), 1e-9);
+
+        assertEquals(-200.0, book.applyFill(0, -40, 100.0, 1.0), 1e-9);
+        assertEquals(0, book.getNetQuantity(0));
+        assertEquals(0.0, book.getAveragePrice(0));
+        assertEquals(100.0, book.getRealizedPnl(0), 1e-9);
+        assertEquals(4.0, book.getFees(0), 1e-9);
+    }
+
+    @Test
+    void testShortCoverAndFlip() {
+        PositionBook book = new PositionBook(1);
+        book.applyFill(3, -10, 200.0, 0.0);
+
+        // Cover 10 and go long 5 at the trade price
+        assertEquals(100.0, book.applyFill(3, 15, 190.0, 0.0), 1e-9);
+        assertEquals(5, book.getNetQuantity(3));
+        assertEquals(190.0, book.getAveragePrice(3), 1e-9);
+    }
+
+    @Test
+    void testGrowsForNewSymbolIds() {
+        PositionBook book = new PositionBook(1);
+        book.applyFill(1000, 1, 10.0, 0.0);
+        assertTrue(book.capacity() > 1000);
+        assertEquals(1, book.getNetQuantity(1000));
+        assertEquals(0, book.getNetQuantity(5000));
+    }
+}
@@ -0,0 +1,106 @@
+package com.isotope.adapter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayClockTest {
+
+    private static final long MILLI = 1_000_000L;
+
+    @Test
+    void testParsesSpeeds() {
+        assertEquals(Double.POSITIVE_INFINITY, ReplayClock.parseSpeed("MAX"));
+        assertEquals(Double.POSITIVE_INFINITY, ReplayClock.parseSpeed(null));
+        assertEquals(10.0, ReplayClock.parseSpeed("10x"));
+        assertEquals(0.5, ReplayClock.parseSpeed("0.5"));
+        assertThrows(IllegalArgumentException.class, () -> ReplayClock.parseSpeed("fast"));
+        assertThrows(IllegalArgumentException.class, () -> ReplayClock.parseSpeed("0x"));
+        assertEquals(1.0, ReplayClock.forConfig("fast").getSpeed());
+    }
+
+    @Test
+    void testFollowsAbsoluteScheduleWithoutDrift() throws InterruptedException {
+        // 100x: 500 events 1 ms apart in event time = 5 ms of wall time in total
+        ReplayClock clock = new ReplayClock("100x");
+        long start = System.nanoTime();
+        for (int i = 0; i <= 500; i++) {
+            clock.await(i * MILLI);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        assertTrue(elapsed >= 5 * MILLI, "Finished early: " + elapsed + " ns");
+        assertTrue(elapsed < 50 * MILLI, "Drifted: " + elapsed + " ns"); // 1 ms sleeps per event would take 500 ms
+
+        Map<String, Object> snapshot = clock.snapshot();
+        assertEquals(501L, snapshot.get("events"));
+        double achieved = (double) snapshot.get("achieved_speed");
+        assertTrue(achieved <= 100.01 && achieved > 20.0, "Achieved " + achieved + "x"); // Never ahead of schedule
+    }
+
+    @Test
+    void testMaxDoesNotWait() throws InterruptedException {
+        ReplayClock clock = new ReplayClock("MAX");
+        long start = System.nanoTime();
+        clock.await(0);
+        clock.await(3_600_000 * MILLI); // One hour of event time
+        assertTrue(System.nanoTime() - start < 100 * MILLI);
+        assertTrue(clock.isMax());
+        assertEquals("MAX", clock.snapshot().get("speed"));
+    }
+
+    @Test
+    void testSpeedChangeAppliesFromCurrentPosition() throws InterruptedException {
+        ReplayClock clock = new ReplayClock("MAX");
+        clock.await(0);
+        clock.await(10_000 * MILLI);
+
+        // 20 ms of event time at 1x after switching from MAX: no catch-up for the first 10 s
+        clock.setSpeed("1x");
+        long start = System.nanoTime();
+        clock.await(10_020 * MILLI);
+        long elapsed = System.nanoTime() - start;
+
+        assertTrue(elapsed >= 19 * MILLI && elapsed < 1_000 * MILLI, "Waited " + elapsed + " ns");
+        assertEquals(1.0, clock.snapshot().get("speed"));
+    }
+
+    @Test
+    void testSwitchToMaxReleasesLongWaitAtOnce() throws InterruptedException {
+        ReplayClock clock = new ReplayClock("1x");
+        clock.await(0);
+        Thread waiter = new Thread(() -> {
+            try {
+                clock.await(8 * 3_600_000 * MILLI); // An overnight gap
+            } catch (InterruptedException ignored) {
+            }
+        });
+        waiter.setDaemon(true);
+        waiter.start();
+        Thread.sleep(50);
+
+        long start = System.nanoTime();
+        clock.setSpeed("MAX");
+        waiter.join(1_000);
+        assertFalse(waiter.isAlive(), "Still waiting for the 1x schedule after switching to MAX");
+        assertTrue(System.nanoTime() - start < 1_000 * MILLI);
+        assertEquals(2L, clock.snapshot().get("events"));
+    }
+
+    @Test
+    void testResyncsInsteadOfBurstingWhenBehind() throws InterruptedException {
+        ReplayClock clock = new ReplayClock("1x");
+        clock.await(0);
+        Thread.sleep(80); // Consumer stall: event at 10 ms is now ~70 ms late
+        clock.await(10 * MILLI);
+
+        long start = System.nanoTime();
+        clock.await(30 * MILLI); // Still paced 20 ms after the stalled event
+        long elapsed = System.nanoTime() - start;
+
+        assertEquals(1L, clock.snapshot().get("resyncs"));
+        assertTrue(elapsed >= 15 * MILLI, "Burst after stall: " + elapsed + " ns");
+    }
+}
@@ -0,0 +1,131 @@
+package com.isotope.adapter;
+
+import com.isotope.journal.TickJournalFormat;
+import com.isotope.journal.TickJournalHandler;
+import com.isotope.journal.TickJournalWriter;
+import com.isotope.model.MarketDataEvent;
+import com.isotope.model.MarketDataEventFactory;
+import com.lmax.disruptor.RingBuffer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TickJournalReplayProducerTest {
+
+    @TempDir
+    Path journal;
+
+    private final RingBuffer<MarketDataEvent> ringBuffer = RingBuffer.createSingleProducer(new MarketDataEventFactory(), 16);
+
+    private static MarketDataEvent tick(int i) {
+        MarketDataEvent event = new MarketDataEvent();
+        event.setInstrumentToken(256265 + i);
+        event.setLastTradedTime(1_700_000_000_000L + i);
+        event.setLastTradedPrice(26000.05 + i);
+        event.setVolume(1000L * i);
+        event.setBidPrice(26000.0 + i);
+        event.setAskPrice(26000.1 + i);
+        event.setBidQuantity(75L * i);
+        event.setAskQuantity(50L * i);
+        if (i % 2 == 0) {
+            for (int level = 0; level < MarketDataEvent.DEPTH_LEVELS; level++) {
+                event.getBidPrices()[level] = 26000.0 + i - 0.05 * level;
+                event.getBidQuantities()[level] = 75L * (level + 1);
+                event.getBidOrders()[level] = level + 1;
+                event.getAskPrices()[level] = 26000.1 + i + 0.05 * level;
+                event.getAskQuantities()[level] = 50L * (level + 1);
+                event.getAskOrders()[level] = 40_000 + level;
+            }
+            event.setDepthLevels(MarketDataEvent.DEPTH_LEVELS);
+        }
+        return event;
+    }
+
+    private static void assertSameTick(MarketDataEvent expected, MarketDataEvent actual) {
+        assertEquals(expected.getInstrumentToken(), actual.getInstrumentToken());
+        assertEquals(expected.getLastTradedTime(), actual.getLastTradedTime());
+        assertEquals(Double.doubleToRawLongBits(expected.getLastTradedPrice()), Double.doubleToRawLongBits(actual.getLastTradedPrice()));
+        assertEquals(expected.getVolume(), actual.getVolume());
+        assertEquals(expected.getBidPrice(), actual.getBidPrice());
+        assertEquals(expected.getAskPrice(), actual.getAskPrice());
+        assertEquals(expected.getBidQuantity(), actual.getBidQuantity());
+        assertEquals(expected.getAskQuantity(), actual.getAskQuantity());
+        assertEquals(expected.getDepthLevels(), actual.getDepthLevels());
+        assertArrayEquals(expected.getBidPrices(), actual.getBidPrices());
+        assertArrayEquals(expected.getBidQuantities(), actual.getBidQuantities());
+        assertArrayEquals(expected.getBidOrders(), actual.getBidOrders());
+        assertArrayEquals(expected.getAskPrices(), actual.getAskPrices());
+        assertArrayEquals(expected.getAskQuantities(), actual.getAskQuantities());
+        assertArrayEquals(expected.getAskOrders(), actual.getAskOrders());
+    }
+
+    @Test
+    void testJournaledTicksReplayIdentically() throws Exception {
+        TickJournalHandler handler = new TickJournalHandler(new TickJournalWriter(journal, 3));
+        for (int i = 0; i < 7; i++) {
+            handler.onEvent(tick(i), 100 + i, i == 6);
+        }
+        handler.onShutdown();
+
+        assertEquals(3, TickJournalFormat.segments(journal).size()); // 3 + 3 + 1 records
+
+        long ticks = new TickJournalReplayProducer(journal.toString(), "MAX").replay(journal, ringBuffer);
+
+        assertEquals(7, ticks);
+        for (int i = 0; i < 7; i++) {
+            assertSameTick(tick(i), ringBuffer.get(i));
+        }
+    }
+
+    @Test
+    void testUncommittedRecordsAreNotReplayed() throws Exception {
+        TickJournalWriter writer = new TickJournalWriter(journal, 8);
+        writer.append(0, tick(0));
+        writer.append(1, tick(1));
+        writer.commit();
+        writer.append(2, tick(2)); // Written but not committed, as after a crash mid-batch
+
+        assertEquals(2, new TickJournalReplayProducer(journal.toString(), "MAX").replay(journal, ringBuffer));
+        writer.close();
+        assertEquals(3, new TickJournalReplayProducer(journal.toString(), "MAX").replay(journal, ringBuffer));
+    }
+
+    @Test
+    void testNewWriterAppendsAfterExistingSegments() throws Exception {
+        try (TickJournalWriter first = new TickJournalWriter(journal, 8)) {
+            first.append(0, tick(0));
+        }
+        try (TickJournalWriter second = new TickJournalWriter(journal, 8)) {
+            second.append(0, tick(1));
+        }
+
+        assertEquals(2, TickJournalFormat.segments(journal).size());
+        assertEquals(2, new TickJournalReplayProducer(journal.toString(), "MAX").replay(journal, ringBuffer));
+        assertEquals(256266, ringBuffer.get(1).getInstrumentToken());
+    }
+
+    @Test
+    void testPacedReplayFollowsCaptureTimes() throws Exception {
+        try (TickJournalWriter writer = new TickJournalWriter(journal, 8)) {
+            writer.append(0, tick(0));
+            Thread.sleep(50);
+            writer.append(1, tick(1));
+        }
+
+        long start = System.nanoTime();
+        new TickJournalReplayProducer(journal.toString(), "1x").replay(journal, ringBuffer);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis >= 45, "Replay took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void testEmptyJournalIsRejected() {
+        assertThrows(IOException.class,
+                () -> new TickJournalReplayProducer(journal.toString(), "MAX").replay(journal, ringBuffer));
+    }
+}
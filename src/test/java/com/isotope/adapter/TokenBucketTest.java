@@ -0,0 +1,38 @@
+package com.isotope.adapter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void testBurstThenQueuesAtRate() {
+        TokenBucket bucket = new TokenBucket(10, 2, 0); // One token every 100 ms
+
+        assertEquals(0, bucket.reserve(0));
+        assertEquals(0, bucket.reserve(0));
+        assertEquals(100 * MS, bucket.reserve(0));
+        assertEquals(200 * MS, bucket.reserve(0));
+        // 50 ms later the queue is still ahead of the caller
+        assertEquals(300 * MS, bucket.reserve(50 * MS));
+    }
+
+    @Test
+    void testRefillIsCappedAtBurst() {
+        TokenBucket bucket = new TokenBucket(10, 2, 0);
+
+        long later = 10_000 * MS;
+        assertEquals(later, bucket.reserve(later));
+        assertEquals(later, bucket.reserve(later));
+        assertEquals(later + 100 * MS, bucket.reserve(later));
+    }
+
+    @Test
+    void testRejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(10, 0, 0));
+    }
+}
@@ -0,0 +1,105 @@
+package com.isotope.analytics;
+
+import com.isotope.model.OrderEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PerformanceAnalyticsTest {
+
+    @Test
+    void testTracksDrawdownHitRateFeesAndStrategies() {
+        PerformanceAnalytics analytics = new PerformanceAnalytics(1_000.0, 10, 16);
+
+        analytics.onFill("A", 1, 5.0, 0.0, 995.0);    // Open
+        analytics.onFill("A", 2, 5.0, 110.0, 1_100.0); // Win, new peak
+        analytics.onFill("B", 3, 5.0, 0.0, 1_095.0);  // Open
+        analytics.onFill("B", 4, 5.0, -40.0, 1_050.0); // Loss
+        analytics.onFill("A", 5, 5.0, 0.0, 1_045.0);  // Open, deepest point
+
+        Map<String, Object> snapshot = analytics.snapshot(true);
+        assertEquals(5L, snapshot.get("fills"));
+        assertEquals(1_045.0, snapshot.get("equity"));
+        assertEquals(45.0, (double) snapshot.get("net_pnl"), 1e-9);
+        assertEquals(1_100.0, snapshot.get("peak_equity"));
+        assertEquals(55.0, (double) snapshot.get("max_drawdown"), 1e-9);
+        assertEquals(5.0, (double) snapshot.get("max_drawdown_pct"), 1e-9);
+        assertEquals(2L, snapshot.get("closing_trades"));
+        assertEquals(0.5, snapshot.get("hit_rate"));
+        assertEquals(70.0, (double) snapshot.get("gross_realized_pnl"), 1e-9);
+        assertEquals(25.0 / 70.0, (double) snapshot.get("fee_drag"), 1e-9);
+        assertEquals(5L, analytics.getVersion());
+
+        @SuppressWarnings("unchecked")
+        Map<String, Map<String, Object>> strategies = (Map<String, Map<String, Object>>) snapshot.get("strategies");
+        assertEquals(95.0, (double) strategies.get("A").get("net_pnl"), 1e-9);
+        assertEquals(1.0, strategies.get("A").get("hit_rate"));
+        assertEquals(-50.0, (double) strategies.get("B").get("net_pnl"), 1e-9);
+        assertEquals(0.0, strategies.get("B").get("hit_rate"));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> curve = (Map<String, Object>) snapshot.get("equity_curve");
+        assertArrayEquals(new long[]{1, 2, 3, 4, 5}, (long[]) curve.get("timestamps"));
+    }
+
+    @Test
+    void testRollingSharpeMatchesDirectComputationOverWindow() {
+        int window = 8;
+        PerformanceAnalytics analytics = new PerformanceAnalytics(1_000.0, window, 16);
+        assertNull(analytics.snapshot(false).get("rolling_sharpe"));
+
+        double[] equity = new double[41];
+        equity[0] = 1_000.0;
+        for (int i = 1; i < equity.length; i++) {
+            double pnl = (i % 3 == 0 ? -4.0 : 6.0) + i * 0.1;
+            equity[i] = equity[i - 1] + pnl;
+            analytics.onFill("A", i, 0.0, pnl, equity[i]);
+        }
+
+        double[] returns = new double[window];
+        for (int k = 0; k < window; k++) {
+            int i = equity.length - window + k;
+            returns[k] = (equity[i] - equity[i - 1]) / equity[i - 1];
+        }
+        double mean = 0.0;
+        for (double r : returns) mean += r / window;
+        double variance = 0.0;
+        for (double r : returns) variance += (r - mean) * (r - mean) / (window - 1);
+
+        Map<String, Object> snapshot = analytics.snapshot(false);
+        assertEquals(window, snapshot.get("sharpe_window"));
+        assertEquals(mean / Math.sqrt(variance), (double) snapshot.get("rolling_sharpe"), 1e-9);
+        assertFalse(snapshot.containsKey("equity_curve"));
+    }
+
+    @Test
+    void testEquityCurveDownsamplesAndKeepsLatestPoint() {
+        PerformanceAnalytics analytics = new PerformanceAnalytics(0.0, 2, 4);
+        for (int i = 0; i < 11; i++) {
+            analytics.onFill("A", i, 0.0, 0.0, i);
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> curve = (Map<String, Object>) analytics.snapshot(true).get("equity_curve");
+        assertEquals(4L, curve.get("stride"));
+        assertArrayEquals(new long[]{0, 4, 8, 10}, (long[]) curve.get("timestamps"));
+        assertArrayEquals(new double[]{0, 4, 8, 10}, (double[]) curve.get("equity"));
+    }
+
+    @Test
+    void testIgnoresOrdersThatWereNotExecuted() {
+        PerformanceAnalytics analytics = new PerformanceAnalytics(1_000.0, 10, 16);
+        OrderEvent event = new OrderEvent();
+        event.setType(OrderEvent.Type.BUY);
+        event.setStrategyId("A");
+        event.setBalance(900.0);
+        analytics.onEvent(event, 0, true);
+        assertEquals(0L, analytics.snapshot(false).get("fills"));
+
+        event.setExecuted(true);
+        analytics.onEvent(event, 1, true);
+        assertEquals(900.0, analytics.snapshot(false).get("equity"));
+    }
+}
@@ -0,0 +1,88 @@
+package com.isotope.backtest;
+
+import com.isotope.model.InstrumentTokens;
+import com.isotope.service.IndianDerivativesFeeCalculator;
+import com.isotope.strategy.PairsTradingStrategy;
+import com.isotope.tickstore.TickFileWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeadlessBacktestTest {
+
+    @TempDir
+    Path dir;
+
+    private Path writeTicks(int minutes) throws Exception {
+        Path file = dir.resolve("pairs.ticks");
+        Random random = new Random(5);
+        double nifty = 26_000.0;
+        double spread = 0.0;
+        try (TickFileWriter writer = new TickFileWriter(file)) {
+            for (int i = 0; i < minutes; i++) {
+                long time = 1_763_610_300_000L + i * 60_000L;
+                nifty *= 1.0 + random.nextGaussian() * 0.0005;
+                spread = spread * 0.9 + random.nextGaussian() * 0.002;
+                writer.append(InstrumentTokens.NIFTY, time, nifty, 100, 0, 0, 0, 0);
+                writer.append(InstrumentTokens.BANKNIFTY, time, nifty * 2.27 * (1.0 + spread), 100, 0, 0, 0, 0);
+            }
+        }
+        return file;
+    }
+
+    @Test
+    void testRunsToEndOfDataAndMatchesSynchronousReplay() throws Exception {
+        Path ticks = writeTicks(3_000);
+        Path trades = dir.resolve("trades.csv");
+        Properties config = new Properties();
+        config.setProperty("data-source.type", "MAPPED");
+        config.setProperty("data-source.path", ticks.toString());
+        config.setProperty("latency.profile", "BALANCED");
+        config.setProperty("strategy.execution-mode", "FUTURES");
+        config.setProperty("journal.file-path", trades.toString());
+
+        HeadlessBacktest.Summary summary = HeadlessBacktest.run(config);
+
+        assertEquals(6_000, summary.ticks());
+        assertTrue(summary.trades() > 0);
+        // The journal is closed when run() returns: header plus one row per trade
+        assertEquals(summary.trades() + 1, Files.readAllLines(trades).size());
+
+        // Same strategy and fee rules as the synchronous sweep replay
+        SweepResult expected = new ParameterSweepRunner(TickHistory.load(ticks), new IndianDerivativesFeeCalculator(),
+                2_000_000.0, 200_000.0, "FUTURES").runOne(PairsTradingStrategy.Parameters.DEFAULTS);
+        assertEquals(expected.trades(), summary.trades());
+        assertEquals(expected.netPnl(), summary.netPnl(), 1e-6);
+        assertEquals(expected.totalFees(), summary.fees(), 1e-6);
+        assertEquals(expected.openPositions(), summary.openPositions());
+    }
+
+    @Test
+    void testFailsWhenTheDataSourceCannotBeRead() {
+        Properties config = new Properties();
+        config.setProperty("data-source.type", "MAPPED");
+        config.setProperty("data-source.path", dir.resolve("missing.ticks").toString());
+        config.setProperty("journal.file-path", dir.resolve("trades.csv").toString());
+
+        IOException e = assertThrows(IOException.class, () -> HeadlessBacktest.run(config));
+        assertInstanceOf(NoSuchFileException.class, e.getCause());
+    }
+
+    @Test
+    void testRejectsUnknownStrategiesAndSources() {
+        Properties config = new Properties();
+        config.setProperty("strategies", "com.example.Missing");
+        assertThrows(IllegalArgumentException.class, () -> HeadlessBacktest.strategies(config));
+
+        config.setProperty("data-source.type", "KITE");
+        assertThrows(IllegalArgumentException.class, () -> HeadlessBacktest.producer(config));
+    }
+}
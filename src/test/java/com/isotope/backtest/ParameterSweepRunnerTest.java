@@ -0,0 +1,104 @@
+package com.isotope.backtest;
+
+import com.isotope.model.InstrumentTokens;
+import com.isotope.model.OrderEvent;
+import com.isotope.service.IndianDerivativesFeeCalculator;
+import com.isotope.strategy.PairsTradingStrategy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParameterSweepRunnerTest {
+
+    private final IndianDerivativesFeeCalculator feeCalculator = new IndianDerivativesFeeCalculator();
+
+    private static TickHistory pairsHistory(int minutes) {
+        Random random = new Random(11);
+        TickHistory.Builder builder = new TickHistory.Builder(minutes * 2);
+        double nifty = 26_000.0;
+        double spread = 0.0;
+        for (int i = 0; i < minutes; i++) {
+            long time = 1_763_610_300_000L + i * 60_000L;
+            nifty *= 1.0 + random.nextGaussian() * 0.0005;
+            spread = spread * 0.9 + random.nextGaussian() * 0.002;
+            builder.add(InstrumentTokens.NIFTY, time, nifty, 100);
+            builder.add(InstrumentTokens.BANKNIFTY, time, nifty * 2.27 * (1.0 + spread), 100);
+            builder.add(12345L, time, 100.0, 1); // Not subscribed by the strategy
+        }
+        return builder.build();
+    }
+
+    @Test
+    void testGridSkipsStopLossInsideEntry() {
+        List<PairsTradingStrategy.Parameters> grid = ParameterSweepRunner.grid(
+                new int[]{20, 50}, new double[]{2.0, 3.0}, new double[]{3.0, 4.0}, new double[]{0.001});
+
+        // entry 2.0: stops 3.0, 4.0; entry 3.0: stop 4.0 only
+        assertEquals(2 * 3, grid.size());
+        assertTrue(grid.stream().allMatch(p -> p.stopLossZScore() > p.entryZScore()));
+    }
+
+    @Test
+    void testParametersAreValidated() {
+        assertThrows(IllegalArgumentException.class, () -> new PairsTradingStrategy.Parameters(1, 2.5, 3.5, 0.0022));
+        assertThrows(IllegalArgumentException.class, () -> new PairsTradingStrategy.Parameters(50, 2.5, 2.5, 0.0022));
+    }
+
+    @Test
+    void testParallelRunMatchesSequentialAndIsRanked() {
+        TickHistory history = pairsHistory(5_000);
+        ParameterSweepRunner runner = new ParameterSweepRunner(history, feeCalculator, 2_000_000.0, 200_000.0, "FUTURES");
+        List<PairsTradingStrategy.Parameters> grid = ParameterSweepRunner.grid(
+                new int[]{20, 50, 100}, new double[]{1.5, 2.5}, new double[]{3.5, 5.0}, new double[]{0.0, 0.0022});
+
+        List<SweepResult> results = runner.run(grid, 4);
+
+        assertEquals(grid.size(), results.size());
+        assertTrue(results.stream().anyMatch(r -> r.trades() > 0), "Expected the synthetic spread to trigger trades");
+        for (int i = 1; i < results.size(); i++) {
+            assertTrue(SweepResult.RANKING.compare(results.get(i - 1), results.get(i)) <= 0);
+        }
+        for (SweepResult result : results) {
+            assertEquals(runner.runOne(result.parameters()), result);
+        }
+    }
+
+    @Test
+    void testLedgerRealizesRoundTrip() {
+        BacktestLedger ledger = new BacktestLedger(feeCalculator, 100_000.0, "FUTURES");
+
+        ledger.publishOrder("NIFTY", OrderEvent.Type.BUY, 50, 100.0, "TEST", 1L);
+        ledger.publishOrder("NIFTY", OrderEvent.Type.SELL, 50, 110.0, "TEST", 2L);
+
+        double fees = feeCalculator.calculateTotalFee(OrderEvent.Type.BUY, 100.0, 50)
+                + feeCalculator.calculateTotalFee(OrderEvent.Type.SELL, 110.0, 50);
+        assertEquals(2, ledger.getTradeCount());
+        assertEquals(500.0 - fees, ledger.getNetPnl(), 1e-6);
+        assertEquals(fees, ledger.getTotalFees(), 1e-6);
+        assertEquals(0, ledger.getOpenPositions());
+    }
+
+    @Test
+    void testLoadCsvHistory(@TempDir Path dir) throws IOException {
+        Path csv = dir.resolve("ticks.csv");
+        Files.writeString(csv, """
+                timestamp,symbol,open,high,low,close,volume
+                2025-11-20T03:45:00,NIFTY,1,1,1,26109.5,0
+                bad,line
+                2025-11-20T03:45:00,BANKNIFTY,1,1,1,59242.6015625,7
+                """);
+
+        TickHistory history = TickHistory.load(csv);
+
+        assertEquals(2, history.size());
+        assertEquals(InstrumentTokens.NIFTY, history.getInstrumentToken(0));
+        assertEquals(InstrumentTokens.BANKNIFTY, history.getInstrumentToken(1));
+    }
+}
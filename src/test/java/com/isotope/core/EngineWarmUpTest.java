@@ -0,0 +1,153 @@
+package com.isotope.core;
+
+import com.isotope.adapter.OrderExecutionAdapter;
+import com.isotope.journal.TradeJournal;
+import com.isotope.model.MarketDataEvent;
+import com.isotope.model.SymbolRegistry;
+import com.isotope.service.IndianDerivativesFeeCalculator;
+import com.isotope.strategy.PairsTradingStrategy;
+import com.isotope.strategy.Strategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EngineWarmUpTest {
+
+    @TempDir
+    Path dir;
+
+    private IsotopeEngine engine;
+
+    @AfterEach
+    void tearDown() {
+        if (engine != null) engine.stop();
+    }
+
+    @Test
+    void testWarmUpDrivesPipelineAndRestoresState() throws Exception {
+        Path trades = dir.resolve("trades.csv");
+        OrderExecutionAdapter adapter = new OrderExecutionAdapter(new IndianDerivativesFeeCalculator(), 1_000_000.0,
+                "FUTURES", new TradeJournal(trades.toString(), TradeJournal.Durability.BATCH));
+        engine = new IsotopeEngine(adapter, EngineSettings.fromProfile(LatencyProfile.BALANCED));
+        CountingStrategy counting = new CountingStrategy();
+        engine.registerStrategy(new PairsTradingStrategy(2_000_000.0));
+        engine.registerStrategy(counting);
+        engine.start();
+
+        EngineWarmUp.Report report = new EngineWarmUp(engine, adapter).run(EngineWarmUp.syntheticTicks(7L), 20_000, 10_000);
+
+        assertEquals(20_000, report.ticks());
+        assertTrue(report.orders() > 0, "synthetic ticks should take the order path");
+        assertEquals(20_000, counting.ticks);
+        assertTrue(counting.reset);
+
+        // Sink: nothing journaled, balance and positions back to the start
+        engine.stop();
+        engine = null;
+        assertEquals(TradeJournal.HEADER, Files.readString(trades));
+        assertEquals(1_000_000.0, adapter.getRunningBalance(), 1e-9);
+        assertEquals(0, adapter.getPositionBook().getNetQuantity(SymbolRegistry.intern("NIFTY")));
+        assertEquals(0, adapter.getPositionBook().getNetQuantity(SymbolRegistry.intern("BANKNIFTY")));
+    }
+
+    @Test
+    void testTimeoutKeepsAdapterInWarmUpMode() throws Exception {
+        Path trades = dir.resolve("trades.csv");
+        OrderExecutionAdapter adapter = new OrderExecutionAdapter(new IndianDerivativesFeeCalculator(), 1_000_000.0,
+                "FUTURES", new TradeJournal(trades.toString(), TradeJournal.Durability.BATCH));
+        engine = new IsotopeEngine(adapter, EngineSettings.fromProfile(LatencyProfile.BALANCED));
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingStrategy blocking = new BlockingStrategy(release);
+        engine.registerStrategy(blocking);
+        engine.start();
+
+        try {
+            IllegalStateException e = assertThrows(IllegalStateException.class,
+                    () -> new EngineWarmUp(engine, adapter).run(EngineWarmUp.syntheticTicks(7L), 100, 50));
+
+            assertTrue(e.getMessage().contains("did not drain"));
+            assertTrue(adapter.isWarmUp(), "warm-up orders may still be in flight");
+            assertFalse(blocking.reset, "state is not reset while ticks are still queued");
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testReadsCompilerCodeList() {
+        String codeList = """
+                12 3 2 com.isotope.adapter.OrderExecutionAdapter.onEvent(Ljava/lang/Object;JZ)V [0x1, 0x2 - 0x3]
+                17 3 0 com.isotope.adapter.OrderExecutionAdapter.onEvent(Ljava/lang/Object;JZ)V [0x1, 0x2 - 0x3]
+                25 4 0 com.isotope.adapter.OrderExecutionAdapter.onEvent(Ljava/lang/Object;JZ)V [0x1, 0x2 - 0x3]
+                31 4 2 com.isotope.strategy.PairsTradingStrategy.onTick(Lcom/isotope/model/MarketDataEvent;)V [0x1, 0x2 - 0x3]
+                40 1 0 java.lang.String.hashCode()I [0x1, 0x2 - 0x3]
+                """;
+
+        assertEquals(3, EngineWarmUp.countCompiled(codeList));
+        assertEquals(Map.of("com.isotope.adapter.OrderExecutionAdapter.onEvent", 4), EngineWarmUp.tiers(codeList));
+        assertEquals(-1, EngineWarmUp.countCompiled(null));
+    }
+
+    private static class BlockingStrategy implements Strategy {
+        private final CountDownLatch release;
+        private volatile boolean reset;
+
+        BlockingStrategy(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void onTick(MarketDataEvent event) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void reset() {
+            reset = true;
+        }
+
+        @Override
+        public void setOrderPublisher(OrderPublisher orderPublisher) {
+        }
+
+        @Override
+        public String getStrategyId() {
+            return "blocking";
+        }
+    }
+
+    private static class CountingStrategy implements Strategy {
+        private long ticks;
+        private boolean reset;
+
+        @Override
+        public void onTick(MarketDataEvent event) {
+            ticks++;
+        }
+
+        @Override
+        public void reset() {
+            reset = true;
+        }
+
+        @Override
+        public void setOrderPublisher(OrderPublisher orderPublisher) {
+        }
+
+        @Override
+        public String getStrategyId() {
+            return "counting";
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.isotope.core;
+
+import com.isotope.adapter.OrderExecutionAdapter;
+import com.isotope.adapter.OrderNettingStage;
+import com.isotope.analytics.PerformanceAnalytics;
+import com.isotope.model.MarketDataEvent;
+import com.isotope.model.OrderEvent;
+import com.isotope.model.SymbolRegistry;
+import com.isotope.risk.PreTradeRiskCheck;
+import com.isotope.risk.RiskLimits;
+import com.isotope.service.IndianDerivativesFeeCalculator;
+import com.isotope.strategy.Strategy;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.dsl.ProducerType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IsotopeEngineTest {
+
+    private IsotopeEngine engine;
+
+    @AfterEach
+    void tearDown() {
+        if (engine != null) engine.stop();
+        new File("trades.csv").delete();
+    }
+
+    @Test
+    void testParallelStrategiesEachSeeEveryTickOnOwnThread() throws Exception {
+        EngineSettings settings = EngineSettings.fromProfile(LatencyProfile.BALANCED).toBuilder()
+                .parallelStrategies(true)
+                .orderProducerType(ProducerType.MULTI)
+                .build();
+        engine = new IsotopeEngine(newAdapter(), settings);
+
+        int ticks = 100;
+        CountingStrategy first = new CountingStrategy("first", ticks);
+        CountingStrategy second = new CountingStrategy("second", ticks);
+        engine.registerStrategy(first);
+        engine.registerStrategy(second);
+        engine.start();
+
+        RingBuffer<MarketDataEvent> ringBuffer = engine.getMarketDataRingBuffer();
+        for (int i = 0; i < ticks; i++) {
+            long sequence = ringBuffer.next();
+            ringBuffer.get(sequence).setLastTradedPrice(i);
+            ringBuffer.publish(sequence);
+        }
+
+        assertTrue(first.latch.await(2, TimeUnit.SECONDS));
+        assertTrue(second.latch.await(2, TimeUnit.SECONDS));
+        assertEquals(1, first.threads.size());
+        assertEquals(1, second.threads.size());
+        assertNotEquals(first.threads, second.threads);
+    }
+
+    @Test
+    void testParallelGroupsRequireMultiOrderProducer() {
+        engine = new IsotopeEngine(newAdapter(), EngineSettings.fromProfile(LatencyProfile.BALANCED));
+        engine.registerStrategy(new CountingStrategy("first", 1), "a");
+        engine.registerStrategy(new CountingStrategy("second", 1), "b");
+
+        assertThrows(IllegalStateException.class, engine::start);
+        engine = null;
+    }
+
+    @Test
+    void testOrderConsumersSeeFillResultsAfterExecution() throws Exception {
+        OrderExecutionAdapter adapter = newAdapter();
+        engine = new IsotopeEngine(adapter, EngineSettings.fromProfile(LatencyProfile.BALANCED));
+        PerformanceAnalytics analytics = new PerformanceAnalytics(1000000.0, 10, 16);
+        engine.addOrderConsumer(analytics);
+        engine.start();
+        assertThrows(IllegalStateException.class, () -> engine.addOrderConsumer(analytics));
+
+        engine.publishOrder("NIFTY", OrderEvent.Type.BUY, 50, 26000.0, "test", 1L);
+        engine.publishOrder("NIFTY", OrderEvent.Type.SELL, 50, 26100.0, "test", 2L);
+        assertTrue(engine.awaitIdle(2000));
+
+        assertEquals(2L, analytics.getVersion());
+        assertEquals(adapter.getRunningBalance(), (double) analytics.snapshot(false).get("equity"), 1e-9);
+        assertEquals(1.0, analytics.snapshot(false).get("hit_rate"));
+    }
+
+    @Test
+    void testRiskCheckRejectsAheadOfExecution() throws Exception {
+        OrderExecutionAdapter adapter = newAdapter();
+        engine = new IsotopeEngine(adapter, EngineSettings.fromProfile(LatencyProfile.BALANCED));
+        engine.setRiskCheck(new PreTradeRiskCheck(new RiskLimits(100, 0, 0, 0, 0, 0)));
+        engine.start();
+
+        engine.publishOrder("NIFTY", OrderEvent.Type.BUY, 75, 26000.0, "test", 1L);
+        engine.publishOrder("NIFTY", OrderEvent.Type.BUY, 75, 26000.0, "test", 2L); // Over max position
+        engine.publishOrder("NIFTY", OrderEvent.Type.SELL, 75, 26010.0, "test", 3L);
+        assertTrue(engine.awaitIdle(2000));
+
+        assertEquals(2, adapter.getTradeCount());
+        assertEquals(1, adapter.getRejectedCount());
+        assertEquals(0, adapter.getPositionBook().getNetQuantity(SymbolRegistry.intern("NIFTY")));
+    }
+
+    @Test
+    void testOrderNettingRunsBetweenRiskCheckAndExecution() throws Exception {
+        OrderExecutionAdapter adapter = newAdapter();
+        engine = new IsotopeEngine(adapter, EngineSettings.fromProfile(LatencyProfile.BALANCED));
+        engine.setRiskCheck(new PreTradeRiskCheck(new RiskLimits(100, 0, 0, 0, 0, 0)));
+        OrderNettingStage netting = new OrderNettingStage(0);
+        engine.setOrderNetting(netting);
+        List<String> seen = new CopyOnWriteArrayList<>();
+        engine.addOrderConsumer((event, sequence, endOfBatch) -> seen.add(event.getStrategyId() + ":"
+                + event.isNetted() + ":" + event.isExecuted()));
+        engine.start();
+        assertThrows(IllegalStateException.class, () -> engine.setOrderNetting(netting));
+
+        engine.publishOrder("NIFTY", OrderEvent.Type.BUY, 75, 26000.0, "a", 1L);
+        engine.publishOrder("NIFTY", OrderEvent.Type.BUY, 75, 26000.0, "rejected", 1L); // Over max position
+        engine.publishOrder("NIFTY", OrderEvent.Type.SELL, 75, 26000.0, "b", 1L);
+        assertTrue(engine.awaitIdle(2000));
+
+        // Batch boundaries vary, so the orders may or may not have crossed; the totals may not
+        assertEquals(List.of("a:true:true", "rejected:false:false", "b:true:true"), seen);
+        assertEquals(2L, netting.snapshot().get("orders"));
+        assertEquals(0, adapter.getPositionBook().getNetQuantity(SymbolRegistry.intern("NIFTY")));
+        long crossed = (long) netting.snapshot().get("crossed_quantity");
+        long market = (long) netting.snapshot().get("market_quantity");
+        assertEquals(150, 2 * crossed + market);
+    }
+
+    private OrderExecutionAdapter newAdapter() {
+        return new OrderExecutionAdapter(new IndianDerivativesFeeCalculator(), 1000000.0, "FUTURES");
+    }
+
+    private static class CountingStrategy implements Strategy {
+        private final String id;
+        private final CountDownLatch latch;
+        private final Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        CountingStrategy(String id, int expectedTicks) {
+            this.id = id;
+            this.latch = new CountDownLatch(expectedTicks);
+        }
+
+        @Override
+        public void onTick(MarketDataEvent event) {
+            threads.add(Thread.currentThread().getName());
+            latch.countDown();
+        }
+
+        @Override
+        public void setOrderPublisher(OrderPublisher orderPublisher) {
+        }
+
+        @Override
+        public String getStrategyId() {
+            return id;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.isotope.core;
+
+import com.isotope.model.MarketDataEvent;
+import com.isotope.strategy.Strategy;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenStrategyIndexTest {
+
+    @Test
+    void testDispatchesOnlyToSubscribers() {
+        Strategy nifty = new StubStrategy("nifty", new long[]{256265});
+        Strategy all = new StubStrategy("all", null);
+        Strategy pair = new StubStrategy("pair", new long[]{256265, 260105});
+
+        TokenStrategyIndex index = new TokenStrategyIndex(new Strategy[]{nifty, all, pair});
+
+        assertArrayEquals(new Strategy[]{nifty, all, pair}, index.get(256265));
+        assertArrayEquals(new Strategy[]{all, pair}, index.get(260105));
+        assertArrayEquals(new Strategy[]{all}, index.get(12345));
+    }
+
+    @Test
+    void testManyTokensAndCollisions() {
+        int count = 1000;
+        Strategy[] strategies = new Strategy[count];
+        for (int i = 0; i < count; i++) {
+            // Token 0 and negative tokens are valid keys
+            strategies[i] = new StubStrategy("s" + i, new long[]{i * 1024L - 1024});
+        }
+        TokenStrategyIndex index = new TokenStrategyIndex(strategies);
+
+        for (int i = 0; i < count; i++) {
+            assertArrayEquals(new Strategy[]{strategies[i]}, index.get(i * 1024L - 1024));
+        }
+        assertEquals(0, index.get(7).length);
+    }
+
+    private record StubStrategy(String id, long[] tokens) implements Strategy {
+        @Override
+        public void onTick(MarketDataEvent event) {
+        }
+
+        @Override
+        public void setOrderPublisher(OrderPublisher orderPublisher) {
+        }
+
+        @Override
+        public String getStrategyId() {
+            return id;
+        }
+
+        @Override
+        public long[] getInstrumentTokens() {
+            return tokens;
+        }
+    }
+}
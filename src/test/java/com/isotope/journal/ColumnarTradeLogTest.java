@@ -0,0 +1,122 @@
+package com.isotope.journal;
+
+import com.isotope.model.OrderEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarTradeLogTest {
+
+    @TempDir
+    Path dir;
+
+    private static OrderEvent fill(int i) {
+        OrderEvent event = new OrderEvent();
+        event.setTimestamp(1_700_000_000_000L + i);
+        event.setStrategyId(i % 2 == 0 ? "PairsTrading" : "Momentum");
+        event.setTradingSymbol(i % 3 == 0 ? "NIFTY" : "BANKNIFTY");
+        event.setType(i % 2 == 0 ? OrderEvent.Type.BUY : OrderEvent.Type.SELL);
+        event.setQuantity(25 + i);
+        event.setPrice(26_000.123456789 + i);
+        event.setFees(12.345678 + i);
+        event.setRealizedPnl(i % 2 == 0 ? 0.0 : 100.5 * i);
+        event.setCashFlow(event.getRealizedPnl() - event.getFees());
+        event.setBalance(200_000.0 + i);
+        event.setExecuted(i != 4);
+        return event;
+    }
+
+    @Test
+    void testColumnsRoundTripAcrossChunks() throws Exception {
+        int count = 10;
+        try (ColumnarTradeLog log = new ColumnarTradeLog(dir, 4)) {
+            for (int i = 0; i < count; i++) {
+                log.append(fill(i), 0.25 * i, 1_000L * i);
+                log.commit();
+            }
+            assertEquals(count, log.getRowCount());
+        }
+
+        List<Path> chunks = TradeLogFormat.chunks(dir);
+        assertEquals(3, chunks.size());
+        List<String> dictionary = Files.readAllLines(dir.resolve(TradeLogFormat.DICTIONARY_FILE));
+        assertTrue(dictionary.contains("action\t1\tSELL"));
+        assertTrue(dictionary.contains("strategy_id\t0\tPairsTrading"));
+        assertTrue(dictionary.contains("symbol\t1\tBANKNIFTY"));
+
+        int row = 0;
+        for (Path chunk : chunks) {
+            ByteBuffer buffer = map(chunk);
+            long rows = TradeLogFormat.readHeader(buffer);
+            // Compacted on close: columns end where the file ends
+            assertEquals(TradeLogFormat.chunkSize(rows), Files.size(chunk));
+            for (int r = 0; r < rows; r++, row++) {
+                OrderEvent expected = fill(row);
+                boolean executed = row != 4;
+                assertEquals(expected.getTimestamp(), buffer.getLong(offset(buffer, TradeLogFormat.TIMESTAMP, 8, r)));
+                assertEquals(row % 2, buffer.getInt(offset(buffer, TradeLogFormat.STRATEGY_ID, 4, r)));
+                assertEquals(row % 3 == 0 ? 0 : 1, buffer.getInt(offset(buffer, TradeLogFormat.SYMBOL, 4, r)));
+                assertEquals(expected.getType().ordinal(), buffer.get(offset(buffer, TradeLogFormat.ACTION, 1, r)));
+                assertEquals(expected.getQuantity(), buffer.getInt(offset(buffer, TradeLogFormat.QUANTITY, 4, r)));
+                // Full precision, unlike the %.2f of trades.csv
+                assertEquals(expected.getPrice(), buffer.getDouble(offset(buffer, TradeLogFormat.PRICE, 8, r)));
+                assertEquals(executed ? expected.getFees() : 0.0, buffer.getDouble(offset(buffer, TradeLogFormat.FEES, 8, r)));
+                assertEquals(executed ? expected.getCashFlow() : 0.0,
+                        buffer.getDouble(offset(buffer, TradeLogFormat.NET_CASH_FLOW, 8, r)));
+                assertEquals(executed ? 0.25 * row : 0.0, buffer.getDouble(offset(buffer, TradeLogFormat.FEE_SAVING, 8, r)));
+                assertEquals(executed ? 1 : 0, buffer.get(offset(buffer, TradeLogFormat.EXECUTED, 1, r)));
+                assertEquals(1_000L * row, buffer.getLong(offset(buffer, TradeLogFormat.TICK_TO_TRADE_NANOS, 8, r)));
+            }
+        }
+        assertEquals(count, row);
+    }
+
+    @Test
+    void testOnlyCommittedRowsAreVisibleAndNewLogReplacesOldChunks() throws Exception {
+        ByteBuffer buffer;
+        try (ColumnarTradeLog log = new ColumnarTradeLog(dir, 8)) {
+            log.append(fill(0), 0.0, 0);
+            log.append(fill(1), 0.0, 0);
+            log.commit();
+            log.append(fill(2), 0.0, 0);
+
+            buffer = map(TradeLogFormat.chunkPath(dir, 0));
+            assertEquals(2, TradeLogFormat.readHeader(buffer));
+            assertEquals(TradeLogFormat.chunkSize(8), Files.size(TradeLogFormat.chunkPath(dir, 0)));
+        }
+        assertEquals(3, TradeLogFormat.readHeader(map(TradeLogFormat.chunkPath(dir, 0))));
+        // Compaction replaced the file: a reader of the full chunk still finds its columns in place
+        for (int r = 0; r < 3; r++) {
+            assertEquals(fill(r).getQuantity(), buffer.getInt(offset(buffer, TradeLogFormat.QUANTITY, 4, r)));
+            assertEquals(fill(r).getPrice(), buffer.getDouble(offset(buffer, TradeLogFormat.PRICE, 8, r)));
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(2, files.count(), "one chunk and the dictionary, no leftover temporary file");
+        }
+
+        new ColumnarTradeLog(dir, 8).close();
+        assertTrue(TradeLogFormat.chunks(dir).isEmpty());
+    }
+
+    private static int offset(ByteBuffer buffer, int column, int width, int row) {
+        return (int) TradeLogFormat.columnOffset(buffer, column) + width * row;
+    }
+
+    private static ByteBuffer map(Path chunk) throws Exception {
+        try (FileChannel channel = FileChannel.open(chunk, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(TradeLogFormat.BYTE_ORDER);
+            return buffer;
+        }
+    }
+}
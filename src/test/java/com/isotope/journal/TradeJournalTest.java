@@ -0,0 +1,80 @@
+package com.isotope.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TradeJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testLinesMatchStringFormatLayout() throws Exception {
+        Path file = tempDir.resolve("trades.csv");
+        Random random = new Random(7);
+        double[][] rows = new double[500][];
+
+        try (TradeJournal journal = new TradeJournal(file.toString(), TradeJournal.Durability.BATCH)) {
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] = new double[]{
+                        random.nextDouble() * 60000, random.nextDouble() * 500,
+                        (random.nextDouble() - 0.5) * 20000, 200000 + random.nextDouble() * 1e6,
+                        (random.nextDouble() - 0.5) * 400};
+                journal.append(1700000000000L + i, "PairsTrading", "NIFTY", "BUY", 76 + i,
+                        rows[i][0], rows[i][1], rows[i][2], rows[i][3], rows[i][4]);
+            }
+            journal.endOfBatch();
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(TradeJournal.HEADER.trim(), lines.get(0));
+        for (int i = 0; i < rows.length; i++) {
+            String expected = String.format("%d,%s,%s,%s,%d,%.2f,%.2f,%.2f,%.2f,%.2f",
+                    1700000000000L + i, "PairsTrading", "NIFTY", "BUY", 76 + i,
+                    rows[i][0], rows[i][1], rows[i][2], rows[i][3], rows[i][4]);
+            assertEquals(expected, lines.get(i + 1));
+        }
+    }
+
+    @Test
+    void testHalfCentsRoundLikeStringFormat() throws Exception {
+        Path file = tempDir.resolve("halves.csv");
+        // Scaled by 100 these land just below or above .5 (1.005 * 100 = 100.49999...)
+        double[] values = {1.005, 2.675, 0.125, -1.005, 1.015, 24000.125, 1234567.895, -0.005, 0.0049999, 5e12};
+
+        try (TradeJournal journal = new TradeJournal(file.toString(), TradeJournal.Durability.BATCH)) {
+            for (double value : values) {
+                journal.append(0L, "s", "NIFTY", "SELL", 1, value, value, value, value, value);
+            }
+            journal.endOfBatch();
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        for (int i = 0; i < values.length; i++) {
+            String fixed = String.format("%.2f", values[i]);
+            assertEquals("0,s,NIFTY,SELL,1," + String.join(",", fixed, fixed, fixed, fixed, fixed), lines.get(i + 1));
+        }
+    }
+
+    @Test
+    void testIntervalModeWritesFromIoThread() throws Exception {
+        Path file = tempDir.resolve("interval.csv");
+        try (TradeJournal journal = new TradeJournal(file.toString(), TradeJournal.Durability.INTERVAL, 10)) {
+            journal.append(1L, "S", "BANKNIFTY", "SELL", 15, 59242.6, 40.5, -40.5, 199959.5, 0.0);
+            journal.endOfBatch(); // No-op in INTERVAL mode
+
+            long deadline = System.currentTimeMillis() + 2000;
+            while (Files.readAllLines(file).size() < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals("1,S,BANKNIFTY,SELL,15,59242.60,40.50,-40.50,199959.50,0.00", Files.readAllLines(file).get(1));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.isotope.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testBucketsBoundRelativeError() {
+        long[] samples = {0, 1, 31, 32, 33, 63, 64, 65, 1000, 123_456, 9_999_999, Long.MAX_VALUE / 3, Long.MAX_VALUE};
+        for (long value : samples) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(index >= 0 && index < LatencyHistogram.LENGTH, "index for " + value);
+            long reported = LatencyHistogram.highestEquivalentValue(index);
+            assertTrue(reported >= value, "reported " + reported + " below " + value);
+            assertTrue(reported - value <= Math.max(0, value / 32), "error too large for " + value);
+        }
+    }
+
+    @Test
+    void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) histogram.record(i * 1000L);
+
+        long[] counts = new long[LatencyHistogram.LENGTH];
+        histogram.addInto(counts);
+
+        assertEquals(1000, LatencyHistogram.totalCount(counts));
+        assertEquals(500_000, LatencyHistogram.valueAtPercentile(counts, 50.0), 500_000 / 32.0);
+        assertEquals(990_000, LatencyHistogram.valueAtPercentile(counts, 99.0), 990_000 / 32.0);
+        assertEquals(1_000_000, LatencyHistogram.maxValue(counts), 1_000_000 / 32.0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testIntervalResetMovesBaseline() {
+        LatencyMetrics metrics = new LatencyMetrics();
+        LatencyHistogram execution = metrics.histogram(LatencyStage.EXECUTION, "execution");
+        execution.record(1_000_000);
+
+        Map<String, Object> first = (Map<String, Object>) metrics.snapshot(true).get("EXECUTION");
+        assertEquals(1L, first.get("count"));
+
+        execution.record(100);
+        Map<String, Object> second = (Map<String, Object>) metrics.snapshot(false).get("EXECUTION");
+        assertEquals(1L, second.get("count"));
+        assertEquals(100.0, ((Number) second.get("max_ns")).doubleValue(), 100 / 32.0);
+    }
+}
@@ -0,0 +1,109 @@
+package com.isotope.risk;
+
+import com.isotope.model.OrderEvent;
+import com.isotope.model.SymbolRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PreTradeRiskCheckTest {
+
+    private long sequence;
+
+    private OrderEvent.RejectReason submit(PreTradeRiskCheck check, String strategy, OrderEvent.Type type,
+                                           int quantity, double price, long time) {
+        OrderEvent event = new OrderEvent();
+        event.setTradingSymbol("NIFTY");
+        event.setSymbolId(SymbolRegistry.intern("NIFTY"));
+        event.setStrategyId(strategy);
+        event.setType(type);
+        event.setQuantity(quantity);
+        event.setPrice(price);
+        event.setTimestamp(time);
+        event.setRejectReason(OrderEvent.RejectReason.ORDER_RATE); // Stale value from an earlier lap
+        check.onEvent(event, sequence++, true);
+        return event.getRejectReason();
+    }
+
+    @Test
+    void testPositionLimitBlocksIncreasesButNotExits() {
+        PreTradeRiskCheck check = new PreTradeRiskCheck(new RiskLimits(100, 0, 0, 0, 0, 0));
+
+        assertNull(submit(check, "s", OrderEvent.Type.BUY, 75, 100.0, 0));
+        assertEquals(OrderEvent.RejectReason.MAX_POSITION, submit(check, "s", OrderEvent.Type.BUY, 50, 100.0, 1));
+        // Reversing through the limit is an increase of the absolute position
+        assertEquals(OrderEvent.RejectReason.MAX_POSITION, submit(check, "s", OrderEvent.Type.SELL, 200, 100.0, 2));
+        assertNull(submit(check, "s", OrderEvent.Type.SELL, 75, 100.0, 3));
+        assertNull(submit(check, "s", OrderEvent.Type.SELL, 100, 100.0, 4));
+    }
+
+    @Test
+    void testNotionalLimits() {
+        PreTradeRiskCheck check = new PreTradeRiskCheck(new RiskLimits(0, 10_000.0, 15_000.0, 0, 0, 0));
+
+        assertEquals(OrderEvent.RejectReason.ORDER_NOTIONAL, submit(check, "s", OrderEvent.Type.BUY, 101, 100.0, 0));
+        assertNull(submit(check, "s", OrderEvent.Type.BUY, 100, 100.0, 1));
+        assertEquals(OrderEvent.RejectReason.POSITION_NOTIONAL, submit(check, "s", OrderEvent.Type.BUY, 60, 100.0, 2));
+        assertNull(submit(check, "s", OrderEvent.Type.BUY, 50, 100.0, 3));
+    }
+
+    @Test
+    void testOrderRateUsesOneSecondWindowsOfEventTime() {
+        PreTradeRiskCheck check = new PreTradeRiskCheck(new RiskLimits(0, 0, 0, 2, 0, 0));
+
+        assertNull(submit(check, "s", OrderEvent.Type.BUY, 1, 100.0, 10_000));
+        assertNull(submit(check, "s", OrderEvent.Type.SELL, 1, 100.0, 10_500));
+        assertEquals(OrderEvent.RejectReason.ORDER_RATE, submit(check, "s", OrderEvent.Type.BUY, 1, 100.0, 10_999));
+        assertNull(submit(check, "s", OrderEvent.Type.BUY, 1, 100.0, 11_000));
+    }
+
+    @Test
+    void testPriceBandRejectsBadPricesAndReanchorsAfterAGap() {
+        PreTradeRiskCheck check = new PreTradeRiskCheck(new RiskLimits(0, 0, 0, 0, 0.05, 0));
+
+        assertNull(submit(check, "s", OrderEvent.Type.BUY, 2, 100.0, 0));
+        // Fat-finger exit: rejected, and it does not move the reference
+        assertEquals(OrderEvent.RejectReason.PRICE_BAND, submit(check, "s", OrderEvent.Type.SELL, 1, 1_000.0, 1));
+        assertEquals(OrderEvent.RejectReason.PRICE_BAND, submit(check, "s", OrderEvent.Type.SELL, 1, 1_000.0, 2));
+        assertNull(submit(check, "s", OrderEvent.Type.SELL, 1, 104.0, 3));
+        assertEquals(OrderEvent.RejectReason.PRICE_BAND, submit(check, "s", OrderEvent.Type.SELL, 1, 1_000.0, 4));
+
+        // Gap: consecutive orders at the new level re-anchor the band on the third
+        assertEquals(OrderEvent.RejectReason.PRICE_BAND, submit(check, "s", OrderEvent.Type.SELL, 1, 120.0, 5));
+        assertEquals(OrderEvent.RejectReason.PRICE_BAND, submit(check, "s", OrderEvent.Type.BUY, 1, 121.0, 6));
+        assertNull(submit(check, "s", OrderEvent.Type.SELL, 1, 120.5, 7));
+        assertNull(submit(check, "s", OrderEvent.Type.BUY, 1, 122.0, 8));
+        assertEquals(OrderEvent.RejectReason.PRICE_BAND, submit(check, "s", OrderEvent.Type.SELL, 1, 104.0, 9));
+    }
+
+    @Test
+    void testStrategyLossLimitUsesReportedFills() {
+        PreTradeRiskCheck check = new PreTradeRiskCheck(new RiskLimits(0, 0, 0, 0, 0, 500.0));
+        OrderEvent event = new OrderEvent();
+        event.setTradingSymbol("NIFTY");
+        event.setStrategyId("loser");
+        event.setType(OrderEvent.Type.BUY);
+        event.setQuantity(10);
+        event.setPrice(100.0);
+        check.onEvent(event, sequence++, true);
+        assertNull(event.getRejectReason());
+
+        check.recordFill(event.getRiskSlot(), -600.0);
+        assertEquals(OrderEvent.RejectReason.STRATEGY_LOSS, submit(check, "loser", OrderEvent.Type.BUY, 10, 100.0, 1));
+        assertNull(submit(check, "winner", OrderEvent.Type.SELL, 5, 100.0, 2)); // Other strategies and exits pass
+        assertNull(submit(check, "loser", OrderEvent.Type.SELL, 5, 100.0, 3));
+
+        Map<String, Object> snapshot = check.snapshot();
+        assertEquals(3L, snapshot.get("accepted"));
+        @SuppressWarnings("unchecked")
+        Map<String, Long> rejected = (Map<String, Long>) snapshot.get("rejected");
+        assertEquals(Long.valueOf(1), rejected.get("STRATEGY_LOSS"));
+        assertEquals(Map.of("loser", -600.0, "winner", 0.0), snapshot.get("strategy_net_pnl"));
+
+        check.reset();
+        assertEquals(0L, check.snapshot().get("accepted"));
+        assertNull(submit(check, "loser", OrderEvent.Type.BUY, 10, 100.0, 4));
+    }
+}
@@ -0,0 +1,139 @@
+package com.isotope.service.fees;
+
+import com.isotope.model.OrderEvent;
+import com.isotope.service.IndianDerivativesFeeCalculator;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeeScheduleTableTest {
+
+    private static final String HEADER =
+            "version,effective_from,segment,brokerage_rate,brokerage_cap,stt_buy,stt_sell,exchange_txn,sebi,ipft,stamp_buy,stamp_sell,gst,gst_on_sebi\n";
+
+    private static FeeScheduleTable table(String rows) throws IOException {
+        return FeeScheduleTable.load(new ByteArrayInputStream((HEADER + rows).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static long millis(String date) {
+        return LocalDate.parse(date).atStartOfDay(FeeScheduleTable.EXCHANGE_ZONE).toInstant().toEpochMilli();
+    }
+
+    // Component-by-component futures formula (Oct 2024 rates)
+    private static double referenceFuturesFee(OrderEvent.Type type, double price, int quantity) {
+        double turnover = price * quantity;
+        double brokerage = Math.min(turnover * 0.0003, 20.0);
+        double txn = turnover * 0.0000173;
+        double sebi = turnover * 0.000001;
+        double ipft = turnover * 0.000001;
+        double stt = type == OrderEvent.Type.SELL ? turnover * 0.0002 : 0.0;
+        double stamp = type == OrderEvent.Type.BUY ? turnover * 0.00002 : 0.0;
+        return brokerage + stt + txn + sebi + ipft + stamp + (brokerage + txn + sebi) * 0.18;
+    }
+
+    // Component-by-component options formula (Oct 2024 rates)
+    private static double referenceOptionFee(OrderEvent.Type type, double premium, int quantity) {
+        double turnover = premium * quantity;
+        double txn = turnover * 0.0003503;
+        double stt = type == OrderEvent.Type.SELL ? turnover * 0.001 : 0.0;
+        double stamp = type == OrderEvent.Type.BUY ? turnover * 0.00003 : 0.0;
+        return 20.0 + stt + txn + turnover * 0.000001 * 2 + stamp + (20.0 + txn) * 0.18;
+    }
+
+    @Test
+    void testDefaultTableMatchesComponentFormulas() {
+        IndianDerivativesFeeCalculator calculator = new IndianDerivativesFeeCalculator();
+        Random random = new Random(3);
+        for (int i = 0; i < 10_000; i++) {
+            OrderEvent.Type type = random.nextBoolean() ? OrderEvent.Type.BUY : OrderEvent.Type.SELL;
+            double price = 1 + random.nextDouble() * 60_000;
+            int quantity = 1 + random.nextInt(2_000);
+            double futures = referenceFuturesFee(type, price, quantity);
+            double option = referenceOptionFee(type, price / 100, quantity);
+            assertEquals(futures, calculator.calculateTotalFee(type, price, quantity), Math.abs(futures) * 1e-12);
+            assertEquals(option, calculator.calculateOptionFee(type, price / 100, quantity), Math.abs(option) * 1e-12);
+        }
+        assertEquals(0.0, calculator.calculateTotalFee(OrderEvent.Type.BUY, 0.0, 10));
+        assertEquals(0.0, calculator.calculateOptionFee(OrderEvent.Type.SELL, 10.0, 0));
+    }
+
+    @Test
+    void testScheduleSelectedByEffectiveDate() throws IOException {
+        FeeScheduleTable table = table("""
+                new,2025-04-01,FUTURES,0.0003,20,0,0.0005,0.0000173,0.000001,0.000001,0.00002,0,0.18,true
+                new,2025-04-01,OPTIONS,0,20,0,0.002,0.0003503,0.000001,0.000001,0.00003,0,0.18,false
+                old,2024-10-01,FUTURES,0.0003,20,0,0.0002,0.0000173,0.000001,0.000001,0.00002,0,0.18,true
+                old,2024-10-01,OPTIONS,0,20,0,0.001,0.0003503,0.000001,0.000001,0.00003,0,0.18,false
+                """);
+
+        assertEquals("old", table.at(millis("2024-01-01")).getVersion()); // Before the first: earliest
+        assertEquals("old", table.at(millis("2024-10-01")).getVersion());
+        assertEquals("old", table.at(millis("2025-04-01") - 1).getVersion());
+        assertEquals("new", table.at(millis("2025-04-01")).getVersion());
+        assertEquals("new", table.latest().getVersion());
+
+        IndianDerivativesFeeCalculator calculator = new IndianDerivativesFeeCalculator(table);
+        double before = calculator.calculateTotalFee(OrderEvent.Type.SELL, 20_000, 50, millis("2025-03-31"));
+        double after = calculator.calculateTotalFee(OrderEvent.Type.SELL, 20_000, 50, millis("2025-04-02"));
+        assertEquals(1_000_000 * 0.0003, after - before, 1e-9); // STT 0.02% -> 0.05%
+    }
+
+    @Test
+    void testInvalidTablesRejected() {
+        assertThrows(IOException.class, () -> table(
+                "v1,2024-10-01,FUTURES,0.0003,20,0,0.0002,0.0000173,0.000001,0.000001,0.00002,0,0.18,true\n"));
+        assertThrows(IOException.class, () -> table(
+                "v1,2024-10-01,SWAPS,0.0003,20,0,0.0002,0.0000173,0.000001,0.000001,0.00002,0,0.18,true\n"));
+        assertThrows(IOException.class, () -> FeeScheduleTable.load(new ByteArrayInputStream(
+                "version,segment\n".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    void testBatchAndRoundTripMatchSingleFills() {
+        IndianDerivativesFeeCalculator calculator = new IndianDerivativesFeeCalculator();
+        int count = 1_000;
+        OrderEvent.Type[] types = new OrderEvent.Type[count];
+        double[] prices = new double[count];
+        int[] quantities = new int[count];
+        Random random = new Random(5);
+        for (int i = 0; i < count; i++) {
+            types[i] = random.nextBoolean() ? OrderEvent.Type.BUY : OrderEvent.Type.SELL;
+            prices[i] = random.nextInt(10) == 0 ? 0.0 : random.nextDouble() * 50_000;
+            quantities[i] = random.nextInt(500);
+        }
+
+        double[] fees = new double[count];
+        calculator.calculateTotalFees(types, prices, quantities, fees, count);
+        for (int i = 0; i < count; i++) {
+            assertEquals(calculator.calculateTotalFee(types[i], prices[i], quantities[i]), fees[i]);
+        }
+        calculator.calculateOptionFees(types, prices, quantities, fees, count);
+        for (int i = 0; i < count; i++) {
+            assertEquals(calculator.calculateOptionFee(types[i], prices[i], quantities[i]), fees[i]);
+        }
+
+        double legs = calculator.calculateOptionFee(OrderEvent.Type.BUY, 170.0, 75)
+                + calculator.calculateOptionFee(OrderEvent.Type.SELL, 170.0, 75);
+        assertEquals(legs, calculator.calculateSyntheticFee(170.0, 75, System.currentTimeMillis()), 1e-9);
+    }
+
+    @Test
+    void testNonTradeTypesCostNothing() {
+        IndianDerivativesFeeCalculator calculator = new IndianDerivativesFeeCalculator();
+        for (OrderEvent.Type type : new OrderEvent.Type[]{OrderEvent.Type.CANCEL, OrderEvent.Type.MODIFY}) {
+            assertEquals(0.0, calculator.calculateTotalFee(type, 22_000.0, 75));
+            assertEquals(0.0, calculator.calculateOptionFee(type, 170.0, 75));
+        }
+        OrderEvent.Type[] types = {OrderEvent.Type.BUY, OrderEvent.Type.CANCEL, OrderEvent.Type.SELL};
+        double[] fees = new double[3];
+        calculator.calculateTotalFees(types, new double[]{22_000.0, 22_000.0, 22_000.0}, new int[]{75, 75, 75}, fees, 3);
+        assertTrue(fees[0] > 0 && fees[2] > 0);
+        assertEquals(0.0, fees[1]);
+    }
+}
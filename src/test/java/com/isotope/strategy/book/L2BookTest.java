@@ -0,0 +1,105 @@
+package com.isotope.strategy.book;
+
+import com.isotope.model.MarketDataEvent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class L2BookTest {
+
+    private static MarketDataEvent depthTick(long token, double[] bids, long[] bidQty, double[] asks, long[] askQty) {
+        MarketDataEvent event = new MarketDataEvent();
+        event.setInstrumentToken(token);
+        event.setLastTradedTime(1_000L);
+        for (int i = 0; i < bids.length; i++) {
+            event.getBidPrices()[i] = bids[i];
+            event.getBidQuantities()[i] = bidQty[i];
+            event.getAskPrices()[i] = asks[i];
+            event.getAskQuantities()[i] = askQty[i];
+        }
+        event.setDepthLevels(bids.length);
+        event.setBidPrice(bids[0]);
+        event.setBidQuantity(bidQty[0]);
+        event.setAskPrice(asks[0]);
+        event.setAskQuantity(askQty[0]);
+        return event;
+    }
+
+    @Test
+    void testDerivedPricesFromDepth() {
+        L2Book book = new L2Book(1);
+        assertTrue(book.update(depthTick(1,
+                new double[]{100.0, 99.5}, new long[]{300, 100},
+                new double[]{100.5, 101.0}, new long[]{100, 100})));
+
+        assertEquals(2, book.getLevels());
+        assertEquals(100.25, book.mid(), 1e-12);
+        assertEquals(0.5, book.spread(), 1e-12);
+        // Heavier bid pulls the microprice towards the ask
+        assertEquals((100.0 * 100 + 100.5 * 300) / 400, book.microprice(), 1e-12);
+        assertEquals(0.5, book.imbalance(1), 1e-12);
+        assertEquals((400.0 - 200.0) / 600.0, book.imbalance(5), 1e-12);
+        double bidVwap = (100.0 * 300 + 99.5 * 100) / 400;
+        double askVwap = (100.5 * 100 + 101.0 * 100) / 200;
+        assertEquals((bidVwap + askVwap) / 2, book.depthWeightedMid(5), 1e-12);
+    }
+
+    @Test
+    void testTicksWithoutDepth() {
+        L2Book book = new L2Book(1);
+        assertTrue(Double.isNaN(book.microprice()));
+        assertTrue(Double.isNaN(book.depthWeightedMid(5)));
+        assertEquals(0.0, book.imbalance(5));
+
+        // Top of book only (tick files): level 0
+        MarketDataEvent top = new MarketDataEvent();
+        top.setBidPrice(99.0);
+        top.setBidQuantity(10);
+        top.setAskPrice(101.0);
+        top.setAskQuantity(30);
+        assertTrue(book.update(top));
+        assertEquals(1, book.getLevels());
+        assertEquals(99.5, book.microprice(), 1e-12);
+
+        // LTP only: book kept as is
+        MarketDataEvent ltp = new MarketDataEvent();
+        ltp.setLastTradedPrice(100.0);
+        assertFalse(book.update(ltp));
+        assertEquals(1, book.getLevels());
+        assertEquals(100.0, book.mid(), 1e-12);
+    }
+
+    @Test
+    void testLaterTickReplacesOnlyWhatChanged() {
+        L2Book book = new L2Book(1);
+        book.update(depthTick(1,
+                new double[]{100.0, 99.5, 99.0}, new long[]{300, 100, 50},
+                new double[]{100.5, 101.0, 101.5}, new long[]{100, 100, 50}));
+        book.update(depthTick(1,
+                new double[]{100.0, 99.5}, new long[]{300, 200},
+                new double[]{100.5, 100.75}, new long[]{100, 20}));
+
+        assertEquals(2, book.getLevels());
+        assertEquals(100.0, book.bidPrice(0));
+        assertEquals(300, book.bidQuantity(0));
+        assertEquals(200, book.bidQuantity(1));
+        assertEquals(100.75, book.askPrice(1));
+        assertEquals(20, book.askQuantity(1));
+        assertEquals((500.0 - 120.0) / 620.0, book.imbalance(5), 1e-12);
+    }
+
+    @Test
+    void testBooksPerInstrument() {
+        L2Books books = new L2Books(2);
+        for (long token = 1; token <= 100; token++) {
+            books.update(depthTick(token, new double[]{token}, new long[]{1}, new double[]{token + 1}, new long[]{1}));
+        }
+        L2Book book = books.update(depthTick(7, new double[]{8.0}, new long[]{5}, new double[]{9.0}, new long[]{5}));
+
+        assertEquals(100, books.size());
+        assertSame(book, books.get(7));
+        assertEquals(8.5, books.get(7).mid(), 1e-12);
+        assertEquals(50.5, books.get(50).mid(), 1e-12);
+        assertNull(books.get(101));
+    }
+}
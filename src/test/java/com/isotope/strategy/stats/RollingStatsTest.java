@@ -0,0 +1,81 @@
+package com.isotope.strategy.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollingStatsTest {
+
+    @Test
+    void testMatchesBruteForceOverSlidingWindow() {
+        int lookback = 50;
+        RollingStats stats = new RollingStats(lookback);
+        double[] history = new double[10_000];
+        Random random = new Random(42);
+
+        for (int i = 0; i < history.length; i++) {
+            // Ratio-like values: large offset, small variance
+            history[i] = 2.27 + random.nextGaussian() * 0.001;
+            stats.add(history[i]);
+
+            int from = Math.max(0, i - lookback + 1);
+            int n = i - from + 1;
+            double sum = 0.0;
+            for (int j = from; j <= i; j++) sum += history[j];
+            double mean = sum / n;
+            double sumSq = 0.0;
+            for (int j = from; j <= i; j++) sumSq += Math.pow(history[j] - mean, 2);
+            double stdDev = Math.sqrt(sumSq / n);
+
+            assertEquals(n, stats.size());
+            assertEquals(mean, stats.mean(), 1e-12);
+            assertEquals(stdDev, stats.stdDev(), 1e-9);
+        }
+    }
+
+    @Test
+    void testZScoreGuardsFlatWindow() {
+        RollingStats stats = new RollingStats(3);
+        stats.add(1.0);
+        stats.add(1.0);
+        stats.add(1.0);
+        assertEquals(0.0, stats.zScore(5.0, 1e-6));
+    }
+
+    @Test
+    void testRollingMinMax() {
+        RollingMinMax minMax = new RollingMinMax(3);
+        assertTrue(Double.isNaN(minMax.min()));
+
+        double[] values = {5, 1, 4, 6, 2, 3, 3, 9};
+        double[] expectedMin = {5, 1, 1, 1, 2, 2, 2, 3};
+        double[] expectedMax = {5, 5, 5, 6, 6, 6, 3, 9};
+        for (int i = 0; i < values.length; i++) {
+            minMax.add(values[i]);
+            assertEquals(expectedMin[i], minMax.min(), "min at " + i);
+            assertEquals(expectedMax[i], minMax.max(), "max at " + i);
+        }
+    }
+
+    @Test
+    void testEma() {
+        Ema ema = Ema.ofPeriod(3); // alpha = 0.5
+        assertFalse(ema.isInitialized());
+        assertEquals(10.0, ema.add(10.0));
+        assertEquals(15.0, ema.add(20.0));
+        assertEquals(12.5, ema.add(10.0));
+    }
+
+    @Test
+    void testRollingWindowOrder() {
+        RollingWindow window = new RollingWindow(3);
+        assertTrue(Double.isNaN(window.add(1)));
+        window.add(2);
+        window.add(3);
+        assertEquals(1.0, window.add(4));
+        assertEquals(2.0, window.oldest());
+        assertEquals(4.0, window.newest());
+    }
+}
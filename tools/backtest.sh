@@ -0,0 +1,23 @@
+#!/usr/bin/env bash
+# Spring-free backtest (com.isotope.backtest.HeadlessBacktest).
+# Build the plain jar first:  mvn -P headless package -DskipTests
+# Usage: tools/backtest.sh [backtest.properties] [key=value ...]
+#
+# The first run records an AppCDS archive of the loaded classes at exit (JDK 19+);
+# later runs map it and start faster. A rebuilt jar invalidates and re-records it.
+# Set ISOTOPE_CDS=off to run without the archive.
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$(ls "$ROOT"/target/headless/*-headless.jar 2>/dev/null | head -n 1 || true)"
+if [ -z "$JAR" ]; then
+    echo "No headless jar found; build it with: mvn -P headless package -DskipTests" >&2
+    exit 1
+fi
+
+CDS_OPTS=()
+if [ "${ISOTOPE_CDS:-on}" != "off" ]; then
+    CDS_OPTS=(-XX:SharedArchiveFile="$ROOT/target/headless/isotope-headless.jsa" -XX:+AutoCreateSharedArchive)
+fi
+
+exec java "${CDS_OPTS[@]}" ${JAVA_OPTS:-} -jar "$JAR" "$@"
@@ -1,17 +1,59 @@
 import streamlit as st
 import pandas as pd
+import json
 import os
+import urllib.request
+
+TRADE_LOG = os.environ.get("ISOTOPE_TRADE_LOG", "data/trades")
 
 def load_data():
+    if os.path.exists(os.path.join(TRADE_LOG, "dictionary.tsv")):
+        # Binary columnar log (journal.columnar-directory): memory-mapped, full precision
+        from tradelog import load_trades
+        return load_trades(TRADE_LOG)
     if os.path.exists("trades.csv"):
         # The CSV now has additional columns: fees, net_cash_flow, running_balance
         return pd.read_csv("trades.csv")
     return pd.DataFrame(columns=["timestamp", "strategy_id", "symbol", "action", "quantity", "price", "fees", "net_cash_flow", "running_balance"])
 
+def load_analytics(url):
+    # Statistics maintained incrementally by the running engine (no trades.csv parsing)
+    with urllib.request.urlopen(url.rstrip("/") + "/api/v1/analytics", timeout=5) as response:
+        return json.load(response)
+
+def show_analytics(stats):
+    col1, col2, col3, col4 = st.columns(4)
+    col1.metric("Equity", f"₹{stats['equity']:,.2f}", f"{stats['net_pnl']:,.2f}")
+    col2.metric("Max Drawdown", f"₹{stats['max_drawdown']:,.2f}", f"-{stats['max_drawdown_pct']:.2f}%")
+    hit_rate = stats['hit_rate']
+    col3.metric("Hit Rate", f"{hit_rate * 100:.1f}%" if hit_rate is not None else "-")
+    sharpe = stats['rolling_sharpe']
+    col4.metric(f"Rolling Sharpe ({stats['sharpe_window']} trades)", f"{sharpe:.3f}" if sharpe is not None else "-")
+
+    fee_drag = stats['fee_drag']
+    st.caption(f"Fills: {stats['fills']:,} | Fees: ₹{stats['fees']:,.2f} | "
+               f"Fee drag: {fee_drag * 100:.1f}% of gross PnL" if fee_drag is not None else
+               f"Fills: {stats['fills']:,} | Fees: ₹{stats['fees']:,.2f}")
+
+    curve = stats['equity_curve']
+    st.subheader("Equity Curve")
+    st.line_chart(pd.Series(curve['equity'], index=pd.to_datetime(curve['timestamps'], unit='ms')))
+
+    st.subheader("Per-Strategy PnL")
+    st.dataframe(pd.DataFrame.from_dict(stats['strategies'], orient='index'))
+
 def main():
     st.set_page_config(page_title="Isotope Backtest Dashboard", layout="wide")
     st.title("Isotope Research & Backtesting Dashboard")
 
+    engine_url = st.sidebar.text_input("Engine URL (live statistics)", os.environ.get("ISOTOPE_URL", ""))
+    if engine_url:
+        try:
+            show_analytics(load_analytics(engine_url))
+            return
+        except Exception as e:
+            st.error(f"Could not read analytics from {engine_url}: {e}; showing trades.csv")
+
     df = load_data()
 
     if df.empty:
@@ -21,7 +63,8 @@ def main():
     # Process Data
     try:
         # Convert timestamp to datetime (assuming it is in milliseconds as per Java code)
-        df['timestamp'] = pd.to_datetime(df['timestamp'], unit='ms')
+        if not pd.api.types.is_datetime64_any_dtype(df['timestamp']):
+            df['timestamp'] = pd.to_datetime(df['timestamp'], unit='ms')
         df = df.sort_values('timestamp')
 
         # Check if new columns exist
@@ -0,0 +1,96 @@
+"""Reader for the columnar trade log (com.isotope.journal.ColumnarTradeLog).
+
+Each chunk file is memory-mapped and every column is viewed in place with
+numpy.frombuffer, so loading millions of fills costs little more than the
+concatenation across chunks.
+
+    from tradelog import load_trades
+    df = load_trades("data/trades")
+
+Command line: python tools/tradelog.py data/trades
+"""
+import os
+import struct
+import sys
+
+import numpy as np
+import pandas as pd
+
+MAGIC = 0x43545349  # "ISTC"
+VERSION = 1
+HEADER_COLUMNS = 64
+COLUMN_ENTRY_SIZE = 32
+DICTIONARY_FILE = "dictionary.tsv"
+STRING_COLUMNS = ("strategy_id", "symbol", "action")
+
+
+def read_chunk(path):
+    """Columns of one chunk as numpy arrays (views of the mapped file), committed rows only."""
+    data = np.memmap(path, dtype=np.uint8, mode="r")
+    magic, version, _, column_count, _, rows = struct.unpack_from("<iiiiqq", data, 0)
+    if magic != MAGIC:
+        raise ValueError(f"{path}: not an Isotope trade log chunk")
+    if version != VERSION:
+        raise ValueError(f"{path}: unsupported trade log version {version}")
+
+    columns = {}
+    for i in range(column_count):
+        entry = HEADER_COLUMNS + COLUMN_ENTRY_SIZE * i
+        name = bytes(data[entry:entry + 20]).rstrip(b"\0").decode("ascii")
+        kind, width = chr(data[entry + 20]), int(data[entry + 21])
+        (offset,) = struct.unpack_from("<q", data, entry + 24)
+        columns[name] = np.frombuffer(data, dtype=np.dtype(f"<{kind}{width}"), count=rows, offset=offset)
+    return columns
+
+
+def read_dictionary(directory):
+    """Strings of each dictionary-coded column, indexed by code."""
+    values = {}
+    path = os.path.join(directory, DICTIONARY_FILE)
+    if os.path.exists(path):
+        with open(path, encoding="utf-8") as f:
+            for line in f:
+                column, code, value = line.rstrip("\n").split("\t", 2)
+                codes = values.setdefault(column, [])
+                codes.extend([None] * (int(code) + 1 - len(codes)))
+                codes[int(code)] = value
+    return values
+
+
+def load_columns(directory):
+    """All chunks of the log as one numpy array per column (no copy for a single chunk)."""
+    chunks = sorted(f for f in os.listdir(directory) if f.startswith("trades-") and f.endswith(".cols"))
+    parts = [read_chunk(os.path.join(directory, f)) for f in chunks]
+    if not parts:
+        return {}
+    if len(parts) == 1:
+        return parts[0]
+    return {name: np.concatenate([part[name] for part in parts]) for name in parts[0]}
+
+
+def load_trades(directory, executed_only=True):
+    """The log as a DataFrame laid out like trades.csv, plus realized_pnl, executed and tick_to_trade_ns.
+
+    String columns are categoricals; timestamp is a datetime. Pass executed_only=False
+    to keep signals that failed execution.
+    """
+    columns = load_columns(directory)
+    if not columns:
+        return pd.DataFrame()
+    dictionary = read_dictionary(directory)
+    df = pd.DataFrame(columns, copy=False)
+    for name in STRING_COLUMNS:
+        df[name] = pd.Categorical.from_codes(df[name], categories=dictionary.get(name, []))
+    df["timestamp"] = pd.to_datetime(df["timestamp"], unit="ms")
+    if executed_only:
+        df = df[df["executed"] == 1]
+    return df
+
+
+if __name__ == "__main__":
+    if len(sys.argv) != 2:
+        sys.exit("Usage: python tools/tradelog.py <trade log directory>")
+    trades = load_trades(sys.argv[1])
+    print(trades.tail(10).to_string())
+    print(f"\n{len(trades):,} fills, fees {trades['fees'].sum():,.2f}, "
+          f"net cash flow {trades['net_cash_flow'].sum():,.2f}")